@@ -256,6 +256,13 @@ public class ObjectInputStream
     /** buffer for reading primitive field values */
     private byte[] primVals;
 
+    /** maximum nesting depth at which object field arrays are reused */
+    private static final int MAX_SCRATCH_DEPTH = 64;
+    /** arrays for object field values, indexed by nesting depth */
+    private Object[][] objValsStack;
+    /** current nesting depth of defaultReadFields */
+    private int objValsDepth;
+
     /** if true, invoke readObjectOverride() instead of readObject() */
     private final boolean enableOverride;
     /** if true, invoke resolveObject() */
@@ -476,6 +483,39 @@ public class ObjectInputStream
         }
     }
 
+    /**
+     * Reads an object written with {@link ObjectOutputStream#writeDetached},
+     * and then forgets the objects first read as part of it, so that they
+     * can be reclaimed while the stream remains open.  Classes and class
+     * descriptors are remembered as usual.  Calling this method in a loop
+     * lets the elements of a very large collection written one by one be
+     * processed as they are read, without the stream holding on to every
+     * element until it is reset or closed.
+     *
+     * <p>A back-reference to an object forgotten by this method causes a
+     * StreamCorruptedException to be thrown, which happens only if the
+     * object was written with writeObject rather than writeDetached.
+     *
+     * @return  reference to deserialized object
+     * @throws  ClassNotFoundException if class of an object to deserialize
+     *          cannot be found
+     * @throws  StreamCorruptedException if control information in the stream
+     *          is inconsistent
+     * @throws  OptionalDataException if primitive data is next in stream
+     * @throws  IOException if an I/O error occurs during deserialization
+     * @see ObjectOutputStream#writeDetached(Object)
+     * @since 1.8
+     */
+    public Object readDetached() throws IOException, ClassNotFoundException {
+        if (enableOverride) {
+            return readObject();
+        }
+        int mark = handles.size();
+        Object obj = readObject();
+        handles.release(mark);
+        return obj;
+    }
+
     /**
      * Read the non-static and non-transient fields of the current class from
      * this stream.  This may only be called from the readObject method of the
@@ -1462,6 +1502,12 @@ public class ObjectInputStream
                 "cannot read back reference as unshared");
         }
 
+        if (handles.isReleased(passHandle)) {
+            throw new StreamCorruptedException(
+                String.format("reference to released handle: %08X",
+                passHandle + baseWireHandle));
+        }
+
         Object obj = handles.lookupObject(passHandle);
         if (obj == unsharedMarker) {
             // REMIND: what type of exception to throw here?
@@ -1993,21 +2039,58 @@ public class ObjectInputStream
 
         int objHandle = passHandle;
         ObjectStreamField[] fields = desc.getFields(false);
-        Object[] objVals = new Object[desc.getNumObjFields()];
-        int numPrimFields = fields.length - objVals.length;
-        for (int i = 0; i < objVals.length; i++) {
-            ObjectStreamField f = fields[numPrimFields + i];
-            objVals[i] = readObject0(f.isUnshared());
-            if (f.getField() != null) {
-                handles.markDependency(objHandle, passHandle);
+        int numObjFields = desc.getNumObjFields();
+        Object[] objVals = borrowObjVals(numObjFields);
+        int numPrimFields = fields.length - numObjFields;
+        try {
+            for (int i = 0; i < numObjFields; i++) {
+                ObjectStreamField f = fields[numPrimFields + i];
+                objVals[i] = readObject0(f.isUnshared());
+                if (f.getField() != null) {
+                    handles.markDependency(objHandle, passHandle);
+                }
             }
-        }
-        if (obj != null) {
-            desc.setObjFieldValues(obj, objVals);
+            if (obj != null) {
+                desc.setObjFieldValues(obj, objVals);
+            }
+        } finally {
+            releaseObjVals(objVals, numObjFields);
         }
         passHandle = objHandle;
     }
 
+    /**
+     * Returns an array of at least the given length for holding object
+     * field values in defaultReadFields.  Arrays are kept for each level of
+     * nesting up to MAX_SCRATCH_DEPTH, as the fields of one object are
+     * still in use while those of the objects it refers to are read.
+     */
+    private Object[] borrowObjVals(int length) {
+        int level = objValsDepth++;
+        if (level >= MAX_SCRATCH_DEPTH) {
+            return new Object[length];
+        }
+        if (objValsStack == null) {
+            objValsStack = new Object[8][];
+        } else if (level >= objValsStack.length) {
+            objValsStack = Arrays.copyOf(objValsStack, objValsStack.length << 1);
+        }
+        Object[] vals = objValsStack[level];
+        if (vals == null || vals.length < length) {
+            vals = objValsStack[level] = new Object[Math.max(length, 8)];
+        }
+        return vals;
+    }
+
+    /**
+     * Hands back an array obtained from borrowObjVals, clearing the given
+     * number of leading elements so that it does not hold on to them.
+     */
+    private void releaseObjVals(Object[] vals, int length) {
+        objValsDepth--;
+        Arrays.fill(vals, 0, length, null);
+    }
+
     /**
      * Reads in and returns IOException that caused serialization to abort.
      * All stream state is discarded prior to reading in fatal exception.  Sets
@@ -3262,6 +3345,19 @@ public class ObjectInputStream
         /** number of handles in table */
         int size = 0;
 
+        /*
+         * Entries released by release() are dropped from the arrays above,
+         * which are then indexed by handle - offset for handles at or
+         * above base.  Below that, entries are found through indexHandles,
+         * which holds their handles in ascending order.
+         */
+        /** lowest handle stored at index handle - offset */
+        int base = 0;
+        /** difference between handle and index at or above base */
+        int offset = 0;
+        /** array mapping index -> handle below base - offset, or null */
+        int[] indexHandles;
+
         /**
          * Creates handle table with the given initial capacity.
          */
@@ -3278,11 +3374,12 @@ public class ObjectInputStream
          * "closed" by passing it to finish().
          */
         int assign(Object obj) {
-            if (size >= entries.length) {
+            int index = size - offset;
+            if (index >= entries.length) {
                 grow();
             }
-            status[size] = STATUS_UNKNOWN;
-            entries[size] = obj;
+            status[index] = STATUS_UNKNOWN;
+            entries[index] = obj;
             return size++;
         }
 
@@ -3296,10 +3393,16 @@ public class ObjectInputStream
             if (dependent == NULL_HANDLE || target == NULL_HANDLE) {
                 return;
             }
-            switch (status[dependent]) {
+            int d = indexOf(dependent);
+            int t = indexOf(target);
+            if (t < 0) {
+                // released objs never have exceptions associated
+                return;
+            }
+            switch (status[d]) {
 
                 case STATUS_UNKNOWN:
-                    switch (status[target]) {
+                    switch (status[t]) {
                         case STATUS_OK:
                             // ignore dependencies on objs with no exception
                             break;
@@ -3307,15 +3410,15 @@ public class ObjectInputStream
                         case STATUS_EXCEPTION:
                             // eagerly propagate exception
                             markException(dependent,
-                                (ClassNotFoundException) entries[target]);
+                                (ClassNotFoundException) entries[t]);
                             break;
 
                         case STATUS_UNKNOWN:
                             // add to dependency list of target
-                            if (deps[target] == null) {
-                                deps[target] = new HandleList();
+                            if (deps[t] == null) {
+                                deps[t] = new HandleList();
                             }
-                            deps[target].add(dependent);
+                            deps[t].add(dependent);
 
                             // remember lowest unresolved target seen
                             if (lowDep < 0 || lowDep > target) {
@@ -3343,19 +3446,23 @@ public class ObjectInputStream
          * "open" (i.e., assigned, but not finished yet).
          */
         void markException(int handle, ClassNotFoundException ex) {
-            switch (status[handle]) {
+            int index = indexOf(handle);
+            if (index < 0) {
+                return;
+            }
+            switch (status[index]) {
                 case STATUS_UNKNOWN:
-                    status[handle] = STATUS_EXCEPTION;
-                    entries[handle] = ex;
+                    status[index] = STATUS_EXCEPTION;
+                    entries[index] = ex;
 
                     // propagate exception to dependents
-                    HandleList dlist = deps[handle];
+                    HandleList dlist = deps[index];
                     if (dlist != null) {
                         int ndeps = dlist.size();
                         for (int i = 0; i < ndeps; i++) {
                             markException(dlist.get(i), ex);
                         }
-                        deps[handle] = null;
+                        deps[index] = null;
                     }
                     break;
 
@@ -3387,7 +3494,9 @@ public class ObjectInputStream
             }
 
             // change STATUS_UNKNOWN -> STATUS_OK in selected span of handles
-            for (int i = handle; i < end; i++) {
+            int from = indexOf(handle);
+            int to = (end == size) ? size - offset : from + 1;
+            for (int i = from; i < to; i++) {
                 switch (status[i]) {
                     case STATUS_UNKNOWN:
                         status[i] = STATUS_OK;
@@ -3411,10 +3520,11 @@ public class ObjectInputStream
          * This method may be called at any time after the handle is assigned.
          */
         void setObject(int handle, Object obj) {
-            switch (status[handle]) {
+            int index = indexOf(handle);
+            switch (status[index]) {
                 case STATUS_UNKNOWN:
                 case STATUS_OK:
-                    entries[handle] = obj;
+                    entries[index] = obj;
                     break;
 
                 case STATUS_EXCEPTION:
@@ -3431,9 +3541,11 @@ public class ObjectInputStream
          * associated ClassNotFoundException.
          */
         Object lookupObject(int handle) {
+            int index;
             return (handle != NULL_HANDLE &&
-                    status[handle] != STATUS_EXCEPTION) ?
-                entries[handle] : null;
+                    (index = indexOf(handle)) >= 0 &&
+                    status[index] != STATUS_EXCEPTION) ?
+                entries[index] : null;
         }
 
         /**
@@ -3442,20 +3554,97 @@ public class ObjectInputStream
          * if there is no ClassNotFoundException associated with the handle.
          */
         ClassNotFoundException lookupException(int handle) {
+            int index;
             return (handle != NULL_HANDLE &&
-                    status[handle] == STATUS_EXCEPTION) ?
-                (ClassNotFoundException) entries[handle] : null;
+                    (index = indexOf(handle)) >= 0 &&
+                    status[index] == STATUS_EXCEPTION) ?
+                (ClassNotFoundException) entries[index] : null;
+        }
+
+        /**
+         * Returns true if the given handle has been released.
+         */
+        boolean isReleased(int handle) {
+            return handle != NULL_HANDLE && indexOf(handle) < 0;
+        }
+
+        /**
+         * Releases the entries of handles assigned at or after the given
+         * mark, all of which must be finished, except for classes, class
+         * descriptors and exceptions.  The handles themselves are not
+         * reused.  Nothing is released while dependencies on open handles
+         * are unresolved, as their dependency lists may refer to released
+         * handles; entries kept for that reason are merely retained longer.
+         */
+        void release(int mark) {
+            if (lowDep >= 0 || mark >= size) {
+                return;
+            }
+            int used = size - offset;
+            int split = base - offset;  // first index mapped arithmetically
+            int from;
+            if (mark >= base) {
+                from = mark - offset;
+            } else {
+                from = Arrays.binarySearch(indexHandles, 0, split, mark);
+                if (from < 0) {
+                    from = -(from + 1);
+                }
+            }
+            if (indexHandles == null) {
+                indexHandles = new int[entries.length];
+            }
+            int to = from;
+            for (int i = from; i < used; i++) {
+                Object obj = entries[i];
+                if (status[i] == STATUS_EXCEPTION ||
+                    obj instanceof ObjectStreamClass || obj instanceof Class)
+                {
+                    int handle = (i < split) ? indexHandles[i] : i + offset;
+                    status[to] = status[i];
+                    entries[to] = obj;
+                    deps[to] = deps[i];
+                    indexHandles[to] = handle;
+                    to++;
+                }
+            }
+            // indices below from now also need their handles recorded
+            for (int i = split; i < from; i++) {
+                indexHandles[i] = i + offset;
+            }
+            Arrays.fill(status, to, used, (byte) 0);
+            Arrays.fill(entries, to, used, null);
+            Arrays.fill(deps, to, used, null);
+            base = size;
+            offset = size - to;
+        }
+
+        /**
+         * Returns index into the entry arrays for the given handle, or -1 if
+         * the handle has been released.
+         */
+        private int indexOf(int handle) {
+            if (handle >= base) {
+                return handle - offset;
+            }
+            int index = Arrays.binarySearch(indexHandles, 0, base - offset,
+                                            handle);
+            return (index >= 0) ? index : -1;
         }
 
         /**
          * Resets table to its initial state.
          */
         void clear() {
-            Arrays.fill(status, 0, size, (byte) 0);
-            Arrays.fill(entries, 0, size, null);
-            Arrays.fill(deps, 0, size, null);
+            int used = size - offset;
+            Arrays.fill(status, 0, used, (byte) 0);
+            Arrays.fill(entries, 0, used, null);
+            Arrays.fill(deps, 0, used, null);
             lowDep = -1;
             size = 0;
+            base = 0;
+            offset = 0;
+            indexHandles = null;
         }
 
         /**
@@ -3470,18 +3659,22 @@ public class ObjectInputStream
          */
         private void grow() {
             int newCapacity = (entries.length << 1) + 1;
+            int used = size - offset;
 
             byte[] newStatus = new byte[newCapacity];
             Object[] newEntries = new Object[newCapacity];
             HandleList[] newDeps = new HandleList[newCapacity];
 
-            System.arraycopy(status, 0, newStatus, 0, size);
-            System.arraycopy(entries, 0, newEntries, 0, size);
-            System.arraycopy(deps, 0, newDeps, 0, size);
+            System.arraycopy(status, 0, newStatus, 0, used);
+            System.arraycopy(entries, 0, newEntries, 0, used);
+            System.arraycopy(deps, 0, newDeps, 0, used);
 
             status = newStatus;
             entries = newEntries;
             deps = newDeps;
+            if (indexHandles != null) {
+                indexHandles = Arrays.copyOf(indexHandles, newCapacity);
+            }
         }
 
         /**
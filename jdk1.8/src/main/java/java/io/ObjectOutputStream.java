@@ -187,6 +187,13 @@ public class ObjectOutputStream
     /** buffer for writing primitive field values */
     private byte[] primVals;
 
+    /** maximum nesting depth at which object field arrays are reused */
+    private static final int MAX_SCRATCH_DEPTH = 64;
+    /** arrays for object field values, indexed by nesting depth */
+    private Object[][] objValsStack;
+    /** current nesting depth of defaultWriteFields */
+    private int objValsDepth;
+
     /** if true, invoke writeObjectOverride() instead of writeObject() */
     private final boolean enableOverride;
     /** if true, invoke replaceObject() */
@@ -240,8 +247,8 @@ public class ObjectOutputStream
     public ObjectOutputStream(OutputStream out) throws IOException {
         verifySubclass();
         bout = new BlockDataOutputStream(out);
-        handles = new HandleTable(10, (float) 3.00);
-        subs = new ReplaceTable(10, (float) 3.00);
+        handles = new HandleTable(10, (float) 0.50);
+        subs = new ReplaceTable(10, (float) 0.50);
         enableOverride = false;
         writeStreamHeader();
         bout.setBlockDataMode(true);
@@ -421,6 +428,48 @@ public class ObjectOutputStream
         }
     }
 
+    /**
+     * Writes an object to the ObjectOutputStream as writeObject does, and
+     * then forgets the objects first written as part of it, so that they
+     * can be reclaimed while the stream remains open.  Classes and class
+     * descriptors are remembered as usual.  This lets a very large
+     * collection be written element by element without the stream
+     * holding on to every element until it is reset or closed.
+     *
+     * <p>Objects written before the call may be referenced by the given
+     * object as usual.  An object forgotten by an earlier call to
+     * writeDetached is written again in full if it is encountered later,
+     * and so is read back as a distinct object.
+     *
+     * <p>The object must be read back with
+     * {@link ObjectInputStream#readDetached()}, which forgets the same
+     * objects on the receiving side.  Reading it with readObject is also
+     * safe, although the receiver then keeps the objects.
+     *
+     * @param   obj object to write to stream
+     * @throws  NotSerializableException if an object in the graph to be
+     *          serialized does not implement the Serializable interface
+     * @throws  InvalidClassException if a problem exists with the class of an
+     *          object to be serialized
+     * @throws  IOException if an I/O error occurs during serialization
+     * @see ObjectInputStream#readDetached()
+     * @since 1.8
+     */
+    public void writeDetached(Object obj) throws IOException {
+        if (enableOverride) {
+            writeObject(obj);
+            return;
+        }
+        int handlesMark = handles.beginScope();
+        int subsMark = subs.beginScope();
+        try {
+            writeObject(obj);
+        } finally {
+            subs.endScope(subsMark);
+            handles.endScope(handlesMark);
+        }
+    }
+
     /**
      * Write the non-static and non-transient fields of the current class to
      * this stream.  This may only be called from the writeObject method of the
@@ -1534,25 +1583,62 @@ public class ObjectOutputStream
         bout.write(primVals, 0, primDataSize, false);
 
         ObjectStreamField[] fields = desc.getFields(false);
-        Object[] objVals = new Object[desc.getNumObjFields()];
-        int numPrimFields = fields.length - objVals.length;
-        desc.getObjFieldValues(obj, objVals);
-        for (int i = 0; i < objVals.length; i++) {
-            if (extendedDebugInfo) {
-                debugInfoStack.push(
-                    "field (class \"" + desc.getName() + "\", name: \"" +
-                    fields[numPrimFields + i].getName() + "\", type: \"" +
-                    fields[numPrimFields + i].getType() + "\")");
-            }
-            try {
-                writeObject0(objVals[i],
-                             fields[numPrimFields + i].isUnshared());
-            } finally {
+        int numObjFields = desc.getNumObjFields();
+        Object[] objVals = borrowObjVals(numObjFields);
+        int numPrimFields = fields.length - numObjFields;
+        try {
+            desc.getObjFieldValues(obj, objVals);
+            for (int i = 0; i < numObjFields; i++) {
                 if (extendedDebugInfo) {
-                    debugInfoStack.pop();
+                    debugInfoStack.push(
+                        "field (class \"" + desc.getName() + "\", name: \"" +
+                        fields[numPrimFields + i].getName() + "\", type: \"" +
+                        fields[numPrimFields + i].getType() + "\")");
+                }
+                try {
+                    writeObject0(objVals[i],
+                                 fields[numPrimFields + i].isUnshared());
+                } finally {
+                    if (extendedDebugInfo) {
+                        debugInfoStack.pop();
+                    }
                 }
             }
+        } finally {
+            releaseObjVals(objVals, numObjFields);
+        }
+    }
+
+    /**
+     * Returns an array of at least the given length for holding object
+     * field values in defaultWriteFields.  Arrays are kept for each level of
+     * nesting up to MAX_SCRATCH_DEPTH, as the fields of one object are
+     * still in use while those of the objects it refers to are written.
+     */
+    private Object[] borrowObjVals(int length) {
+        int level = objValsDepth++;
+        if (level >= MAX_SCRATCH_DEPTH) {
+            return new Object[length];
         }
+        if (objValsStack == null) {
+            objValsStack = new Object[8][];
+        } else if (level >= objValsStack.length) {
+            objValsStack = Arrays.copyOf(objValsStack, objValsStack.length << 1);
+        }
+        Object[] vals = objValsStack[level];
+        if (vals == null || vals.length < length) {
+            vals = objValsStack[level] = new Object[Math.max(length, 8)];
+        }
+        return vals;
+    }
+
+    /**
+     * Hands back an array obtained from borrowObjVals, clearing the given
+     * number of leading elements so that it does not hold on to them.
+     */
+    private void releaseObjVals(Object[] vals, int length) {
+        objValsDepth--;
+        Arrays.fill(vals, 0, length, null);
     }
 
     /**
@@ -2238,74 +2324,146 @@ public class ObjectOutputStream
 
     /**
      * Lightweight identity hash table which maps objects to integer handles,
-     * assigned in ascending order.
+     * assigned in ascending order.  Objects are kept in a single open
+     * addressed table probed linearly, so that lookups in large object
+     * graphs touch adjacent slots instead of following chains of handles.
+     * The table keeps its capacity across calls to clear, so that a stream
+     * which is reset between graphs of similar size does not grow it again.
      */
     private static class HandleTable {
 
-        /* number of mappings in table/next available handle */
+        /* number of handles assigned/next available handle */
         private int size;
-        /* size threshold determining when to expand hash spine */
+        /* number of objects entered in table */
+        private int count;
+        /* count threshold determining when to expand table */
         private int threshold;
-        /* factor for computing size threshold */
+        /* factor for computing count threshold */
         private final float loadFactor;
-        /* maps hash value -> candidate handle value */
-        private int[] spine;
-        /* maps handle value -> next candidate handle value */
-        private int[] next;
-        /* maps handle value -> associated object */
-        private Object[] objs;
+        /* smallest table length, a power of two */
+        private final int minLength;
+        /* shift turning a scrambled identity hash into a table index */
+        private int shift;
+        /* maps table index -> object, or null if slot is free */
+        private Object[] keys;
+        /* maps table index -> handle value of object in slot */
+        private int[] vals;
+        /* number of scopes begun and not yet ended */
+        private int scopes;
+        /* objects entered while a scope is open, in order of assignment */
+        private Object[] scoped;
+        /* number of objects in scoped */
+        private int scopedCount;
 
         /**
-         * Creates new HandleTable with given capacity and load factor.
+         * Creates new HandleTable with given capacity and load factor, which
+         * must be less than one.
          */
         HandleTable(int initialCapacity, float loadFactor) {
             this.loadFactor = loadFactor;
-            spine = new int[initialCapacity];
-            next = new int[initialCapacity];
-            objs = new Object[initialCapacity];
-            threshold = (int) (initialCapacity * loadFactor);
-            clear();
+            minLength = tableLength(initialCapacity, loadFactor, 2);
+            allocate(minLength);
         }
 
         /**
          * Assigns next available handle to given object, and returns handle
-         * value.  Handles are assigned in ascending order starting at 0.
+         * value.  Handles are assigned in ascending order starting at 0.  A
+         * null object takes up a handle but cannot be looked up.
          */
         int assign(Object obj) {
-            if (size >= next.length) {
-                growEntries();
-            }
-            if (size >= threshold) {
-                growSpine();
+            if (obj != null) {
+                if (count >= threshold) {
+                    grow();
+                }
+                insert(obj, size);
+                if (scopes > 0) {
+                    if (scopedCount >= scoped.length) {
+                        scoped = Arrays.copyOf(scoped, scoped.length << 1);
+                    }
+                    scoped[scopedCount++] = obj;
+                }
             }
-            insert(obj, size);
             return size++;
         }
 
+        /**
+         * Begins a scope, returning a mark to be passed to endScope.
+         * Objects assigned handles within the scope are forgotten when it
+         * ends, but for classes and class descriptors.  Scopes may nest.
+         */
+        int beginScope() {
+            if (scoped == null) {
+                scoped = new Object[16];
+            }
+            scopes++;
+            return scopedCount;
+        }
+
+        /**
+         * Ends the scope begun by the call to beginScope which returned the
+         * given mark, removing the objects entered since.  Their handles
+         * are not reused.
+         */
+        void endScope(int mark) {
+            for (int i = mark; i < scopedCount; i++) {
+                Object obj = scoped[i];
+                if (!isRetained(obj)) {
+                    remove(obj);
+                }
+                scoped[i] = null;
+            }
+            scopedCount = Math.min(mark, scopedCount);
+            scopes--;
+        }
+
+        /**
+         * Returns true if given object is kept when a scope ends: classes
+         * and class descriptors are written once per stream, and the
+         * receiving side keeps them too.
+         */
+        static boolean isRetained(Object obj) {
+            return (obj instanceof ObjectStreamClass) || (obj instanceof Class);
+        }
+
         /**
          * Looks up and returns handle associated with given object, or -1 if
          * no mapping found.
          */
         int lookup(Object obj) {
-            if (size == 0) {
+            if (count == 0 || obj == null) {
                 return -1;
             }
-            int index = hash(obj) % spine.length;
-            for (int i = spine[index]; i >= 0; i = next[i]) {
-                if (objs[i] == obj) {
-                    return i;
+            Object[] keys = this.keys;
+            int mask = keys.length - 1;
+            for (int i = hash(obj);; i = (i + 1) & mask) {
+                Object k = keys[i];
+                if (k == obj) {
+                    return vals[i];
+                } else if (k == null) {
+                    return -1;
                 }
             }
-            return -1;
         }
 
         /**
-         * Resets table to its initial (empty) state.
+         * Resets table to its initial (empty) state.  The table is shrunk
+         * to the length needed by the mappings just discarded, so that it
+         * is neither regrown for a graph of similar size nor costly to
+         * clear when reset after a few objects.
          */
         void clear() {
-            Arrays.fill(spine, -1);
-            Arrays.fill(objs, 0, size, null);
+            int length = tableLength(count, loadFactor, minLength);
+            if (length < keys.length) {
+                allocate(length);
+            } else if (count > 0) {
+                Arrays.fill(keys, null);
+            }
+            if (scopedCount > 0) {
+                Arrays.fill(scoped, 0, scopedCount, null);
+                scopedCount = 0;
+            }
             size = 0;
+            count = 0;
         }
 
         /**
@@ -2316,48 +2474,95 @@ public class ObjectOutputStream
         }
 
         /**
-         * Inserts mapping object -> handle mapping into table.  Assumes table
-         * is large enough to accommodate new mapping.
+         * Inserts mapping object -> handle mapping into table, replacing any
+         * earlier mapping for the same object.  Assumes table has a free
+         * slot.
          */
         private void insert(Object obj, int handle) {
-            int index = hash(obj) % spine.length;
-            objs[handle] = obj;
-            next[handle] = spine[index];
-            spine[index] = handle;
+            Object[] keys = this.keys;
+            int mask = keys.length - 1;
+            int i = hash(obj);
+            for (Object k; (k = keys[i]) != null && k != obj; i = (i + 1) & mask)
+                ;
+            if (keys[i] == null) {
+                keys[i] = obj;
+                count++;
+            }
+            vals[i] = handle;
         }
 
         /**
-         * Expands the hash "spine" -- equivalent to increasing the number of
-         * buckets in a conventional hash table.
+         * Removes mapping for given object, if any, moving later entries of
+         * its probe sequence back so that none of them is left unreachable.
          */
-        private void growSpine() {
-            spine = new int[(spine.length << 1) + 1];
-            threshold = (int) (spine.length * loadFactor);
-            Arrays.fill(spine, -1);
-            for (int i = 0; i < size; i++) {
-                insert(objs[i], i);
+        private void remove(Object obj) {
+            Object[] keys = this.keys;
+            int mask = keys.length - 1;
+            int i = hash(obj);
+            for (Object k; (k = keys[i]) != obj; i = (i + 1) & mask) {
+                if (k == null) {
+                    return;
+                }
+            }
+            keys[i] = null;
+            count--;
+            for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+                // entry at j may fill the gap if its probe started at or
+                // before the gap
+                if (((j - hash(keys[j])) & mask) >= ((j - i) & mask)) {
+                    keys[i] = keys[j];
+                    vals[i] = vals[j];
+                    keys[j] = null;
+                    i = j;
+                }
             }
         }
 
         /**
-         * Increases hash table capacity by lengthening entry arrays.
+         * Doubles the length of the table, reentering existing mappings.
          */
-        private void growEntries() {
-            int newLength = (next.length << 1) + 1;
-            int[] newNext = new int[newLength];
-            System.arraycopy(next, 0, newNext, 0, size);
-            next = newNext;
+        private void grow() {
+            Object[] oldKeys = keys;
+            int[] oldVals = vals;
+            allocate(oldKeys.length << 1);
+            count = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                Object k = oldKeys[i];
+                if (k != null) {
+                    insert(k, oldVals[i]);
+                }
+            }
+        }
 
-            Object[] newObjs = new Object[newLength];
-            System.arraycopy(objs, 0, newObjs, 0, size);
-            objs = newObjs;
+        /**
+         * Replaces the table with an empty one of the given length.
+         */
+        private void allocate(int length) {
+            keys = new Object[length];
+            vals = new int[length];
+            threshold = (int) (length * loadFactor);
+            shift = Integer.numberOfLeadingZeros(length) + 1;
         }
 
         /**
-         * Returns hash value for given object.
+         * Returns table index at which to start probing for given object.
+         * Identity hash codes are scrambled by a multiplicative hash, whose
+         * high bits are spread evenly even when hash codes are sequential.
          */
         private int hash(Object obj) {
-            return System.identityHashCode(obj) & 0x7FFFFFFF;
+            return (System.identityHashCode(obj) * 0x9E3779B9) >>> shift;
+        }
+
+        /**
+         * Returns the smallest power of two, no less than min, at which a
+         * table holds the given number of mappings within its load factor.
+         */
+        private static int tableLength(int n, float loadFactor, int min) {
+            int length = min;
+            while (length < (1 << 30) && n >= (int) (length * loadFactor)) {
+                length <<= 1;
+            }
+            return length;
         }
     }
 
@@ -2391,6 +2596,30 @@ public class ObjectOutputStream
             reps[index] = rep;
         }
 
+        /**
+         * Begins a scope, as for HandleTable.beginScope.
+         */
+        int beginScope() {
+            return htab.beginScope();
+        }
+
+        /**
+         * Ends the scope begun by the call to beginScope which returned the
+         * given mark, forgetting the mappings entered since.
+         */
+        void endScope(int mark) {
+            for (int i = mark; i < htab.scopedCount; i++) {
+                Object obj = htab.scoped[i];
+                if (!HandleTable.isRetained(obj)) {
+                    int index = htab.lookup(obj);
+                    if (index >= 0) {
+                        reps[index] = null;
+                    }
+                }
+            }
+            htab.endScope(mark);
+        }
+
         /**
          * Looks up and returns replacement for given object.  If no
          * replacement is found, returns the lookup object itself.
@@ -1874,6 +1874,28 @@ public class ObjectStreamClass implements Serializable {
         /** field types */
         private final Class<?>[] types;
 
+        /*
+         * Primitive fields are also laid out grouped by type, in the order
+         * of PRIM_TYPE_CODES, so that each group is copied by a loop of its
+         * own instead of switching on the type code of every field.  The
+         * start arrays hold the index of the first field of each type,
+         * followed by the total number of fields.
+         */
+        /** primitive type codes, in order of grouping */
+        private static final String PRIM_TYPE_CODES = "ZBCSIFJD";
+        /** unsafe keys for reading primitive fields, grouped by type */
+        private final long[] primReadKeys;
+        /** data offsets of primitive fields read, grouped by type */
+        private final int[] primReadOffsets;
+        /** start of each type group in primReadKeys/primReadOffsets */
+        private final int[] primReadStarts;
+        /** unsafe keys for writing primitive fields, grouped by type */
+        private final long[] primWriteKeys;
+        /** data offsets of primitive fields written, grouped by type */
+        private final int[] primWriteOffsets;
+        /** start of each type group in primWriteKeys/primWriteOffsets */
+        private final int[] primWriteStarts;
+
         /**
          * Constructs FieldReflector capable of setting/getting values from the
          * subset of fields whose ObjectStreamFields contain non-null
@@ -1909,6 +1931,42 @@ public class ObjectStreamClass implements Serializable {
 
             types = typeList.toArray(new Class<?>[typeList.size()]);
             numPrimFields = nfields - types.length;
+
+            int ntypes = PRIM_TYPE_CODES.length();
+            primReadStarts = new int[ntypes + 1];
+            primWriteStarts = new int[ntypes + 1];
+            int[] groups = new int[numPrimFields];
+            for (int i = 0; i < numPrimFields; i++) {
+                int g = PRIM_TYPE_CODES.indexOf(typeCodes[i]);
+                if (g < 0) {
+                    throw new InternalError();
+                }
+                groups[i] = g;
+                primReadStarts[g + 1]++;
+                if (writeKeys[i] != Unsafe.INVALID_FIELD_OFFSET) {
+                    primWriteStarts[g + 1]++;
+                }
+            }
+            for (int g = 0; g < ntypes; g++) {
+                primReadStarts[g + 1] += primReadStarts[g];
+                primWriteStarts[g + 1] += primWriteStarts[g];
+            }
+            primReadKeys = new long[primReadStarts[ntypes]];
+            primReadOffsets = new int[primReadStarts[ntypes]];
+            primWriteKeys = new long[primWriteStarts[ntypes]];
+            primWriteOffsets = new int[primWriteStarts[ntypes]];
+            int[] readNext = Arrays.copyOf(primReadStarts, ntypes);
+            int[] writeNext = Arrays.copyOf(primWriteStarts, ntypes);
+            for (int i = 0; i < numPrimFields; i++) {
+                int j = readNext[groups[i]]++;
+                primReadKeys[j] = readKeys[i];
+                primReadOffsets[j] = offsets[i];
+                if (writeKeys[i] != Unsafe.INVALID_FIELD_OFFSET) {
+                    j = writeNext[groups[i]]++;
+                    primWriteKeys[j] = writeKeys[i];
+                    primWriteOffsets[j] = offsets[i];
+                }
+            }
         }
 
         /**
@@ -1934,45 +1992,33 @@ public class ObjectStreamClass implements Serializable {
              * descriptor this FieldReflector was obtained from, no field keys
              * in array should be equal to Unsafe.INVALID_FIELD_OFFSET.
              */
-            for (int i = 0; i < numPrimFields; i++) {
-                long key = readKeys[i];
-                int off = offsets[i];
-                switch (typeCodes[i]) {
-                    case 'Z':
-                        Bits.putBoolean(buf, off, unsafe.getBoolean(obj, key));
-                        break;
-
-                    case 'B':
-                        buf[off] = unsafe.getByte(obj, key);
-                        break;
-
-                    case 'C':
-                        Bits.putChar(buf, off, unsafe.getChar(obj, key));
-                        break;
-
-                    case 'S':
-                        Bits.putShort(buf, off, unsafe.getShort(obj, key));
-                        break;
-
-                    case 'I':
-                        Bits.putInt(buf, off, unsafe.getInt(obj, key));
-                        break;
-
-                    case 'F':
-                        Bits.putFloat(buf, off, unsafe.getFloat(obj, key));
-                        break;
-
-                    case 'J':
-                        Bits.putLong(buf, off, unsafe.getLong(obj, key));
-                        break;
-
-                    case 'D':
-                        Bits.putDouble(buf, off, unsafe.getDouble(obj, key));
-                        break;
-
-                    default:
-                        throw new InternalError();
-                }
+            final long[] keys = primReadKeys;
+            final int[] offs = primReadOffsets;
+            final int[] starts = primReadStarts;
+            int i = 0;
+            for (int end = starts[1]; i < end; i++) {
+                Bits.putBoolean(buf, offs[i], unsafe.getBoolean(obj, keys[i]));
+            }
+            for (int end = starts[2]; i < end; i++) {
+                buf[offs[i]] = unsafe.getByte(obj, keys[i]);
+            }
+            for (int end = starts[3]; i < end; i++) {
+                Bits.putChar(buf, offs[i], unsafe.getChar(obj, keys[i]));
+            }
+            for (int end = starts[4]; i < end; i++) {
+                Bits.putShort(buf, offs[i], unsafe.getShort(obj, keys[i]));
+            }
+            for (int end = starts[5]; i < end; i++) {
+                Bits.putInt(buf, offs[i], unsafe.getInt(obj, keys[i]));
+            }
+            for (int end = starts[6]; i < end; i++) {
+                Bits.putFloat(buf, offs[i], unsafe.getFloat(obj, keys[i]));
+            }
+            for (int end = starts[7]; i < end; i++) {
+                Bits.putLong(buf, offs[i], unsafe.getLong(obj, keys[i]));
+            }
+            for (int end = starts[8]; i < end; i++) {
+                Bits.putDouble(buf, offs[i], unsafe.getDouble(obj, keys[i]));
             }
         }
 
@@ -1985,48 +2031,34 @@ public class ObjectStreamClass implements Serializable {
             if (obj == null) {
                 throw new NullPointerException();
             }
-            for (int i = 0; i < numPrimFields; i++) {
-                long key = writeKeys[i];
-                if (key == Unsafe.INVALID_FIELD_OFFSET) {
-                    continue;           // discard value
-                }
-                int off = offsets[i];
-                switch (typeCodes[i]) {
-                    case 'Z':
-                        unsafe.putBoolean(obj, key, Bits.getBoolean(buf, off));
-                        break;
-
-                    case 'B':
-                        unsafe.putByte(obj, key, buf[off]);
-                        break;
-
-                    case 'C':
-                        unsafe.putChar(obj, key, Bits.getChar(buf, off));
-                        break;
-
-                    case 'S':
-                        unsafe.putShort(obj, key, Bits.getShort(buf, off));
-                        break;
-
-                    case 'I':
-                        unsafe.putInt(obj, key, Bits.getInt(buf, off));
-                        break;
-
-                    case 'F':
-                        unsafe.putFloat(obj, key, Bits.getFloat(buf, off));
-                        break;
-
-                    case 'J':
-                        unsafe.putLong(obj, key, Bits.getLong(buf, off));
-                        break;
-
-                    case 'D':
-                        unsafe.putDouble(obj, key, Bits.getDouble(buf, off));
-                        break;
-
-                    default:
-                        throw new InternalError();
-                }
+            // fields whose values are discarded are left out of the groups
+            final long[] keys = primWriteKeys;
+            final int[] offs = primWriteOffsets;
+            final int[] starts = primWriteStarts;
+            int i = 0;
+            for (int end = starts[1]; i < end; i++) {
+                unsafe.putBoolean(obj, keys[i], Bits.getBoolean(buf, offs[i]));
+            }
+            for (int end = starts[2]; i < end; i++) {
+                unsafe.putByte(obj, keys[i], buf[offs[i]]);
+            }
+            for (int end = starts[3]; i < end; i++) {
+                unsafe.putChar(obj, keys[i], Bits.getChar(buf, offs[i]));
+            }
+            for (int end = starts[4]; i < end; i++) {
+                unsafe.putShort(obj, keys[i], Bits.getShort(buf, offs[i]));
+            }
+            for (int end = starts[5]; i < end; i++) {
+                unsafe.putInt(obj, keys[i], Bits.getInt(buf, offs[i]));
+            }
+            for (int end = starts[6]; i < end; i++) {
+                unsafe.putFloat(obj, keys[i], Bits.getFloat(buf, offs[i]));
+            }
+            for (int end = starts[7]; i < end; i++) {
+                unsafe.putLong(obj, keys[i], Bits.getLong(buf, offs[i]));
+            }
+            for (int end = starts[8]; i < end; i++) {
+                unsafe.putDouble(obj, keys[i], Bits.getDouble(buf, offs[i]));
             }
         }
 
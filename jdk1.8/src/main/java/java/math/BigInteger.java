@@ -35,6 +35,11 @@ import java.io.ObjectOutputStream;
 import java.io.ObjectStreamField;
 import java.util.Arrays;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
 import java.util.concurrent.ThreadLocalRandom;
 import sun.misc.DoubleConsts;
 import sun.misc.FloatConsts;
@@ -242,6 +247,22 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int TOOM_COOK_SQUARE_THRESHOLD = 216;
 
+    /**
+     * The threshold value for using FFT multiplication.  If the number of
+     * ints in each mag array is greater than the Toom-Cook threshold, and
+     * the number of ints in the two mag arrays together is greater than
+     * this threshold, then FFT multiplication will be used.  This value
+     * is found experimentally to work well.
+     */
+    private static final int FFT_THRESHOLD = 2000;
+
+    /**
+     * The threshold value for using FFT squaring.  If the number of ints
+     * in the number are larger than this value, FFT squaring will be
+     * used.  This value is found experimentally to work well.
+     */
+    private static final int FFT_SQUARE_THRESHOLD = 1600;
+
     /**
      * The threshold value for using Burnikel-Ziegler division.  If the number
      * of ints in the divisor are larger than this value, Burnikel-Ziegler
@@ -258,6 +279,25 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     static final int BURNIKEL_ZIEGLER_OFFSET = 40;
 
+    /**
+     * The threshold value for using Newton division.  If the number of ints
+     * in the divisor is greater than this value, and the quotient is at
+     * least twice as long as the divisor, division multiplies by a
+     * reciprocal of the divisor computed by Newton iteration, which is
+     * computed once for all the divisor-sized blocks of the quotient.  This
+     * value is found experimentally to work well.
+     */
+    static final int NEWTON_THRESHOLD = 3000;
+
+    /**
+     * The threshold value for using Newton division whatever the length of
+     * the quotient.  If the number of ints in the divisor is greater than
+     * this value, computing the reciprocal is cheaper than the recursion
+     * of Burnikel-Ziegler division.  This value is found experimentally to
+     * work well.
+     */
+    static final int NEWTON_BALANCED_THRESHOLD = 50000;
+
     /**
      * The threshold value for using Schoenhage recursive base conversion. If
      * the number of ints in the number are larger than this value,
@@ -268,6 +308,15 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      */
     private static final int SCHOENHAGE_BASE_CONVERSION_THRESHOLD = 20;
 
+    /**
+     * The threshold value for using recursive parsing of Strings.  If the
+     * number of digits is larger than this value, the digits are converted
+     * by recursively splitting them in two, and combining the values of
+     * the halves with a multiplication by a cached power of the radix.
+     * This value is found experimentally to work well.
+     */
+    private static final int RECURSIVE_PARSE_THRESHOLD = 500;
+
     /**
      * The threshold value for using squaring code to perform multiplication
      * of a {@code BigInteger} instance by itself.  If the number of ints in
@@ -451,6 +500,18 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
             reportOverflow();
         }
         int numWords = (int) (numBits + 31) >>> 5;
+
+        if (numDigits > RECURSIVE_PARSE_THRESHOLD) {
+            for (int i = cursor; i < len; i++) {
+                if (Character.digit(val.charAt(i), radix) < 0)
+                    throw new NumberFormatException("Illegal digit");
+            }
+            mag = parse(val, cursor, len, radix).mag;
+            if (mag.length >= MAX_MAG_LENGTH) {
+                checkRange();
+            }
+            return;
+        }
         int[] magnitude = new int[numWords];
 
         // Process first (potentially short) digit group
@@ -509,6 +570,18 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
             }
             numWords = (int) (numBits + 31) >>> 5;
         }
+
+        if (numDigits > RECURSIVE_PARSE_THRESHOLD) {
+            for (int i = cursor; i < len; i++) {
+                if (Character.digit(val[i], 10) < 0)
+                    throw new NumberFormatException(new String(val));
+            }
+            mag = parse(new String(val, cursor, numDigits), 0, numDigits, 10).mag;
+            if (mag.length >= MAX_MAG_LENGTH) {
+                checkRange();
+            }
+            return;
+        }
         int[] magnitude = new int[numWords];
 
         // Process first (potentially short) digit group
@@ -528,6 +601,26 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         }
     }
 
+    /**
+     * Returns the non-negative value of the digits of val from start to end
+     * in the given radix, which have already been checked.  The digits are
+     * split so that the lower part has a power of two number of them, and
+     * the values of the two parts are combined with a multiplication by
+     * radix^(2^n), from the cache of powers used by the Schoenhage
+     * {@code toString}.
+     */
+    private static BigInteger parse(String val, int start, int end, int radix) {
+        int len = end - start;
+        if (len <= RECURSIVE_PARSE_THRESHOLD) {
+            return new BigInteger(val.substring(start, end), radix);
+        }
+        int n = 31 - Integer.numberOfLeadingZeros(len - 1);
+        int mid = end - (1 << n);
+        BigInteger high = parse(val, start, mid, radix);
+        BigInteger low = parse(val, mid, end, radix);
+        return high.multiply(getRadixConversionCache(radix, n)).add(low);
+    }
+
     // Create an integer with the digits between the two indexes
     // Assumes start < end. The result may be negative, but it
     // is to be treated as an unsigned value.
@@ -1473,13 +1566,52 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this * val}
      */
     public BigInteger multiply(BigInteger val) {
+        return multiply(val, false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)}.
+     * When both {@code this} and {@code val} are large, typically
+     * in the thousands of bits, parallel multiply might be used.
+     * This method returns the exact same mathematical result as
+     * {@link #multiply}.
+     *
+     * @implNote This implementation may offer better algorithmic
+     * performance when {@code val == this}.
+     *
+     * @implNote Compared to {@link #multiply}, an implementation's
+     * parallel multiplication algorithm would typically use more
+     * CPU resources to compute the result faster, and may do so
+     * with a slight increase in memory consumption.  The work is
+     * done in the {@link ForkJoinPool#commonPool() common pool},
+     * or in the current pool when called from one.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @return {@code this * val}
+     * @see #multiply
+     * @since 1.8
+     */
+    public BigInteger parallelMultiply(BigInteger val) {
+        return multiply(val, true, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this * val)},
+     * computing sub-products in parallel if {@code parallel} is true.
+     *
+     * @param  val value to be multiplied by this BigInteger.
+     * @param  parallel whether sub-products may be computed in parallel
+     * @param  depth the depth of recursive Toom-Cook calls so far
+     * @return {@code this * val}
+     */
+    private BigInteger multiply(BigInteger val, boolean parallel, int depth) {
         if (val.signum == 0 || signum == 0)
             return ZERO;
 
         int xlen = mag.length;
 
         if (val == this && xlen > MULTIPLY_SQUARE_THRESHOLD) {
-            return square();
+            return square(parallel, depth);
         }
 
         int ylen = val.mag.length;
@@ -1499,8 +1631,12 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         } else {
             if ((xlen < TOOM_COOK_THRESHOLD) && (ylen < TOOM_COOK_THRESHOLD)) {
                 return multiplyKaratsuba(this, val);
+            } else if (xlen + ylen < FFT_THRESHOLD ||
+                       xlen < TOOM_COOK_THRESHOLD ||
+                       ylen < TOOM_COOK_THRESHOLD) {
+                return multiplyToomCook3(this, val, parallel, depth);
             } else {
-                return multiplyToomCook3(this, val);
+                return multiplyFFT(this, val, parallel);
             }
         }
     }
@@ -1676,7 +1812,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * LNCS #4547. Springer, Madrid, Spain, June 21-22, 2007.
      *
      */
-    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b) {
+    private static BigInteger multiplyToomCook3(BigInteger a, BigInteger b,
+                                                boolean parallel, int depth) {
         int alen = a.mag.length;
         int blen = b.mag.length;
 
@@ -1700,16 +1837,20 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
 
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1, db1;
 
-        v0 = a0.multiply(b0);
+        depth++;
+        RecursiveTask<BigInteger> v0_task = RecursiveOp.multiply(a0, b0, parallel, depth);
         da1 = a2.add(a0);
         db1 = b2.add(b0);
-        vm1 = da1.subtract(a1).multiply(db1.subtract(b1));
+        RecursiveTask<BigInteger> vm1_task = RecursiveOp.multiply(da1.subtract(a1), db1.subtract(b1), parallel, depth);
         da1 = da1.add(a1);
         db1 = db1.add(b1);
-        v1 = da1.multiply(db1);
+        RecursiveTask<BigInteger> v1_task = RecursiveOp.multiply(da1, db1, parallel, depth);
         v2 = da1.add(a2).shiftLeft(1).subtract(a0).multiply(
-             db1.add(b2).shiftLeft(1).subtract(b0));
-        vinf = a2.multiply(b2);
+             db1.add(b2).shiftLeft(1).subtract(b0), parallel, depth);
+        vinf = a2.multiply(b2, parallel, depth);
+        v0 = v0_task.join();
+        vm1 = vm1_task.join();
+        v1 = v1_task.join();
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -1875,6 +2016,16 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * @return {@code this<sup>2</sup>}
      */
     private BigInteger square() {
+        return square(false, 0);
+    }
+
+    /**
+     * Returns a BigInteger whose value is {@code (this<sup>2</sup>)},
+     * computing sub-products in parallel if {@code parallel} is true.
+     *
+     * @return {@code this<sup>2</sup>}
+     */
+    private BigInteger square(boolean parallel, int depth) {
         if (signum == 0) {
             return ZERO;
         }
@@ -1886,8 +2037,10 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         } else {
             if (len < TOOM_COOK_SQUARE_THRESHOLD) {
                 return squareKaratsuba();
+            } else if (len < FFT_SQUARE_THRESHOLD) {
+                return squareToomCook3(parallel, depth);
             } else {
-                return squareToomCook3();
+                return multiplyFFT(this, this, parallel);
             }
         }
     }
@@ -1986,7 +2139,7 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
      * that has better asymptotic performance than the algorithm used in
      * squareToLen or squareKaratsuba.
      */
-    private BigInteger squareToomCook3() {
+    private BigInteger squareToomCook3(boolean parallel, int depth) {
         int len = mag.length;
 
         // k is the size (in ints) of the lower-order slices.
@@ -2003,13 +2156,17 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         a0 = getToomSlice(k, r, 2, len);
         BigInteger v0, v1, v2, vm1, vinf, t1, t2, tm1, da1;
 
-        v0 = a0.square();
+        depth++;
+        RecursiveTask<BigInteger> v0_fork = RecursiveOp.square(a0, parallel, depth);
         da1 = a2.add(a0);
-        vm1 = da1.subtract(a1).square();
+        RecursiveTask<BigInteger> vm1_fork = RecursiveOp.square(da1.subtract(a1), parallel, depth);
         da1 = da1.add(a1);
-        v1 = da1.square();
-        vinf = a2.square();
-        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square();
+        RecursiveTask<BigInteger> v1_fork = RecursiveOp.square(da1, parallel, depth);
+        vinf = a2.square(parallel, depth);
+        v2 = da1.add(a2).shiftLeft(1).subtract(a0).square(parallel, depth);
+        v0 = v0_fork.join();
+        vm1 = vm1_fork.join();
+        v1 = v1_fork.join();
 
         // The algorithm requires two divisions by 2 and one by 3.
         // All divisions are known to be exact, that is, they do not produce
@@ -2031,6 +2188,414 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         return vinf.shiftLeft(ss).add(t2).shiftLeft(ss).add(t1).shiftLeft(ss).add(tm1).shiftLeft(ss).add(v0);
     }
 
+    // Parallel multiplication
+
+    /**
+     * Helper class for the parallel Toom-Cook multiplications and
+     * squarings.  Sub-products are forked until the recursion is deep
+     * enough to keep all threads of the pool busy, and computed inline
+     * below that.
+     */
+    @SuppressWarnings("serial")
+    private abstract static class RecursiveOp extends RecursiveTask<BigInteger> {
+        /**
+         * The threshold until when we should continue forking recursive ops
+         * if parallel is true. This threshold is only relevant for Toom Cook 3
+         * multiply and square.
+         */
+        private static final int PARALLEL_FORK_DEPTH_THRESHOLD =
+                calculateMaximumDepth(ForkJoinPool.getCommonPoolParallelism());
+
+        private static final int calculateMaximumDepth(int parallelism) {
+            return 32 - Integer.numberOfLeadingZeros(parallelism);
+        }
+
+        final boolean parallel;
+
+        /**
+         * The current recursing depth. Since it is a logarithmic algorithm,
+         * we do not need an int to hold the number.
+         */
+        final byte depth;
+
+        private RecursiveOp(boolean parallel, int depth) {
+            this.parallel = parallel;
+            this.depth = (byte) depth;
+        }
+
+        private static int getParallelForkDepthThreshold() {
+            if (Thread.currentThread() instanceof ForkJoinWorkerThread) {
+                return calculateMaximumDepth(
+                    ((ForkJoinWorkerThread)Thread.currentThread()).getPool().getParallelism()
+                );
+            }
+            else {
+                return PARALLEL_FORK_DEPTH_THRESHOLD;
+            }
+        }
+
+        protected RecursiveTask<BigInteger> forkOrInvoke() {
+            if (parallel && depth <= getParallelForkDepthThreshold()) fork();
+            else invoke();
+            return this;
+        }
+
+        @SuppressWarnings("serial")
+        private static final class RecursiveMultiply extends RecursiveOp {
+            private final BigInteger a;
+            private final BigInteger b;
+
+            public RecursiveMultiply(BigInteger a, BigInteger b, boolean parallel, int depth) {
+                super(parallel, depth);
+                this.a = a;
+                this.b = b;
+            }
+
+            @Override
+            public BigInteger compute() {
+                return a.multiply(b, parallel, depth);
+            }
+        }
+
+        @SuppressWarnings("serial")
+        private static final class RecursiveSquare extends RecursiveOp {
+            private final BigInteger a;
+
+            public RecursiveSquare(BigInteger a, boolean parallel, int depth) {
+                super(parallel, depth);
+                this.a = a;
+            }
+
+            @Override
+            public BigInteger compute() {
+                return a.square(parallel, depth);
+            }
+        }
+
+        private static RecursiveTask<BigInteger> multiply(BigInteger a, BigInteger b,
+                                                          boolean parallel, int depth) {
+            return new RecursiveMultiply(a, b, parallel, depth).forkOrInvoke();
+        }
+
+        private static RecursiveTask<BigInteger> square(BigInteger a,
+                                                        boolean parallel, int depth) {
+            return new RecursiveSquare(a, parallel, depth).forkOrInvoke();
+        }
+    }
+
+    // FFT multiplication
+
+    /**
+     * The largest number of bits, in the sense of {@code 2*w + log2(n)} for
+     * n pieces of w bits, that an FFT convolution may need to represent
+     * exactly in a double.  Balanced pieces and accurate twiddle factors
+     * leave the rounding error well below one half up to this size.
+     */
+    private static final int FFT_PRECISION_BITS = 47;
+
+    /**
+     * A convolution coefficient further than this from an integer means
+     * the transform was not precise enough to round it with certainty, and
+     * the product is recomputed with smaller pieces.
+     */
+    private static final double FFT_MAX_ERROR = 0.25;
+
+    /**
+     * Transforms of at least this many points have their halves computed
+     * in parallel by {@link #parallelMultiply}.
+     */
+    private static final int FFT_PARALLEL_THRESHOLD = 1 << 14;
+
+    /**
+     * Twiddle tables for transforms of up to this many points are kept
+     * for reuse.
+     */
+    private static final int FFT_CACHE_LIMIT = 1 << 20;
+
+    /**
+     * The factors cos(2*pi*k/n) and sin(2*pi*k/n), 0 <= k < n/2, for the
+     * longest transform computed so far of at most FFT_CACHE_LIMIT points.
+     * The table for n serves every shorter transform by striding.
+     */
+    private static volatile double[][] fftTwiddles;
+
+    /**
+     * Multiplies two BigIntegers using a floating-point FFT convolution.
+     * The magnitudes are cut into w-bit pieces, balanced to the range
+     * [-2^(w-1), 2^(w-1)) to keep the convolution sums small, and the
+     * pieces of a and b go into the real and imaginary parts of a single
+     * complex transform.  Rounding the inverse transform gives the pieces
+     * of the product.  If any of them is not close enough to an integer
+     * to be sure of the rounding, the product is recomputed with smaller
+     * pieces.
+     *
+     * See: Richard Crandall and Barry Fagin, "Discrete weighted transforms
+     * and large-integer arithmetic", Math. Comp. 62 (1994), 305-324.
+     *
+     * @param a the first factor
+     * @param b the second factor, or a itself for squaring
+     * @param parallel whether the transforms may be computed in parallel
+     * @return {@code a * b}
+     */
+    private static BigInteger multiplyFFT(BigInteger a, BigInteger b, boolean parallel) {
+        int[] x = a.mag, y = b.mag;
+        int xbits = bitLength(x, x.length);
+        int ybits = bitLength(y, y.length);
+        int w = 20;
+        while (2 * w + fftLogLength(xbits, ybits, w) > FFT_PRECISION_BITS)
+            w--;
+        int[] z;
+        while ((z = multiplyFFT(x, xbits, y, ybits, w, a == b, parallel)) == null)
+            w--;
+        return new BigInteger(trustedStripLeadingZeroInts(z), a.signum * b.signum);
+    }
+
+    /**
+     * Returns log2 of the transform length for factors of the given bit
+     * lengths cut into w-bit pieces.
+     */
+    private static int fftLogLength(int xbits, int ybits, int w) {
+        int zn = (xbits + w - 1) / w + (ybits + w - 1) / w + 1;
+        return 32 - Integer.numberOfLeadingZeros(zn - 1);
+    }
+
+    /**
+     * Returns the magnitude of the product of x and y, computed with
+     * w-bit pieces, or null if w was too large for the result to be
+     * reliable.
+     */
+    private static int[] multiplyFFT(int[] x, int xbits, int[] y, int ybits,
+                                     int w, boolean square, boolean parallel) {
+        int logn = fftLogLength(xbits, ybits, w);
+        int n = 1 << logn;
+        double[] re = new double[n];
+        double[] im = new double[n];
+        toFFTPieces(x, xbits, w, re);
+        if (!square)
+            toFFTPieces(y, ybits, w, im);
+
+        double[][] tw = fftTwiddles(n);
+        double[] cos = tw[0], sin = tw[1];
+        int stride = (cos.length << 1) >>> logn;
+        fft(re, im, 0, n, cos, sin, stride, false, parallel);
+
+        // The forward transform leaves the spectrum in bit-reversed order,
+        // which is the order the inverse transform reads it in.  Position p
+        // holds frequency f = reverse(p).  For a product the spectra X and Y
+        // of the real inputs are recovered from Z = X + iY using the
+        // conjugate symmetry of real transforms:  X(f)Y(f) =
+        // (Z(f)^2 - conj(Z(-f))^2) / 4i.  The 1/n of the inverse transform
+        // is applied here too.
+        if (square) {
+            double scale = 1.0 / n;
+            for (int p = 0; p < n; p++) {
+                double a = re[p], b = im[p];
+                re[p] = (a * a - b * b) * scale;
+                im[p] = 2 * a * b * scale;
+            }
+        } else {
+            double half = 0.5 / n, quarter = 0.25 / n;
+            int shift = 32 - logn;
+            for (int p = 0; p < n; p++) {
+                int f = Integer.reverse(p) >>> shift;
+                int q = Integer.reverse((n - f) & (n - 1)) >>> shift;
+                if (q < p)
+                    continue;
+                double a = re[p], b = im[p], c = re[q], d = im[q];
+                double r = (a * b + c * d) * half;
+                double i = ((c * c - d * d) - (a * a - b * b)) * quarter;
+                re[p] = r;
+                im[p] = i;
+                re[q] = r;
+                im[q] = -i;
+            }
+        }
+        fft(re, im, 0, n, cos, sin, stride, true, parallel);
+
+        // Round the pieces of the product, propagate carries, and pack the
+        // w-bit results into ints.
+        int[] z = new int[x.length + y.length];
+        long mask = (1L << w) - 1;
+        long carry = 0, buf = 0;
+        int bits = 0, zi = z.length - 1;
+        double err = 0;
+        for (int k = 0; k < n; k++) {
+            double v = re[k];
+            double r = Math.rint(v);
+            err = Math.max(err, Math.abs(v - r));
+            long t = (long) r + carry;
+            carry = t >> w;
+            buf |= (t & mask) << bits;
+            bits += w;
+            if (bits >= 32) {
+                if (zi >= 0)
+                    z[zi--] = (int) buf;
+                buf >>>= 32;
+                bits -= 32;
+            }
+        }
+        if (err > FFT_MAX_ERROR)
+            return null;
+        while (zi >= 0 && (carry != 0 || buf != 0)) {
+            buf |= (carry & mask) << bits;
+            carry >>= w;
+            bits += w;
+            if (bits >= 32 || carry == 0) {
+                z[zi--] = (int) buf;
+                buf >>>= 32;
+                bits = Math.max(bits - 32, 0);
+            }
+        }
+        return z;
+    }
+
+    /**
+     * Cuts the magnitude into w-bit pieces, least significant first, each
+     * balanced to [-2^(w-1), 2^(w-1)) by borrowing from the piece above.
+     */
+    private static void toFFTPieces(int[] mag, int magBits, int w, double[] out) {
+        long mask = (1L << w) - 1;
+        int half = 1 << (w - 1);
+        int pieces = (magBits + w - 1) / w;
+        long buf = 0;
+        int bits = 0, carry = 0, i = mag.length - 1;
+        for (int k = 0; k < pieces; k++) {
+            if (bits < w && i >= 0) {
+                buf |= (mag[i--] & LONG_MASK) << bits;
+                bits += 32;
+            }
+            int d = (int) (buf & mask) + carry;
+            buf >>>= w;
+            bits -= w;
+            if (d >= half) {
+                d -= 1 << w;
+                carry = 1;
+            } else {
+                carry = 0;
+            }
+            out[k] = d;
+        }
+        out[pieces] = carry;
+    }
+
+    /**
+     * Returns the twiddle factors for a transform of n points, a power of
+     * two, possibly as part of the table for a longer transform.
+     */
+    private static double[][] fftTwiddles(int n) {
+        double[][] t = fftTwiddles; // volatile read
+        if (t != null && (t[0].length << 1) >= n)
+            return t;
+
+        // Compute the factors in blocks from a table of the first few, so
+        // that each takes one complex multiplication of directly computed
+        // values and the error stays within an ulp or two.
+        int half = n >>> 1;
+        int block = Math.min(half, 64);
+        double[] cos = new double[half];
+        double[] sin = new double[half];
+        for (int k = 0; k < block; k++) {
+            double a = 2 * Math.PI * k / n;
+            cos[k] = Math.cos(a);
+            sin[k] = Math.sin(a);
+        }
+        for (int j = block; j < half; j += block) {
+            double a = 2 * Math.PI * j / n;
+            double c = Math.cos(a), s = Math.sin(a);
+            for (int k = 0; k < block; k++) {
+                cos[j + k] = c * cos[k] - s * sin[k];
+                sin[j + k] = s * cos[k] + c * sin[k];
+            }
+        }
+        t = new double[][] { cos, sin };
+        if (n <= FFT_CACHE_LIMIT)
+            fftTwiddles = t; // volatile write, publish
+        return t;
+    }
+
+    /**
+     * Computes an in-place radix-2 transform of the n points at off.  The
+     * forward transform (decimation in frequency) takes its input in
+     * natural order and leaves the result in bit-reversed order; the
+     * inverse (decimation in time) does the reverse, and leaves the
+     * result unscaled.  The twiddle factor for index j is entry
+     * {@code j*stride} of the tables.
+     */
+    private static void fft(double[] re, double[] im, int off, int n,
+                            double[] cos, double[] sin, int stride,
+                            boolean inverse, boolean parallel) {
+        if (n <= 2) {
+            if (n == 2) {
+                double ur = re[off], ui = im[off];
+                double vr = re[off + 1], vi = im[off + 1];
+                re[off] = ur + vr;
+                im[off] = ui + vi;
+                re[off + 1] = ur - vr;
+                im[off + 1] = ui - vi;
+            }
+            return;
+        }
+        int half = n >>> 1;
+        if (!inverse) {
+            for (int j = 0, a = off, b = off + half; j < half; j++, a++, b++) {
+                double c = cos[j * stride], s = sin[j * stride];
+                double ur = re[a], ui = im[a], vr = re[b], vi = im[b];
+                re[a] = ur + vr;
+                im[a] = ui + vi;
+                double dr = ur - vr, di = ui - vi;
+                re[b] = dr * c + di * s;
+                im[b] = di * c - dr * s;
+            }
+        }
+        if (parallel && n >= FFT_PARALLEL_THRESHOLD) {
+            ForkJoinTask.invokeAll(
+                new FFTHalf(re, im, off, half, cos, sin, stride << 1, inverse),
+                new FFTHalf(re, im, off + half, half, cos, sin, stride << 1, inverse));
+        } else {
+            fft(re, im, off, half, cos, sin, stride << 1, inverse, false);
+            fft(re, im, off + half, half, cos, sin, stride << 1, inverse, false);
+        }
+        if (inverse) {
+            for (int j = 0, a = off, b = off + half; j < half; j++, a++, b++) {
+                double c = cos[j * stride], s = sin[j * stride];
+                double br = re[b], bi = im[b];
+                double vr = br * c - bi * s, vi = br * s + bi * c;
+                double ur = re[a], ui = im[a];
+                re[a] = ur + vr;
+                im[a] = ui + vi;
+                re[b] = ur - vr;
+                im[b] = ui - vi;
+            }
+        }
+    }
+
+    /**
+     * One half of a transform being computed in parallel.
+     */
+    @SuppressWarnings("serial")
+    private static final class FFTHalf extends RecursiveAction {
+        private final double[] re, im, cos, sin;
+        private final int off, n, stride;
+        private final boolean inverse;
+
+        FFTHalf(double[] re, double[] im, int off, int n,
+                double[] cos, double[] sin, int stride, boolean inverse) {
+            this.re = re;
+            this.im = im;
+            this.off = off;
+            this.n = n;
+            this.cos = cos;
+            this.sin = sin;
+            this.stride = stride;
+            this.inverse = inverse;
+        }
+
+        @Override
+        protected void compute() {
+            fft(re, im, off, n, cos, sin, stride, inverse, true);
+        }
+    }
+
     // Division
 
     /**
@@ -2044,6 +2609,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         if (val.mag.length < BURNIKEL_ZIEGLER_THRESHOLD ||
                 mag.length - val.mag.length < BURNIKEL_ZIEGLER_OFFSET) {
             return divideKnuth(val);
+        } else if (useNewton(val)) {
+            return divideAndRemainderNewton(val)[0];
         } else {
             return divideBurnikelZiegler(val);
         }
@@ -2081,6 +2648,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         if (val.mag.length < BURNIKEL_ZIEGLER_THRESHOLD ||
                 mag.length - val.mag.length < BURNIKEL_ZIEGLER_OFFSET) {
             return divideAndRemainderKnuth(val);
+        } else if (useNewton(val)) {
+            return divideAndRemainderNewton(val);
         } else {
             return divideAndRemainderBurnikelZiegler(val);
         }
@@ -2110,6 +2679,8 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         if (val.mag.length < BURNIKEL_ZIEGLER_THRESHOLD ||
                 mag.length - val.mag.length < BURNIKEL_ZIEGLER_OFFSET) {
             return remainderKnuth(val);
+        } else if (useNewton(val)) {
+            return divideAndRemainderNewton(val)[1];
         } else {
             return remainderBurnikelZiegler(val);
         }
@@ -2156,6 +2727,139 @@ public class BigInteger extends Number implements Comparable<BigInteger> {
         return new BigInteger[] {qBigInt, rBigInt};
     }
 
+    /**
+     * Returns true if division by {@code val} should use Newton division.
+     */
+    private boolean useNewton(BigInteger val) {
+        int n = val.mag.length;
+        return n >= NEWTON_THRESHOLD &&
+               (mag.length - n >= 2 * n || n >= NEWTON_BALANCED_THRESHOLD);
+    }
+
+    /**
+     * Computes {@code this / val} and {@code this % val} by multiplying
+     * with a reciprocal of the divisor computed by Newton iteration.
+     * @param val the divisor
+     * @return an array containing the quotient and remainder
+     */
+    private BigInteger[] divideAndRemainderNewton(BigInteger val) {
+        BigInteger[] qr = divideAndRemainderNewton(this.abs(), val.abs());
+        if (signum != val.signum)
+            qr[0] = qr[0].negate();
+        if (signum < 0)
+            qr[1] = qr[1].negate();
+        return qr;
+    }
+
+    /**
+     * Divides a by b, both positive, using a reciprocal of b.
+     *
+     * The divisor is first normalized to a whole number of ints.  A
+     * dividend of up to twice the length of the divisor takes one Barrett
+     * reduction, with both operands truncated to a few bits more than the
+     * quotient, since only that many of their leading bits can affect it;
+     * the truncated quotient is within one of the true quotient, and is
+     * corrected against the full remainder.  A longer dividend is divided
+     * a divisor-length block at a time, reusing one reciprocal, like a
+     * long division with very large digits.
+     */
+    private static BigInteger[] divideAndRemainderNewton(BigInteger a, BigInteger b) {
+        int s = -b.bitLength() & 31;
+        a = a.shiftLeft(s);
+        b = b.shiftLeft(s);
+        int n = b.bitLength();
+        int m = a.bitLength();
+        BigInteger q, r;
+
+        if (m <= 2 * n) {
+            int k = m - n + 3;  // the quotient's bits, and two guard bits
+            int t = n - k;
+            if (t <= 0) {
+                BigInteger[] qr = divideBarrett(a, b, reciprocal(b), n);
+                q = qr[0];
+                r = qr[1];
+            } else {
+                BigInteger b1 = b.shiftRight(t);
+                q = divideBarrett(a.shiftRight(t), b1, reciprocal(b1), k)[0];
+                r = a.subtract(q.multiply(b));
+                while (r.signum < 0) {
+                    q = q.subtract(ONE);
+                    r = r.add(b);
+                }
+                while (r.compareTo(b) >= 0) {
+                    q = q.add(ONE);
+                    r = r.subtract(b);
+                }
+            }
+        } else {
+            BigInteger recip = reciprocal(b);
+            int words = n >>> 5;
+            int[] mag = a.mag;
+            int blocks = (mag.length + words - 1) / words;
+            int[] qmag = new int[blocks * words];
+            r = ZERO;
+            for (int i = blocks - 1; i >= 0; i--) {
+                int hi = mag.length - i * words;
+                int lo = Math.max(hi - words, 0);
+                int[] block = Arrays.copyOfRange(mag, lo, hi);
+                BigInteger x = r.shiftLeft(n).add(
+                        new BigInteger(trustedStripLeadingZeroInts(block), 1));
+                BigInteger[] qr = divideBarrett(x, b, recip, n);
+                int[] qb = qr[0].mag;
+                System.arraycopy(qb, 0, qmag, qmag.length - i * words - qb.length,
+                                 qb.length);
+                r = qr[1];
+            }
+            q = new BigInteger(trustedStripLeadingZeroInts(qmag), 1);
+        }
+        return new BigInteger[] {q, r.shiftRight(s)};
+    }
+
+    /**
+     * Divides x by d using Barrett reduction, where d has n bits, x is
+     * less than 2^(2n), and recip is {@code reciprocal(d)}.  The estimate
+     * of the quotient is within a few units of the quotient, and is
+     * corrected against the remainder.
+     * @return an array containing the quotient and remainder
+     */
+    private static BigInteger[] divideBarrett(BigInteger x, BigInteger d,
+                                              BigInteger recip, int n) {
+        BigInteger q = x.shiftRight(n - 1).multiply(recip).shiftRight(n + 1);
+        BigInteger r = x.subtract(q.multiply(d));
+        while (r.signum < 0) {
+            q = q.subtract(ONE);
+            r = r.add(d);
+        }
+        while (r.compareTo(d) >= 0) {
+            q = q.add(ONE);
+            r = r.subtract(d);
+        }
+        return new BigInteger[] {q, r};
+    }
+
+    /**
+     * Returns 2^(2n) / d, to within two units, for a positive d of n bits.
+     *
+     * An approximate reciprocal rh of the leading h bits of d, for h a
+     * little more than n/2, is computed recursively and refined by one
+     * Newton step, which doubles its number of correct bits.  With
+     * x = rh*2^(n-h) and e = 2^(n+h) - d*rh, the step
+     * x + x*(2^(2n) - d*x)/2^(2n) is rh*2^(n-h) + rh*e/2^(2h).  The
+     * residual e is within a few times 2^n, and only its leading n-h or
+     * so bits contribute to the result.
+     */
+    private static BigInteger reciprocal(BigInteger d) {
+        int n = d.bitLength();
+        if (d.mag.length < NEWTON_THRESHOLD) {
+            return ONE.shiftLeft(2 * n).divide(d);
+        }
+        int h = (n >>> 1) + 4;
+        BigInteger rh = reciprocal(d.shiftRight(n - h));
+        BigInteger e = ONE.shiftLeft(n + h).subtract(d.multiply(rh));
+        return rh.shiftLeft(n - h).add(
+                rh.multiply(e.shiftRight(h - 3)).shiftRight(h + 3));
+    }
+
     /**
      * Returns a BigInteger whose value is <tt>(this<sup>exponent</sup>)</tt>.
      * Note that {@code exponent} is an integer rather than a BigInteger.
@@ -137,6 +137,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      */
@@ -155,6 +157,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -177,6 +181,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      */
@@ -195,6 +201,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -345,6 +353,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      */
@@ -371,6 +381,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -401,6 +413,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      */
@@ -427,6 +441,8 @@ public class Arrays {
      * offers O(n log(n)) performance on many data sets that cause other
      * quicksorts to degrade to quadratic performance, and is typically
      * faster than traditional (one-pivot) Quicksort implementations.
+     * Large arrays that are neither highly structured nor made up of a
+     * few distinct values are sorted by radix sort instead.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -664,6 +680,8 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      *
@@ -675,10 +693,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJInt.Sorter
-                (null, a, new int[n], 0, n, 0,
+            ArraysParallelSortHelpers.FJInt.sort
+                (a, new int[n], 0, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -697,6 +715,8 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -715,10 +735,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJInt.Sorter
-                (null, a, new int[n], fromIndex, n, 0,
+            ArraysParallelSortHelpers.FJInt.sort
+                (a, new int[n], fromIndex, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -734,6 +754,8 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      *
@@ -745,10 +767,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJLong.Sorter
-                (null, a, new long[n], 0, n, 0,
+            ArraysParallelSortHelpers.FJLong.sort
+                (a, new long[n], 0, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -767,6 +789,8 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -785,10 +809,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJLong.Sorter
-                (null, a, new long[n], fromIndex, n, 0,
+            ArraysParallelSortHelpers.FJLong.sort
+                (a, new long[n], fromIndex, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -812,6 +836,8 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      *
@@ -823,10 +849,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJFloat.Sorter
-                (null, a, new float[n], 0, n, 0,
+            ArraysParallelSortHelpers.FJFloat.sort
+                (a, new float[n], 0, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -853,6 +879,8 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -871,10 +899,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJFloat.Sorter
-                (null, a, new float[n], fromIndex, n, 0,
+            ArraysParallelSortHelpers.FJFloat.sort
+                (a, new float[n], fromIndex, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -898,6 +926,8 @@ public class Arrays {
      * working space no greater than the size of the original array. The
      * {@link ForkJoinPool#commonPool() ForkJoin common pool} is used to
      * execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      *
@@ -909,10 +939,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, 0, n - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJDouble.Sorter
-                (null, a, new double[n], 0, n, 0,
+            ArraysParallelSortHelpers.FJDouble.sort
+                (a, new double[n], 0, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -939,6 +969,8 @@ public class Arrays {
      * space no greater than the size of the specified range of the original
      * array. The {@link ForkJoinPool#commonPool() ForkJoin common pool} is
      * used to execute any parallel tasks.
+     * Arrays that are neither highly structured nor made up of a few
+     * distinct values are instead sorted by a parallel radix sort.
      *
      * @param a the array to be sorted
      * @param fromIndex the index of the first element, inclusive, to be sorted
@@ -957,10 +989,10 @@ public class Arrays {
             (p = ForkJoinPool.getCommonPoolParallelism()) == 1)
             DualPivotQuicksort.sort(a, fromIndex, toIndex - 1, null, 0, 0);
         else
-            new ArraysParallelSortHelpers.FJDouble.Sorter
-                (null, a, new double[n], fromIndex, n, 0,
+            ArraysParallelSortHelpers.FJDouble.sort
+                (a, new double[n], fromIndex, n,
                  ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
-                 MIN_ARRAY_SORT_GRAN : g).invoke();
+                 MIN_ARRAY_SORT_GRAN : g);
     }
 
     /**
@@ -1571,6 +1603,499 @@ public class Arrays {
         }
     }
 
+    // Sorting by key
+
+    /*
+     * The following methods sort primitive keys together with their
+     * original indices. The keys are first mapped to longs whose signed
+     * order is the order in which the keys are sorted.
+     */
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending numerical order. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by radix
+     * sort, or by merge sort if the array is short. The algorithm requires
+     * working space for two copies of the keys and indices.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] sortedIndices(int[] a) {
+        long[] k = new long[a.length];
+        setAll(k, i -> (long) a[i] - Integer.MIN_VALUE);
+        return sortedIndices(k, false);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending numerical order. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by a
+     * parallel radix sort that counts and distributes blocks of keys in
+     * parallel. If the length of the specified array is less than the
+     * minimum granularity, then it is sorted using the same method as
+     * {@link #sortedIndices(int[]) sortedIndices}. The algorithm requires
+     * working space for two copies of the keys and indices. The {@link
+     * ForkJoinPool#commonPool() ForkJoin common pool} is used to execute
+     * any parallel tasks.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] parallelSortedIndices(int[] a) {
+        long[] k = new long[a.length];
+        parallelSetAll(k, i -> (long) a[i] - Integer.MIN_VALUE);
+        return sortedIndices(k, true);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending numerical order. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by radix
+     * sort, or by merge sort if the array is short. The algorithm requires
+     * working space for two copies of the keys and indices.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] sortedIndices(long[] a) {
+        return sortedIndices(a.clone(), false);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending numerical order. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by a
+     * parallel radix sort that counts and distributes blocks of keys in
+     * parallel. If the length of the specified array is less than the
+     * minimum granularity, then it is sorted using the same method as
+     * {@link #sortedIndices(long[]) sortedIndices}. The algorithm requires
+     * working space for two copies of the keys and indices. The {@link
+     * ForkJoinPool#commonPool() ForkJoin common pool} is used to execute
+     * any parallel tasks.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] parallelSortedIndices(long[] a) {
+        return sortedIndices(a.clone(), true);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending order, as {@link #sort(float[])} does. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by radix
+     * sort, or by merge sort if the array is short. The algorithm requires
+     * working space for two copies of the keys and indices.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] sortedIndices(float[] a) {
+        long[] k = new long[a.length];
+        setAll(k, i -> DualPivotQuicksort.floatKey(a[i]) & 0xffffffffL);
+        return sortedIndices(k, false);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending order, as {@link #sort(float[])} does. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by a
+     * parallel radix sort that counts and distributes blocks of keys in
+     * parallel. If the length of the specified array is less than the
+     * minimum granularity, then it is sorted using the same method as
+     * {@link #sortedIndices(float[]) sortedIndices}. The algorithm requires
+     * working space for two copies of the keys and indices. The {@link
+     * ForkJoinPool#commonPool() ForkJoin common pool} is used to execute
+     * any parallel tasks.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] parallelSortedIndices(float[] a) {
+        long[] k = new long[a.length];
+        parallelSetAll(k, i -> DualPivotQuicksort.floatKey(a[i]) & 0xffffffffL);
+        return sortedIndices(k, true);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending order, as {@link #sort(double[])} does. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by radix
+     * sort, or by merge sort if the array is short. The algorithm requires
+     * working space for two copies of the keys and indices.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] sortedIndices(double[] a) {
+        long[] k = new long[a.length];
+        setAll(k, i -> DualPivotQuicksort.doubleKey(a[i]) ^ Long.MIN_VALUE);
+        return sortedIndices(k, false);
+    }
+
+    /**
+     * Returns the permutation that sorts the specified array into
+     * ascending order, as {@link #sort(double[])} does. The elements of the returned array {@code p} are the
+     * indices of the elements of {@code a} in sorted order, so that
+     * {@code a[p[0]]}, {@code a[p[1]]}, ... are sorted. The permutation
+     * is <i>stable</i>: the indices of equal elements appear in ascending
+     * order. The specified array is not modified.
+     *
+     * <p>The permutation may be used to rearrange any number of arrays
+     * of the same length into the order of the sorted array.
+     *
+     * @implNote The keys are sorted together with their indices by a
+     * parallel radix sort that counts and distributes blocks of keys in
+     * parallel. If the length of the specified array is less than the
+     * minimum granularity, then it is sorted using the same method as
+     * {@link #sortedIndices(double[]) sortedIndices}. The algorithm requires
+     * working space for two copies of the keys and indices. The {@link
+     * ForkJoinPool#commonPool() ForkJoin common pool} is used to execute
+     * any parallel tasks.
+     *
+     * @param a the array whose sorting permutation is computed
+     * @return the indices of the elements of {@code a} in sorted order
+     *
+     * @since 1.8
+     */
+    public static int[] parallelSortedIndices(double[] a) {
+        long[] k = new long[a.length];
+        parallelSetAll(k, i -> DualPivotQuicksort.doubleKey(a[i]) ^ Long.MIN_VALUE);
+        return sortedIndices(k, true);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #sortedIndices(int[]) sortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #sortedIndices(int[])
+     * sortedIndices}, and both arrays are then rearranged.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void sortByKey(int[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = sortedIndices(keys);
+        int[] k = keys.clone();
+        setAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, false);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #parallelSortedIndices(int[]) parallelSortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #parallelSortedIndices(int[])
+     * parallelSortedIndices}, and both arrays are then rearranged in
+     * parallel. The {@link ForkJoinPool#commonPool() ForkJoin common pool}
+     * is used to execute any parallel tasks.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void parallelSortByKey(int[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = parallelSortedIndices(keys);
+        int[] k = keys.clone();
+        parallelSetAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, true);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #sortedIndices(long[]) sortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #sortedIndices(long[])
+     * sortedIndices}, and both arrays are then rearranged.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void sortByKey(long[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = sortedIndices(keys);
+        long[] k = keys.clone();
+        setAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, false);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending numerical order, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #parallelSortedIndices(long[]) parallelSortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #parallelSortedIndices(long[])
+     * parallelSortedIndices}, and both arrays are then rearranged in
+     * parallel. The {@link ForkJoinPool#commonPool() ForkJoin common pool}
+     * is used to execute any parallel tasks.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void parallelSortByKey(long[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = parallelSortedIndices(keys);
+        long[] k = keys.clone();
+        parallelSetAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, true);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending order, as {@link #sort(float[])} does, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #sortedIndices(float[]) sortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #sortedIndices(float[])
+     * sortedIndices}, and both arrays are then rearranged.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void sortByKey(float[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = sortedIndices(keys);
+        float[] k = keys.clone();
+        for (int i = 0; i < k.length; i++)
+            keys[i] = k[idx[i]];
+        rearrange(values, idx, false);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending order, as {@link #sort(float[])} does, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #parallelSortedIndices(float[]) parallelSortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #parallelSortedIndices(float[])
+     * parallelSortedIndices}, and both arrays are then rearranged in
+     * parallel. The {@link ForkJoinPool#commonPool() ForkJoin common pool}
+     * is used to execute any parallel tasks.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void parallelSortByKey(float[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = parallelSortedIndices(keys);
+        float[] k = keys.clone();
+        IntStream.range(0, k.length).parallel()
+                 .forEach(i -> keys[i] = k[idx[i]]);
+        rearrange(values, idx, true);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending order, as {@link #sort(double[])} does, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #sortedIndices(double[]) sortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #sortedIndices(double[])
+     * sortedIndices}, and both arrays are then rearranged.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void sortByKey(double[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = sortedIndices(keys);
+        double[] k = keys.clone();
+        setAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, false);
+    }
+
+    /**
+     * Sorts the specified array of keys into ascending order, as {@link #sort(double[])} does, and
+     * rearranges the specified array of values in the same way, so that
+     * each value stays with its key. The sort is <i>stable</i>: values
+     * with equal keys keep their relative order.
+     *
+     * <p>To rearrange more than one array by the same keys, use {@link
+     * #parallelSortedIndices(double[]) parallelSortedIndices}.
+     *
+     * @implNote The keys are sorted by {@link #parallelSortedIndices(double[])
+     * parallelSortedIndices}, and both arrays are then rearranged in
+     * parallel. The {@link ForkJoinPool#commonPool() ForkJoin common pool}
+     * is used to execute any parallel tasks.
+     *
+     * @param keys the array of keys to be sorted
+     * @param values the array of values to be rearranged with the keys
+     * @throws IllegalArgumentException if the arrays differ in length
+     *
+     * @since 1.8
+     */
+    public static void parallelSortByKey(double[] keys, Object[] values) {
+        sameLengthCheck(keys.length, values.length);
+        int[] idx = parallelSortedIndices(keys);
+        double[] k = keys.clone();
+        parallelSetAll(keys, i -> k[idx[i]]);
+        rearrange(values, idx, true);
+    }
+
+    /**
+     * Sorts the given keys, returning the permutation that sorts them.
+     */
+    private static int[] sortedIndices(long[] k, boolean parallel) {
+        int n = k.length, p, g;
+        int[] idx = new int[n];
+        if (!parallel || n <= MIN_ARRAY_SORT_GRAN ||
+            (p = ForkJoinPool.getCommonPoolParallelism()) == 1) {
+            setAll(idx, i -> i);
+            DualPivotQuicksort.sort(k, idx);
+        }
+        else {
+            parallelSetAll(idx, i -> i);
+            ArraysParallelSortHelpers.FJIndexed.sort
+                (k, idx, ((g = n / (p << 2)) <= MIN_ARRAY_SORT_GRAN) ?
+                 MIN_ARRAY_SORT_GRAN : g);
+        }
+        return idx;
+    }
+
+    /**
+     * Rearranges the given values into the order of the given indices.
+     */
+    private static void rearrange(Object[] values, int[] idx,
+                                  boolean parallel) {
+        Object[] v = values.clone();
+        if (parallel)
+            parallelSetAll(values, i -> v[idx[i]]);
+        else
+            setAll(values, i -> v[idx[i]]);
+    }
+
+    /**
+     * Checks that the arrays of keys and values have the same length
+     * and throws an exception if they don't.
+     */
+    private static void sameLengthCheck(int keysLength, int valuesLength) {
+        if (keysLength != valuesLength)
+            throw new IllegalArgumentException(
+                    "keys.length(" + keysLength + ") != values.length(" +
+                    valuesLength + ")");
+    }
+
     // Parallel prefix
 
     /**
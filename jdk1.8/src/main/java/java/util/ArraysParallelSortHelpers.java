@@ -71,6 +71,19 @@ import java.util.concurrent.CountedCompleter;
  * temp workspace array slices that we will have already allocated, so
  * avoids redundant allocation. (Except for DualPivotQuicksort byte[]
  * sort, that does not ever use a workspace array.)
+ *
+ * The int, long, float and double classes also define a RadixSorter,
+ * used by their static sort method for arrays that are neither
+ * highly structured nor dominated by a few distinct values, as
+ * DualPivotQuicksort does sequentially. Each least-significant-digit
+ * pass splits the array into blocks of gran elements, counts the
+ * digits of each block in parallel, assigns each block its offsets
+ * within every bucket, and then distributes the blocks in parallel.
+ * Blocks fill a bucket in block order, so each pass is stable. The
+ * first scan counts the digits of all passes at once, and a pass
+ * whose digit is the same in every element is skipped. FJIndexed
+ * applies the same radix sort to long keys paired with int indices,
+ * for the Arrays methods that sort by key.
  */
 /*package*/ class ArraysParallelSortHelpers {
 
@@ -82,6 +95,12 @@ import java.util.concurrent.CountedCompleter;
      * reduce distraction.
      */
 
+    /**
+     * The number of descents up to which an array is considered
+     * highly structured, and so is merged rather than radix sorted.
+     */
+    static final int RADIX_MIN_DESCENTS = 64;
+
     /**
      * A placeholder task for Sorters, used for the lowest
      * quartile task, that does not need to maintain array state.
@@ -672,6 +691,125 @@ import java.util.concurrent.CountedCompleter;
                 tryComplete();
             }
         }
+
+        /**
+         * Sorts the given range by parallel radix sort, or by Sorter
+         * if it is highly structured or has few distinct values.
+         */
+        static void sort(int[] a, int[] w, int base, int size, int gran) {
+            final int bits = DualPivotQuicksort.RADIX_BITS;
+            final int mask = DualPivotQuicksort.RADIX_MASK;
+            int blocks = (size - 1) / gran + 1;
+            int passes = (32 + bits - 1) / bits;
+            int descents = 0;
+            for (int i = base + 1, end = base + size;
+                 i < end && descents <= RADIX_MIN_DESCENTS; ++i) {
+                if (a[i] < a[i - 1])
+                    ++descents;
+            }
+            if (descents <= RADIX_MIN_DESCENTS || DualPivotQuicksort
+                .hasFewDistinctValues(a, base, base + size - 1)) {
+                new Sorter(null, a, w, base, size, 0, gran).invoke();
+                return;
+            }
+            int[][] counts = new int[blocks][passes << bits];
+            new RadixSorter(a, null, base, size, gran, counts, -1, 0, blocks)
+                .invoke();
+
+            int[] src = a, dst = w;
+            int sbase = base, dbase = 0;
+            boolean counted = true; // counts are valid until data moves
+            for (int p = 0; p < passes; ++p) {
+                int pb = p << bits;
+                int key = src[sbase] ^ Integer.MIN_VALUE;
+                int first = key >>> p * bits & mask;
+                int total = 0;
+                for (int[] c : counts)
+                    total += c[pb + first];
+                if (total == size)
+                    continue;
+                if (!counted)
+                    new RadixSorter(src, null, sbase, size, gran, counts,
+                                    p, 0, blocks).invoke();
+                for (int d = pb, end = pb + (1 << bits), sum = dbase;
+                     d < end; ++d) {
+                    for (int[] c : counts) {
+                        int k = c[d];
+                        c[d] = sum;
+                        sum += k;
+                    }
+                }
+                new RadixSorter(src, dst, sbase, size, gran, counts,
+                                p, 0, blocks).invoke();
+                counted = false;
+                int[] t = src; src = dst; dst = t;
+                int o = sbase; sbase = dbase; dbase = o;
+            }
+            if (src != a)
+                System.arraycopy(src, sbase, a, base, size);
+        }
+
+        /**
+         * Performs one phase of a radix sort pass over blocks lo to hi:
+         * counts the digits of all passes if pass is negative, counts
+         * the digits of pass if w is null, and otherwise distributes
+         * a into w at the offsets in counts.
+         */
+        static final class RadixSorter extends RecursiveAction {
+            static final long serialVersionUID = 2446542900576103244L;
+            final int[] a, w; // source and destination arrays
+            final int base, size, gran, pass, lo, hi;
+            final int[][] counts; // per-block digit counts or offsets
+            RadixSorter(int[] a, int[] w, int base, int size, int gran,
+                        int[][] counts, int pass, int lo, int hi) {
+                this.a = a; this.w = w; this.base = base; this.size = size;
+                this.gran = gran; this.counts = counts; this.pass = pass;
+                this.lo = lo; this.hi = hi;
+            }
+            public final void compute() {
+                int[] a = this.a, w = this.w; // localize all params
+                int lo = this.lo, hi = this.hi, p = this.pass;
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new RadixSorter(a, w, base, size, gran, counts,
+                                              p, lo, mid),
+                              new RadixSorter(a, w, base, size, gran, counts,
+                                              p, mid, hi));
+                    return;
+                }
+                int[] c = counts[lo];
+                int b = base + lo * gran;
+                int e = b + Math.min(gran, size - lo * gran);
+                final int bits = DualPivotQuicksort.RADIX_BITS;
+                final int mask = DualPivotQuicksort.RADIX_MASK;
+                if (p < 0) {
+                    int passes = c.length >>> bits;
+                    for (int i = b; i < e; ++i) {
+                        int key = a[i] ^ Integer.MIN_VALUE;
+                        for (int q = 0, shift = 0; q < passes;
+                             ++q, shift += bits)
+                            ++c[(q << bits) + (key >>> shift & mask)];
+                    }
+                }
+                else {
+                    int pb = p << bits, shift = p * bits;
+                    if (w == null) {
+                        Arrays.fill(c, pb, pb + (1 << bits), 0);
+                        for (int i = b; i < e; ++i) {
+                            int key = a[i] ^ Integer.MIN_VALUE;
+                            ++c[pb + (key >>> shift & mask)];
+                        }
+                    }
+                    else {
+                        for (int i = b; i < e; ++i) {
+                            int ai = a[i];
+                            int key = ai ^ Integer.MIN_VALUE;
+                            w[c[pb + (key >>> shift & mask)]++] = ai;
+                        }
+                    }
+                }
+            }
+        }
     } // FJInt
 
     /** long support class */
@@ -783,6 +921,125 @@ import java.util.concurrent.CountedCompleter;
                 tryComplete();
             }
         }
+
+        /**
+         * Sorts the given range by parallel radix sort, or by Sorter
+         * if it is highly structured or has few distinct values.
+         */
+        static void sort(long[] a, long[] w, int base, int size, int gran) {
+            final int bits = DualPivotQuicksort.RADIX_BITS;
+            final int mask = DualPivotQuicksort.RADIX_MASK;
+            int blocks = (size - 1) / gran + 1;
+            int passes = (64 + bits - 1) / bits;
+            int descents = 0;
+            for (int i = base + 1, end = base + size;
+                 i < end && descents <= RADIX_MIN_DESCENTS; ++i) {
+                if (a[i] < a[i - 1])
+                    ++descents;
+            }
+            if (descents <= RADIX_MIN_DESCENTS || DualPivotQuicksort
+                .hasFewDistinctValues(a, base, base + size - 1)) {
+                new Sorter(null, a, w, base, size, 0, gran).invoke();
+                return;
+            }
+            int[][] counts = new int[blocks][passes << bits];
+            new RadixSorter(a, null, base, size, gran, counts, -1, 0, blocks)
+                .invoke();
+
+            long[] src = a, dst = w;
+            int sbase = base, dbase = 0;
+            boolean counted = true; // counts are valid until data moves
+            for (int p = 0; p < passes; ++p) {
+                int pb = p << bits;
+                long key = src[sbase] ^ Long.MIN_VALUE;
+                int first = (int) (key >>> p * bits & mask);
+                int total = 0;
+                for (int[] c : counts)
+                    total += c[pb + first];
+                if (total == size)
+                    continue;
+                if (!counted)
+                    new RadixSorter(src, null, sbase, size, gran, counts,
+                                    p, 0, blocks).invoke();
+                for (int d = pb, end = pb + (1 << bits), sum = dbase;
+                     d < end; ++d) {
+                    for (int[] c : counts) {
+                        int k = c[d];
+                        c[d] = sum;
+                        sum += k;
+                    }
+                }
+                new RadixSorter(src, dst, sbase, size, gran, counts,
+                                p, 0, blocks).invoke();
+                counted = false;
+                long[] t = src; src = dst; dst = t;
+                int o = sbase; sbase = dbase; dbase = o;
+            }
+            if (src != a)
+                System.arraycopy(src, sbase, a, base, size);
+        }
+
+        /**
+         * Performs one phase of a radix sort pass over blocks lo to hi:
+         * counts the digits of all passes if pass is negative, counts
+         * the digits of pass if w is null, and otherwise distributes
+         * a into w at the offsets in counts.
+         */
+        static final class RadixSorter extends RecursiveAction {
+            static final long serialVersionUID = 2446542900576103244L;
+            final long[] a, w; // source and destination arrays
+            final int base, size, gran, pass, lo, hi;
+            final int[][] counts; // per-block digit counts or offsets
+            RadixSorter(long[] a, long[] w, int base, int size, int gran,
+                        int[][] counts, int pass, int lo, int hi) {
+                this.a = a; this.w = w; this.base = base; this.size = size;
+                this.gran = gran; this.counts = counts; this.pass = pass;
+                this.lo = lo; this.hi = hi;
+            }
+            public final void compute() {
+                long[] a = this.a, w = this.w; // localize all params
+                int lo = this.lo, hi = this.hi, p = this.pass;
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new RadixSorter(a, w, base, size, gran, counts,
+                                              p, lo, mid),
+                              new RadixSorter(a, w, base, size, gran, counts,
+                                              p, mid, hi));
+                    return;
+                }
+                int[] c = counts[lo];
+                int b = base + lo * gran;
+                int e = b + Math.min(gran, size - lo * gran);
+                final int bits = DualPivotQuicksort.RADIX_BITS;
+                final int mask = DualPivotQuicksort.RADIX_MASK;
+                if (p < 0) {
+                    int passes = c.length >>> bits;
+                    for (int i = b; i < e; ++i) {
+                        long key = a[i] ^ Long.MIN_VALUE;
+                        for (int q = 0, shift = 0; q < passes;
+                             ++q, shift += bits)
+                            ++c[(q << bits) + (int) (key >>> shift & mask)];
+                    }
+                }
+                else {
+                    int pb = p << bits, shift = p * bits;
+                    if (w == null) {
+                        Arrays.fill(c, pb, pb + (1 << bits), 0);
+                        for (int i = b; i < e; ++i) {
+                            long key = a[i] ^ Long.MIN_VALUE;
+                            ++c[pb + (int) (key >>> shift & mask)];
+                        }
+                    }
+                    else {
+                        for (int i = b; i < e; ++i) {
+                            long ai = a[i];
+                            long key = ai ^ Long.MIN_VALUE;
+                            w[c[pb + (int) (key >>> shift & mask)]++] = ai;
+                        }
+                    }
+                }
+            }
+        }
     } // FJLong
 
     /** float support class */
@@ -894,6 +1151,125 @@ import java.util.concurrent.CountedCompleter;
                 tryComplete();
             }
         }
+
+        /**
+         * Sorts the given range by parallel radix sort, or by Sorter
+         * if it is highly structured or has few distinct values.
+         */
+        static void sort(float[] a, float[] w, int base, int size, int gran) {
+            final int bits = DualPivotQuicksort.RADIX_BITS;
+            final int mask = DualPivotQuicksort.RADIX_MASK;
+            int blocks = (size - 1) / gran + 1;
+            int passes = (32 + bits - 1) / bits;
+            int descents = 0;
+            for (int i = base + 1, end = base + size;
+                 i < end && descents <= RADIX_MIN_DESCENTS; ++i) {
+                if (a[i] < a[i - 1])
+                    ++descents;
+            }
+            if (descents <= RADIX_MIN_DESCENTS || DualPivotQuicksort
+                .hasFewDistinctValues(a, base, base + size - 1)) {
+                new Sorter(null, a, w, base, size, 0, gran).invoke();
+                return;
+            }
+            int[][] counts = new int[blocks][passes << bits];
+            new RadixSorter(a, null, base, size, gran, counts, -1, 0, blocks)
+                .invoke();
+
+            float[] src = a, dst = w;
+            int sbase = base, dbase = 0;
+            boolean counted = true; // counts are valid until data moves
+            for (int p = 0; p < passes; ++p) {
+                int pb = p << bits;
+                int key = DualPivotQuicksort.floatKey(src[sbase]);
+                int first = key >>> p * bits & mask;
+                int total = 0;
+                for (int[] c : counts)
+                    total += c[pb + first];
+                if (total == size)
+                    continue;
+                if (!counted)
+                    new RadixSorter(src, null, sbase, size, gran, counts,
+                                    p, 0, blocks).invoke();
+                for (int d = pb, end = pb + (1 << bits), sum = dbase;
+                     d < end; ++d) {
+                    for (int[] c : counts) {
+                        int k = c[d];
+                        c[d] = sum;
+                        sum += k;
+                    }
+                }
+                new RadixSorter(src, dst, sbase, size, gran, counts,
+                                p, 0, blocks).invoke();
+                counted = false;
+                float[] t = src; src = dst; dst = t;
+                int o = sbase; sbase = dbase; dbase = o;
+            }
+            if (src != a)
+                System.arraycopy(src, sbase, a, base, size);
+        }
+
+        /**
+         * Performs one phase of a radix sort pass over blocks lo to hi:
+         * counts the digits of all passes if pass is negative, counts
+         * the digits of pass if w is null, and otherwise distributes
+         * a into w at the offsets in counts.
+         */
+        static final class RadixSorter extends RecursiveAction {
+            static final long serialVersionUID = 2446542900576103244L;
+            final float[] a, w; // source and destination arrays
+            final int base, size, gran, pass, lo, hi;
+            final int[][] counts; // per-block digit counts or offsets
+            RadixSorter(float[] a, float[] w, int base, int size, int gran,
+                        int[][] counts, int pass, int lo, int hi) {
+                this.a = a; this.w = w; this.base = base; this.size = size;
+                this.gran = gran; this.counts = counts; this.pass = pass;
+                this.lo = lo; this.hi = hi;
+            }
+            public final void compute() {
+                float[] a = this.a, w = this.w; // localize all params
+                int lo = this.lo, hi = this.hi, p = this.pass;
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new RadixSorter(a, w, base, size, gran, counts,
+                                              p, lo, mid),
+                              new RadixSorter(a, w, base, size, gran, counts,
+                                              p, mid, hi));
+                    return;
+                }
+                int[] c = counts[lo];
+                int b = base + lo * gran;
+                int e = b + Math.min(gran, size - lo * gran);
+                final int bits = DualPivotQuicksort.RADIX_BITS;
+                final int mask = DualPivotQuicksort.RADIX_MASK;
+                if (p < 0) {
+                    int passes = c.length >>> bits;
+                    for (int i = b; i < e; ++i) {
+                        int key = DualPivotQuicksort.floatKey(a[i]);
+                        for (int q = 0, shift = 0; q < passes;
+                             ++q, shift += bits)
+                            ++c[(q << bits) + (key >>> shift & mask)];
+                    }
+                }
+                else {
+                    int pb = p << bits, shift = p * bits;
+                    if (w == null) {
+                        Arrays.fill(c, pb, pb + (1 << bits), 0);
+                        for (int i = b; i < e; ++i) {
+                            int key = DualPivotQuicksort.floatKey(a[i]);
+                            ++c[pb + (key >>> shift & mask)];
+                        }
+                    }
+                    else {
+                        for (int i = b; i < e; ++i) {
+                            float ai = a[i];
+                            int key = DualPivotQuicksort.floatKey(ai);
+                            w[c[pb + (key >>> shift & mask)]++] = ai;
+                        }
+                    }
+                }
+            }
+        }
     } // FJFloat
 
     /** double support class */
@@ -1005,6 +1381,244 @@ import java.util.concurrent.CountedCompleter;
                 tryComplete();
             }
         }
+
+        /**
+         * Sorts the given range by parallel radix sort, or by Sorter
+         * if it is highly structured or has few distinct values.
+         */
+        static void sort(double[] a, double[] w, int base, int size, int gran) {
+            final int bits = DualPivotQuicksort.RADIX_BITS;
+            final int mask = DualPivotQuicksort.RADIX_MASK;
+            int blocks = (size - 1) / gran + 1;
+            int passes = (64 + bits - 1) / bits;
+            int descents = 0;
+            for (int i = base + 1, end = base + size;
+                 i < end && descents <= RADIX_MIN_DESCENTS; ++i) {
+                if (a[i] < a[i - 1])
+                    ++descents;
+            }
+            if (descents <= RADIX_MIN_DESCENTS || DualPivotQuicksort
+                .hasFewDistinctValues(a, base, base + size - 1)) {
+                new Sorter(null, a, w, base, size, 0, gran).invoke();
+                return;
+            }
+            int[][] counts = new int[blocks][passes << bits];
+            new RadixSorter(a, null, base, size, gran, counts, -1, 0, blocks)
+                .invoke();
+
+            double[] src = a, dst = w;
+            int sbase = base, dbase = 0;
+            boolean counted = true; // counts are valid until data moves
+            for (int p = 0; p < passes; ++p) {
+                int pb = p << bits;
+                long key = DualPivotQuicksort.doubleKey(src[sbase]);
+                int first = (int) (key >>> p * bits & mask);
+                int total = 0;
+                for (int[] c : counts)
+                    total += c[pb + first];
+                if (total == size)
+                    continue;
+                if (!counted)
+                    new RadixSorter(src, null, sbase, size, gran, counts,
+                                    p, 0, blocks).invoke();
+                for (int d = pb, end = pb + (1 << bits), sum = dbase;
+                     d < end; ++d) {
+                    for (int[] c : counts) {
+                        int k = c[d];
+                        c[d] = sum;
+                        sum += k;
+                    }
+                }
+                new RadixSorter(src, dst, sbase, size, gran, counts,
+                                p, 0, blocks).invoke();
+                counted = false;
+                double[] t = src; src = dst; dst = t;
+                int o = sbase; sbase = dbase; dbase = o;
+            }
+            if (src != a)
+                System.arraycopy(src, sbase, a, base, size);
+        }
+
+        /**
+         * Performs one phase of a radix sort pass over blocks lo to hi:
+         * counts the digits of all passes if pass is negative, counts
+         * the digits of pass if w is null, and otherwise distributes
+         * a into w at the offsets in counts.
+         */
+        static final class RadixSorter extends RecursiveAction {
+            static final long serialVersionUID = 2446542900576103244L;
+            final double[] a, w; // source and destination arrays
+            final int base, size, gran, pass, lo, hi;
+            final int[][] counts; // per-block digit counts or offsets
+            RadixSorter(double[] a, double[] w, int base, int size, int gran,
+                        int[][] counts, int pass, int lo, int hi) {
+                this.a = a; this.w = w; this.base = base; this.size = size;
+                this.gran = gran; this.counts = counts; this.pass = pass;
+                this.lo = lo; this.hi = hi;
+            }
+            public final void compute() {
+                double[] a = this.a, w = this.w; // localize all params
+                int lo = this.lo, hi = this.hi, p = this.pass;
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new RadixSorter(a, w, base, size, gran, counts,
+                                              p, lo, mid),
+                              new RadixSorter(a, w, base, size, gran, counts,
+                                              p, mid, hi));
+                    return;
+                }
+                int[] c = counts[lo];
+                int b = base + lo * gran;
+                int e = b + Math.min(gran, size - lo * gran);
+                final int bits = DualPivotQuicksort.RADIX_BITS;
+                final int mask = DualPivotQuicksort.RADIX_MASK;
+                if (p < 0) {
+                    int passes = c.length >>> bits;
+                    for (int i = b; i < e; ++i) {
+                        long key = DualPivotQuicksort.doubleKey(a[i]);
+                        for (int q = 0, shift = 0; q < passes;
+                             ++q, shift += bits)
+                            ++c[(q << bits) + (int) (key >>> shift & mask)];
+                    }
+                }
+                else {
+                    int pb = p << bits, shift = p * bits;
+                    if (w == null) {
+                        Arrays.fill(c, pb, pb + (1 << bits), 0);
+                        for (int i = b; i < e; ++i) {
+                            long key = DualPivotQuicksort.doubleKey(a[i]);
+                            ++c[pb + (int) (key >>> shift & mask)];
+                        }
+                    }
+                    else {
+                        for (int i = b; i < e; ++i) {
+                            double ai = a[i];
+                            long key = DualPivotQuicksort.doubleKey(ai);
+                            w[c[pb + (int) (key >>> shift & mask)]++] = ai;
+                        }
+                    }
+                }
+            }
+        }
     } // FJDouble
 
+    /** long key with int index support class */
+    static final class FJIndexed {
+        /**
+         * Sorts a by parallel radix sort, applying the same
+         * rearrangement to idx, as the sequential
+         * DualPivotQuicksort.sort(long[], int[]) does.
+         */
+        static void sort(long[] a, int[] idx, int gran) {
+            int n = a.length, k = 0;
+            while (++k < n && a[k - 1] <= a[k]);
+            if (k >= n) // already sorted
+                return;
+            final int bits = DualPivotQuicksort.RADIX_BITS;
+            final int mask = DualPivotQuicksort.RADIX_MASK;
+            int blocks = (n - 1) / gran + 1;
+            int passes = (64 + bits - 1) / bits;
+            int[][] counts = new int[blocks][passes << bits];
+            new RadixSorter(a, null, idx, null, gran, counts, -1, 0, blocks)
+                .invoke();
+
+            long[] src = a, dst = new long[n];
+            int[] isrc = idx, idst = new int[n];
+            boolean counted = true; // counts are valid until data moves
+            for (int p = 0; p < passes; ++p) {
+                int pb = p << bits;
+                long key = src[0] ^ Long.MIN_VALUE;
+                int first = (int) (key >>> p * bits & mask);
+                int total = 0;
+                for (int[] c : counts)
+                    total += c[pb + first];
+                if (total == n)
+                    continue;
+                if (!counted)
+                    new RadixSorter(src, null, isrc, null, gran, counts,
+                                    p, 0, blocks).invoke();
+                for (int d = pb, end = pb + (1 << bits), sum = 0;
+                     d < end; ++d) {
+                    for (int[] c : counts) {
+                        int m = c[d];
+                        c[d] = sum;
+                        sum += m;
+                    }
+                }
+                new RadixSorter(src, dst, isrc, idst, gran, counts,
+                                p, 0, blocks).invoke();
+                counted = false;
+                long[] t = src; src = dst; dst = t;
+                int[] it = isrc; isrc = idst; idst = it;
+            }
+            if (src != a) {
+                System.arraycopy(src, 0, a, 0, n);
+                System.arraycopy(isrc, 0, idx, 0, n);
+            }
+        }
+
+        /**
+         * Performs one phase of a radix sort pass over blocks lo to hi,
+         * as FJLong.RadixSorter does, moving each index with its key.
+         */
+        static final class RadixSorter extends RecursiveAction {
+            static final long serialVersionUID = 2446542900576103244L;
+            final long[] a, w; // source and destination keys
+            final int[] ia, iw; // source and destination indices
+            final int gran, pass, lo, hi;
+            final int[][] counts; // per-block digit counts or offsets
+            RadixSorter(long[] a, long[] w, int[] ia, int[] iw, int gran,
+                        int[][] counts, int pass, int lo, int hi) {
+                this.a = a; this.w = w; this.ia = ia; this.iw = iw;
+                this.gran = gran; this.counts = counts; this.pass = pass;
+                this.lo = lo; this.hi = hi;
+            }
+            public final void compute() {
+                long[] a = this.a, w = this.w; // localize all params
+                int[] ia = this.ia, iw = this.iw;
+                int lo = this.lo, hi = this.hi, p = this.pass;
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new RadixSorter(a, w, ia, iw, gran, counts,
+                                              p, lo, mid),
+                              new RadixSorter(a, w, ia, iw, gran, counts,
+                                              p, mid, hi));
+                    return;
+                }
+                int[] c = counts[lo];
+                int b = lo * gran, e = Math.min(b + gran, a.length);
+                final int bits = DualPivotQuicksort.RADIX_BITS;
+                final int mask = DualPivotQuicksort.RADIX_MASK;
+                if (p < 0) {
+                    int passes = c.length >>> bits;
+                    for (int i = b; i < e; ++i) {
+                        long key = a[i] ^ Long.MIN_VALUE;
+                        for (int q = 0, shift = 0; q < passes;
+                             ++q, shift += bits)
+                            ++c[(q << bits) + (int) (key >>> shift & mask)];
+                    }
+                }
+                else {
+                    int pb = p << bits, shift = p * bits;
+                    if (w == null) {
+                        Arrays.fill(c, pb, pb + (1 << bits), 0);
+                        for (int i = b; i < e; ++i) {
+                            long key = a[i] ^ Long.MIN_VALUE;
+                            ++c[pb + (int) (key >>> shift & mask)];
+                        }
+                    }
+                    else {
+                        for (int i = b; i < e; ++i) {
+                            long ai = a[i];
+                            long key = ai ^ Long.MIN_VALUE;
+                            int j = c[pb + (int) (key >>> shift & mask)]++;
+                            w[j] = ai;
+                            iw[j] = ia[i];
+                        }
+                    }
+                }
+            }
+        }
+    } // FJIndexed
+
 }
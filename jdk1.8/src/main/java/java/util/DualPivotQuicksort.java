@@ -89,6 +89,32 @@ final class DualPivotQuicksort {
      */
     private static final int COUNTING_SORT_THRESHOLD_FOR_SHORT_OR_CHAR = 3200;
 
+    /**
+     * If the length of an int, long, float or double array to be sorted
+     * is not less than this constant and the array is not highly
+     * structured, radix sort is used in preference to Quicksort.
+     */
+    private static final int RADIX_SORT_THRESHOLD = 2048;
+
+    /**
+     * The number of bits in a digit of radix sort.
+     */
+    static final int RADIX_BITS = 11;
+
+    /**
+     * The number of buckets in each pass of radix sort, and the mask
+     * selecting a digit.
+     */
+    static final int RADIX_SIZE = 1 << RADIX_BITS;
+    static final int RADIX_MASK = RADIX_SIZE - 1;
+
+    /**
+     * The number of elements sampled to decide whether an array has
+     * so few distinct values that Quicksort, which gathers equal
+     * elements, is faster than radix sort.
+     */
+    private static final int RADIX_SAMPLE_SIZE = 64;
+
     /*
      * Sorting methods for seven primitive types.
      */
@@ -138,11 +164,16 @@ final class DualPivotQuicksort {
             }
 
             /*
-             * The array is not highly structured,
-             * use Quicksort instead of merge sort.
+             * The array is not highly structured, use Quicksort
+             * (radix sort for large arrays) instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left < RADIX_SORT_THRESHOLD ||
+                        hasFewDistinctValues(a, left, right)) {
+                    sort(a, left, right, true);
+                } else {
+                    radixSort(a, left, right, work, workBase, workLen);
+                }
                 return;
             }
         }
@@ -541,6 +572,85 @@ final class DualPivotQuicksort {
         }
     }
 
+    /**
+     * Returns true if an evenly spaced sample of the specified range
+     * of the array has few distinct values.
+     *
+     * @param a the array
+     * @param left the index of the first element, inclusive, to be sampled
+     * @param right the index of the last element, inclusive, to be sampled
+     */
+    static boolean hasFewDistinctValues(int[] a, int left, int right) {
+        int[] sample = new int[RADIX_SAMPLE_SIZE];
+        long step = right - left;
+        for (int i = 0; i < RADIX_SAMPLE_SIZE; ++i) {
+            sample[i] = a[left + (int) (step * i / (RADIX_SAMPLE_SIZE - 1))];
+        }
+        sort(sample, 0, RADIX_SAMPLE_SIZE - 1, true);
+        int distinct = 1;
+        for (int i = 1; i < RADIX_SAMPLE_SIZE; ++i) {
+            if (sample[i] != sample[i - 1]) {
+                ++distinct;
+            }
+        }
+        return distinct < RADIX_SAMPLE_SIZE / 4;
+    }
+
+    /**
+     * Sorts the specified range of the array by LSD radix sort, using
+     * the given workspace array slice if possible for distribution.
+     * The digits are counted in a single scan, and a pass over a digit
+     * that is the same in every element is skipped.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     */
+    private static void radixSort(int[] a, int left, int right,
+                                  int[] work, int workBase, int workLen) {
+        int n = right - left + 1;
+        if (work == null || workLen < n || workBase + n > work.length) {
+            work = new int[n];
+            workBase = 0;
+        }
+        int passes = (32 + RADIX_BITS - 1) / RADIX_BITS;
+        int[] count = new int[passes << RADIX_BITS];
+        for (int i = left; i <= right; ++i) {
+            int key = a[i] ^ Integer.MIN_VALUE;
+            for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+                ++count[(p << RADIX_BITS) + (key >>> shift & RADIX_MASK)];
+            }
+        }
+
+        int[] b = work; // destination array; alternates with a
+        int ao = left, bo = workBase; // array offsets
+        for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+            int base = p << RADIX_BITS;
+            int first = a[ao] ^ Integer.MIN_VALUE;
+            if (count[base + (first >>> shift & RADIX_MASK)] == n) {
+                continue;
+            }
+            for (int d = base, sum = bo; d < base + RADIX_SIZE; ++d) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = ao, end = ao + n; i < end; ++i) {
+                int ai = a[i];
+                int key = ai ^ Integer.MIN_VALUE;
+                b[count[base + (key >>> shift & RADIX_MASK)]++] = ai;
+            }
+            int[] t = a; a = b; b = t;
+            int o = ao; ao = bo; bo = o;
+        }
+        if (a == work) {
+            System.arraycopy(a, ao, b, left, n);
+        }
+    }
+
     /**
      * Sorts the specified range of the array using the given
      * workspace array slice if possible for merging
@@ -586,11 +696,16 @@ final class DualPivotQuicksort {
             }
 
             /*
-             * The array is not highly structured,
-             * use Quicksort instead of merge sort.
+             * The array is not highly structured, use Quicksort
+             * (radix sort for large arrays) instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left < RADIX_SORT_THRESHOLD ||
+                        hasFewDistinctValues(a, left, right)) {
+                    sort(a, left, right, true);
+                } else {
+                    radixSort(a, left, right, work, workBase, workLen);
+                }
                 return;
             }
         }
@@ -989,6 +1104,85 @@ final class DualPivotQuicksort {
         }
     }
 
+    /**
+     * Returns true if an evenly spaced sample of the specified range
+     * of the array has few distinct values.
+     *
+     * @param a the array
+     * @param left the index of the first element, inclusive, to be sampled
+     * @param right the index of the last element, inclusive, to be sampled
+     */
+    static boolean hasFewDistinctValues(long[] a, int left, int right) {
+        long[] sample = new long[RADIX_SAMPLE_SIZE];
+        long step = right - left;
+        for (int i = 0; i < RADIX_SAMPLE_SIZE; ++i) {
+            sample[i] = a[left + (int) (step * i / (RADIX_SAMPLE_SIZE - 1))];
+        }
+        sort(sample, 0, RADIX_SAMPLE_SIZE - 1, true);
+        int distinct = 1;
+        for (int i = 1; i < RADIX_SAMPLE_SIZE; ++i) {
+            if (sample[i] != sample[i - 1]) {
+                ++distinct;
+            }
+        }
+        return distinct < RADIX_SAMPLE_SIZE / 4;
+    }
+
+    /**
+     * Sorts the specified range of the array by LSD radix sort, using
+     * the given workspace array slice if possible for distribution.
+     * The digits are counted in a single scan, and a pass over a digit
+     * that is the same in every element is skipped.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     */
+    private static void radixSort(long[] a, int left, int right,
+                                  long[] work, int workBase, int workLen) {
+        int n = right - left + 1;
+        if (work == null || workLen < n || workBase + n > work.length) {
+            work = new long[n];
+            workBase = 0;
+        }
+        int passes = (64 + RADIX_BITS - 1) / RADIX_BITS;
+        int[] count = new int[passes << RADIX_BITS];
+        for (int i = left; i <= right; ++i) {
+            long key = a[i] ^ Long.MIN_VALUE;
+            for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+                ++count[(p << RADIX_BITS) + (int) (key >>> shift & RADIX_MASK)];
+            }
+        }
+
+        long[] b = work; // destination array; alternates with a
+        int ao = left, bo = workBase; // array offsets
+        for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+            int base = p << RADIX_BITS;
+            long first = a[ao] ^ Long.MIN_VALUE;
+            if (count[base + (int) (first >>> shift & RADIX_MASK)] == n) {
+                continue;
+            }
+            for (int d = base, sum = bo; d < base + RADIX_SIZE; ++d) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = ao, end = ao + n; i < end; ++i) {
+                long ai = a[i];
+                long key = ai ^ Long.MIN_VALUE;
+                b[count[base + (int) (key >>> shift & RADIX_MASK)]++] = ai;
+            }
+            long[] t = a; a = b; b = t;
+            int o = ao; ao = bo; bo = o;
+        }
+        if (a == work) {
+            System.arraycopy(a, ao, b, left, n);
+        }
+    }
+
     /**
      * Sorts the specified range of the array using the given
      * workspace array slice if possible for merging
@@ -2134,11 +2328,16 @@ final class DualPivotQuicksort {
             }
 
             /*
-             * The array is not highly structured,
-             * use Quicksort instead of merge sort.
+             * The array is not highly structured, use Quicksort
+             * (radix sort for large arrays) instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left < RADIX_SORT_THRESHOLD ||
+                        hasFewDistinctValues(a, left, right)) {
+                    sort(a, left, right, true);
+                } else {
+                    radixSort(a, left, right, work, workBase, workLen);
+                }
                 return;
             }
         }
@@ -2537,6 +2736,95 @@ final class DualPivotQuicksort {
         }
     }
 
+    /**
+     * Returns true if an evenly spaced sample of the specified range
+     * of the array has few distinct values.
+     *
+     * @param a the array
+     * @param left the index of the first element, inclusive, to be sampled
+     * @param right the index of the last element, inclusive, to be sampled
+     */
+    static boolean hasFewDistinctValues(float[] a, int left, int right) {
+        float[] sample = new float[RADIX_SAMPLE_SIZE];
+        long step = right - left;
+        for (int i = 0; i < RADIX_SAMPLE_SIZE; ++i) {
+            sample[i] = a[left + (int) (step * i / (RADIX_SAMPLE_SIZE - 1))];
+        }
+        sort(sample, 0, RADIX_SAMPLE_SIZE - 1, true);
+        int distinct = 1;
+        for (int i = 1; i < RADIX_SAMPLE_SIZE; ++i) {
+            if (sample[i] != sample[i - 1]) {
+                ++distinct;
+            }
+        }
+        return distinct < RADIX_SAMPLE_SIZE / 4;
+    }
+
+    /**
+     * Sorts the specified range of the array by LSD radix sort, using
+     * the given workspace array slice if possible for distribution.
+     * The digits are counted in a single scan, and a pass over a digit
+     * that is the same in every element is skipped.
+     * Negative zeros are placed before positive zeros, and NaNs last.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     */
+    private static void radixSort(float[] a, int left, int right,
+                                  float[] work, int workBase, int workLen) {
+        int n = right - left + 1;
+        if (work == null || workLen < n || workBase + n > work.length) {
+            work = new float[n];
+            workBase = 0;
+        }
+        int passes = (32 + RADIX_BITS - 1) / RADIX_BITS;
+        int[] count = new int[passes << RADIX_BITS];
+        for (int i = left; i <= right; ++i) {
+            int key = floatKey(a[i]);
+            for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+                ++count[(p << RADIX_BITS) + (key >>> shift & RADIX_MASK)];
+            }
+        }
+
+        float[] b = work; // destination array; alternates with a
+        int ao = left, bo = workBase; // array offsets
+        for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+            int base = p << RADIX_BITS;
+            int first = floatKey(a[ao]);
+            if (count[base + (first >>> shift & RADIX_MASK)] == n) {
+                continue;
+            }
+            for (int d = base, sum = bo; d < base + RADIX_SIZE; ++d) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = ao, end = ao + n; i < end; ++i) {
+                float ai = a[i];
+                int key = floatKey(ai);
+                b[count[base + (key >>> shift & RADIX_MASK)]++] = ai;
+            }
+            float[] t = a; a = b; b = t;
+            int o = ao; ao = bo; bo = o;
+        }
+        if (a == work) {
+            System.arraycopy(a, ao, b, left, n);
+        }
+    }
+
+    /**
+     * Returns a key for the given float that, compared as an unsigned
+     * int, orders as {@link Float#compare} does.
+     */
+    static int floatKey(float f) {
+        int bits = Float.floatToIntBits(f);
+        return bits ^ (bits >> 31 | Integer.MIN_VALUE);
+    }
+
     /**
      * Sorts the specified range of the array using the given
      * workspace array slice if possible for merging
@@ -2673,11 +2961,16 @@ final class DualPivotQuicksort {
             }
 
             /*
-             * The array is not highly structured,
-             * use Quicksort instead of merge sort.
+             * The array is not highly structured, use Quicksort
+             * (radix sort for large arrays) instead of merge sort.
              */
             if (++count == MAX_RUN_COUNT) {
-                sort(a, left, right, true);
+                if (right - left < RADIX_SORT_THRESHOLD ||
+                        hasFewDistinctValues(a, left, right)) {
+                    sort(a, left, right, true);
+                } else {
+                    radixSort(a, left, right, work, workBase, workLen);
+                }
                 return;
             }
         }
@@ -3075,4 +3368,212 @@ final class DualPivotQuicksort {
             sort(a, great + 1, right, false);
         }
     }
+
+    /**
+     * Returns true if an evenly spaced sample of the specified range
+     * of the array has few distinct values.
+     *
+     * @param a the array
+     * @param left the index of the first element, inclusive, to be sampled
+     * @param right the index of the last element, inclusive, to be sampled
+     */
+    static boolean hasFewDistinctValues(double[] a, int left, int right) {
+        double[] sample = new double[RADIX_SAMPLE_SIZE];
+        long step = right - left;
+        for (int i = 0; i < RADIX_SAMPLE_SIZE; ++i) {
+            sample[i] = a[left + (int) (step * i / (RADIX_SAMPLE_SIZE - 1))];
+        }
+        sort(sample, 0, RADIX_SAMPLE_SIZE - 1, true);
+        int distinct = 1;
+        for (int i = 1; i < RADIX_SAMPLE_SIZE; ++i) {
+            if (sample[i] != sample[i - 1]) {
+                ++distinct;
+            }
+        }
+        return distinct < RADIX_SAMPLE_SIZE / 4;
+    }
+
+    /**
+     * Sorts the specified range of the array by LSD radix sort, using
+     * the given workspace array slice if possible for distribution.
+     * The digits are counted in a single scan, and a pass over a digit
+     * that is the same in every element is skipped.
+     * Negative zeros are placed before positive zeros, and NaNs last.
+     *
+     * @param a the array to be sorted
+     * @param left the index of the first element, inclusive, to be sorted
+     * @param right the index of the last element, inclusive, to be sorted
+     * @param work a workspace array (slice)
+     * @param workBase origin of usable space in work array
+     * @param workLen usable size of work array
+     */
+    private static void radixSort(double[] a, int left, int right,
+                                  double[] work, int workBase, int workLen) {
+        int n = right - left + 1;
+        if (work == null || workLen < n || workBase + n > work.length) {
+            work = new double[n];
+            workBase = 0;
+        }
+        int passes = (64 + RADIX_BITS - 1) / RADIX_BITS;
+        int[] count = new int[passes << RADIX_BITS];
+        for (int i = left; i <= right; ++i) {
+            long key = doubleKey(a[i]);
+            for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+                ++count[(p << RADIX_BITS) + (int) (key >>> shift & RADIX_MASK)];
+            }
+        }
+
+        double[] b = work; // destination array; alternates with a
+        int ao = left, bo = workBase; // array offsets
+        for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+            int base = p << RADIX_BITS;
+            long first = doubleKey(a[ao]);
+            if (count[base + (int) (first >>> shift & RADIX_MASK)] == n) {
+                continue;
+            }
+            for (int d = base, sum = bo; d < base + RADIX_SIZE; ++d) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = ao, end = ao + n; i < end; ++i) {
+                double ai = a[i];
+                long key = doubleKey(ai);
+                b[count[base + (int) (key >>> shift & RADIX_MASK)]++] = ai;
+            }
+            double[] t = a; a = b; b = t;
+            int o = ao; ao = bo; bo = o;
+        }
+        if (a == work) {
+            System.arraycopy(a, ao, b, left, n);
+        }
+    }
+
+    /**
+     * Returns a key for the given double that, compared as an unsigned
+     * long, orders as {@link Double#compare} does.
+     */
+    static long doubleKey(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ (bits >> 63 | Long.MIN_VALUE);
+    }
+
+    /*
+     * Sorting with indices.
+     */
+
+    /**
+     * Sorts the array into ascending numerical order and applies the
+     * same rearrangement to the given array of indices. The sort is
+     * stable: equal elements keep the order of their indices. Short
+     * arrays are merge sorted, and longer ones radix sorted.
+     *
+     * @param a the array to be sorted
+     * @param idx the indices to be rearranged, of the same length as a
+     */
+    static void sort(long[] a, int[] idx) {
+        int n = a.length, k = 0;
+        while (++k < n && a[k - 1] <= a[k]);
+        if (k >= n) { // The array is already sorted
+            return;
+        }
+        long[] b = new long[n];
+        int[] ib = new int[n];
+        if (n < RADIX_SORT_THRESHOLD) {
+            mergeSort(a, idx, b, ib);
+        } else {
+            radixSort(a, idx, b, ib);
+        }
+    }
+
+    /**
+     * Sorts the array and its indices by bottom-up merge sort, using
+     * the given workspace arrays of the same length.
+     */
+    private static void mergeSort(long[] a, int[] ia, long[] b, int[] ib) {
+        int n = a.length;
+        for (int lo = 0; lo < n; lo += INSERTION_SORT_THRESHOLD) {
+            int hi = Math.min(lo + INSERTION_SORT_THRESHOLD, n);
+            for (int i = lo + 1; i < hi; ++i) {
+                long ai = a[i];
+                int ii = ia[i];
+                int j = i - 1;
+                for (; j >= lo && a[j] > ai; --j) {
+                    a[j + 1] = a[j];
+                    ia[j + 1] = ia[j];
+                }
+                a[j + 1] = ai;
+                ia[j + 1] = ii;
+            }
+        }
+
+        long[] src = a, dst = b; // alternate on each merge pass
+        int[] isrc = ia, idst = ib;
+        for (int width = INSERTION_SORT_THRESHOLD; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(mid + width, n);
+                for (int i = lo, p = lo, q = mid; i < hi; ++i) {
+                    if (q >= hi || p < mid && src[p] <= src[q]) {
+                        dst[i] = src[p];
+                        idst[i] = isrc[p++];
+                    } else {
+                        dst[i] = src[q];
+                        idst[i] = isrc[q++];
+                    }
+                }
+            }
+            long[] t = src; src = dst; dst = t;
+            int[] it = isrc; isrc = idst; idst = it;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            System.arraycopy(isrc, 0, ia, 0, n);
+        }
+    }
+
+    /**
+     * Sorts the array and its indices by LSD radix sort, using the
+     * given workspace arrays of the same length. A pass over a digit
+     * that is the same in every element is skipped.
+     */
+    private static void radixSort(long[] a, int[] ia, long[] b, int[] ib) {
+        int n = a.length;
+        int passes = (64 + RADIX_BITS - 1) / RADIX_BITS;
+        int[] count = new int[passes << RADIX_BITS];
+        for (int i = 0; i < n; ++i) {
+            long key = a[i] ^ Long.MIN_VALUE;
+            for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+                ++count[(p << RADIX_BITS) + (int) (key >>> shift & RADIX_MASK)];
+            }
+        }
+
+        long[] src = a, dst = b; // alternate on each distribution pass
+        int[] isrc = ia, idst = ib;
+        for (int p = 0, shift = 0; p < passes; ++p, shift += RADIX_BITS) {
+            int base = p << RADIX_BITS;
+            long first = src[0] ^ Long.MIN_VALUE;
+            if (count[base + (int) (first >>> shift & RADIX_MASK)] == n) {
+                continue;
+            }
+            for (int d = base, sum = 0; d < base + RADIX_SIZE; ++d) {
+                int c = count[d];
+                count[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; ++i) {
+                long ai = src[i];
+                long key = ai ^ Long.MIN_VALUE;
+                int j = count[base + (int) (key >>> shift & RADIX_MASK)]++;
+                dst[j] = ai;
+                idst[j] = isrc[i];
+            }
+            long[] t = src; src = dst; dst = t;
+            int[] it = isrc; isrc = idst; idst = it;
+        }
+        if (src != a) {
+            System.arraycopy(src, 0, a, 0, n);
+            System.arraycopy(isrc, 0, ia, 0, n);
+        }
+    }
 }
@@ -47,8 +47,6 @@ import java.text.DateFormatSymbols;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import java.time.DateTimeException;
 import java.time.Instant;
@@ -1857,6 +1855,13 @@ public final class Formatter implements Closeable, Flushable {
     private final char zero;
     private static double scaleUp;
 
+    // The template last formatted, with its specifiers bound to this
+    // formatter
+    private Template template;
+    private FormatString[] bound;
+
+    private static final char[] SPACES = "                ".toCharArray();
+
     // 1 (sign) + 19 (max # sig digits) + 1 ('.') + 1 ('e') + 1 (sign)
     // + 3 (max # exp digits) + 4 (error) = 30
     private static final int MAX_FD_CHARS = 30;
@@ -2492,13 +2497,211 @@ public final class Formatter implements Closeable, Flushable {
      */
     public Formatter format(Locale l, String format, Object ... args) {
         ensureOpen();
+        return format(l, parse(format), args);
+    }
 
+    /**
+     * Parses a format string for later use with the {@link
+     * #format(Formatter.Template,Object...) format} methods of any
+     * formatter.
+     *
+     * <p> Formatting with a template does not parse the format string
+     * again.  A formatter that formats with the same template repeatedly
+     * reuses its format specifiers as well, and the template methods which
+     * take a single {@code int}, {@code long} or {@code double} argument
+     * format it without boxing when the conversion is numeric.  For
+     * example:
+     *
+     * <blockquote><pre>
+     *   Formatter.Template t = Formatter.compile("%08x");
+     *   StringBuilder sb = new StringBuilder();
+     *   Formatter f = new Formatter(sb);
+     *   for (int id : ids) {
+     *       sb.setLength(0);
+     *       f.format(t, id);
+     *       emit(sb);
+     *   }
+     * </pre></blockquote>
+     *
+     * @param  format
+     *         A format string as described in <a href="#syntax">Format string
+     *         syntax</a>
+     *
+     * @throws  IllegalFormatException
+     *          If the format string contains an illegal syntax or a format
+     *          specifier with incompatible flags, width or precision
+     *
+     * @return  The parsed format string
+     *
+     * @since 1.8
+     */
+    public static Template compile(String format) {
+        // The specifiers are bound to a formatter without output, and are
+        // copied for each formatter using the template
+        Formatter proto = new Formatter((Locale) null, (Appendable) null);
+        return new Template(format, proto.parse(format));
+    }
+
+    /**
+     * Writes a formatted string to this object's destination using the
+     * specified template and arguments.  The locale used is the one
+     * defined during the construction of this formatter.
+     *
+     * @param  template
+     *         A format string parsed by {@link #compile(String) compile}
+     *
+     * @param  args
+     *         Arguments referenced by the format specifiers in the format
+     *         string, as for {@link #format(String,Object...)}
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the given
+     *          arguments, or there are insufficient arguments given the
+     *          format string
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Template template, Object ... args) {
+        return format(l, template, args);
+    }
+
+    /**
+     * Writes a formatted string to this object's destination using the
+     * specified locale, template and arguments.
+     *
+     * @param  l
+     *         The {@linkplain java.util.Locale locale} to apply during
+     *         formatting.  If {@code l} is {@code null} then no localization
+     *         is applied.  This does not change this object's locale that was
+     *         set during construction.
+     *
+     * @param  template
+     *         A format string parsed by {@link #compile(String) compile}
+     *
+     * @param  args
+     *         Arguments referenced by the format specifiers in the format
+     *         string, as for {@link #format(String,Object...)}
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the given
+     *          arguments, or there are insufficient arguments given the
+     *          format string
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Locale l, Template template, Object ... args) {
+        ensureOpen();
+        return format(l, bind(template), args);
+    }
+
+    /**
+     * Writes a formatted {@code int} to this object's destination using
+     * the specified template.  The result is the same as that of
+     * {@code format(template, Integer.valueOf(value))}, but the value is
+     * not boxed for the integral conversions.
+     *
+     * @param  template
+     *         A format string parsed by {@link #compile(String) compile},
+     *         whose format specifiers all refer to the first argument
+     *
+     * @param  value
+     *         The argument
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the argument, or
+     *          refers to another argument
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Template template, int value) {
+        ensureOpen();
+        return format(l, bind(template), 'I', value, 0);
+    }
+
+    /**
+     * Writes a formatted {@code long} to this object's destination using
+     * the specified template.  The result is the same as that of
+     * {@code format(template, Long.valueOf(value))}, but the value is not
+     * boxed for the integral conversions.
+     *
+     * @param  template
+     *         A format string parsed by {@link #compile(String) compile},
+     *         whose format specifiers all refer to the first argument
+     *
+     * @param  value
+     *         The argument
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the argument, or
+     *          refers to another argument
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Template template, long value) {
+        ensureOpen();
+        return format(l, bind(template), 'J', value, 0);
+    }
+
+    /**
+     * Writes a formatted {@code double} to this object's destination using
+     * the specified template.  The result is the same as that of
+     * {@code format(template, Double.valueOf(value))}, but the value is
+     * not boxed for the floating-point conversions.
+     *
+     * @param  template
+     *         A format string parsed by {@link #compile(String) compile},
+     *         whose format specifiers all refer to the first argument
+     *
+     * @param  value
+     *         The argument
+     *
+     * @throws  IllegalFormatException
+     *          If a format specifier is incompatible with the argument, or
+     *          refers to another argument
+     *
+     * @throws  FormatterClosedException
+     *          If this formatter has been closed by invoking its {@link
+     *          #close()} method
+     *
+     * @return  This formatter
+     *
+     * @since 1.8
+     */
+    public Formatter format(Template template, double value) {
+        ensureOpen();
+        return format(l, bind(template), 'D', 0, value);
+    }
+
+    private Formatter format(Locale l, FormatString[] fsa, Object[] args) {
         // index of last argument referenced
         int last = -1;
         // last ordinary index
         int lasto = -1;
 
-        FormatString[] fsa = parse(format);
         for (int i = 0; i < fsa.length; i++) {
             FormatString fs = fsa[i];
             int index = fs.index();
@@ -2533,52 +2736,178 @@ public final class Formatter implements Closeable, Flushable {
         return this;
     }
 
-    // %[argument_index$][flags][width][.precision][t]conversion
-    private static final String formatSpecifier
-        = "%(\\d+\\$)?([-#+ 0,(\\<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])";
+    /**
+     * Formats a single primitive argument of the given type, 'I' for int,
+     * 'J' for long and 'D' for double.
+     */
+    private Formatter format(Locale l, FormatString[] fsa, char type,
+                             long longValue, double doubleValue) {
+        // index of last argument referenced
+        int last = -1;
+        // last ordinary index
+        int lasto = -1;
+
+        for (int i = 0; i < fsa.length; i++) {
+            FormatString fs = fsa[i];
+            int index = fs.index();
+            try {
+                if (index == -2) {  // fixed string, "%n", or "%%"
+                    fs.print(null, l);
+                    continue;
+                }
+                if (index == 0)     // ordinary index
+                    last = ++lasto;
+                else if (index > 0) // explicit index
+                    last = index - 1;
+                if (last != 0)
+                    throw new MissingFormatArgumentException(fs.toString());
+                FormatSpecifier spec = (FormatSpecifier)fs;
+                switch (type) {
+                case 'I':
+                    spec.printValue((int)longValue, l);
+                    break;
+                case 'J':
+                    spec.printValue(longValue, l);
+                    break;
+                default:
+                    spec.printValue(doubleValue, l);
+                    break;
+                }
+            } catch (IOException x) {
+                lastException = x;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns the specifiers of the template bound to this formatter.
+     */
+    private FormatString[] bind(Template t) {
+        if (t != template) {
+            FormatString[] fsa = new FormatString[t.fsa.length];
+            for (int i = 0; i < fsa.length; i++) {
+                FormatString fs = t.fsa[i];
+                if (fs instanceof FixedString)
+                    fsa[i] = new FixedString(fs.toString());
+                else
+                    fsa[i] = new FormatSpecifier((FormatSpecifier)fs);
+            }
+            bound = fsa;
+            template = t;
+        }
+        return bound;
+    }
+
+    /**
+     * A format string parsed once by {@link Formatter#compile(String)
+     * Formatter.compile} and used any number of times by the {@link
+     * Formatter#format(Formatter.Template,Object...) format} methods of
+     * formatters.
+     *
+     * <p> Instances of this class are immutable and are safe for use by
+     * multiple concurrent threads.
+     *
+     * @since 1.8
+     */
+    public static final class Template {
+        private final String format;
+        private final FormatString[] fsa;
+
+        private Template(String format, FormatString[] fsa) {
+            this.format = format;
+            this.fsa = fsa;
+        }
 
-    private static Pattern fsPattern = Pattern.compile(formatSpecifier);
+        /**
+         * Returns the format string of this template.
+         *
+         * @return  The format string
+         */
+        public String toString() {
+            return format;
+        }
+    }
 
     /**
      * Finds format specifiers in the format string.
      */
     private FormatString[] parse(String s) {
         ArrayList<FormatString> al = new ArrayList<>();
-        Matcher m = fsPattern.matcher(s);
         for (int i = 0, len = s.length(); i < len; ) {
-            if (m.find(i)) {
-                // Anything between the start of the string and the beginning
-                // of the format specifier is either fixed text or contains
-                // an invalid format string.
-                if (m.start() != i) {
-                    // Make sure we didn't miss any invalid format specifiers
-                    checkText(s, i, m.start());
-                    // Assume previous characters were fixed text
-                    al.add(new FixedString(s.substring(i, m.start())));
-                }
-
-                al.add(new FormatSpecifier(m));
-                i = m.end();
+            int j = s.indexOf('%', i);
+            if (j != i) {
+                // Fixed text up to the next format specifier
+                if (j < 0)
+                    j = len;
+                al.add(new FixedString(s.substring(i, j)));
+                i = j;
             } else {
-                // No more valid format specifiers.  Check for possible invalid
-                // format specifiers.
-                checkText(s, i, len);
-                // The rest of the string is fixed text
-                al.add(new FixedString(s.substring(i)));
-                break;
+                i = parseSpecifier(al, s, i);
             }
         }
         return al.toArray(new FormatString[al.size()]);
     }
 
-    private static void checkText(String s, int start, int end) {
-        for (int i = start; i < end; i++) {
-            // Any '%' found in the region starts an invalid format specifier.
-            if (s.charAt(i) == '%') {
-                char c = (i == end - 1) ? '%' : s.charAt(i + 1);
-                throw new UnknownFormatConversionException(String.valueOf(c));
+    /**
+     * Parses the format specifier at index i of the format string
+     *
+     *     %[argument_index$][flags][width][.precision][t]conversion
+     *
+     * and returns the index following it.
+     */
+    private int parseSpecifier(ArrayList<FormatString> al, String s, int i) {
+        int start = i++;
+        int len = s.length();
+        String index = null;
+        int j = skipDigits(s, i);
+        if (j > i && j < len && s.charAt(j) == '$') {
+            index = s.substring(i, j + 1);
+            i = j + 1;
+        }
+        j = i;
+        while (j < len && "-#+ 0,(<".indexOf(s.charAt(j)) >= 0)
+            j++;
+        String flags = s.substring(i, j);
+        i = j;
+        String width = null;
+        j = skipDigits(s, i);
+        if (j > i) {
+            width = s.substring(i, j);
+            i = j;
+        }
+        String precision = null;
+        if (i < len && s.charAt(i) == '.') {
+            j = skipDigits(s, i + 1);
+            if (j > i + 1) {
+                precision = s.substring(i, j);
+                i = j;
             }
         }
+        String tT = null;
+        if (i < len && (s.charAt(i) == 't' || s.charAt(i) == 'T')
+            && i + 1 < len && isConversion(s.charAt(i + 1))) {
+            tT = s.substring(i, i + 1);
+            i++;
+        }
+        if (i < len && isConversion(s.charAt(i))) {
+            al.add(new FormatSpecifier(index, flags, width, precision, tT,
+                                       s.charAt(i)));
+            return i + 1;
+        }
+        // An invalid format specifier
+        char c = (start == len - 1) ? '%' : s.charAt(start + 1);
+        throw new UnknownFormatConversionException(String.valueOf(c));
+    }
+
+    private static int skipDigits(String s, int i) {
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9')
+            i++;
+        return i;
+    }
+
+    private static boolean isConversion(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '%';
     }
 
     private interface FormatString {
@@ -2684,8 +3013,8 @@ public final class Formatter implements Closeable, Flushable {
             return precision;
         }
 
-        private char conversion(String s) {
-            c = s.charAt(0);
+        private char conversion(char conv) {
+            c = conv;
             if (!dt) {
                 if (!Conversion.isValid(c))
                     throw new UnknownFormatConversionException(String.valueOf(c));
@@ -2702,22 +3031,20 @@ public final class Formatter implements Closeable, Flushable {
             return c;
         }
 
-        FormatSpecifier(Matcher m) {
-            int idx = 1;
+        FormatSpecifier(String index, String flags, String width,
+                        String precision, String tT, char conversion) {
+            index(index);
+            flags(flags);
+            width(width);
+            precision(precision);
 
-            index(m.group(idx++));
-            flags(m.group(idx++));
-            width(m.group(idx++));
-            precision(m.group(idx++));
-
-            String tT = m.group(idx++);
             if (tT != null) {
                 dt = true;
                 if (tT.equals("T"))
                     f.add(Flags.UPPERCASE);
             }
 
-            conversion(m.group(idx));
+            conversion(conversion);
 
             if (dt)
                 checkDateTime();
@@ -2735,6 +3062,39 @@ public final class Formatter implements Closeable, Flushable {
                 throw new UnknownFormatConversionException(String.valueOf(c));
         }
 
+        FormatSpecifier(FormatSpecifier fs) {
+            index = fs.index;
+            f = fs.f;
+            width = fs.width;
+            precision = fs.precision;
+            dt = fs.dt;
+            c = fs.c;
+        }
+
+        // The print methods for primitive arguments, which box the
+        // argument only for the non-numeric conversions
+
+        void printValue(int value, Locale l) throws IOException {
+            if (!dt && Conversion.isInteger(c))
+                print(value, l);
+            else
+                print((Object)value, l);
+        }
+
+        void printValue(long value, Locale l) throws IOException {
+            if (!dt && Conversion.isInteger(c))
+                print(value, l);
+            else
+                print((Object)value, l);
+        }
+
+        void printValue(double value, Locale l) throws IOException {
+            if (!dt && Conversion.isFloat(c))
+                print(value, l);
+            else
+                print((Object)value, l);
+        }
+
         public void print(Object arg, Locale l) throws IOException {
             if (dt) {
                 printDateTime(arg, l);
@@ -2927,6 +3287,23 @@ public final class Formatter implements Closeable, Flushable {
             return sb.toString();
         }
 
+        // Appends sb justified based on width, padding it in place
+        private void appendJustified(StringBuilder sb) throws IOException {
+            int sp = width - sb.length();
+            if (sp > 0) {
+                int at = f.contains(Flags.LEFT_JUSTIFY) ? sb.length() : 0;
+                if (sp <= SPACES.length) {
+                    sb.insert(at, SPACES, 0, sp);
+                } else {
+                    // A single insert moves the formatted text only once
+                    char[] spaces = new char[sp];
+                    Arrays.fill(spaces, ' ');
+                    sb.insert(at, spaces);
+                }
+            }
+            a.append(sb);
+        }
+
         public String toString() {
             StringBuilder sb = new StringBuilder("%");
             // Flags.UPPERCASE is set internally for legal conversions.
@@ -3085,6 +3462,14 @@ public final class Formatter implements Closeable, Flushable {
 
         private void print(long value, Locale l) throws IOException {
 
+            // Plain decimal digits, which a StringBuilder appends directly
+            if (c == Conversion.DECIMAL_INTEGER && f.valueOf() == 0
+                && width == -1 && a instanceof StringBuilder
+                && getZero(l) == '0') {
+                ((StringBuilder)a).append(value);
+                return;
+            }
+
             StringBuilder sb = new StringBuilder();
 
             if (c == Conversion.DECIMAL_INTEGER) {
@@ -3136,7 +3521,7 @@ public final class Formatter implements Closeable, Flushable {
             }
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            appendJustified(sb);
         }
 
         // neg := val < 0
@@ -3216,7 +3601,7 @@ public final class Formatter implements Closeable, Flushable {
             trailingSign(sb, (value.signum() == -1));
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            appendJustified(sb);
         }
 
         private void print(float value, Locale l) throws IOException {
@@ -3247,7 +3632,7 @@ public final class Formatter implements Closeable, Flushable {
             }
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            appendJustified(sb);
         }
 
         // !Double.isInfinite(value) && !Double.isNaN(value)
@@ -3535,7 +3920,7 @@ public final class Formatter implements Closeable, Flushable {
             trailingSign(sb, neg);
 
             // justify based on width
-            a.append(justify(sb.toString()));
+            appendJustified(sb);
         }
 
         // value > 0
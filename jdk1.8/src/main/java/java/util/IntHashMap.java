@@ -0,0 +1,863 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A map from {@code int} keys to {@code int} values, held without boxing in
+ * an open-addressing hash table.  Each mapping takes a slot of an array of
+ * keys and of an array of values, so the map needs between about 11 and
+ * 21 bytes per mapping, rather than the several dozen of a {@link HashMap}
+ * of {@link Integer} objects.  The methods of this class are modeled on those
+ * of {@link Map}, with 0 taking the place of {@code null} as the value
+ * returned for an absent key.
+ *
+ * <p>This class offers constant time performance for the basic operations
+ * ({@code get} and {@code put}), assuming the hash function disperses the
+ * keys properly.  Collisions are resolved by linear probing, and the table is
+ * doubled in size whenever it becomes three quarters full.  Removing a
+ * mapping moves back the mappings that collided with it, so removals leave
+ * no markers behind to lengthen later searches.
+ *
+ * <p>The iteration order of the map is unspecified.  The spliterators
+ * returned by this class are <i>fail-fast</i>: if the map is structurally
+ * modified at any time after they are created, they throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a map concurrently, and at least one of the
+ * threads modifies the map structurally, it <i>must</i> be synchronized
+ * externally.
+ *
+ * @see HashMap
+ * @see IntObjectHashMap
+ * @see IntHashSet
+ * @since 1.8
+ */
+public class IntHashMap implements Cloneable, Serializable {
+    private static final long serialVersionUID = 70735177230065706L;
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity - MUST be a power of two.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The keys, whose length is always a power of two.  An empty slot holds
+     * the key 0, so a mapping for 0 is recorded by {@code hasZeroKey} and
+     * {@code zeroValue} instead.
+     */
+    private transient int[] keys;
+
+    /**
+     * The values, in the slots of their keys.
+     */
+    private transient int[] values;
+
+    /**
+     * The number of mappings in this map.
+     */
+    private transient int size;
+
+    /**
+     * Whether this map contains a mapping for the key 0.
+     */
+    private transient boolean hasZeroKey;
+
+    /**
+     * The value of the key 0, or 0 if there is none.
+     */
+    private transient int zeroValue;
+
+    /**
+     * The right shift taking the hash of a key to its home slot.
+     */
+    private transient int shift;
+
+    /**
+     * The size at which the table is resized (capacity * 3/4).
+     */
+    private transient int threshold;
+
+    /**
+     * The random value mixed into the hash of each key, so that adding the
+     * keys of another map in its iteration order does not fill a run of
+     * adjacent slots of this one.
+     */
+    private transient int seed = ThreadLocalRandom.current().nextInt();
+
+    /**
+     * The number of times this map has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * Constructs an empty map with the default initial capacity (16).
+     */
+    public IntHashMap() {
+        allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map that can hold the given number of mappings
+     * without being resized.
+     *
+     * @param  expectedSize the number of mappings expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public IntHashMap(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " +
+                                               expectedSize);
+        allocate(IntHashSet.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the home slot of a nonzero key.
+     */
+    private int slot(int key) {
+        return ((key ^ seed) * 0x9e3779b9) >>> shift;
+    }
+
+    /**
+     * Returns the slot of a nonzero key, or if the key is absent, the
+     * complement of the empty slot at which it would be added.
+     */
+    private int find(int key) {
+        int[] tab = keys;
+        int mask = tab.length - 1;
+        int i = slot(key);
+        for (int k; (k = tab[i]) != key; i = (i + 1) & mask) {
+            if (k == 0)
+                return ~i;
+        }
+        return i;
+    }
+
+    /**
+     * Adds a mapping for an absent nonzero key at slot i, as returned by
+     * find, first resizing the table if it is full.
+     */
+    private void addAt(int i, int key, int value) {
+        if (size >= threshold) {
+            resize();
+            i = ~find(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        ++modCount;
+        ++size;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or 0 if this
+     * map contains no mapping for the key.
+     *
+     * <p>A return value of 0 does not <i>necessarily</i> indicate that the
+     * map contains no mapping for the key; it's also possible that the map
+     * explicitly maps the key to 0.  The {@link #containsKey containsKey}
+     * operation may be used to distinguish these two cases.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or 0 if this
+     * map contains no mapping for the key
+     * @see #getOrDefault(int, int)
+     */
+    public int get(int key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key
+     */
+    public int getOrDefault(int key, int defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? zeroValue : defaultValue;
+        int[] tab = keys;
+        int mask = tab.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            int k = tab[i];
+            if (k == key)
+                return values[i];
+            if (k == 0)
+                return defaultValue;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     */
+    public boolean containsKey(int key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(int value) {
+        if (hasZeroKey && zeroValue == value)
+            return true;
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0 && vals[i] == value)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or 0 if there
+     *         was no mapping for {@code key}.  (A 0 return can also indicate
+     *         that the map previously associated 0 with {@code key}.)
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public int put(int key, int value) {
+        int old;
+        if (key == 0) {
+            old = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++modCount;
+                ++size;
+            }
+        }
+        else {
+            int i = find(key);
+            if (i >= 0) {
+                old = values[i];
+                values[i] = value;
+            }
+            else {
+                old = 0;
+                addAt(~i, key, value);
+            }
+        }
+        return old;
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value and returns 0, else returns the
+     * current value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key, or 0
+     *         if there was no mapping for the key
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public int putIfAbsent(int key, int value) {
+        if (key == 0) {
+            if (hasZeroKey)
+                return zeroValue;
+            return put(key, value);
+        }
+        int i = find(key);
+        if (i >= 0)
+            return values[i];
+        addAt(~i, key, value);
+        return 0;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or 0 if there
+     *         was no mapping for {@code key}.  (A 0 return can also indicate
+     *         that the map previously associated 0 with {@code key}.)
+     */
+    public int remove(int key) {
+        int old;
+        if (key == 0) {
+            if (!hasZeroKey)
+                return 0;
+            old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = 0;
+        }
+        else {
+            int i = find(key);
+            if (i < 0)
+                return 0;
+            old = values[i];
+            removeAt(i);
+        }
+        ++modCount;
+        --size;
+        return old;
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * attempts to compute its value using the given mapping function and
+     * enters it into this map.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key
+     * @throws NullPointerException if the mapping function is null
+     * @throws ConcurrentModificationException if the mapping function
+     *         modified this map
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public int computeIfAbsent(int key, IntUnaryOperator mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        int i = 0;
+        if (key == 0) {
+            if (hasZeroKey)
+                return zeroValue;
+        }
+        else if ((i = find(key)) >= 0)
+            return values[i];
+        int mc = modCount;
+        int value = mappingFunction.applyAsInt(key);
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+        if (key == 0)
+            put(key, value);
+        else
+            addAt(~i, key, value);
+        return value;
+    }
+
+    /**
+     * If the specified key is not already associated with a value,
+     * associates it with the given value.  Otherwise, replaces the value
+     * with the result of the given remapping function.  This method may be
+     * used to count occurrences, for example by
+     * {@code map.merge(key, 1, Integer::sum)}.
+     *
+     * @param key key with which the resulting value is to be associated
+     * @param value the value to be associated with the key if it is absent,
+     *        or to be combined with its existing value
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key
+     * @throws NullPointerException if the remapping function is null
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public int merge(int key, int value, IntBinaryOperator remappingFunction) {
+        Objects.requireNonNull(remappingFunction);
+        if (key == 0) {
+            if (hasZeroKey)
+                value = remappingFunction.applyAsInt(zeroValue, value);
+            put(key, value);
+            return value;
+        }
+        int i = find(key);
+        if (i >= 0)
+            return values[i] = remappingFunction.applyAsInt(values[i], value);
+        addAt(~i, key, value);
+        return value;
+    }
+
+    /**
+     * Represents an operation that accepts a {@code int} key and a
+     * {@code int} value and returns no result.  This is the primitive
+     * specialization of {@link java.util.function.BiConsumer} used by
+     * {@link IntHashMap#forEach}.
+     */
+    @FunctionalInterface
+    public interface IntIntConsumer {
+        /**
+         * Performs this operation on the given key and value.
+         *
+         * @param key the key of a mapping
+         * @param value the value of the mapping
+         */
+        void accept(int key, int value);
+    }
+
+    /**
+     * Performs the given action for each mapping in this map.
+     *
+     * @param action the action to be performed for each mapping
+     * @throws NullPointerException if the specified action is null
+     * @throws ConcurrentModificationException if the map is modified by
+     * the action
+     */
+    public void forEach(IntIntConsumer action) {
+        Objects.requireNonNull(action);
+        int mc = modCount;
+        if (hasZeroKey)
+            action.accept(0, zeroValue);
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length && modCount == mc; ++i) {
+            if (tab[i] != 0)
+                action.accept(tab[i], vals[i]);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Replaces each entry's value with the result of invoking the given
+     * function on that entry's key and value.
+     *
+     * @param function the function to apply to each key and value
+     * @throws NullPointerException if the specified function is null
+     */
+    public void replaceAll(IntBinaryOperator function) {
+        Objects.requireNonNull(function);
+        if (hasZeroKey)
+            zeroValue = function.applyAsInt(0, zeroValue);
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0)
+                vals[i] = function.applyAsInt(tab[i], vals[i]);
+        }
+    }
+
+    /**
+     * Empties slot i, moving back into it any later mapping of the same
+     * cluster whose home slot does not lie between slot i and its own.
+     */
+    private void removeAt(int i) {
+        int[] tab = keys, vals = values;
+        int mask = tab.length - 1;
+        for (int j = i; ; ) {
+            int k = tab[j = (j + 1) & mask];
+            if (k == 0)
+                break;
+            if (((j - slot(k)) & mask) >= ((j - i) & mask)) {
+                tab[i] = k;
+                vals[i] = vals[j];
+                i = j;
+            }
+        }
+        tab[i] = 0;
+        vals[i] = 0;
+    }
+
+    /**
+     * Doubles the size of the table.
+     */
+    private void resize() {
+        int[] oldKeys = keys, oldValues = values;
+        if (oldKeys.length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Map too large");
+        allocate(oldKeys.length << 1);
+        int[] tab = keys, vals = values;
+        int mask = tab.length - 1;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            int k = oldKeys[j];
+            if (k != 0) {
+                int i = slot(k);
+                while (tab[i] != 0)
+                    i = (i + 1) & mask;
+                tab[i] = k;
+                vals[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, 0);
+            hasZeroKey = false;
+            zeroValue = 0;
+            size = 0;
+        }
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the keys of this map.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}.
+     *
+     * @return a {@code Spliterator} over the keys of this map
+     */
+    public Spliterator.OfInt keySpliterator() {
+        return new KeySpliterator(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code IntStream} of the keys of this map.
+     *
+     * @return a sequential {@code IntStream} over the keys of this map
+     */
+    public IntStream keyStream() {
+        return StreamSupport.intStream(keySpliterator(), false);
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the values of this
+     * map, in the order of their keys in {@link #keySpliterator}.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED}.
+     *
+     * @return a {@code Spliterator} over the values of this map
+     */
+    public Spliterator.OfInt valueSpliterator() {
+        return new ValueSpliterator(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code IntStream} of the values of this map.
+     *
+     * @return a sequential {@code IntStream} over the values of this map
+     */
+    public IntStream valueStream() {
+        return StreamSupport.intStream(valueSpliterator(), false);
+    }
+
+    /**
+     * Compares the specified object with this map for equality.  Returns
+     * {@code true} if the given object is also a {@code IntHashMap} and the
+     * two maps represent the same mappings.
+     *
+     * @param o object to be compared for equality with this map
+     * @return {@code true} if the specified object is equal to this map
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof IntHashMap))
+            return false;
+        IntHashMap m = (IntHashMap) o;
+        if (m.size != size || m.hasZeroKey != hasZeroKey ||
+            m.zeroValue != zeroValue)
+            return false;
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            int k = tab[i];
+            if (k != 0) {
+                int j = m.find(k);
+                if (j < 0 || m.values[j] != vals[i])
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this map, which is the sum of the
+     * hash codes of its mappings as entries of a {@link Map} of
+     * {@code Integer} objects.
+     *
+     * @return the hash code value for this map
+     */
+    public int hashCode() {
+        int h = hasZeroKey ? Integer.hashCode(zeroValue) : 0;
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0)
+                h += Integer.hashCode(tab[i]) ^ Integer.hashCode(vals[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns a string representation of this map, in the form of
+     * {@link AbstractMap#toString}.
+     *
+     * @return a string representation of this map
+     */
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        if (hasZeroKey)
+            joiner.add("0=" + zeroValue);
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0)
+                joiner.add(tab[i] + "=" + vals[i]);
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns a shallow copy of this map.
+     *
+     * @return a copy of this map
+     */
+    public IntHashMap clone() {
+        try {
+            IntHashMap m = (IntHashMap) super.clone();
+            m.keys = keys.clone();
+            m.values = values.clone();
+            m.modCount = 0;
+            return m;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Saves this map to a stream (that is, serializes it).
+     *
+     * @serialData The <i>size</i> of the map (the number of key-value
+     *             mappings) is emitted (int), followed by the key (int)
+     *             and value (int) for each key-value mapping.  The
+     *             key-value mappings are emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        if (hasZeroKey) {
+            s.writeInt(0);
+            s.writeInt(zeroValue);
+        }
+        int[] tab = keys, vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0) {
+                s.writeInt(tab[i]);
+                s.writeInt(vals[i]);
+            }
+        }
+    }
+
+    /**
+     * Reconstitutes this map from a stream (that is, deserializes it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        seed = ThreadLocalRandom.current().nextInt();
+        int mappings = s.readInt();
+        if (mappings < 0)
+            throw new InvalidObjectException("Illegal mappings count: " +
+                                             mappings);
+        // Rebuild the table, rather than trusting one from the stream
+        allocate(IntHashSet.tableSizeFor(mappings));
+        for (int i = 0; i < mappings; i++) {
+            int key = s.readInt();
+            int value = s.readInt();
+            put(key, value);
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    // spliterators
+
+    static class IntHashMapSpliterator {
+        final IntHashMap map;
+        int index;                  // current index, modified on advance/split
+        int fence;                  // one past last index
+        int est;                    // size estimate
+        int expectedModCount;       // for comodification checks
+
+        // Index 0 stands for the key 0, and index i > 0 for slot i - 1
+        IntHashMapSpliterator(IntHashMap m, int origin, int fence, int est,
+                             int expectedModCount) {
+            this.map = m;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                IntHashMap m = map;
+                est = m.size;
+                expectedModCount = m.modCount;
+                hi = fence = m.keys.length + 1;
+            }
+            return hi;
+        }
+
+        /**
+         * Advances to the next index holding a mapping and returns it,
+         * or returns -1 at the fence.
+         */
+        final int advance() {
+            int hi = getFence();
+            IntHashMap m = map;
+            int[] tab = m.keys;
+            while (index < hi) {
+                int i = index++;
+                if (i == 0 ? m.hasZeroKey : tab[i - 1] != 0)
+                    return i;
+            }
+            return -1;
+        }
+
+        final void checkForComodification() {
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public final long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+    }
+
+    static final class KeySpliterator
+        extends IntHashMapSpliterator
+        implements Spliterator.OfInt {
+        KeySpliterator(IntHashMap m, int origin, int fence, int est,
+                       int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public KeySpliterator trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new KeySpliterator(map, lo, index = mid, est >>>= 1,
+                                   expectedModCount);
+        }
+
+        public boolean tryAdvance(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = advance();
+            if (i < 0)
+                return false;
+            action.accept(i == 0 ? 0 : map.keys[i - 1]);
+            checkForComodification();
+            return true;
+        }
+
+        public void forEachRemaining(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            for (int i; (i = advance()) >= 0; )
+                action.accept(i == 0 ? 0 : map.keys[i - 1]);
+            checkForComodification();
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+
+    static final class ValueSpliterator
+        extends IntHashMapSpliterator
+        implements Spliterator.OfInt {
+        ValueSpliterator(IntHashMap m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public ValueSpliterator trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new ValueSpliterator(map, lo, index = mid, est >>>= 1,
+                                     expectedModCount);
+        }
+
+        public boolean tryAdvance(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = advance();
+            if (i < 0)
+                return false;
+            action.accept(i == 0 ? map.zeroValue : map.values[i - 1]);
+            checkForComodification();
+            return true;
+        }
+
+        public void forEachRemaining(IntConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            for (int i; (i = advance()) >= 0; )
+                action.accept(i == 0 ? map.zeroValue : map.values[i - 1]);
+            checkForComodification();
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0);
+        }
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A set of {@code long} values, held without boxing in an open-addressing
+ * hash table.  Each element takes a single {@code long} slot of an array,
+ * so the set needs between about 11 and 21 bytes per element, rather than
+ * the several dozen of a {@link HashSet} of {@link Long} objects.
+ *
+ * <p>This class offers constant time performance for the basic operations
+ * ({@code add}, {@code remove} and {@code contains}), assuming the hash
+ * function disperses the elements properly.  Collisions are resolved by
+ * linear probing, and the table is doubled in size whenever it becomes three
+ * quarters full.  Removing an element moves back the elements that collided
+ * with it, so removals leave no markers behind to lengthen later searches.
+ *
+ * <p>The iteration order of the set is unspecified.  The iterators and
+ * spliterators returned by this class are <i>fail-fast</i>: if the set is
+ * structurally modified at any time after they are created, they throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a set concurrently, and at least one of the
+ * threads modifies the set, it <i>must</i> be synchronized externally.
+ *
+ * @see HashSet
+ * @see LongHashMap
+ * @since 1.8
+ */
+public class LongHashSet implements Cloneable, Serializable {
+    private static final long serialVersionUID = 3890128772195812077L;
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity - MUST be a power of two.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The table, whose length is always a power of two.  An empty slot
+     * holds 0, so the element 0 is recorded by {@code hasZero} instead.
+     */
+    private transient long[] table;
+
+    /**
+     * The number of elements in this set.
+     */
+    private transient int size;
+
+    /**
+     * Whether this set contains 0.
+     */
+    private transient boolean hasZero;
+
+    /**
+     * The right shift taking the hash of an element to its home slot.
+     */
+    private transient int shift;
+
+    /**
+     * The size at which the table is resized (capacity * 3/4).
+     */
+    private transient int threshold;
+
+    /**
+     * The random value mixed into the hash of each element, so that adding
+     * the elements of another set in its iteration order does not fill a run
+     * of adjacent slots of this one.
+     */
+    private transient long seed = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * The number of times this set has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * Constructs an empty set with the default initial capacity (16).
+     */
+    public LongHashSet() {
+        allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty set that can hold the given number of elements
+     * without being resized.
+     *
+     * @param  expectedSize the number of elements expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " +
+                                               expectedSize);
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    /**
+     * Returns the table size needed to hold the given number of elements.
+     */
+    static int tableSizeFor(int expectedSize) {
+        long n = (long) expectedSize * 4 / 3 + 1;
+        int cap = 4;
+        while (cap < n && cap < MAXIMUM_CAPACITY)
+            cap <<= 1;
+        return cap;
+    }
+
+    private void allocate(int capacity) {
+        table = new long[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the home slot of a nonzero element.
+     */
+    private int slot(long value) {
+        return (int) (((value ^ seed) * 0x9e3779b97f4a7c15L) >>> shift);
+    }
+
+    /**
+     * Returns the number of elements in this set.
+     *
+     * @return the number of elements in this set
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this set contains no elements.
+     *
+     * @return {@code true} if this set contains no elements
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the specified element.
+     *
+     * @param value element whose presence in this set is to be tested
+     * @return {@code true} if this set contains the specified element
+     */
+    public boolean contains(long value) {
+        if (value == 0)
+            return hasZero;
+        long[] tab = table;
+        int mask = tab.length - 1;
+        for (int i = slot(value); ; i = (i + 1) & mask) {
+            long v = tab[i];
+            if (v == value)
+                return true;
+            if (v == 0)
+                return false;
+        }
+    }
+
+    /**
+     * Adds the specified element to this set if it is not already present.
+     *
+     * @param value element to be added to this set
+     * @return {@code true} if this set did not already contain the specified
+     * element
+     * @throws IllegalStateException if the set cannot grow to hold another
+     * element
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (hasZero)
+                return false;
+            hasZero = true;
+        }
+        else {
+            long[] tab = table;
+            int mask = tab.length - 1;
+            int i = slot(value);
+            for (long v; (v = tab[i]) != 0; i = (i + 1) & mask) {
+                if (v == value)
+                    return false;
+            }
+            if (size >= threshold) {
+                resize();
+                return add(value);
+            }
+            tab[i] = value;
+        }
+        ++modCount;
+        ++size;
+        return true;
+    }
+
+    /**
+     * Removes the specified element from this set if it is present.
+     *
+     * @param value element to be removed from this set, if present
+     * @return {@code true} if the set contained the specified element
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!hasZero)
+                return false;
+            hasZero = false;
+        }
+        else {
+            long[] tab = table;
+            int mask = tab.length - 1;
+            int i = slot(value);
+            for (long v; (v = tab[i]) != value; i = (i + 1) & mask) {
+                if (v == 0)
+                    return false;
+            }
+            removeAt(i);
+        }
+        ++modCount;
+        --size;
+        return true;
+    }
+
+    /**
+     * Empties slot i, moving back into it any later element of the same
+     * cluster whose home slot does not lie between slot i and itself.
+     */
+    private void removeAt(int i) {
+        long[] tab = table;
+        int mask = tab.length - 1;
+        for (int j = i; ; ) {
+            long v = tab[j = (j + 1) & mask];
+            if (v == 0)
+                break;
+            if (((j - slot(v)) & mask) >= ((j - i) & mask)) {
+                tab[i] = v;
+                i = j;
+            }
+        }
+        tab[i] = 0;
+    }
+
+    /**
+     * Doubles the size of the table.
+     */
+    private void resize() {
+        long[] oldTab = table;
+        if (oldTab.length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Set too large");
+        allocate(oldTab.length << 1);
+        long[] tab = table;
+        int mask = tab.length - 1;
+        for (long v : oldTab) {
+            if (v != 0) {
+                int i = slot(v);
+                while (tab[i] != 0)
+                    i = (i + 1) & mask;
+                tab[i] = v;
+            }
+        }
+    }
+
+    /**
+     * Removes all of the elements from this set.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            Arrays.fill(table, 0);
+            hasZero = false;
+            size = 0;
+        }
+    }
+
+    /**
+     * Performs the given action for each element of this set.
+     *
+     * @param action the action to be performed for each element
+     * @throws NullPointerException if the specified action is null
+     * @throws ConcurrentModificationException if the set is modified by
+     * the action
+     */
+    public void forEach(LongConsumer action) {
+        Objects.requireNonNull(action);
+        int mc = modCount;
+        if (hasZero)
+            action.accept(0);
+        for (long v : table) {
+            if (v != 0)
+                action.accept(v);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Removes all of the elements of this set that satisfy the given
+     * predicate.
+     *
+     * @param filter a predicate which returns {@code true} for elements to be
+     *        removed
+     * @return {@code true} if any elements were removed
+     * @throws NullPointerException if the specified filter is null
+     */
+    public boolean removeIf(LongPredicate filter) {
+        Objects.requireNonNull(filter);
+        int n = size;
+        if (hasZero && filter.test(0)) {
+            hasZero = false;
+            --size;
+        }
+        // Start after an empty slot, so that an element moved back by a
+        // removal is never one already tested
+        long[] tab = table;
+        int mask = tab.length - 1;
+        int start = 0;
+        while (tab[start] != 0)
+            ++start;
+        for (int k = 1, i = (start + 1) & mask; k < tab.length;
+             ++k, i = (i + 1) & mask) {
+            long v;
+            while ((v = tab[i]) != 0 && filter.test(v)) {
+                removeAt(i);
+                --size;
+            }
+        }
+        if (size == n)
+            return false;
+        ++modCount;
+        return true;
+    }
+
+    /**
+     * Returns an iterator over the elements in this set.
+     *
+     * @return an iterator over the elements in this set
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new Itr();
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the elements in this
+     * set.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}.
+     *
+     * @return a {@code Spliterator} over the elements in this set
+     */
+    public Spliterator.OfLong spliterator() {
+        return new LongHashSetSpliterator(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code LongStream} with this set as its source.
+     *
+     * @return a sequential {@code LongStream} over the elements in this set
+     */
+    public LongStream stream() {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    /**
+     * Returns an array containing all of the elements in this set.
+     *
+     * @return an array containing all the elements in this set
+     */
+    public long[] toArray() {
+        long[] a = new long[size];
+        int n = hasZero ? 1 : 0;
+        for (long v : table) {
+            if (v != 0)
+                a[n++] = v;
+        }
+        return a;
+    }
+
+    /**
+     * Compares the specified object with this set for equality.  Returns
+     * {@code true} if the given object is also a {@code LongHashSet} and
+     * the two sets contain the same elements.
+     *
+     * @param o object to be compared for equality with this set
+     * @return {@code true} if the specified object is equal to this set
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof LongHashSet))
+            return false;
+        LongHashSet s = (LongHashSet) o;
+        if (s.size != size || s.hasZero != hasZero)
+            return false;
+        for (long v : table) {
+            if (v != 0 && !s.contains(v))
+                return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this set, which is the sum of the
+     * hash codes of its elements as {@code Long} objects, as for a
+     * {@link Set}.
+     *
+     * @return the hash code value for this set
+     */
+    public int hashCode() {
+        int h = 0;
+        for (long v : table)
+            h += Long.hashCode(v);
+        return h;
+    }
+
+    /**
+     * Returns a string representation of this set, in the form of
+     * {@link AbstractCollection#toString}.
+     *
+     * @return a string representation of this set
+     */
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        forEach(v -> joiner.add(String.valueOf(v)));
+        return joiner.toString();
+    }
+
+    /**
+     * Returns a shallow copy of this set.
+     *
+     * @return a copy of this set
+     */
+    public LongHashSet clone() {
+        try {
+            LongHashSet s = (LongHashSet) super.clone();
+            s.table = table.clone();
+            s.modCount = 0;
+            return s;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Saves this set to a stream (that is, serializes it).
+     *
+     * @serialData The <i>size</i> of the set (the number of elements) is
+     *             emitted (int), followed by each of its elements (long).
+     *             The elements are emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        if (hasZero)
+            s.writeLong(0);
+        for (long v : table) {
+            if (v != 0)
+                s.writeLong(v);
+        }
+    }
+
+    /**
+     * Reconstitutes this set from a stream (that is, deserializes it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        seed = ThreadLocalRandom.current().nextLong();
+        int n = s.readInt();
+        if (n < 0)
+            throw new InvalidObjectException("Illegal size: " + n);
+        // Rebuild the table, rather than trusting one from the stream
+        allocate(tableSizeFor(n));
+        for (int i = 0; i < n; i++)
+            add(s.readLong());
+    }
+
+    private final class Itr implements PrimitiveIterator.OfLong {
+        int index = hasZero ? -1 : nextIndex(0); // next slot, -1 for zero
+        int expectedModCount = modCount;
+
+        int nextIndex(int i) {
+            long[] tab = table;
+            while (i < tab.length && tab[i] == 0)
+                ++i;
+            return i;
+        }
+
+        public boolean hasNext() {
+            return index < table.length;
+        }
+
+        public long nextLong() {
+            if (modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+            int i = index;
+            if (i >= table.length)
+                throw new NoSuchElementException();
+            index = nextIndex(i + 1);
+            return i < 0 ? 0 : table[i];
+        }
+    }
+
+    static final class LongHashSetSpliterator implements Spliterator.OfLong {
+        final LongHashSet set;
+        int index;                  // current index, modified on advance/split
+        int fence;                  // one past last index
+        int est;                    // size estimate
+        int expectedModCount;       // for comodification checks
+
+        // Index 0 stands for the element 0, and index i > 0 for slot i - 1
+        LongHashSetSpliterator(LongHashSet s, int origin, int fence, int est,
+                             int expectedModCount) {
+            this.set = s;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                LongHashSet s = set;
+                est = s.size;
+                expectedModCount = s.modCount;
+                hi = fence = s.table.length + 1;
+            }
+            return hi;
+        }
+
+        public LongHashSetSpliterator trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new LongHashSetSpliterator(set, lo, index = mid, est >>>= 1,
+                                         expectedModCount);
+        }
+
+        public boolean tryAdvance(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence();
+            LongHashSet s = set;
+            long[] tab = s.table;
+            while (index < hi) {
+                int i = index++;
+                if (i == 0 ? s.hasZero : tab[i - 1] != 0) {
+                    action.accept(i == 0 ? 0 : tab[i - 1]);
+                    if (s.modCount != expectedModCount)
+                        throw new ConcurrentModificationException();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public void forEachRemaining(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            int hi = getFence(), i = index;
+            LongHashSet s = set;
+            long[] tab = s.table;
+            index = hi;
+            if (i == 0 && i < hi) {
+                if (s.hasZero)
+                    action.accept(0);
+                ++i;
+            }
+            for (; i < hi; ++i) {
+                long v = tab[i - 1];
+                if (v != 0)
+                    action.accept(v);
+            }
+            if (s.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == set.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+}
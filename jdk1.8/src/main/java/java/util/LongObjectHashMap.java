@@ -0,0 +1,907 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+package java.util;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.Serializable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A map from {@code long} keys to values, with the keys held without boxing
+ * in an open-addressing hash table.  Each mapping takes a slot of an array
+ * of keys and of an array of value references, so the map needs between
+ * about 16 and 32 bytes per mapping besides the values themselves, rather
+ * than the several dozen of a {@link HashMap} with {@link Long} keys.  The
+ * methods of this class are modeled on those of {@link Map}.  {@code null}
+ * values are permitted.
+ *
+ * @param <V> the type of mapped values
+ *
+ * <p>This class offers constant time performance for the basic operations
+ * ({@code get} and {@code put}), assuming the hash function disperses the
+ * keys properly.  Collisions are resolved by linear probing, and the table is
+ * doubled in size whenever it becomes three quarters full.  Removing a
+ * mapping moves back the mappings that collided with it, so removals leave
+ * no markers behind to lengthen later searches.
+ *
+ * <p>The iteration order of the map is unspecified.  The spliterators
+ * returned by this class are <i>fail-fast</i>: if the map is structurally
+ * modified at any time after they are created, they throw a
+ * {@link ConcurrentModificationException} on a best-effort basis.
+ *
+ * <p><strong>Note that this implementation is not synchronized.</strong>
+ * If multiple threads access a map concurrently, and at least one of the
+ * threads modifies the map structurally, it <i>must</i> be synchronized
+ * externally.
+ *
+ * @see HashMap
+ * @see LongHashMap
+ * @since 1.8
+ */
+public class LongObjectHashMap<V> implements Cloneable, Serializable {
+    private static final long serialVersionUID = 2183963032771569722L;
+
+    /**
+     * The default initial capacity - MUST be a power of two.
+     */
+    static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    /**
+     * The maximum capacity - MUST be a power of two.
+     */
+    static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * The keys, whose length is always a power of two.  An empty slot holds
+     * the key 0, so a mapping for 0 is recorded by {@code hasZeroKey} and
+     * {@code zeroValue} instead.
+     */
+    private transient long[] keys;
+
+    /**
+     * The values, in the slots of their keys.
+     */
+    private transient Object[] values;
+
+    /**
+     * The number of mappings in this map.
+     */
+    private transient int size;
+
+    /**
+     * Whether this map contains a mapping for the key 0.
+     */
+    private transient boolean hasZeroKey;
+
+    /**
+     * The value of the key 0, or null if there is none.
+     */
+    private transient Object zeroValue;
+
+    /**
+     * The right shift taking the hash of a key to its home slot.
+     */
+    private transient int shift;
+
+    /**
+     * The size at which the table is resized (capacity * 3/4).
+     */
+    private transient int threshold;
+
+    /**
+     * The random value mixed into the hash of each key, so that adding the
+     * keys of another map in its iteration order does not fill a run of
+     * adjacent slots of this one.
+     */
+    private transient long seed = ThreadLocalRandom.current().nextLong();
+
+    /**
+     * The number of times this map has been structurally modified.
+     */
+    transient int modCount;
+
+    /**
+     * Constructs an empty map with the default initial capacity (16).
+     */
+    public LongObjectHashMap() {
+        allocate(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty map that can hold the given number of mappings
+     * without being resized.
+     *
+     * @param  expectedSize the number of mappings expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public LongObjectHashMap(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("Illegal expected size: " +
+                                               expectedSize);
+        allocate(LongHashSet.tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+        threshold = capacity / 4 * 3;
+    }
+
+    /**
+     * Returns the home slot of a nonzero key.
+     */
+    private int slot(long key) {
+        return (int) (((key ^ seed) * 0x9e3779b97f4a7c15L) >>> shift);
+    }
+
+    /**
+     * Returns the slot of a nonzero key, or if the key is absent, the
+     * complement of the empty slot at which it would be added.
+     */
+    private int find(long key) {
+        long[] tab = keys;
+        int mask = tab.length - 1;
+        int i = slot(key);
+        for (long k; (k = tab[i]) != key; i = (i + 1) & mask) {
+            if (k == 0)
+                return ~i;
+        }
+        return i;
+    }
+
+    /**
+     * Adds a mapping for an absent nonzero key at slot i, as returned by
+     * find, first resizing the table if it is full.
+     */
+    private void addAt(int i, long key, Object value) {
+        if (size >= threshold) {
+            resize();
+            i = ~find(key);
+        }
+        keys[i] = key;
+        values[i] = value;
+        ++modCount;
+        ++size;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns {@code true} if this map contains no key-value mappings.
+     *
+     * @return {@code true} if this map contains no key-value mappings
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key.
+     *
+     * <p>A return value of {@code null} does not <i>necessarily</i>
+     * indicate that the map contains no mapping for the key; it's also
+     * possible that the map explicitly maps the key to {@code null}.
+     * The {@link #containsKey containsKey} operation may be used to
+     * distinguish these two cases.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     * @see #getOrDefault(long, Object)
+     */
+    public V get(long key) {
+        return getOrDefault(key, null);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @param defaultValue the default mapping of the key
+     * @return the value to which the specified key is mapped, or
+     * {@code defaultValue} if this map contains no mapping for the key
+     */
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(long key, V defaultValue) {
+        if (key == 0)
+            return hasZeroKey ? (V) zeroValue : defaultValue;
+        long[] tab = keys;
+        int mask = tab.length - 1;
+        for (int i = slot(key); ; i = (i + 1) & mask) {
+            long k = tab[i];
+            if (k == key)
+                return (V) values[i];
+            if (k == 0)
+                return defaultValue;
+        }
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the
+     * specified key.
+     *
+     * @param key the key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     */
+    public boolean containsKey(long key) {
+        return key == 0 ? hasZeroKey : find(key) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this map maps one or more keys to the
+     * specified value.
+     *
+     * @param value value whose presence in this map is to be tested
+     * @return {@code true} if this map maps one or more keys to the
+     *         specified value
+     */
+    public boolean containsValue(Object value) {
+        if (hasZeroKey && Objects.equals(zeroValue, value))
+            return true;
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0 && Objects.equals(vals[i], value))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old
+     * value is replaced.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key}.)
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        Object old;
+        if (key == 0) {
+            old = zeroValue;
+            zeroValue = value;
+            if (!hasZeroKey) {
+                hasZeroKey = true;
+                ++modCount;
+                ++size;
+            }
+        }
+        else {
+            int i = find(key);
+            if (i >= 0) {
+                old = values[i];
+                values[i] = value;
+            }
+            else {
+                old = null;
+                addAt(~i, key, value);
+            }
+        }
+        return (V) old;
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is
+     * mapped to {@code null}) associates it with the given value and
+     * returns {@code null}, else returns the current value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with the specified key, or
+     *         {@code null} if there was no mapping for the key.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with the key.)
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public V putIfAbsent(long key, V value) {
+        V v = get(key);
+        if (v == null)
+            v = put(key, value);
+        return v;
+    }
+
+    /**
+     * Removes the mapping for the specified key from this map if present.
+     *
+     * @param  key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key}.)
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        Object old;
+        if (key == 0) {
+            if (!hasZeroKey)
+                return null;
+            old = zeroValue;
+            hasZeroKey = false;
+            zeroValue = null;
+        }
+        else {
+            int i = find(key);
+            if (i < 0)
+                return null;
+            old = values[i];
+            removeAt(i);
+        }
+        ++modCount;
+        --size;
+        return (V) old;
+    }
+
+    /**
+     * If the specified key is not already associated with a value (or is
+     * mapped to {@code null}), attempts to compute its value using the given
+     * mapping function and enters it into this map unless {@code null}.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param mappingFunction the function to compute a value
+     * @return the current (existing or computed) value associated with
+     *         the specified key, or null if the computed value is null
+     * @throws NullPointerException if the mapping function is null
+     * @throws ConcurrentModificationException if the mapping function
+     *         modified this map
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    @SuppressWarnings("unchecked")
+    public V computeIfAbsent(long key,
+                             LongFunction<? extends V> mappingFunction) {
+        Objects.requireNonNull(mappingFunction);
+        int i = 0;
+        if (key == 0) {
+            if (zeroValue != null)
+                return (V) zeroValue;
+        }
+        else if ((i = find(key)) >= 0 && values[i] != null)
+            return (V) values[i];
+        int mc = modCount;
+        V value = mappingFunction.apply(key);
+        if (mc != modCount)
+            throw new ConcurrentModificationException();
+        if (value == null)
+            return null;
+        if (key == 0)
+            put(key, value);
+        else if (i >= 0)
+            values[i] = value;
+        else
+            addAt(~i, key, value);
+        return value;
+    }
+
+    /**
+     * If the specified key is not already associated with a value or is
+     * associated with null, associates it with the given non-null value.
+     * Otherwise, replaces the associated value with the results of the given
+     * remapping function, or removes if the result is {@code null}.
+     *
+     * @param key key with which the resulting value is to be associated
+     * @param value the non-null value to be merged with the existing value
+     *        associated with the key or, if no existing value or a null value
+     *        is associated with the key, to be associated with the key
+     * @param remappingFunction the function to recompute a value if present
+     * @return the new value associated with the specified key, or null if no
+     *         value is associated with the key
+     * @throws NullPointerException if the specified value or remapping
+     *         function is null
+     * @throws IllegalStateException if the map cannot grow to hold another
+     *         mapping
+     */
+    public V merge(long key, V value,
+                   BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        V old = get(key);
+        V v = (old == null) ? value : remappingFunction.apply(old, value);
+        if (v == null)
+            remove(key);
+        else
+            put(key, v);
+        return v;
+    }
+
+    /**
+     * Performs the given action for each mapping in this map.  The action
+     * is passed the value of each mapping, followed by its key.
+     *
+     * @param action the action to be performed for each mapping
+     * @throws NullPointerException if the specified action is null
+     * @throws ConcurrentModificationException if the map is modified by
+     * the action
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjLongConsumer<? super V> action) {
+        Objects.requireNonNull(action);
+        int mc = modCount;
+        if (hasZeroKey)
+            action.accept((V) zeroValue, 0);
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length && modCount == mc; ++i) {
+            if (tab[i] != 0)
+                action.accept((V) vals[i], tab[i]);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Represents a function that accepts a {@code long} key and a value
+     * and produces a result.  This is the {@code long}-keyed
+     * specialization of {@link BiFunction} used by
+     * {@link LongObjectHashMap#replaceAll}.
+     *
+     * @param <T> the type of the value passed to the function
+     * @param <R> the type of the result of the function
+     */
+    @FunctionalInterface
+    public interface LongObjFunction<T, R> {
+        /**
+         * Applies this function to the given key and value.
+         *
+         * @param key the key of a mapping
+         * @param value the value of the mapping
+         * @return the function result
+         */
+        R apply(long key, T value);
+    }
+
+    /**
+     * Replaces each entry's value with the result of invoking the given
+     * function on that entry's key and value.
+     *
+     * @param function the function to apply to each key and value
+     * @throws NullPointerException if the specified function is null
+     * @throws ConcurrentModificationException if the map is modified by
+     * the function
+     */
+    @SuppressWarnings("unchecked")
+    public void replaceAll(LongObjFunction<? super V, ? extends V> function) {
+        Objects.requireNonNull(function);
+        int mc = modCount;
+        if (hasZeroKey)
+            zeroValue = function.apply(0, (V) zeroValue);
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length && modCount == mc; ++i) {
+            if (tab[i] != 0)
+                vals[i] = function.apply(tab[i], (V) vals[i]);
+        }
+        if (modCount != mc)
+            throw new ConcurrentModificationException();
+    }
+
+    /**
+     * Empties slot i, moving back into it any later mapping of the same
+     * cluster whose home slot does not lie between slot i and its own.
+     */
+    private void removeAt(int i) {
+        long[] tab = keys;
+        Object[] vals = values;
+        int mask = tab.length - 1;
+        for (int j = i; ; ) {
+            long k = tab[j = (j + 1) & mask];
+            if (k == 0)
+                break;
+            if (((j - slot(k)) & mask) >= ((j - i) & mask)) {
+                tab[i] = k;
+                vals[i] = vals[j];
+                i = j;
+            }
+        }
+        tab[i] = 0;
+        vals[i] = null;
+    }
+
+    /**
+     * Doubles the size of the table.
+     */
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        if (oldKeys.length == MAXIMUM_CAPACITY)
+            throw new IllegalStateException("Map too large");
+        allocate(oldKeys.length << 1);
+        long[] tab = keys;
+        Object[] vals = values;
+        int mask = tab.length - 1;
+        for (int j = 0; j < oldKeys.length; ++j) {
+            long k = oldKeys[j];
+            if (k != 0) {
+                int i = slot(k);
+                while (tab[i] != 0)
+                    i = (i + 1) & mask;
+                tab[i] = k;
+                vals[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Removes all of the mappings from this map.
+     */
+    public void clear() {
+        if (size > 0) {
+            ++modCount;
+            Arrays.fill(keys, 0);
+            Arrays.fill(values, null);
+            hasZeroKey = false;
+            zeroValue = null;
+            size = 0;
+        }
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the keys of this map.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED} and
+     * {@link Spliterator#DISTINCT}.
+     *
+     * @return a {@code Spliterator} over the keys of this map
+     */
+    public Spliterator.OfLong keySpliterator() {
+        return new KeySpliterator<>(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code LongStream} of the keys of this map.
+     *
+     * @return a sequential {@code LongStream} over the keys of this map
+     */
+    public LongStream keyStream() {
+        return StreamSupport.longStream(keySpliterator(), false);
+    }
+
+    /**
+     * Creates a <em><a href="Spliterator.html#binding">late-binding</a></em>
+     * and <em>fail-fast</em> {@link Spliterator} over the values of this
+     * map, in the order of their keys in {@link #keySpliterator}.
+     *
+     * <p>The {@code Spliterator} reports {@link Spliterator#SIZED}.
+     *
+     * @return a {@code Spliterator} over the values of this map
+     */
+    public Spliterator<V> valueSpliterator() {
+        return new ValueSpliterator<>(this, 0, -1, 0, 0);
+    }
+
+    /**
+     * Returns a sequential {@code Stream} of the values of this map.
+     *
+     * @return a sequential {@code Stream} over the values of this map
+     */
+    public Stream<V> valueStream() {
+        return StreamSupport.stream(valueSpliterator(), false);
+    }
+
+    /**
+     * Compares the specified object with this map for equality.  Returns
+     * {@code true} if the given object is also a {@code LongObjectHashMap}
+     * and the two maps represent the same mappings.
+     *
+     * @param o object to be compared for equality with this map
+     * @return {@code true} if the specified object is equal to this map
+     */
+    public boolean equals(Object o) {
+        if (o == this)
+            return true;
+        if (!(o instanceof LongObjectHashMap))
+            return false;
+        LongObjectHashMap<?> m = (LongObjectHashMap<?>) o;
+        if (m.size != size || m.hasZeroKey != hasZeroKey ||
+            !Objects.equals(m.zeroValue, zeroValue))
+            return false;
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            long k = tab[i];
+            if (k != 0) {
+                int j = m.find(k);
+                if (j < 0 || !Objects.equals(m.values[j], vals[i]))
+                    return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the hash code value for this map, which is the sum of the
+     * hash codes of its mappings as entries of a {@link Map} with
+     * {@code Long} keys.
+     *
+     * @return the hash code value for this map
+     */
+    public int hashCode() {
+        int h = hasZeroKey ? Objects.hashCode(zeroValue) : 0;
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0)
+                h += Long.hashCode(tab[i]) ^ Objects.hashCode(vals[i]);
+        }
+        return h;
+    }
+
+    /**
+     * Returns a string representation of this map, in the form of
+     * {@link AbstractMap#toString}.
+     *
+     * @return a string representation of this map
+     */
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "{", "}");
+        if (hasZeroKey)
+            joiner.add("0=" + (zeroValue == this ? "(this Map)" : zeroValue));
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0)
+                joiner.add(tab[i] + "=" +
+                           (vals[i] == this ? "(this Map)" : vals[i]));
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns a shallow copy of this map: the values themselves are not
+     * cloned.
+     *
+     * @return a copy of this map
+     */
+    @SuppressWarnings("unchecked")
+    public LongObjectHashMap<V> clone() {
+        try {
+            LongObjectHashMap<V> m = (LongObjectHashMap<V>) super.clone();
+            m.keys = keys.clone();
+            m.values = values.clone();
+            m.modCount = 0;
+            return m;
+        } catch (CloneNotSupportedException e) {
+            throw new InternalError(e);
+        }
+    }
+
+    /**
+     * Saves this map to a stream (that is, serializes it).
+     *
+     * @serialData The <i>size</i> of the map (the number of key-value
+     *             mappings) is emitted (int), followed by the key (long)
+     *             and value (Object) for each key-value mapping.  The
+     *             key-value mappings are emitted in no particular order.
+     */
+    private void writeObject(java.io.ObjectOutputStream s)
+        throws IOException {
+        s.defaultWriteObject();
+        s.writeInt(size);
+        if (hasZeroKey) {
+            s.writeLong(0);
+            s.writeObject(zeroValue);
+        }
+        long[] tab = keys;
+        Object[] vals = values;
+        for (int i = 0; i < tab.length; ++i) {
+            if (tab[i] != 0) {
+                s.writeLong(tab[i]);
+                s.writeObject(vals[i]);
+            }
+        }
+    }
+
+    /**
+     * Reconstitutes this map from a stream (that is, deserializes it).
+     */
+    private void readObject(java.io.ObjectInputStream s)
+        throws IOException, ClassNotFoundException {
+        s.defaultReadObject();
+        seed = ThreadLocalRandom.current().nextLong();
+        int mappings = s.readInt();
+        if (mappings < 0)
+            throw new InvalidObjectException("Illegal mappings count: " +
+                                             mappings);
+        // Rebuild the table, rather than trusting one from the stream
+        allocate(LongHashSet.tableSizeFor(mappings));
+        for (int i = 0; i < mappings; i++) {
+            long key = s.readLong();
+            @SuppressWarnings("unchecked")
+                V value = (V) s.readObject();
+            put(key, value);
+        }
+    }
+
+    /* ------------------------------------------------------------ */
+    // spliterators
+
+    static class LongObjectHashMapSpliterator<V> {
+        final LongObjectHashMap<V> map;
+        int index;                  // current index, modified on advance/split
+        int fence;                  // one past last index
+        int est;                    // size estimate
+        int expectedModCount;       // for comodification checks
+
+        // Index 0 stands for the key 0, and index i > 0 for slot i - 1
+        LongObjectHashMapSpliterator(LongObjectHashMap<V> m, int origin,
+                                   int fence, int est,
+                                   int expectedModCount) {
+            this.map = m;
+            this.index = origin;
+            this.fence = fence;
+            this.est = est;
+            this.expectedModCount = expectedModCount;
+        }
+
+        final int getFence() { // initialize fence and size on first use
+            int hi;
+            if ((hi = fence) < 0) {
+                LongObjectHashMap<V> m = map;
+                est = m.size;
+                expectedModCount = m.modCount;
+                hi = fence = m.keys.length + 1;
+            }
+            return hi;
+        }
+
+        /**
+         * Advances to the next index holding a mapping and returns it,
+         * or returns -1 at the fence.
+         */
+        final int advance() {
+            int hi = getFence();
+            LongObjectHashMap<V> m = map;
+            long[] tab = m.keys;
+            while (index < hi) {
+                int i = index++;
+                if (i == 0 ? m.hasZeroKey : tab[i - 1] != 0)
+                    return i;
+            }
+            return -1;
+        }
+
+        final void checkForComodification() {
+            if (map.modCount != expectedModCount)
+                throw new ConcurrentModificationException();
+        }
+
+        public final long estimateSize() {
+            getFence(); // force init
+            return (long) est;
+        }
+    }
+
+    static final class KeySpliterator<V>
+        extends LongObjectHashMapSpliterator<V>
+        implements Spliterator.OfLong {
+        KeySpliterator(LongObjectHashMap<V> m, int origin, int fence, int est,
+                       int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public KeySpliterator<V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new KeySpliterator<>(map, lo, index = mid, est >>>= 1,
+                                   expectedModCount);
+        }
+
+        public boolean tryAdvance(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = advance();
+            if (i < 0)
+                return false;
+            action.accept(i == 0 ? 0 : map.keys[i - 1]);
+            checkForComodification();
+            return true;
+        }
+
+        public void forEachRemaining(LongConsumer action) {
+            if (action == null)
+                throw new NullPointerException();
+            for (int i; (i = advance()) >= 0; )
+                action.accept(i == 0 ? 0 : map.keys[i - 1]);
+            checkForComodification();
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0) |
+                Spliterator.DISTINCT;
+        }
+    }
+
+    static final class ValueSpliterator<V>
+        extends LongObjectHashMapSpliterator<V>
+        implements Spliterator<V> {
+        ValueSpliterator(LongObjectHashMap<V> m, int origin, int fence, int est,
+                         int expectedModCount) {
+            super(m, origin, fence, est, expectedModCount);
+        }
+
+        public ValueSpliterator<V> trySplit() {
+            int hi = getFence(), lo = index, mid = (lo + hi) >>> 1;
+            return (lo >= mid) ? null :
+                new ValueSpliterator<>(map, lo, index = mid, est >>>= 1,
+                                     expectedModCount);
+        }
+
+        public boolean tryAdvance(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            int i = advance();
+            if (i < 0)
+                return false;
+            action.accept(value(i));
+            checkForComodification();
+            return true;
+        }
+
+        public void forEachRemaining(Consumer<? super V> action) {
+            if (action == null)
+                throw new NullPointerException();
+            for (int i; (i = advance()) >= 0; )
+                action.accept(value(i));
+            checkForComodification();
+        }
+
+        @SuppressWarnings("unchecked")
+        private V value(int i) {
+            return (V) (i == 0 ? map.zeroValue : map.values[i - 1]);
+        }
+
+        public int characteristics() {
+            return (fence < 0 || est == map.size ? Spliterator.SIZED : 0);
+        }
+    }
+}
@@ -25,6 +25,7 @@
 
 package java.util;
 import java.util.Date;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -73,6 +74,14 @@ import java.util.concurrent.atomic.AtomicInteger;
  * ScheduledThreadPoolExecutor} with one thread makes it equivalent to
  * {@code Timer}.
  *
+ * <p>A timer may instead be created with an {@link Executor}, to which its
+ * thread hands each task to run when it fires.  Tasks then run concurrently
+ * with each other, and a task that throws an exception does not terminate
+ * the timer: a repeating task that throws is not run again, while other
+ * tasks are unaffected.  A repeating task is never run concurrently with
+ * itself; its next execution is scheduled when it fires, as usual, but is
+ * only performed once the current one has completed.
+ *
  * <p>Implementation note: This class scales to large numbers of concurrently
  * scheduled tasks (thousands should present no problem).  Internally,
  * it uses a binary heap to represent its task queue, so the cost to schedule
@@ -98,7 +107,7 @@ public class Timer {
     /**
      * The timer thread.
      */
-    private final TimerThread thread = new TimerThread(queue);
+    private final TimerThread thread;
 
     /**
      * This object causes the timer's task execution thread to exit
@@ -156,6 +165,7 @@ public class Timer {
      * @since 1.5
      */
     public Timer(String name) {
+        thread = new TimerThread(queue, null);
         thread.setName(name);
         thread.start();
     }
@@ -171,6 +181,25 @@ public class Timer {
      * @since 1.5
      */
     public Timer(String name, boolean isDaemon) {
+        this(name, isDaemon, null);
+    }
+
+    /**
+     * Creates a new timer whose associated thread has the specified name,
+     * may be specified to {@linkplain Thread#setDaemon run as a daemon},
+     * and hands each task to the given executor to run when it fires.
+     * Tasks the executor rejects are cancelled, and the exception is
+     * passed to the uncaught exception handler of the timer's thread.
+     *
+     * @param name the name of the associated thread
+     * @param isDaemon true if the associated thread should run as a daemon
+     * @param executor the executor to run tasks, or {@code null} to run
+     *        them in the timer's thread
+     * @throws NullPointerException if {@code name} is null
+     * @since 1.8
+     */
+    public Timer(String name, boolean isDaemon, Executor executor) {
+        thread = new TimerThread(queue, executor);
         thread.setName(name);
         thread.setDaemon(isDaemon);
         thread.start();
@@ -428,6 +457,7 @@ public class Timer {
     public void cancel() {
         synchronized(queue) {
             thread.newTasksMayBeScheduled = false;
+            thread.cancelled = true;
             queue.clear();
             queue.notify();  // In case queue was already empty.
         }
@@ -488,6 +518,27 @@ class TimerThread extends Thread {
      */
     boolean newTasksMayBeScheduled = true;
 
+    /**
+     * Set when the timer is cancelled or this thread terminates, after
+     * which repeating tasks handed to the executor are not put back in the
+     * queue.  Protected by queue's monitor.
+     */
+    boolean cancelled;
+
+    /**
+     * The number of repeating tasks handed to the executor that have not
+     * yet completed, and so are not in the queue although they are still
+     * scheduled.  This thread keeps waiting for them to be put back even
+     * when newTasksMayBeScheduled is false.  Protected by queue's monitor.
+     */
+    private int dispatched;
+
+    /**
+     * The executor to which fired tasks are handed, or null if they are
+     * run in this thread.
+     */
+    private final Executor executor;
+
     /**
      * Our Timer's queue.  We store this reference in preference to
      * a reference to the Timer so the reference graph remains acyclic.
@@ -496,8 +547,9 @@ class TimerThread extends Thread {
      */
     private TaskQueue queue;
 
-    TimerThread(TaskQueue queue) {
+    TimerThread(TaskQueue queue, Executor executor) {
         this.queue = queue;
+        this.executor = executor;
     }
 
     public void run() {
@@ -507,6 +559,7 @@ class TimerThread extends Thread {
             // Someone killed this Thread, behave as if Timer cancelled
             synchronized(queue) {
                 newTasksMayBeScheduled = false;
+                cancelled = true;
                 queue.clear();  // Eliminate obsolete references
             }
         }
@@ -522,7 +575,8 @@ class TimerThread extends Thread {
                 boolean taskFired;
                 synchronized(queue) {
                     // Wait for queue to become non-empty
-                    while (queue.isEmpty() && newTasksMayBeScheduled)
+                    while (queue.isEmpty() &&
+                           (newTasksMayBeScheduled || dispatched > 0))
                         queue.wait();
                     if (queue.isEmpty())
                         break; // Queue is empty and will forever remain; die
@@ -541,6 +595,13 @@ class TimerThread extends Thread {
                             if (task.period == 0) { // Non-repeating, remove
                                 queue.removeMin();
                                 task.state = TimerTask.EXECUTED;
+                            } else if (executor != null) {
+                                // Repeating task, put back once it has run
+                                queue.removeMin();
+                                task.nextExecutionTime =
+                                    task.period<0 ? currentTime   - task.period
+                                                  : executionTime + task.period;
+                                dispatched++;
                             } else { // Repeating task, reschedule
                                 queue.rescheduleMin(
                                   task.period<0 ? currentTime   - task.period
@@ -551,12 +612,69 @@ class TimerThread extends Thread {
                     if (!taskFired) // Task hasn't yet fired; wait
                         queue.wait(executionTime - currentTime);
                 }
-                if (taskFired)  // Task fired; run it, holding no locks
-                    task.run();
+                if (taskFired) { // Task fired; run it, holding no locks
+                    if (executor == null)
+                        task.run();
+                    else
+                        dispatch(task);
+                }
             } catch(InterruptedException e) {
             }
         }
     }
+
+    /**
+     * Hands the given fired task to the executor.  A task the executor
+     * rejects is cancelled, and the exception is reported to this
+     * thread's uncaught exception handler rather than terminating it.
+     */
+    private void dispatch(final TimerTask task) {
+        try {
+            executor.execute(new Runnable() {
+                public void run() {
+                    runDispatched(task);
+                }
+            });
+        } catch (RuntimeException | Error ex) {
+            task.cancel();
+            if (task.period != 0)
+                finishDispatched(task, false);
+            getUncaughtExceptionHandler().uncaughtException(this, ex);
+        }
+    }
+
+    /**
+     * Runs a task handed to the executor.  Any exception it throws is
+     * left to the executor to deal with.
+     */
+    private void runDispatched(TimerTask task) {
+        boolean completed = false;
+        try {
+            task.run();
+            completed = true;
+        } finally {
+            if (task.period != 0)
+                finishDispatched(task, completed);
+        }
+    }
+
+    /**
+     * Puts a repeating task that has been run by the executor back in the
+     * queue, unless it or the timer has been cancelled, or it did not
+     * complete normally, in which case it is cancelled.
+     */
+    private void finishDispatched(TimerTask task, boolean completed) {
+        synchronized(queue) {
+            dispatched--;
+            synchronized(task.lock) {
+                if (!completed)
+                    task.state = TimerTask.CANCELLED;
+                else if (task.state == TimerTask.SCHEDULED && !cancelled)
+                    queue.add(task);
+            }
+            queue.notify();
+        }
+    }
 }
 
 /**
@@ -91,6 +91,45 @@ public class Executors {
                                       new LinkedBlockingQueue<Runnable>());
     }
 
+    /**
+     * Creates a thread pool that reuses a fixed number of threads
+     * operating off a {@link StripedBlockingQueue}, an unbounded queue
+     * split into several sub-queues from which idle threads steal.
+     * This behaves like {@link #newFixedThreadPool(int)}, but scales
+     * better when many threads submit and run short tasks, at the
+     * price of not executing tasks in submission order.
+     *
+     * @param nThreads the number of threads in the pool
+     * @return the newly created thread pool
+     * @throws IllegalArgumentException if {@code nThreads <= 0}
+     * @since 1.8
+     */
+    public static ExecutorService newStripedThreadPool(int nThreads) {
+        return new ThreadPoolExecutor(nThreads, nThreads,
+                                      0L, TimeUnit.MILLISECONDS,
+                                      new StripedBlockingQueue<Runnable>());
+    }
+
+    /**
+     * Creates a thread pool that reuses a fixed number of threads
+     * operating off a {@link StripedBlockingQueue}, using the provided
+     * ThreadFactory to create new threads when needed.
+     *
+     * @param nThreads the number of threads in the pool
+     * @param threadFactory the factory to use when creating new threads
+     * @return the newly created thread pool
+     * @throws NullPointerException if threadFactory is null
+     * @throws IllegalArgumentException if {@code nThreads <= 0}
+     * @since 1.8
+     */
+    public static ExecutorService newStripedThreadPool(int nThreads,
+                                                       ThreadFactory threadFactory) {
+        return new ThreadPoolExecutor(nThreads, nThreads,
+                                      0L, TimeUnit.MILLISECONDS,
+                                      new StripedBlockingQueue<Runnable>(),
+                                      threadFactory);
+    }
+
     /**
      * Creates a thread pool that maintains enough threads to support
      * the given parallelism level, and may use multiple queues to
@@ -301,6 +340,27 @@ public class Executors {
         return new ScheduledThreadPoolExecutor(corePoolSize, threadFactory);
     }
 
+    /**
+     * Creates a thread pool that can schedule commands to run after a
+     * given delay, or to execute periodically, keeping pending tasks
+     * in a timing wheel that schedules and cancels them in constant
+     * time. Tasks are enabled at the first tick boundary at or after
+     * their trigger time.
+     * @param corePoolSize the number of threads to keep in the pool,
+     * even if they are idle
+     * @param tickDuration the scheduling precision
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @return a newly created scheduled thread pool
+     * @throws IllegalArgumentException if {@code corePoolSize < 0} or
+     * {@code tickDuration <= 0}
+     * @throws NullPointerException if unit is null
+     * @since 1.8
+     */
+    public static ScheduledExecutorService newTimingWheelScheduledThreadPool(
+            int corePoolSize, long tickDuration, TimeUnit unit) {
+        return new ScheduledThreadPoolExecutor(corePoolSize, tickDuration, unit);
+    }
+
     /**
      * Returns an object that delegates all defined {@link
      * ExecutorService} methods to the given executor, but not any
@@ -63,6 +63,19 @@ import java.util.*;
  * causes tasks to be immediately removed from the work queue at
  * time of cancellation.
  *
+ * <p>By default delayed tasks are kept in a binary heap ordered by
+ * trigger time, so that scheduling and removal take logarithmic
+ * time. Executors that hold very large numbers of pending timeouts
+ * may instead be constructed with a <em>tick duration</em>, in which
+ * case tasks are kept in a hierarchical timing wheel that schedules
+ * and removes tasks in constant time. Tasks are then enabled at the
+ * first tick boundary at or after their trigger time, so they may
+ * commence up to one tick later than they otherwise would, and the
+ * FIFO ordering guarantee above applies to tasks whose trigger times
+ * fall within the same tick. Because removal is cheap, such
+ * executors are usually best combined with {@link
+ * #setRemoveOnCancelPolicy}.
+ *
  * <p>Successive executions of a task scheduled via
  * {@code scheduleAtFixedRate} or
  * {@code scheduleWithFixedDelay} do not overlap. While different
@@ -202,6 +215,12 @@ public class ScheduledThreadPoolExecutor
          */
         int heapIndex;
 
+        /**
+         * Node holding this task while it is queued in a
+         * TimingWheelWorkQueue, to support constant-time cancellation.
+         */
+        TimingWheelWorkQueue.Node wheelNode;
+
         /**
          * Creates a one-shot action with given nanoTime-based trigger time.
          */
@@ -322,6 +341,7 @@ public class ScheduledThreadPoolExecutor
      * @param task the task
      */
     private void delayedExecute(RunnableScheduledFuture<?> task) {
+        taskSubmitted();
         if (isShutdown())
             reject(task);
         else {
@@ -486,6 +506,58 @@ public class ScheduledThreadPoolExecutor
               new DelayedWorkQueue(), threadFactory, handler);
     }
 
+    /**
+     * Creates a new {@code ScheduledThreadPoolExecutor} with the
+     * given core pool size that keeps delayed tasks in a timing wheel
+     * of the given tick duration.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param tickDuration the scheduling precision; tasks are enabled
+     *        at the first tick boundary at or after their trigger time
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @throws IllegalArgumentException if {@code corePoolSize < 0} or
+     *         {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit} is null
+     * @since 1.8
+     */
+    public ScheduledThreadPoolExecutor(int corePoolSize,
+                                       long tickDuration,
+                                       TimeUnit unit) {
+        super(corePoolSize, Integer.MAX_VALUE, 0, NANOSECONDS,
+              new TimingWheelWorkQueue(unit.toNanos(tickDuration)));
+    }
+
+    /**
+     * Creates a new {@code ScheduledThreadPoolExecutor} with the
+     * given initial parameters that keeps delayed tasks in a timing
+     * wheel of the given tick duration.
+     *
+     * @param corePoolSize the number of threads to keep in the pool, even
+     *        if they are idle, unless {@code allowCoreThreadTimeOut} is set
+     * @param tickDuration the scheduling precision; tasks are enabled
+     *        at the first tick boundary at or after their trigger time
+     * @param unit the time unit of the {@code tickDuration} argument
+     * @param threadFactory the factory to use when the executor
+     *        creates a new thread
+     * @param handler the handler to use when execution is blocked
+     *        because the thread bounds and queue capacities are reached
+     * @throws IllegalArgumentException if {@code corePoolSize < 0} or
+     *         {@code tickDuration <= 0}
+     * @throws NullPointerException if {@code unit}, {@code threadFactory}
+     *         or {@code handler} is null
+     * @since 1.8
+     */
+    public ScheduledThreadPoolExecutor(int corePoolSize,
+                                       long tickDuration,
+                                       TimeUnit unit,
+                                       ThreadFactory threadFactory,
+                                       RejectedExecutionHandler handler) {
+        super(corePoolSize, Integer.MAX_VALUE, 0, NANOSECONDS,
+              new TimingWheelWorkQueue(unit.toNanos(tickDuration)),
+              threadFactory, handler);
+    }
+
     /**
      * Returns the trigger time of a delayed action.
      */
@@ -1280,4 +1352,681 @@ public class ScheduledThreadPoolExecutor
             }
         }
     }
+
+    /**
+     * Delay queue based on a hierarchical timing wheel, used instead
+     * of DelayedWorkQueue when the executor is constructed with a
+     * tick duration. Like DelayedWorkQueue, this class must be
+     * declared as a BlockingQueue<Runnable> even though it can only
+     * hold RunnableScheduledFutures.
+     */
+    static class TimingWheelWorkQueue extends AbstractQueue<Runnable>
+        implements BlockingQueue<Runnable> {
+
+        /*
+         * Time is divided into ticks of tickNanos, counted from the
+         * time the queue was created. A task becomes ready once the
+         * wheel has advanced to the first tick at or after its trigger
+         * time, so tasks are never enabled early and at most one tick
+         * late.
+         *
+         * The wheel has LEVELS levels of WHEEL_SIZE buckets each.
+         * Bucket i of level L holds tasks whose deadline tick lies in
+         * the i'th block of WHEEL_SIZE^L ticks (modulo the level's
+         * span), and a task is placed on the lowest level whose span
+         * covers its distance from the current tick. When the current
+         * tick reaches the start of a block, the corresponding bucket
+         * is "cascaded": its tasks are re-placed relative to the new
+         * current tick, which moves them to lower levels, and finally
+         * into the ready list once their deadline tick is reached.
+         * Tasks further away than the whole wheel spans are parked in
+         * the last bucket reached within the span and re-placed when
+         * cascaded. Every task is thus moved at most LEVELS times, so
+         * insertion, removal and expiry all take constant time.
+         *
+         * A task cascaded down to a bucket may have been submitted
+         * before tasks placed there directly, so the tasks reaching
+         * each tick are moved to the ready list in order of sequence
+         * number. They are usually in that order already; otherwise
+         * they are sorted, at a cost only when tasks do arrive out of
+         * order within a tick.
+         *
+         * Buckets and the ready list are doubly-linked lists of Nodes
+         * (the ready list uses the extra last slot of heads/tails), so
+         * that a cancelled ScheduledFutureTask, which records its Node,
+         * can be unlinked directly. As in DelayedWorkQueue, other kinds
+         * of RunnableScheduledFuture fall back to linear search.
+         *
+         * Each level keeps a bitmap of its non-empty buckets. These
+         * are used to find the next tick at which anything needs to
+         * be done, so that the wheel can skip over empty stretches
+         * both when advancing and when computing how long the leader
+         * thread should wait.
+         *
+         * Waiting follows the same Leader-Follower pattern as
+         * DelayedWorkQueue, except that the leader waits for the next
+         * wheel event rather than for the head of a heap.
+         */
+
+        private static final int WHEEL_SHIFT = 6;
+        private static final int WHEEL_SIZE = 1 << WHEEL_SHIFT;
+        private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+        private static final int LEVELS = 8;
+
+        /** Number of ticks covered by the whole wheel. */
+        private static final long WHEEL_SPAN = 1L << (WHEEL_SHIFT * LEVELS);
+
+        /** Index into heads/tails of the list of expired tasks. */
+        private static final int READY = LEVELS << WHEEL_SHIFT;
+
+        /** Bucket value of a node that is no longer in any list. */
+        private static final int DETACHED = -1;
+
+        /**
+         * Trigger times further away than this are clamped, to keep
+         * tick arithmetic free of overflow. Such tasks are re-placed
+         * long before the clamped time is reached.
+         */
+        private static final long MAX_DELAY = Long.MAX_VALUE >> 2;
+
+        /**
+         * List node holding a queued task.
+         */
+        static final class Node {
+            final TimingWheelWorkQueue queue;
+            final RunnableScheduledFuture<?> task;
+            /** Submission order, to enable tasks of a tick FIFO */
+            final long seq;
+            Node prev;
+            Node next;
+            int bucket = DETACHED;
+
+            Node(TimingWheelWorkQueue queue, RunnableScheduledFuture<?> task) {
+                this.queue = queue;
+                this.task = task;
+                this.seq = (task instanceof ScheduledFutureTask) ?
+                    ((ScheduledFutureTask<?>)task).sequenceNumber :
+                    sequencer.getAndIncrement();
+            }
+        }
+
+        private final long tickNanos;
+        private final long origin = System.nanoTime();
+        private final Node[] heads = new Node[READY + 1];
+        private final Node[] tails = new Node[READY + 1];
+        private final long[] occupied = new long[LEVELS];
+        private final ReentrantLock lock = new ReentrantLock();
+        private long currentTick;
+        private int size;
+
+        /** Number of tasks in wheel buckets, i.e. not yet ready. */
+        private int pending;
+
+        /**
+         * Thread designated to wait for the next wheel event. See
+         * DelayedWorkQueue.leader.
+         */
+        private Thread leader = null;
+
+        /**
+         * Condition signalled when a task becomes ready, the next wheel
+         * event moves earlier, or a new thread may need to become leader.
+         */
+        private final Condition available = lock.newCondition();
+
+        TimingWheelWorkQueue(long tickNanos) {
+            if (tickNanos <= 0)
+                throw new IllegalArgumentException();
+            this.tickNanos = tickNanos;
+        }
+
+        /**
+         * Returns the tick at or after the trigger time of the given
+         * task. Call only when holding lock.
+         */
+        private long deadlineTick(RunnableScheduledFuture<?> t, long now) {
+            long delay = (t instanceof ScheduledFutureTask) ?
+                ((ScheduledFutureTask<?>)t).time - now :
+                t.getDelay(NANOSECONDS);
+            if (delay > MAX_DELAY)
+                delay = MAX_DELAY;
+            long elapsed = now - origin + delay;
+            return (elapsed <= 0) ? 0 : (elapsed - 1) / tickNanos + 1;
+        }
+
+        /**
+         * Appends node to the list at the given index of heads/tails.
+         */
+        private void link(Node x, int bucket) {
+            Node last = tails[bucket];
+            x.bucket = bucket;
+            x.prev = last;
+            x.next = null;
+            tails[bucket] = x;
+            if (last == null)
+                heads[bucket] = x;
+            else
+                last.next = x;
+            if (bucket != READY) {
+                occupied[bucket >>> WHEEL_SHIFT] |= 1L << (bucket & WHEEL_MASK);
+                ++pending;
+            }
+        }
+
+        /**
+         * Removes node from whatever list it is in.
+         */
+        private void unlink(Node x) {
+            int bucket = x.bucket;
+            Node p = x.prev, n = x.next;
+            if (p == null)
+                heads[bucket] = n;
+            else
+                p.next = n;
+            if (n == null)
+                tails[bucket] = p;
+            else
+                n.prev = p;
+            x.prev = x.next = null;
+            x.bucket = DETACHED;
+            if (bucket != READY) {
+                if (heads[bucket] == null)
+                    occupied[bucket >>> WHEEL_SHIFT] &=
+                        ~(1L << (bucket & WHEEL_MASK));
+                --pending;
+            }
+        }
+
+        /**
+         * Places node in the bucket covering the given deadline tick,
+         * or in the ready list if that tick has been reached.
+         */
+        private void place(Node x, long deadline) {
+            long delta = deadline - currentTick;
+            if (delta <= 0) {
+                link(x, READY);
+                return;
+            }
+            if (delta >= WHEEL_SPAN) {
+                delta = WHEEL_SPAN - 1;
+                deadline = currentTick + delta;
+            }
+            int level = (63 - Long.numberOfLeadingZeros(delta)) / WHEEL_SHIFT;
+            int slot = (int)(deadline >>> (level * WHEEL_SHIFT)) & WHEEL_MASK;
+            link(x, (level << WHEEL_SHIFT) + slot);
+        }
+
+        /**
+         * Returns the next tick at which a bucket must be cascaded or
+         * expired, or Long.MAX_VALUE if the wheel is empty.
+         */
+        private long nextEventTick() {
+            long next = Long.MAX_VALUE;
+            if (pending == 0)
+                return next;
+            for (int level = 0; level < LEVELS; ++level) {
+                long occ = occupied[level];
+                if (occ == 0)
+                    continue;
+                int shift = level * WHEEL_SHIFT;
+                int span = shift + WHEEL_SHIFT;
+                int cur = (int)(currentTick >>> shift) & WHEEL_MASK;
+                long base = (currentTick >>> span) << span;
+                long later = occ & (-2L << cur);
+                long t = (later != 0) ?
+                    base + ((long)Long.numberOfTrailingZeros(later) << shift) :
+                    base + (1L << span) +
+                    ((long)Long.numberOfTrailingZeros(occ) << shift);
+                if (t < next)
+                    next = t;
+            }
+            return next;
+        }
+
+        /**
+         * Advances the wheel up to the tick containing now, moving
+         * every task whose deadline tick is reached to the ready list.
+         * Call only when holding lock.
+         */
+        private void advance(long now) {
+            long target = (now - origin) / tickNanos;
+            while (currentTick < target) {
+                long tick = nextEventTick();
+                if (tick > target) {
+                    currentTick = target;
+                    break;
+                }
+                currentTick = tick;
+                for (int level = LEVELS - 1; level > 0; --level) {
+                    int shift = level * WHEEL_SHIFT;
+                    if ((tick & ((1L << shift) - 1)) == 0)
+                        cascade((level << WHEEL_SHIFT) +
+                                ((int)(tick >>> shift) & WHEEL_MASK), now);
+                }
+                expire((int)tick & WHEEL_MASK);
+            }
+        }
+
+        /**
+         * Moves all nodes of the given level-0 bucket to the ready
+         * list, in order of sequence number.
+         */
+        private void expire(int bucket) {
+            int n = 0;
+            boolean ordered = true;
+            for (Node x = heads[bucket]; x != null; x = x.next) {
+                ++n;
+                if (x.next != null && x.next.seq < x.seq)
+                    ordered = false;
+            }
+            if (ordered) {
+                for (Node x; (x = heads[bucket]) != null; ) {
+                    unlink(x);
+                    link(x, READY);
+                }
+                return;
+            }
+            Node[] nodes = new Node[n];
+            for (int i = 0; i < n; ++i) {
+                nodes[i] = heads[bucket];
+                unlink(nodes[i]);
+            }
+            Arrays.sort(nodes, (a, b) -> Long.compare(a.seq, b.seq));
+            for (Node x : nodes)
+                link(x, READY);
+        }
+
+        /**
+         * Re-places all nodes of the given bucket relative to the
+         * current tick.
+         */
+        private void cascade(int bucket, long now) {
+            Node x = heads[bucket];
+            if (x == null)
+                return;
+            // Detach the whole list first, as nodes may be re-placed
+            // into this same bucket when far beyond the wheel span.
+            heads[bucket] = tails[bucket] = null;
+            occupied[bucket >>> WHEEL_SHIFT] &= ~(1L << (bucket & WHEEL_MASK));
+            while (x != null) {
+                Node next = x.next;
+                x.prev = x.next = null;
+                x.bucket = DETACHED;
+                --pending;
+                long deadline = deadlineTick(x.task, now);
+                // Tasks due now join the bucket about to expire, to be
+                // ordered with those already there
+                if (deadline <= currentTick)
+                    link(x, (int)currentTick & WHEEL_MASK);
+                else
+                    place(x, deadline);
+                x = next;
+            }
+        }
+
+        /**
+         * Returns the time until the given tick starts.
+         */
+        private long delayUntil(long tick, long now) {
+            long elapsed = now - origin;
+            long ticks = tick - elapsed / tickNanos;
+            if (ticks >= Long.MAX_VALUE / tickNanos)
+                return Long.MAX_VALUE;
+            return ticks * tickNanos - elapsed % tickNanos;
+        }
+
+        /**
+         * Finds node holding x, or null if absent. Call only when
+         * holding lock.
+         */
+        private Node nodeOf(Object x) {
+            if (x != null) {
+                if (x instanceof ScheduledFutureTask) {
+                    Node n = ((ScheduledFutureTask<?>) x).wheelNode;
+                    // Sanity check; x could conceivably be a
+                    // ScheduledFutureTask from some other pool.
+                    if (n != null && n.queue == this && n.bucket != DETACHED)
+                        return n;
+                } else {
+                    for (Node h : heads)
+                        for (Node n = h; n != null; n = n.next)
+                            if (x.equals(n.task))
+                                return n;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Unlinks node and clears the bookkeeping of its task.
+         * Call only when holding lock.
+         */
+        private RunnableScheduledFuture<?> finishPoll(Node x) {
+            unlink(x);
+            --size;
+            RunnableScheduledFuture<?> t = x.task;
+            if (t instanceof ScheduledFutureTask) {
+                ScheduledFutureTask<?> f = (ScheduledFutureTask<?>)t;
+                if (f.wheelNode == x) {
+                    f.wheelNode = null;
+                    f.heapIndex = -1;
+                }
+            }
+            return t;
+        }
+
+        public boolean contains(Object x) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return nodeOf(x) != null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean remove(Object x) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                Node n = nodeOf(x);
+                if (n == null)
+                    return false;
+                finishPoll(n);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int size() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return size;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isEmpty() {
+            return size() == 0;
+        }
+
+        public int remainingCapacity() {
+            return Integer.MAX_VALUE;
+        }
+
+        /**
+         * Returns the first ready task if there is one, else the
+         * pending task with the earliest trigger time.
+         */
+        public RunnableScheduledFuture<?> peek() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                if (heads[READY] != null)
+                    return heads[READY].task;
+                // Within a level, the first non-empty bucket in wheel
+                // order holds that level's earliest tasks.
+                RunnableScheduledFuture<?> first = null;
+                for (int level = 0; level < LEVELS; ++level) {
+                    long occ = occupied[level];
+                    if (occ == 0)
+                        continue;
+                    int shift = level * WHEEL_SHIFT;
+                    int cur = (int)(currentTick >>> shift) & WHEEL_MASK;
+                    long later = occ & (-2L << cur);
+                    int slot = Long.numberOfTrailingZeros(
+                        (later != 0) ? later : occ);
+                    for (Node n = heads[(level << WHEEL_SHIFT) + slot]; n != null; n = n.next)
+                        if (first == null || n.task.compareTo(first) < 0)
+                            first = n.task;
+                }
+                return first;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean offer(Runnable x) {
+            if (x == null)
+                throw new NullPointerException();
+            RunnableScheduledFuture<?> e = (RunnableScheduledFuture<?>)x;
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                advance(now);
+                long next = nextEventTick();
+                Node n = new Node(this, e);
+                if (e instanceof ScheduledFutureTask) {
+                    ScheduledFutureTask<?> f = (ScheduledFutureTask<?>)e;
+                    f.wheelNode = n;
+                    f.heapIndex = 0;
+                }
+                place(n, deadlineTick(e, now));
+                ++size;
+                if (heads[READY] != null || nextEventTick() < next) {
+                    leader = null;
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+            return true;
+        }
+
+        public void put(Runnable e) {
+            offer(e);
+        }
+
+        public boolean add(Runnable e) {
+            return offer(e);
+        }
+
+        public boolean offer(Runnable e, long timeout, TimeUnit unit) {
+            return offer(e);
+        }
+
+        public RunnableScheduledFuture<?> poll() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                advance(System.nanoTime());
+                Node first = heads[READY];
+                return (first == null) ? null : finishPoll(first);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public RunnableScheduledFuture<?> take() throws InterruptedException {
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                for (;;) {
+                    long now = System.nanoTime();
+                    advance(now);
+                    Node first = heads[READY];
+                    if (first != null)
+                        return finishPoll(first);
+                    if (pending == 0 || leader != null)
+                        available.await();
+                    else {
+                        long delay = delayUntil(nextEventTick(), now);
+                        Thread thisThread = Thread.currentThread();
+                        leader = thisThread;
+                        try {
+                            available.awaitNanos(delay);
+                        } finally {
+                            if (leader == thisThread)
+                                leader = null;
+                        }
+                    }
+                }
+            } finally {
+                if (leader == null && size != 0)
+                    available.signal();
+                lock.unlock();
+            }
+        }
+
+        public RunnableScheduledFuture<?> poll(long timeout, TimeUnit unit)
+            throws InterruptedException {
+            long nanos = unit.toNanos(timeout);
+            final ReentrantLock lock = this.lock;
+            lock.lockInterruptibly();
+            try {
+                for (;;) {
+                    long now = System.nanoTime();
+                    advance(now);
+                    Node first = heads[READY];
+                    if (first != null)
+                        return finishPoll(first);
+                    if (nanos <= 0)
+                        return null;
+                    if (pending == 0)
+                        nanos = available.awaitNanos(nanos);
+                    else {
+                        long delay = delayUntil(nextEventTick(), now);
+                        if (nanos < delay || leader != null)
+                            nanos = available.awaitNanos(nanos);
+                        else {
+                            Thread thisThread = Thread.currentThread();
+                            leader = thisThread;
+                            try {
+                                long timeLeft = available.awaitNanos(delay);
+                                nanos -= delay - timeLeft;
+                            } finally {
+                                if (leader == thisThread)
+                                    leader = null;
+                            }
+                        }
+                    }
+                }
+            } finally {
+                if (leader == null && size != 0)
+                    available.signal();
+                lock.unlock();
+            }
+        }
+
+        public void clear() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                for (Node h : heads)
+                    for (Node n = h, next; n != null; n = next) {
+                        next = n.next;
+                        finishPoll(n);
+                    }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public int drainTo(Collection<? super Runnable> c) {
+            return drainTo(c, Integer.MAX_VALUE);
+        }
+
+        public int drainTo(Collection<? super Runnable> c, int maxElements) {
+            if (c == null)
+                throw new NullPointerException();
+            if (c == this)
+                throw new IllegalArgumentException();
+            if (maxElements <= 0)
+                return 0;
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                advance(System.nanoTime());
+                Node first;
+                int n = 0;
+                while (n < maxElements && (first = heads[READY]) != null) {
+                    c.add(first.task);   // In this order, in case add() throws.
+                    finishPoll(first);
+                    ++n;
+                }
+                return n;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns an array of all queued tasks, ready tasks first.
+         * Call only when holding lock.
+         */
+        private RunnableScheduledFuture<?>[] snapshot() {
+            RunnableScheduledFuture<?>[] a = new RunnableScheduledFuture<?>[size];
+            int i = 0;
+            for (Node n = heads[READY]; n != null; n = n.next)
+                a[i++] = n.task;
+            for (int b = 0; b < READY; ++b)
+                for (Node n = heads[b]; n != null; n = n.next)
+                    a[i++] = n.task;
+            return a;
+        }
+
+        public Object[] toArray() {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                return Arrays.copyOf(snapshot(), size, Object[].class);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T[] toArray(T[] a) {
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                RunnableScheduledFuture<?>[] q = snapshot();
+                if (a.length < size)
+                    return (T[]) Arrays.copyOf(q, size, a.getClass());
+                System.arraycopy(q, 0, a, 0, size);
+                if (a.length > size)
+                    a[size] = null;
+                return a;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public Iterator<Runnable> iterator() {
+            final RunnableScheduledFuture<?>[] array;
+            final ReentrantLock lock = this.lock;
+            lock.lock();
+            try {
+                array = snapshot();
+            } finally {
+                lock.unlock();
+            }
+            return new Iterator<Runnable>() {
+                int cursor = 0;     // index of next element to return
+                int lastRet = -1;   // index of last element, or -1 if no such
+
+                public boolean hasNext() {
+                    return cursor < array.length;
+                }
+
+                public Runnable next() {
+                    if (cursor >= array.length)
+                        throw new NoSuchElementException();
+                    lastRet = cursor;
+                    return array[cursor++];
+                }
+
+                public void remove() {
+                    if (lastRet < 0)
+                        throw new IllegalStateException();
+                    TimingWheelWorkQueue.this.remove(array[lastRet]);
+                    lastRet = -1;
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,439 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.concurrent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An unbounded {@linkplain BlockingQueue blocking queue} that spreads
+ * its elements over several independent lock-free sub-queues, or
+ * <em>stripes</em>, to reduce contention when many threads insert
+ * and remove elements concurrently.
+ *
+ * <p>Each thread has a home stripe. Insertions always go to the home
+ * stripe of the inserting thread. Removals first try the home stripe
+ * of the removing thread and then <em>steal</em> from the other
+ * stripes in turn, so that no element is left behind while any
+ * thread is waiting. Each stripe is ordered FIFO, but the queue as a
+ * whole makes no ordering guarantees: elements inserted by different
+ * threads may be removed in any order, and so may elements inserted
+ * by the same thread when the removing threads differ.
+ *
+ * <p>This class is primarily intended as the work queue of a {@link
+ * ThreadPoolExecutor} with many cores and short tasks, where a
+ * single {@link LinkedBlockingQueue} becomes a point of contention.
+ * Since the executor then sees an ordinary (unbounded) queue, pool
+ * sizing, {@link RejectedExecutionHandler rejection} and the {@code
+ * beforeExecute}/{@code afterExecute} hooks all work unchanged; see
+ * {@link Executors#newStripedThreadPool(int)}. Tasks submitted from
+ * within a pool thread land in that thread's own stripe, which
+ * favors locality when tasks spawn further tasks.
+ *
+ * <p>Blocking removals park only when every stripe appears empty, and
+ * inserting threads signal parked threads only when there are any,
+ * so under load neither side acquires a lock.
+ *
+ * <p>Beware that, as with {@link ConcurrentLinkedQueue}, the {@code
+ * size} method is only an estimate while the queue is being
+ * concurrently modified, and bulk operations and iterators are
+ * weakly consistent.
+ *
+ * <p>This class and its iterator implement all of the
+ * <em>optional</em> methods of the {@link Collection} and {@link
+ * Iterator} interfaces.
+ *
+ * @since 1.8
+ * @param <E> the type of elements held in this collection
+ */
+public class StripedBlockingQueue<E> extends AbstractQueue<E>
+        implements BlockingQueue<E> {
+
+    /*
+     * Stripes are ConcurrentLinkedQueues indexed by the
+     * ThreadLocalRandom probe of the current thread, as in LongAdder
+     * and ConcurrentHashMap counters. A LongAdder tracks the number
+     * of elements so that size() need not traverse the stripes.
+     *
+     * Blocking uses a conventional lock and condition, entered only
+     * by threads that found all stripes empty. To avoid lost
+     * wakeups, a taker increments waiters and then rescans all
+     * stripes before awaiting, while an inserter first adds its
+     * element and then reads waiters; both are volatile accesses, so
+     * at least one of them sees the other. Signalling is done under
+     * the lock, which the taker holds from its rescan until it
+     * awaits.
+     */
+
+    /** The sub-queues. Length is a power of two. */
+    private final ConcurrentLinkedQueue<E>[] stripes;
+
+    /** Number of elements, maintained on every insertion and removal. */
+    private final LongAdder count = new LongAdder();
+
+    /** Number of threads that found the queue empty and may wait. */
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    /** Lock held by waiting takes and by signals */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Wait queue for waiting takes */
+    private final Condition notEmpty = lock.newCondition();
+
+    /**
+     * Creates a {@code StripedBlockingQueue} with one stripe for each
+     * available processor, rounded up to a power of two.
+     */
+    public StripedBlockingQueue() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a {@code StripedBlockingQueue} with at least the given
+     * number of stripes, rounded up to a power of two.
+     *
+     * @param stripes the minimum number of stripes
+     * @throws IllegalArgumentException if {@code stripes} is not greater
+     *         than zero
+     */
+    @SuppressWarnings("unchecked")
+    public StripedBlockingQueue(int stripes) {
+        if (stripes <= 0 || stripes > (1 << 16))
+            throw new IllegalArgumentException();
+        int n = 1;
+        while (n < stripes)
+            n <<= 1;
+        this.stripes = (ConcurrentLinkedQueue<E>[])new ConcurrentLinkedQueue<?>[n];
+        for (int i = 0; i < n; ++i)
+            this.stripes[i] = new ConcurrentLinkedQueue<E>();
+    }
+
+    /**
+     * Creates a {@code StripedBlockingQueue} with one stripe for each
+     * available processor, initially containing the elements of the
+     * given collection.
+     *
+     * @param c the collection of elements to initially contain
+     * @throws NullPointerException if the specified collection or any
+     *         of its elements are null
+     */
+    public StripedBlockingQueue(Collection<? extends E> c) {
+        this();
+        for (E e : c)
+            add(e);
+    }
+
+    /**
+     * Returns the index of the home stripe of the current thread.
+     */
+    private int homeIndex() {
+        int h;
+        if ((h = ThreadLocalRandom.getProbe()) == 0) {
+            ThreadLocalRandom.localInit();      // force initialization
+            h = ThreadLocalRandom.getProbe();
+        }
+        return h & (stripes.length - 1);
+    }
+
+    /**
+     * Signals a waiting take. Called only from put/offer, and only
+     * when some thread may be waiting.
+     */
+    private void signalNotEmpty() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an element, trying the home stripe first and then
+     * stealing from the others, or returns null if all stripes
+     * were found empty.
+     */
+    private E dequeue() {
+        final ConcurrentLinkedQueue<E>[] qs = stripes;
+        int mask = qs.length - 1;
+        int h = homeIndex();
+        for (int i = 0; i <= mask; ++i) {
+            E e = qs[(h + i) & mask].poll();
+            if (e != null) {
+                count.decrement();
+                return e;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Inserts the specified element into this queue. As the queue is
+     * unbounded, this method will never block.
+     *
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public void put(E e) {
+        offer(e);
+    }
+
+    /**
+     * Inserts the specified element into this queue. As the queue is
+     * unbounded, this method will never block or return {@code false}.
+     *
+     * @return {@code true} (as specified by
+     *  {@link BlockingQueue#offer(Object,long,TimeUnit) BlockingQueue.offer})
+     * @throws NullPointerException {@inheritDoc}
+     */
+    public boolean offer(E e, long timeout, TimeUnit unit) {
+        return offer(e);
+    }
+
+    /**
+     * Inserts the specified element into this queue. As the queue is
+     * unbounded, this method will never return {@code false}.
+     *
+     * @return {@code true} (as specified by {@link Queue#offer})
+     * @throws NullPointerException if the specified element is null
+     */
+    public boolean offer(E e) {
+        if (e == null) throw new NullPointerException();
+        count.increment();
+        stripes[homeIndex()].offer(e);
+        if (waiters.get() > 0)
+            signalNotEmpty();
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        E x;
+        if ((x = dequeue()) != null)
+            return x;
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((x = dequeue()) == null)
+                notEmpty.await();
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+        return x;
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E x;
+        if ((x = dequeue()) != null)
+            return x;
+        long nanos = unit.toNanos(timeout);
+        final ReentrantLock lock = this.lock;
+        lock.lockInterruptibly();
+        waiters.incrementAndGet();
+        try {
+            while ((x = dequeue()) == null) {
+                if (nanos <= 0)
+                    return null;
+                nanos = notEmpty.awaitNanos(nanos);
+            }
+        } finally {
+            waiters.decrementAndGet();
+            lock.unlock();
+        }
+        return x;
+    }
+
+    public E poll() {
+        return dequeue();
+    }
+
+    public E peek() {
+        final ConcurrentLinkedQueue<E>[] qs = stripes;
+        int mask = qs.length - 1;
+        int h = homeIndex();
+        for (int i = 0; i <= mask; ++i) {
+            E e = qs[(h + i) & mask].peek();
+            if (e != null)
+                return e;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of elements in this queue. The result is
+     * only an estimate if there are concurrent insertions or removals.
+     *
+     * @return the number of elements in this queue
+     */
+    public int size() {
+        long n = count.sum();
+        return (n < 0L) ? 0 : (n > Integer.MAX_VALUE) ? Integer.MAX_VALUE :
+            (int)n;
+    }
+
+    public boolean isEmpty() {
+        for (ConcurrentLinkedQueue<E> q : stripes)
+            if (!q.isEmpty())
+                return false;
+        return true;
+    }
+
+    /**
+     * Always returns {@code Integer.MAX_VALUE} because a
+     * {@code StripedBlockingQueue} is not capacity constrained.
+     *
+     * @return {@code Integer.MAX_VALUE} (as specified by
+     *         {@link BlockingQueue#remainingCapacity()})
+     */
+    public int remainingCapacity() {
+        return Integer.MAX_VALUE;
+    }
+
+    /**
+     * Removes a single instance of the specified element from this queue,
+     * if it is present.
+     *
+     * @param o element to be removed from this queue, if present
+     * @return {@code true} if this queue changed as a result of the call
+     */
+    public boolean remove(Object o) {
+        if (o == null) return false;
+        for (ConcurrentLinkedQueue<E> q : stripes) {
+            if (q.remove(o)) {
+                count.decrement();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if this queue contains the specified element.
+     *
+     * @param o object to be checked for containment in this queue
+     * @return {@code true} if this queue contains the specified element
+     */
+    public boolean contains(Object o) {
+        if (o == null) return false;
+        for (ConcurrentLinkedQueue<E> q : stripes)
+            if (q.contains(o))
+                return true;
+        return false;
+    }
+
+    /**
+     * Removes all of the elements from this queue.
+     * The queue will be empty after this call returns, unless
+     * elements are concurrently inserted.
+     */
+    public void clear() {
+        while (dequeue() != null)
+            ;
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @throws UnsupportedOperationException {@inheritDoc}
+     * @throws ClassCastException            {@inheritDoc}
+     * @throws NullPointerException          {@inheritDoc}
+     * @throws IllegalArgumentException      {@inheritDoc}
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == null)
+            throw new NullPointerException();
+        if (c == this)
+            throw new IllegalArgumentException();
+        int n = 0;
+        for (E e; n < maxElements && (e = dequeue()) != null;) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Returns an iterator over the elements in this queue, visiting
+     * the stripes in turn.
+     *
+     * <p>The returned iterator is
+     * <a href="package-summary.html#Weakly"><i>weakly consistent</i></a>.
+     *
+     * @return an iterator over the elements in this queue
+     */
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private int index;              // index of stripe of it
+        private Iterator<E> it = stripes[0].iterator();
+        private E lastRet;              // element returned by last next
+        private int lastIndex;          // index of stripe of lastRet
+
+        public boolean hasNext() {
+            while (!it.hasNext()) {
+                if (++index >= stripes.length)
+                    return false;
+                it = stripes[index].iterator();
+            }
+            return true;
+        }
+
+        public E next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            lastIndex = index;
+            return lastRet = it.next();
+        }
+
+        public void remove() {
+            E e = lastRet;
+            if (e == null)
+                throw new IllegalStateException();
+            lastRet = null;
+            // Go through the stripe rather than its iterator, which
+            // does not report whether it actually removed the element.
+            if (stripes[lastIndex].remove(e))
+                count.decrement();
+        }
+    }
+}
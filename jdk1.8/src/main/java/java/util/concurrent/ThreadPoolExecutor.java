@@ -38,6 +38,7 @@ import java.util.concurrent.locks.AbstractQueuedSynchronizer;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.*;
 
 /**
@@ -177,7 +178,11 @@ import java.util.*;
  * While this style of queuing can be useful in smoothing out
  * transient bursts of requests, it admits the possibility of
  * unbounded work queue growth when commands continue to arrive on
- * average faster than they can be processed.  </li>
+ * average faster than they can be processed. When many threads
+ * submit and run short tasks, a {@link StripedBlockingQueue}, which
+ * spreads tasks over per-thread sub-queues and lets idle workers
+ * steal from each other, avoids contention on a single queue lock
+ * at the price of FIFO ordering. </li>
  *
  * <li><em>Bounded queues.</em> A bounded queue (for example, an
  * {@link ArrayBlockingQueue}) helps prevent resource exhaustion when
@@ -257,6 +262,15 @@ import java.util.*;
  * assist in storage reclamation when large numbers of queued tasks
  * become cancelled.</dd>
  *
+ * <dt>Statistics</dt>
+ *
+ * <dd>Methods such as {@link #getCompletedTaskCount} and {@link
+ * #getTaskCount} briefly lock out changes to the pool while they
+ * count.  The {@link Statistics} returned by {@link #getStatistics}
+ * instead maintain counts of submitted, completed and rejected tasks,
+ * and optionally histograms of queue wait and run times, that may be
+ * read at any time without interfering with task submission.</dd>
+ *
  * <dt>Finalization</dt>
  *
  * <dd>A pool that is no longer referenced in a program <em>AND</em>
@@ -470,10 +484,10 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
     private final Condition termination = mainLock.newCondition();
 
     /**
-     * Tracks largest attained pool size. Accessed only under
-     * mainLock.
+     * Tracks largest attained pool size. Updated only under
+     * mainLock, but also read without it by Statistics.
      */
-    private int largestPoolSize;
+    private volatile int largestPoolSize;
 
     /**
      * Counter for completed tasks. Updated only on termination of
@@ -481,6 +495,11 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      */
     private long completedTaskCount;
 
+    /**
+     * Lock-free counters and timings returned by getStatistics.
+     */
+    private final Statistics statistics = new Statistics(this);
+
     /*
      * All user control parameters are declared as volatiles so that
      * ongoing actions are based on freshest values, but without need
@@ -820,9 +839,18 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
      * Package-protected for use by ScheduledThreadPoolExecutor.
      */
     final void reject(Runnable command) {
+        statistics.rejected.increment();
         handler.rejectedExecution(command, this);
     }
 
+    /**
+     * Counts a task submitted other than through execute.
+     * Package-protected for use by ScheduledThreadPoolExecutor.
+     */
+    final void taskSubmitted() {
+        statistics.submitted.increment();
+    }
+
     /**
      * Performs any further cleanup following run state transition on
      * invocation of shutdown.  A no-op here, but used by
@@ -1138,6 +1166,9 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                 try {
                     beforeExecute(wt, task);
                     Throwable thrown = null;
+                    final Statistics stats = statistics;
+                    final boolean timed = stats.timing;
+                    long started = timed ? stats.taskStarted(task) : 0L;
                     try {
                         task.run();
                     } catch (RuntimeException x) {
@@ -1147,11 +1178,14 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
                     } catch (Throwable x) {
                         thrown = x; throw new Error(x);
                     } finally {
+                        if (timed)
+                            stats.taskFinished(started);
                         afterExecute(task, thrown);
                     }
                 } finally {
                     task = null;
                     w.completedTasks++;
+                    statistics.completed.increment();
                     w.unlock();
                 }
             }
@@ -1352,6 +1386,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
          * thread.  If it fails, we know we are shut down or saturated
          * and so reject the task.
          */
+        statistics.submitted.increment();
         int c = ctl.get();
         if (workerCountOf(c) < corePoolSize) {
             if (addWorker(command, true))
@@ -1922,6 +1957,242 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
             "]";
     }
 
+    /**
+     * Returns the statistics of this pool.  They may be read at any
+     * time without locking out changes to the pool, unlike methods
+     * such as {@link #getCompletedTaskCount}.
+     *
+     * @return the statistics of this pool
+     * @since 1.8
+     */
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns a new {@code RunnableFuture} for the given runnable, as
+     * {@link AbstractExecutorService#newTaskFor(Runnable, Object)}
+     * does, recording its creation time if statistics timing is
+     * enabled.
+     *
+     * @since 1.8
+     */
+    protected <T> RunnableFuture<T> newTaskFor(Runnable runnable, T value) {
+        return statistics.timing ?
+            new TimedFutureTask<T>(runnable, value) :
+            super.newTaskFor(runnable, value);
+    }
+
+    /**
+     * Returns a new {@code RunnableFuture} for the given callable, as
+     * {@link AbstractExecutorService#newTaskFor(Callable)} does,
+     * recording its creation time if statistics timing is enabled.
+     *
+     * @since 1.8
+     */
+    protected <T> RunnableFuture<T> newTaskFor(Callable<T> callable) {
+        return statistics.timing ?
+            new TimedFutureTask<T>(callable) :
+            super.newTaskFor(callable);
+    }
+
+    /**
+     * A FutureTask recording when it was created, so that the time it
+     * spends queued can be measured.
+     */
+    static final class TimedFutureTask<V> extends FutureTask<V> {
+        final long created = System.nanoTime();
+
+        TimedFutureTask(Callable<V> callable) {
+            super(callable);
+        }
+
+        TimedFutureTask(Runnable runnable, V result) {
+            super(runnable, result);
+        }
+    }
+
+    /**
+     * Counts and timings of the tasks of a {@link ThreadPoolExecutor},
+     * which may be read at any time without locking out changes to the
+     * pool.  Counts are kept in {@link LongAdder}s, so that updating
+     * them does not make threads submitting or running tasks contend
+     * with each other, and values read while tasks are being submitted
+     * or run are, as with the executor's other statistics, only
+     * approximations.
+     *
+     * <p>Timing is disabled initially, as it reads the system clock
+     * around each task.  Once {@linkplain #setTimingEnabled enabled},
+     * the time each task spends running, and the time spent queued by
+     * tasks created by the executor's {@code submit}, {@code invokeAll}
+     * and {@code invokeAny} methods, are counted in histograms of
+     * {@value #TIME_BUCKETS} buckets.  Bucket {@code i > 0} counts times
+     * of at least 2<sup>i-1</sup> and less than 2<sup>i</sup>
+     * nanoseconds, bucket {@code 0} counts times under a nanosecond, and
+     * the last bucket also counts all longer times.
+     *
+     * @since 1.8
+     */
+    public static final class Statistics {
+        /**
+         * The number of buckets in timing histograms.
+         */
+        public static final int TIME_BUCKETS = 48;
+
+        private final ThreadPoolExecutor executor;
+        final LongAdder submitted = new LongAdder();
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        private final LongAdder[] waitTimes = newHistogram();
+        private final LongAdder[] runTimes = newHistogram();
+        volatile boolean timing;
+
+        Statistics(ThreadPoolExecutor executor) {
+            this.executor = executor;
+        }
+
+        private static LongAdder[] newHistogram() {
+            LongAdder[] h = new LongAdder[TIME_BUCKETS];
+            for (int i = 0; i < h.length; ++i)
+                h[i] = new LongAdder();
+            return h;
+        }
+
+        private static void record(LongAdder[] h, long nanos) {
+            int i = 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0L));
+            h[Math.min(i, TIME_BUCKETS - 1)].increment();
+        }
+
+        private static long[] snapshot(LongAdder[] h) {
+            long[] counts = new long[h.length];
+            for (int i = 0; i < h.length; ++i)
+                counts[i] = h[i].sum();
+            return counts;
+        }
+
+        /**
+         * Records the queue wait time of the given task, if known, and
+         * returns the time at which it starts to run.
+         */
+        long taskStarted(Runnable task) {
+            long now = System.nanoTime();
+            if (task instanceof TimedFutureTask)
+                record(waitTimes, now - ((TimedFutureTask<?>)task).created);
+            return now;
+        }
+
+        /**
+         * Records the run time of a task started at the given time.
+         */
+        void taskFinished(long started) {
+            record(runTimes, System.nanoTime() - started);
+        }
+
+        /**
+         * Returns the approximate number of tasks that have been
+         * submitted to the executor, including those it rejected.
+         *
+         * @return the number of tasks submitted
+         */
+        public long getSubmittedTaskCount() {
+            return submitted.sum();
+        }
+
+        /**
+         * Returns the approximate number of tasks that have completed
+         * execution, normally or abruptly.
+         *
+         * @return the number of tasks completed
+         */
+        public long getCompletedTaskCount() {
+            return completed.sum();
+        }
+
+        /**
+         * Returns the approximate number of tasks that have been passed
+         * to the executor's {@code RejectedExecutionHandler}.
+         *
+         * @return the number of tasks rejected
+         */
+        public long getRejectedTaskCount() {
+            return rejected.sum();
+        }
+
+        /**
+         * Returns the largest number of threads that have ever
+         * simultaneously been in the pool.
+         *
+         * @return the number of threads
+         */
+        public int getLargestPoolSize() {
+            return executor.largestPoolSize;
+        }
+
+        /**
+         * Enables or disables timing of tasks.  Tasks created or
+         * started while timing is disabled are not timed.
+         *
+         * @param value {@code true} to enable timing
+         */
+        public void setTimingEnabled(boolean value) {
+            timing = value;
+        }
+
+        /**
+         * Returns {@code true} if tasks are being timed.
+         *
+         * @return {@code true} if tasks are being timed
+         */
+        public boolean isTimingEnabled() {
+            return timing;
+        }
+
+        /**
+         * Returns the approximate number of tasks whose time spent in
+         * the queue falls in each histogram bucket.
+         *
+         * @return a new array of {@value #TIME_BUCKETS} counts
+         */
+        public long[] getQueueWaitTimes() {
+            return snapshot(waitTimes);
+        }
+
+        /**
+         * Returns the approximate number of tasks whose run time falls
+         * in each histogram bucket.
+         *
+         * @return a new array of {@value #TIME_BUCKETS} counts
+         */
+        public long[] getRunTimes() {
+            return snapshot(runTimes);
+        }
+
+        /**
+         * Resets the counts of all histograms to zero.
+         */
+        public void resetTimes() {
+            for (int i = 0; i < TIME_BUCKETS; ++i) {
+                waitTimes[i].reset();
+                runTimes[i].reset();
+            }
+        }
+
+        /**
+         * Returns a string identifying these statistics, including the
+         * task counts.
+         *
+         * @return a string identifying these statistics
+         */
+        public String toString() {
+            return super.toString() +
+                "[submitted tasks = " + getSubmittedTaskCount() +
+                ", completed tasks = " + getCompletedTaskCount() +
+                ", rejected tasks = " + getRejectedTaskCount() +
+                ", largest pool size = " + getLargestPoolSize() +
+                "]";
+        }
+    }
+
     /* Extension hooks */
 
     /**
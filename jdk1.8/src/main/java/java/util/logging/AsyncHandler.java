@@ -0,0 +1,534 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.logging;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <tt>Handler</tt> that hands <tt>LogRecords</tt> off to a background
+ * thread, which publishes them to a target <tt>Handler</tt>.
+ * <p>
+ * Logging threads only place records into a bounded, lock-free ring
+ * buffer, so they neither format records nor wait for output, and do
+ * not contend with each other on the target <tt>Handler</tt>. The
+ * background thread takes all records currently in the buffer,
+ * publishes them to the target one after the other and then flushes
+ * the target once for the whole batch.
+ * <p>
+ * Because records are published on another thread, the source class
+ * and method of each record are inferred before it is placed into the
+ * buffer (see {@link LogRecord}), unless the target is a
+ * <tt>StreamHandler</tt> without a <tt>Filter</tt> whose
+ * <tt>Formatter</tt> does not {@linkplain Formatter#usesSourceInfo use}
+ * them.
+ * <p>
+ * If the buffer is full, the {@linkplain OverflowPolicy overflow
+ * policy} decides whether the logging thread waits for space or the
+ * record is dropped. The number of dropped records is available from
+ * {@link #getDroppedCount}.
+ * <p>
+ * Closing an <tt>AsyncHandler</tt>, which {@link LogManager#reset}
+ * and hence also the <tt>LogManager</tt> shutdown hook do for every
+ * registered handler, publishes all buffered records to the target
+ * and then closes the target. A record published while the handler is
+ * being closed, too late to be buffered, is published to the target by
+ * the logging thread itself.
+ * <p>
+ * <b>Configuration:</b>
+ * By default each <tt>AsyncHandler</tt> is initialized using the following
+ * <tt>LogManager</tt> configuration properties where <tt>&lt;handler-name&gt;</tt>
+ * refers to the fully-qualified class name of the handler.
+ * If properties are not defined
+ * (or have invalid values) then the specified default values are used.
+ * If no default value is defined then a RuntimeException is thrown.
+ * <ul>
+ * <li>   &lt;handler-name&gt;.level
+ *        specifies the level for the <tt>Handler</tt>
+ *        (defaults to <tt>Level.ALL</tt>). </li>
+ * <li>   &lt;handler-name&gt;.filter
+ *        specifies the name of a <tt>Filter</tt> class to use
+ *        (defaults to no <tt>Filter</tt>). </li>
+ * <li>   &lt;handler-name&gt;.size
+ *        defines the buffer size, rounded up to a power of two
+ *        (defaults to 1024). </li>
+ * <li>   &lt;handler-name&gt;.overflow
+ *        specifies the name of the <tt>OverflowPolicy</tt>
+ *        (defaults to <tt>BLOCK</tt>). </li>
+ * <li>   &lt;handler-name&gt;.overflowLevel
+ *        specifies the level below which records are dropped under the
+ *        <tt>DROP_BELOW_LEVEL</tt> policy
+ *        (defaults to <tt>Level.WARNING</tt>). </li>
+ * <li>   &lt;handler-name&gt;.target
+ *        specifies the name of the target <tt>Handler </tt> class.
+ *        (no default). </li>
+ * </ul>
+ * <p>
+ * For example, the properties for {@code AsyncHandler} would be:
+ * <ul>
+ * <li>   java.util.logging.AsyncHandler.target=java.util.logging.FileHandler </li>
+ * <li>   java.util.logging.AsyncHandler.overflow=DROP_BELOW_LEVEL </li>
+ * </ul>
+ * <p>
+ * @since 1.8
+ */
+
+public class AsyncHandler extends Handler {
+
+    /**
+     * What to do with a <tt>LogRecord</tt> published while the buffer
+     * of an <tt>AsyncHandler</tt> is full.
+     *
+     * @since 1.8
+     */
+    public static enum OverflowPolicy {
+        /**
+         * The logging thread waits until there is space in the buffer.
+         */
+        BLOCK,
+        /**
+         * The record is dropped.
+         */
+        DROP,
+        /**
+         * The record is dropped if its level is lower than the
+         * overflow level of the handler, otherwise the logging thread
+         * waits until there is space in the buffer.
+         */
+        DROP_BELOW_LEVEL
+    }
+
+    private final static int DEFAULT_SIZE = 1024;
+    private final static int MAXIMUM_SIZE = 1 << 24;
+
+    // Time a blocked logging thread sleeps before checking for space again.
+    private final static long BLOCKED_PARK_NANOS = 100000L;
+
+    // Set in tail by close, after which no more records can be claimed.
+    private final static long SEALED = 1L << 62;
+
+    private volatile OverflowPolicy overflowPolicy;
+    private volatile Level overflowLevel;
+    private Handler target;
+    private int size;
+
+    // The ring buffer. Slot (seq & mask) holds the record with sequence
+    // number seq, or null if it has been taken or not yet written.
+    private AtomicReferenceArray<LogRecord> buffer;
+    private int mask;
+    // Sequence number of the next record to be claimed by a logging thread,
+    // with SEALED set once close has taken the last one.
+    private final AtomicLong tail = new AtomicLong();
+    // Sequence number of the next record to be taken by the publisher.
+    private final AtomicLong head = new AtomicLong();
+    // Sequence number up to which records have been published and flushed.
+    private volatile long flushed;
+    private final AtomicLong dropped = new AtomicLong();
+
+    private Thread publisher;
+    private volatile boolean publisherWaiting;
+    private volatile boolean closed;
+    private int flushWaiters;
+    private final Object flushLock = new Object();
+
+    // Private method to configure an AsyncHandler from LogManager
+    // properties and/or default values as specified in the class
+    // javadoc.
+    private void configure() {
+        LogManager manager = LogManager.getLogManager();
+        String cname = getClass().getName();
+
+        size = manager.getIntProperty(cname + ".size", DEFAULT_SIZE);
+        if (size <= 0) {
+            size = DEFAULT_SIZE;
+        }
+        String policy = manager.getStringProperty(cname + ".overflow", null);
+        overflowPolicy = OverflowPolicy.BLOCK;
+        if (policy != null) {
+            try {
+                overflowPolicy = OverflowPolicy.valueOf(policy.trim());
+            } catch (IllegalArgumentException ex) {
+                // Drop through and use the default.
+            }
+        }
+        overflowLevel = manager.getLevelProperty(cname + ".overflowLevel", Level.WARNING);
+        setLevel(manager.getLevelProperty(cname + ".level", Level.ALL));
+        setFilter(manager.getFilterProperty(cname + ".filter", null));
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt> and configure it based on
+     * <tt>LogManager</tt> configuration properties.
+     */
+    public AsyncHandler() {
+        sealed = false;
+        configure();
+        sealed = true;
+
+        LogManager manager = LogManager.getLogManager();
+        String handlerName = getClass().getName();
+        String targetName = manager.getProperty(handlerName + ".target");
+        if (targetName == null) {
+            throw new RuntimeException("The handler " + handlerName
+                    + " does not specify a target");
+        }
+        Class<?> clz;
+        try {
+            clz = ClassLoader.getSystemClassLoader().loadClass(targetName);
+            target = (Handler) clz.newInstance();
+        } catch (ClassNotFoundException | InstantiationException | IllegalAccessException e) {
+            throw new RuntimeException("AsyncHandler can't load handler target \"" + targetName + "\"" , e);
+        }
+        init();
+    }
+
+    /**
+     * Create an <tt>AsyncHandler</tt>.
+     * <p>
+     * The <tt>AsyncHandler</tt> is configured based on <tt>LogManager</tt>
+     * properties (or their default values) except that the given buffer
+     * size and overflow policy are used.
+     *
+     * @param target  the Handler to which to publish output.
+     * @param size    the number of log records to buffer (must be greater
+     *                than zero), rounded up to a power of two
+     * @param overflowPolicy  what to do when the buffer is full
+     *
+     * @throws IllegalArgumentException if {@code size is <= 0}
+     */
+    public AsyncHandler(Handler target, int size, OverflowPolicy overflowPolicy) {
+        if (target == null || overflowPolicy == null) {
+            throw new NullPointerException();
+        }
+        if (size <= 0) {
+            throw new IllegalArgumentException();
+        }
+        sealed = false;
+        configure();
+        sealed = true;
+        this.target = target;
+        this.size = size;
+        this.overflowPolicy = overflowPolicy;
+        init();
+    }
+
+    // Initialize the buffer and start the publisher thread.
+    private void init() {
+        int n = 1;
+        while (n < size && n < MAXIMUM_SIZE) {
+            n <<= 1;
+        }
+        size = n;
+        mask = n - 1;
+        buffer = new AtomicReferenceArray<>(n);
+        publisher = AccessController.doPrivileged(new PrivilegedAction<Thread>() {
+            @Override
+            public Thread run() {
+                Thread t = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        publishLoop();
+                    }
+                }, "AsyncHandler");
+                t.setDaemon(true);
+                // Avoid keeping a strong reference to an application
+                // classloader, as the LogManager Cleaner does.
+                t.setContextClassLoader(null);
+                t.start();
+                return t;
+            }
+        });
+    }
+
+    /**
+     * Place a <tt>LogRecord</tt> into the buffer, to be published to the
+     * target <tt>Handler</tt> by the background thread.
+     * <p>
+     * If there is a <tt>Filter</tt>, its <tt>isLoggable</tt>
+     * method is called to check if the given log record is loggable.
+     * If not we return.  Otherwise the source class and method of the
+     * record are inferred, if they have not been set already, and the
+     * record is placed into the buffer.  If the buffer is full, the
+     * overflow policy decides whether this method waits for space or
+     * drops the record.
+     *
+     * @param  record  description of the log event. A null record is
+     *                 silently ignored and is not published
+     */
+    @Override
+    public void publish(LogRecord record) {
+        if (record == null || !isLoggable(record)) {
+            return;
+        }
+        // Infer the caller now, while we are still on the logging thread.
+        if (targetUsesSourceInfo()) {
+            record.getSourceClassName();
+        }
+        final AtomicLong tail = this.tail;
+        for (;;) {
+            long t = tail.get();
+            if ((t & SEALED) != 0) {
+                // close will not take any more records from the buffer.
+                publishToTarget(record);
+                return;
+            } else if (t - head.get() > mask) {
+                if (!awaitSpace(record)) {
+                    dropped.incrementAndGet();
+                    return;
+                }
+            } else if (tail.compareAndSet(t, t + 1)) {
+                buffer.set((int) t & mask, record);
+                if (publisherWaiting) {
+                    LockSupport.unpark(publisher);
+                }
+                return;
+            }
+        }
+    }
+
+    // Returns false only if the target certainly does not look at the
+    // source class or method of the records it publishes.
+    private boolean targetUsesSourceInfo() {
+        Handler t = target;
+        if (!(t instanceof StreamHandler) || t.getFilter() != null) {
+            return true;
+        }
+        Formatter f = t.getFormatter();
+        return f == null || f.usesSourceInfo();
+    }
+
+    // Called by publish when the buffer is full. Returns false if the
+    // record should be dropped, otherwise waits a little for the publisher
+    // to make space and returns true.
+    private boolean awaitSpace(LogRecord record) {
+        OverflowPolicy policy = overflowPolicy;
+        if (policy == OverflowPolicy.DROP ||
+                (policy == OverflowPolicy.DROP_BELOW_LEVEL &&
+                 record.getLevel().intValue() < overflowLevel.intValue())) {
+            return false;
+        }
+        if (Thread.currentThread() == publisher) {
+            // The target is logging; waiting would never end.
+            return false;
+        }
+        LockSupport.unpark(publisher);
+        LockSupport.parkNanos(this, BLOCKED_PARK_NANOS);
+        return true;
+    }
+
+    // Body of the publisher thread. Publishes batches of records until
+    // the handler is closed and the buffer is empty.
+    private void publishLoop() {
+        for (;;) {
+            long h = head.get();
+            if (h == (tail.get() & ~SEALED)) {
+                if (closed) {
+                    return;
+                }
+                publisherWaiting = true;
+                if (h == (tail.get() & ~SEALED) && !closed) {
+                    LockSupport.park(this);
+                }
+                publisherWaiting = false;
+                continue;
+            }
+            publishBatch();
+        }
+    }
+
+    // Publishes all records claimed so far to the target and flushes it.
+    // Called only by the publisher thread, or by close once it has stopped.
+    private void publishBatch() {
+        final AtomicReferenceArray<LogRecord> buffer = this.buffer;
+        long h = head.get();
+        long t = tail.get() & ~SEALED;
+        while (h != t) {
+            int i = (int) h & mask;
+            LogRecord record;
+            // The slot may have been claimed but not yet written.
+            while ((record = buffer.get(i)) == null) {
+                Thread.yield();
+            }
+            buffer.lazySet(i, null);
+            head.set(++h);
+            publishToTarget(record);
+        }
+        try {
+            target.flush();
+        } catch (Exception ex) {
+            reportError(null, ex, ErrorManager.FLUSH_FAILURE);
+        }
+        flushed = h;
+        synchronized (flushLock) {
+            if (flushWaiters > 0) {
+                flushLock.notifyAll();
+            }
+        }
+    }
+
+    private void publishToTarget(LogRecord record) {
+        try {
+            target.publish(record);
+        } catch (Exception ex) {
+            reportError(null, ex, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    /**
+     * Wait until all records placed into the buffer before this call
+     * have been published, then flush the target <tt>Handler</tt>.
+     */
+    @Override
+    public void flush() {
+        long t = tail.get() & ~SEALED;
+        if (Thread.currentThread() != publisher && !closed) {
+            boolean interrupted = false;
+            synchronized (flushLock) {
+                flushWaiters++;
+                try {
+                    while (flushed - t < 0 && publisher.isAlive()) {
+                        LockSupport.unpark(publisher);
+                        try {
+                            flushLock.wait(10);
+                        } catch (InterruptedException ex) {
+                            interrupted = true;
+                        }
+                    }
+                } finally {
+                    flushWaiters--;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        target.flush();
+    }
+
+    /**
+     * Close the <tt>Handler</tt> and free all associated resources.
+     * All buffered records are published to the target <tt>Handler</tt>,
+     * which is then closed as well.
+     *
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    @Override
+    public void close() throws SecurityException {
+        checkPermission();
+        closed = true;
+        setLevel(Level.OFF);
+        // Stop further claims; later records go to the target directly.
+        long t;
+        while (((t = tail.get()) & SEALED) == 0 &&
+               !tail.compareAndSet(t, t | SEALED)) {
+        }
+        if (Thread.currentThread() != publisher) {
+            boolean interrupted = false;
+            LockSupport.unpark(publisher);
+            while (publisher.isAlive()) {
+                try {
+                    publisher.join();
+                } catch (InterruptedException ex) {
+                    interrupted = true;
+                }
+            }
+            // Publish anything claimed by threads that raced with close,
+            // waiting for each claimed slot to be written.
+            if (head.get() != (tail.get() & ~SEALED)) {
+                publishBatch();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        target.close();
+    }
+
+    /**
+     * Set the overflow policy, which decides what happens to a
+     * <tt>LogRecord</tt> published while the buffer is full.
+     *
+     * @param newPolicy the new overflow policy
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setOverflowPolicy(OverflowPolicy newPolicy) throws SecurityException {
+        if (newPolicy == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        overflowPolicy = newPolicy;
+    }
+
+    /**
+     * Get the overflow policy.
+     *
+     * @return the current overflow policy
+     */
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Set the <tt>overflowLevel</tt>. Under the <tt>DROP_BELOW_LEVEL</tt>
+     * policy, records with a level lower than this are dropped while the
+     * buffer is full.
+     *
+     * @param newLevel the new value of the <tt>overflowLevel</tt>
+     * @exception  SecurityException  if a security manager exists and if
+     *             the caller does not have <tt>LoggingPermission("control")</tt>.
+     */
+    public void setOverflowLevel(Level newLevel) throws SecurityException {
+        if (newLevel == null) {
+            throw new NullPointerException();
+        }
+        checkPermission();
+        overflowLevel = newLevel;
+    }
+
+    /**
+     * Get the <tt>overflowLevel</tt>.
+     *
+     * @return the value of the <tt>overflowLevel</tt>
+     */
+    public Level getOverflowLevel() {
+        return overflowLevel;
+    }
+
+    /**
+     * Get the number of records dropped so far because the buffer was
+     * full.
+     *
+     * @return the number of dropped records
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+}
@@ -26,6 +26,10 @@
 
 package java.util.logging;
 
+import java.text.FieldPosition;
+import java.text.NumberFormat;
+import java.util.Locale;
+
 /**
  * A Formatter provides support for formatting LogRecords.
  * <p>
@@ -42,6 +46,13 @@ package java.util.logging;
 
 public abstract class Formatter {
 
+    // Scratch state of formatMessage(LogRecord, StringBuilder), used
+    // to format numeric parameters without creating objects.
+    private NumberFormat numberFormat;
+    private Locale numberFormatLocale;
+    private StringBuffer numberBuffer;
+    private FieldPosition fieldPosition;
+
     /**
      * Construct a new formatter.
      */
@@ -61,6 +72,25 @@ public abstract class Formatter {
      */
     public abstract String format(LogRecord record);
 
+    /**
+     * Format the given log record and append the result to the given
+     * <tt>StringBuilder</tt>.
+     * <p>
+     * Handlers that write formatted records out immediately, such as
+     * {@link StreamHandler}, call this method so that formatters can
+     * avoid creating a new String for each record.
+     * <p>
+     * This base class appends the result of {@link #format(LogRecord)},
+     * but this may be overridden by subclasses.
+     *
+     * @param record the log record to be formatted.
+     * @param sb the buffer to append the formatted log record to
+     * @since 1.8
+     */
+    public void format(LogRecord record, StringBuilder sb) {
+        sb.append(format(record));
+    }
+
 
     /**
      * Return the header string for a set of formatted records.
@@ -88,6 +118,25 @@ public abstract class Formatter {
         return "";
     }
 
+    /**
+     * Return whether this formatter uses the source class name or
+     * source method name of the records it formats.
+     * <p>
+     * Inferring the source of a <tt>LogRecord</tt> requires a walk of
+     * the call stack, so handlers that pass records to another thread
+     * may use this method to find out whether the source needs to be
+     * inferred before doing so.
+     * <p>
+     * This base class returns true, but this may be overridden by
+     * subclasses that never use the source of a record.
+     *
+     * @return  true if the source of formatted records may be used
+     * @since 1.8
+     */
+    public boolean usesSourceInfo() {
+        return true;
+    }
+
 
     /**
      * Localize and format the message string from a log record.  This
@@ -111,16 +160,7 @@ public abstract class Formatter {
      * @return   a localized and formatted message
      */
     public synchronized String formatMessage(LogRecord record) {
-        String format = record.getMessage();
-        java.util.ResourceBundle catalog = record.getResourceBundle();
-        if (catalog != null) {
-            try {
-                format = catalog.getString(record.getMessage());
-            } catch (java.util.MissingResourceException ex) {
-                // Drop through.  Use record message as format
-                format = record.getMessage();
-            }
-        }
+        String format = localizedMessage(record);
         // Do the formatting.
         try {
             Object parameters[] = record.getParameters();
@@ -128,13 +168,7 @@ public abstract class Formatter {
                 // No parameters.  Just return format string.
                 return format;
             }
-            // Is it a java.text style format?
-            // Ideally we could match with
-            // Pattern.compile("\\{\\d").matcher(format).find())
-            // However the cost is 14% higher, so we cheaply check for
-            // 1 of the first 4 parameters
-            if (format.indexOf("{0") >= 0 || format.indexOf("{1") >=0 ||
-                        format.indexOf("{2") >=0|| format.indexOf("{3") >=0) {
+            if (isMessageFormat(format)) {
                 return java.text.MessageFormat.format(format, parameters);
             }
             return format;
@@ -144,4 +178,144 @@ public abstract class Formatter {
             return format;
         }
     }
+
+    /**
+     * Localize and format the message string from a log record and
+     * append it to the given <tt>StringBuilder</tt>.  This method is
+     * provided as a convenience for Formatter subclasses that implement
+     * {@link #format(LogRecord, StringBuilder)}.
+     * <p>
+     * The result is the same as that of {@link #formatMessage(LogRecord)}.
+     * However, a format string whose only format elements are of the
+     * simple form <tt>{</tt><i>n</i><tt>}</tt>, and which contains no
+     * quotes, is formatted directly into the buffer without creating a
+     * <tt>MessageFormat</tt>, and parameters that are strings or
+     * primitive wrappers are appended without creating intermediate
+     * strings.
+     *
+     * @param  record  the log record containing the raw message
+     * @param  sb  the buffer to append the localized and formatted
+     *             message to
+     * @since 1.8
+     */
+    public synchronized void formatMessage(LogRecord record, StringBuilder sb) {
+        String format = localizedMessage(record);
+        Object parameters[] = record.getParameters();
+        if (parameters == null || parameters.length == 0 ||
+                !isMessageFormat(format)) {
+            sb.append(format);
+            return;
+        }
+        int start = sb.length();
+        try {
+            if (!appendMessage(format, parameters, sb)) {
+                sb.setLength(start);
+                sb.append(java.text.MessageFormat.format(format, parameters));
+            }
+        } catch (Exception ex) {
+            // Formatting failed: use localized format string.
+            sb.setLength(start);
+            sb.append(format);
+        }
+    }
+
+    // Returns the message of the record, localized using the record's
+    // ResourceBundle if there is one.
+    private static String localizedMessage(LogRecord record) {
+        String format = record.getMessage();
+        java.util.ResourceBundle catalog = record.getResourceBundle();
+        if (catalog != null) {
+            try {
+                format = catalog.getString(record.getMessage());
+            } catch (java.util.MissingResourceException ex) {
+                // Drop through.  Use record message as format
+                format = record.getMessage();
+            }
+        }
+        return format;
+    }
+
+    // Is it a java.text style format?
+    // Ideally we could match with
+    // Pattern.compile("\\{\\d").matcher(format).find())
+    // However the cost is 14% higher, so we cheaply check for
+    // 1 of the first 4 parameters
+    private static boolean isMessageFormat(String format) {
+        return format.indexOf("{0") >= 0 || format.indexOf("{1") >=0 ||
+                format.indexOf("{2") >=0 || format.indexOf("{3") >=0;
+    }
+
+    // Appends the format with its {n} elements replaced as MessageFormat
+    // would replace them.  Returns false, possibly after appending some
+    // text, if the format or a parameter needs MessageFormat after all.
+    private boolean appendMessage(String format, Object[] parameters,
+                                  StringBuilder sb) {
+        int len = format.length();
+        for (int i = 0; i < len; i++) {
+            char c = format.charAt(i);
+            if (c == '\'') {
+                return false;
+            }
+            if (c != '{') {
+                sb.append(c);
+                continue;
+            }
+            int index = 0;
+            int j = i + 1;
+            while (j < len && j - i <= 9) {
+                char d = format.charAt(j);
+                if (d < '0' || d > '9') {
+                    break;
+                }
+                index = index * 10 + (d - '0');
+                j++;
+            }
+            if (j == i + 1 || j >= len || format.charAt(j) != '}') {
+                return false;
+            }
+            i = j;
+            if (index >= parameters.length) {
+                sb.append('{').append(index).append('}');
+            } else if (!appendParameter(parameters[index], sb)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Appends a parameter as MessageFormat would format it, or returns
+    // false if it needs a subformat other than a NumberFormat.
+    private boolean appendParameter(Object obj, StringBuilder sb) {
+        if (obj == null) {
+            sb.append("null");
+        } else if (obj instanceof String) {
+            sb.append((String) obj);
+        } else if (obj instanceof Number) {
+            // MessageFormat uses the NumberFormat of its default locale.
+            Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+            if (numberFormat == null || !locale.equals(numberFormatLocale)) {
+                numberFormat = NumberFormat.getInstance(locale);
+                numberFormatLocale = locale;
+                numberBuffer = new StringBuffer();
+                fieldPosition = new FieldPosition(0);
+            }
+            StringBuffer buf = numberBuffer;
+            buf.setLength(0);
+            if (obj instanceof Integer || obj instanceof Long ||
+                    obj instanceof Short || obj instanceof Byte) {
+                numberFormat.format(((Number) obj).longValue(), buf, fieldPosition);
+            } else if (obj instanceof Double || obj instanceof Float) {
+                numberFormat.format(((Number) obj).doubleValue(), buf, fieldPosition);
+            } else {
+                numberFormat.format(obj, buf, fieldPosition);
+            }
+            sb.append(buf);
+        } else if (obj instanceof java.util.Date) {
+            return false;
+        } else {
+            String arg = obj.toString();
+            sb.append(arg == null ? "null" : arg);
+        }
+        return true;
+    }
 }
@@ -301,6 +301,13 @@ public abstract class Handler {
         return filter.isLoggable(record);
     }
 
+    // Returns false if this handler is known not to keep references to
+    // the records passed to publish once it returns, so that Logger may
+    // reuse them.  Overridden by StreamHandler.
+    boolean mayRetainRecords() {
+        return true;
+    }
+
     // Package-private support method for security checks.
     // If "sealed" is true, we check that the caller has
     // appropriate security privileges to update Handler
@@ -1662,6 +1662,11 @@ public class LogManager {
             super.removeHandler(h);
         }
 
+        @Override
+        void initializeHandlers() {
+            initializeGlobalHandlers();
+        }
+
         @Override
         Handler[] accessCheckedHandlers() {
             initializeGlobalHandlers();
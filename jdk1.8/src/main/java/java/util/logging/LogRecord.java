@@ -44,7 +44,10 @@ import sun.misc.SharedSecrets;
  * explicit source method name and source class name, then the
  * LogRecord class will infer them automatically when they are
  * first accessed (due to a call on getSourceMethodName or
- * getSourceClassName) by analyzing the call stack.  Therefore,
+ * getSourceClassName) by analyzing the call stack.  As this is
+ * comparatively expensive, formatters and handlers should avoid
+ * calling these methods unless they use the result (see
+ * {@link Formatter#usesSourceInfo}).  Therefore,
  * if a logging Handler wants to pass off a LogRecord to another
  * thread, or to transmit it over RMI, and if it wishes to subsequently
  * obtain method name or class name information it should call
@@ -141,6 +144,17 @@ public class LogRecord implements java.io.Serializable {
     private transient Object parameters[];
     private transient ResourceBundle resourceBundle;
 
+    /**
+     * Per-thread records handed out by {@link #reusable}.
+     */
+    private static final ThreadLocal<LogRecord> reusableRecords = new ThreadLocal<>();
+
+    // True while a record obtained from reusable() has not been released.
+    private transient boolean inUse;
+
+    // Parameter array reused by a reusable record for single parameters.
+    private transient Object singleParameter[];
+
     /**
      * Returns the default value for a new LogRecord's threadID.
      */
@@ -186,6 +200,107 @@ public class LogRecord implements java.io.Serializable {
         needToInferCaller = true;
    }
 
+    /**
+     * Returns a record with the given level and message, initialized as
+     * by the constructor, that is reused by later calls on the same
+     * thread once it has been {@linkplain #release released}.  Only for
+     * use when no Filter or Handler that sees the record can hold on to
+     * it; see Logger.newRecord.
+     */
+    static LogRecord reusable(Level level, String msg) {
+        LogRecord lr = reusableRecords.get();
+        if (lr == null) {
+            lr = new LogRecord(level, msg);
+            reusableRecords.set(lr);
+        } else if (lr.inUse) {
+            // Logging from within a Handler; don't disturb the outer call.
+            return new LogRecord(level, msg);
+        } else {
+            level.getClass();
+            lr.level = level;
+            lr.message = msg;
+            lr.sequenceNumber = globalSequenceNumber.getAndIncrement();
+            lr.threadID = lr.defaultThreadID();
+            lr.millis = System.currentTimeMillis();
+            lr.needToInferCaller = true;
+        }
+        lr.inUse = true;
+        return lr;
+    }
+
+    /**
+     * Returns true if this record was obtained from {@link #reusable}
+     * and has not been released yet.
+     */
+    boolean isReused() {
+        return inUse;
+    }
+
+    /**
+     * Returns a new record with the contents of this one, for a Filter
+     * or Handler that may keep the records it is given when this one is
+     * {@linkplain #isReused reused}.
+     */
+    LogRecord copy() {
+        return new LogRecord(this);
+    }
+
+    private LogRecord(LogRecord lr) {
+        level = lr.level;
+        sequenceNumber = lr.sequenceNumber;
+        sourceClassName = lr.sourceClassName;
+        sourceMethodName = lr.sourceMethodName;
+        message = lr.message;
+        threadID = lr.threadID;
+        millis = lr.millis;
+        thrown = lr.thrown;
+        loggerName = lr.loggerName;
+        resourceBundleName = lr.resourceBundleName;
+        needToInferCaller = lr.needToInferCaller;
+        // The single parameter array is reused with the record
+        parameters = lr.parameters == null ? null : lr.parameters.clone();
+        resourceBundle = lr.resourceBundle;
+    }
+
+    /**
+     * Makes a record obtained from {@link #reusable} available for
+     * reuse, dropping its references to the caller's objects.  Has no
+     * effect on other records.
+     */
+    void release() {
+        if (inUse) {
+            sourceClassName = null;
+            sourceMethodName = null;
+            thrown = null;
+            loggerName = null;
+            resourceBundleName = null;
+            resourceBundle = null;
+            parameters = null;
+            if (singleParameter != null) {
+                singleParameter[0] = null;
+            }
+            inUse = false;
+        }
+    }
+
+    /**
+     * Sets the parameters to a single object, without creating a new
+     * array if this is a reusable record.
+     */
+    void setParameter(Object param1) {
+        Object params[];
+        if (inUse) {
+            if (singleParameter == null) {
+                singleParameter = new Object[1];
+            }
+            params = singleParameter;
+        } else {
+            params = new Object[1];
+        }
+        params[0] = param1;
+        parameters = params;
+    }
+
     /**
      * Get the source Logger's name.
      *
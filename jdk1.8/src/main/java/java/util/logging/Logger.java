@@ -721,8 +721,14 @@ public class Logger {
             return;
         }
         Filter theFilter = filter;
-        if (theFilter != null && !theFilter.isLoggable(record)) {
-            return;
+        if (theFilter != null) {
+            // The filter was set after a reused record was chosen, and
+            // may keep the record
+            if (record.isReused())
+                record = record.copy();
+            if (!theFilter.isLoggable(record)) {
+                return;
+            }
         }
 
         // Post the LogRecord to all our Handlers, and then to
@@ -735,6 +741,9 @@ public class Logger {
                 : logger.getHandlers();
 
             for (Handler handler : loggerHandlers) {
+                // Likewise for a handler added or reconfigured since
+                if (record.isReused() && handler.mayRetainRecords())
+                    record = record.copy();
                 handler.publish(record);
             }
 
@@ -753,6 +762,41 @@ public class Logger {
     // private support method for logging.
     // We fill in the logger name, resource bundle name, and
     // resource bundle and then call "void log(LogRecord)".
+    // Creates the record for a log call.  If no Filter or Handler that
+    // will see the record can keep a reference to it, the current
+    // thread's reusable record is returned instead, so that logging
+    // to the standard handlers does not create a LogRecord per call.
+    // Callers must release the record once it has been logged.
+    private LogRecord newRecord(Level level, String msg) {
+        if (recordMayBeRetained()) {
+            return new LogRecord(level, msg);
+        }
+        return LogRecord.reusable(level, msg);
+    }
+
+    // Returns false only if log(LogRecord) is not overridden, there is
+    // no filter, and every handler the record would be published to is
+    // known not to keep records beyond its publish method. Filters and
+    // handlers that change after this check are given a copy of the
+    // record by log(LogRecord).
+    private boolean recordMayBeRetained() {
+        if (getClass() != Logger.class || filter != null) {
+            return true;
+        }
+        for (Logger logger = this; logger != null; logger = logger.parent) {
+            logger.initializeHandlers();
+            for (Handler handler : logger.handlers) {
+                if (handler.mayRetainRecords()) {
+                    return true;
+                }
+            }
+            if (!logger.useParentHandlers) {
+                break;
+            }
+        }
+        return false;
+    }
+
     private void doLog(LogRecord lr) {
         lr.setLoggerName(name);
         final LoggerBundle lb = getEffectiveLoggerBundle();
@@ -784,8 +828,12 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        doLog(lr);
+        LogRecord lr = newRecord(level, msg);
+        try {
+            doLog(lr);
+        } finally {
+            lr.release();
+        }
     }
 
     /**
@@ -824,10 +872,13 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
-        Object params[] = { param1 };
-        lr.setParameters(params);
-        doLog(lr);
+        LogRecord lr = newRecord(level, msg);
+        lr.setParameter(param1);
+        try {
+            doLog(lr);
+        } finally {
+            lr.release();
+        }
     }
 
     /**
@@ -845,9 +896,13 @@ public class Logger {
         if (!isLoggable(level)) {
             return;
         }
-        LogRecord lr = new LogRecord(level, msg);
+        LogRecord lr = newRecord(level, msg);
         lr.setParameters(params);
-        doLog(lr);
+        try {
+            doLog(lr);
+        } finally {
+            lr.release();
+        }
     }
 
     /**
@@ -1776,6 +1831,11 @@ public class Logger {
         return accessCheckedHandlers();
     }
 
+    // Installs the configured handlers of this logger if that is put off
+    // until they are first used, as it is for the root logger.
+    void initializeHandlers() {
+    }
+
     // This method should ideally be marked final - but unfortunately
     // it needs to be overridden by LogManager.RootLogger
     Handler[] accessCheckedHandlers() {
@@ -28,7 +28,12 @@ package java.util.logging;
 
 import java.io.*;
 import java.text.*;
+import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
 import sun.util.logging.LoggingSupport;
 
 /**
@@ -60,8 +65,191 @@ public class SimpleFormatter extends Formatter {
 
     // format string for printing the log record
     private static final String format = LoggingSupport.getSimpleFormat();
+    // the format split into literal text and conversions, or null if
+    // it could not be parsed
+    private static final Segment[] segments = compile(format);
+    // whether the format prints the source argument, which is costly to infer
+    private static final boolean formatUsesSource = refersTo(segments, 2);
+    // whether format(LogRecord, StringBuilder) can do without String.format
+    private static final boolean formatIsSimple = isSimple(segments);
     private final Date dat = new Date();
 
+    // State of format(LogRecord, StringBuilder): the calendar used for
+    // date/time conversions, and the names it uses for the locale it
+    // was last set up for. String.format looks up the default locale
+    // and time zone on every call; we check the locale on every call,
+    // and the time zone at most once a second since that check
+    // creates an object.
+    private Calendar calendar;
+    private Locale calendarLocale;
+    private long zoneCheckMillis;
+    private boolean localeIsSimple;
+    private String[] months, shortMonths, weekdays, shortWeekdays, ampm;
+    private String[] upperMonths, upperShortMonths, upperWeekdays,
+            upperShortWeekdays, upperAmpm;
+
+    // A part of the compiled format: literal text, or a conversion of
+    // one of the arguments described in format(LogRecord).
+    private static final class Segment {
+        final String text;       // literal text, or null for a conversion
+        final int arg;           // one-based index of the argument
+        final char conversion;   // conversion, or date/time suffix for 't'
+        final boolean dateTime;  // 't' or 'T' conversion
+        final boolean upper;     // 'T' conversion
+        final boolean simple;    // no flags, width or precision
+
+        Segment(String text) {
+            this(text, 0, '\0', false, false, true);
+        }
+
+        Segment(String text, int arg, char conversion, boolean dateTime,
+                boolean upper, boolean simple) {
+            this.text = text;
+            this.arg = arg;
+            this.conversion = conversion;
+            this.dateTime = dateTime;
+            this.upper = upper;
+            this.simple = simple;
+        }
+    }
+
+    // Splits a java.util.Formatter format string into segments, or
+    // returns null if it is malformed.
+    private static Segment[] compile(String format) {
+        List<Segment> result = new ArrayList<>();
+        int ordinary = 0;
+        int last = 0;
+        int n = format.length();
+        int literal = 0;
+        for (int i = 0; i < n; i++) {
+            if (format.charAt(i) != '%') {
+                continue;
+            }
+            if (i > literal) {
+                result.add(new Segment(format.substring(literal, i)));
+            }
+            int j = i + 1;
+            int k = j;
+            while (k < n && Character.isDigit(format.charAt(k))) {
+                k++;
+            }
+            int arg = -1;
+            if (k > j && k < n && format.charAt(k) == '$') {
+                try {
+                    arg = Integer.parseInt(format.substring(j, k));
+                } catch (NumberFormatException ex) {
+                    return null;
+                }
+                j = k + 1;
+            }
+            int spec = j;
+            boolean previous = false;
+            while (j < n && "-#+ 0,(<".indexOf(format.charAt(j)) >= 0) {
+                previous |= format.charAt(j) == '<';
+                j++;
+            }
+            while (j < n && Character.isDigit(format.charAt(j))) {
+                j++;
+            }
+            if (j < n && format.charAt(j) == '.') {
+                j++;
+                while (j < n && Character.isDigit(format.charAt(j))) {
+                    j++;
+                }
+            }
+            if (j >= n) {
+                return null;
+            }
+            boolean simple = (j == spec) || (previous && j == spec + 1);
+            char c = format.charAt(j);
+            literal = j + 1;
+            i = j;
+            if (c == '%') {
+                result.add(simple ? new Segment("%")
+                                  : new Segment(null, 0, c, false, false, false));
+                continue;
+            }
+            if (c == 'n') {
+                result.add(new Segment(System.lineSeparator()));
+                continue;
+            }
+            boolean dateTime = (c == 't' || c == 'T');
+            boolean upper = (c == 'T');
+            if (dateTime) {
+                if (++j >= n) {
+                    return null;
+                }
+                c = format.charAt(j);
+                literal = j + 1;
+                i = j;
+            }
+            if (previous) {
+                arg = last;
+            } else if (arg < 0) {
+                arg = ++ordinary;
+            }
+            last = arg;
+            result.add(new Segment(null, arg, c, dateTime, upper, simple));
+        }
+        if (n > literal) {
+            result.add(new Segment(format.substring(literal)));
+        }
+        return result.toArray(new Segment[result.size()]);
+    }
+
+    // Returns true if the segments might refer to the argument with the
+    // given (one-based) index.
+    private static boolean refersTo(Segment[] segments, int index) {
+        if (segments == null) {
+            return true;
+        }
+        for (Segment s : segments) {
+            if (s.text == null && s.arg == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Returns true if format(LogRecord, StringBuilder) knows how to
+    // print every segment.
+    private static boolean isSimple(Segment[] segments) {
+        if (segments == null) {
+            return false;
+        }
+        for (Segment s : segments) {
+            if (s.text != null) {
+                continue;
+            }
+            if (!s.simple) {
+                return false;
+            }
+            if (s.dateTime) {
+                if (s.arg != 1 || "HIklMSLpBbhAaYyCmdej".indexOf(s.conversion) < 0) {
+                    return false;
+                }
+            } else if (s.conversion != 's' || s.arg < 2 || s.arg > 6) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return whether the configured format string prints the
+     * {@code source} argument described in {@link #format}.
+     * Subclasses may print the source in their own {@code format}
+     * method, so true is returned for them unless they override this
+     * method as well.
+     *
+     * @return  true if the format refers to the source of the record
+     * @since 1.8
+     */
+    @Override
+    public boolean usesSourceInfo() {
+        return getClass() != SimpleFormatter.class || formatUsesSource;
+    }
+
     /**
      * Format the given LogRecord.
      * <p>
@@ -130,6 +318,9 @@ public class SimpleFormatter extends Formatter {
      *     SEVERE: several message with an exception
      *     </pre></li>
      * </ul>
+     * <p>The source of the record is only inferred if the format
+     * refers to the {@code source} argument.
+     *
      * <p>This method can also be overridden in a subclass.
      * It is recommended to use the {@link Formatter#formatMessage}
      * convenience method to localize and format the message field.
@@ -140,7 +331,10 @@ public class SimpleFormatter extends Formatter {
     public synchronized String format(LogRecord record) {
         dat.setTime(record.getMillis());
         String source;
-        if (record.getSourceClassName() != null) {
+        if (!formatUsesSource) {
+            // Not printed; avoid the stack walk needed to infer it.
+            source = record.getLoggerName();
+        } else if (record.getSourceClassName() != null) {
             source = record.getSourceClassName();
             if (record.getSourceMethodName() != null) {
                source += " " + record.getSourceMethodName();
@@ -166,4 +360,169 @@ public class SimpleFormatter extends Formatter {
                              message,
                              throwable);
     }
+
+    /**
+     * Format the given LogRecord and append the result to the given
+     * <tt>StringBuilder</tt>.
+     * <p>
+     * The result is the same as that of {@link #format(LogRecord)}.
+     * Unless the format string uses flags, widths or precisions, or
+     * conversions other than {@code %s} of the {@code source},
+     * {@code logger}, {@code level}, {@code message} and {@code thrown}
+     * arguments and date/time conversions of the {@code date} argument,
+     * the record is formatted without creating intermediate objects.
+     * <p>
+     * If this method is called on a subclass, it calls
+     * {@link #format(LogRecord)}, which the subclass may have overridden.
+     *
+     * @param record the log record to be formatted.
+     * @param sb the buffer to append the formatted log record to
+     * @since 1.8
+     */
+    @Override
+    public synchronized void format(LogRecord record, StringBuilder sb) {
+        if (!formatIsSimple || getClass() != SimpleFormatter.class ||
+                !setUpCalendar(record.getMillis())) {
+            sb.append(format(record));
+            return;
+        }
+        for (Segment s : segments) {
+            if (s.text != null) {
+                sb.append(s.text);
+            } else if (s.dateTime) {
+                appendDateTime(s.conversion, s.upper, sb);
+            } else {
+                switch (s.arg) {
+                case 2:
+                    if (formatUsesSource && record.getSourceClassName() != null) {
+                        sb.append(record.getSourceClassName());
+                        if (record.getSourceMethodName() != null) {
+                            sb.append(' ').append(record.getSourceMethodName());
+                        }
+                    } else {
+                        sb.append(record.getLoggerName());
+                    }
+                    break;
+                case 3:
+                    sb.append(record.getLoggerName());
+                    break;
+                case 4:
+                    sb.append(record.getLevel().getLocalizedLevelName());
+                    break;
+                case 5:
+                    formatMessage(record, sb);
+                    break;
+                default:
+                    if (record.getThrown() != null) {
+                        StringWriter sw = new StringWriter();
+                        PrintWriter pw = new PrintWriter(sw);
+                        pw.println();
+                        record.getThrown().printStackTrace(pw);
+                        pw.close();
+                        sb.append(sw.getBuffer());
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    // Sets the calendar to the given time in the default locale and time
+    // zone.  Returns false if the locale does not use ASCII digits, which
+    // this formatter does not localize.
+    private boolean setUpCalendar(long millis) {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        if (calendar == null || !locale.equals(calendarLocale)) {
+            calendar = Calendar.getInstance(TimeZone.getDefault(), locale);
+            calendarLocale = locale;
+            zoneCheckMillis = millis;
+            localeIsSimple =
+                DecimalFormatSymbols.getInstance(locale).getZeroDigit() == '0';
+            DateFormatSymbols dfs = DateFormatSymbols.getInstance(locale);
+            months = dfs.getMonths();
+            shortMonths = dfs.getShortMonths();
+            weekdays = dfs.getWeekdays();
+            shortWeekdays = dfs.getShortWeekdays();
+            ampm = dfs.getAmPmStrings();
+            for (int i = 0; i < ampm.length; i++) {
+                ampm[i] = ampm[i].toLowerCase(locale);
+            }
+            upperMonths = toUpperCase(months, locale);
+            upperShortMonths = toUpperCase(shortMonths, locale);
+            upperWeekdays = toUpperCase(weekdays, locale);
+            upperShortWeekdays = toUpperCase(shortWeekdays, locale);
+            upperAmpm = toUpperCase(ampm, locale);
+        } else if (millis - zoneCheckMillis >= 1000L ||
+                   millis - zoneCheckMillis <= -1000L) {
+            TimeZone zone = TimeZone.getDefault();
+            if (!zone.hasSameRules(calendar.getTimeZone()) ||
+                    !zone.getID().equals(calendar.getTimeZone().getID())) {
+                calendar.setTimeZone(zone);
+            }
+            zoneCheckMillis = millis;
+        }
+        calendar.setTimeInMillis(millis);
+        return localeIsSimple;
+    }
+
+    private static String[] toUpperCase(String[] names, Locale locale) {
+        String[] result = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            result[i] = names[i].toUpperCase(locale);
+        }
+        return result;
+    }
+
+    // Appends a date/time conversion of the calendar as
+    // java.util.Formatter would for an argument without flags or width.
+    private void appendDateTime(char c, boolean upper, StringBuilder sb) {
+        Calendar t = calendar;
+        switch (c) {
+        case 'H': appendPadded(t.get(Calendar.HOUR_OF_DAY), 2, sb); break;
+        case 'k': sb.append(t.get(Calendar.HOUR_OF_DAY)); break;
+        case 'I': appendPadded(hour12(t), 2, sb); break;
+        case 'l': sb.append(hour12(t)); break;
+        case 'M': appendPadded(t.get(Calendar.MINUTE), 2, sb); break;
+        case 'S': appendPadded(t.get(Calendar.SECOND), 2, sb); break;
+        case 'L': appendPadded(t.get(Calendar.MILLISECOND), 3, sb); break;
+        case 'p':
+            sb.append((upper ? upperAmpm : ampm)[t.get(Calendar.AM_PM)]);
+            break;
+        case 'B':
+            sb.append((upper ? upperMonths : months)[t.get(Calendar.MONTH)]);
+            break;
+        case 'b':
+        case 'h':
+            sb.append((upper ? upperShortMonths : shortMonths)[t.get(Calendar.MONTH)]);
+            break;
+        case 'A':
+            sb.append((upper ? upperWeekdays : weekdays)[t.get(Calendar.DAY_OF_WEEK)]);
+            break;
+        case 'a':
+            sb.append((upper ? upperShortWeekdays : shortWeekdays)[t.get(Calendar.DAY_OF_WEEK)]);
+            break;
+        case 'Y': appendPadded(t.get(Calendar.YEAR), 4, sb); break;
+        case 'y': appendPadded(t.get(Calendar.YEAR) % 100, 2, sb); break;
+        case 'C': appendPadded(t.get(Calendar.YEAR) / 100, 2, sb); break;
+        case 'm': appendPadded(t.get(Calendar.MONTH) + 1, 2, sb); break;
+        case 'd': appendPadded(t.get(Calendar.DAY_OF_MONTH), 2, sb); break;
+        case 'e': sb.append(t.get(Calendar.DAY_OF_MONTH)); break;
+        case 'j': appendPadded(t.get(Calendar.DAY_OF_YEAR), 3, sb); break;
+        default: throw new AssertionError(c);
+        }
+    }
+
+    private static int hour12(Calendar t) {
+        int i = t.get(Calendar.HOUR);
+        return (i == 0) ? 12 : i;
+    }
+
+    private static void appendPadded(int value, int width, StringBuilder sb) {
+        for (int limit = 10, i = 1; i < width; i++, limit *= 10) {
+            if (value < limit) {
+                sb.append('0');
+            }
+        }
+        sb.append(value);
+    }
 }
@@ -27,6 +27,13 @@
 package java.util.logging;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
 
 /**
  * Stream based logging <tt>Handler</tt>.
@@ -73,9 +80,23 @@ import java.io.*;
  */
 
 public class StreamHandler extends Handler {
+    // Largest formatted record whose buffer publish keeps for reuse.
+    private static final int MAX_RETAINED_BUFFER = 8192;
+
     private OutputStream output;
     private boolean doneHeader;
     private volatile Writer writer;
+    // Buffers reused by publish, so that records are written without
+    // creating a String for each.
+    private StringBuilder formatted = new StringBuilder(256);
+    private final char[] chars = new char[1024];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    // Records are encoded into this buffer and written to the output
+    // stream directly, as an OutputStreamWriter wraps every array it
+    // is given in a new CharBuffer.  The head and tail are written
+    // through the writer, so it is emptied before they are.
+    private final ByteBuffer bytes = ByteBuffer.allocate(8192);
+    private CharsetEncoder encoder;
 
     // Private method to configure a StreamHandler from LogManager
     // properties and/or default values as specified in the class
@@ -141,18 +162,32 @@ public class StreamHandler extends Handler {
         flushAndClose();
         output = out;
         doneHeader = false;
-        String encoding = getEncoding();
+        try {
+            setWriter(getEncoding());
+        } catch (UnsupportedEncodingException ex) {
+            // This shouldn't happen.  The setEncoding method
+            // should have validated that the encoding is OK.
+            throw new Error("Unexpected exception " + ex);
+        }
+    }
+
+    // Creates the writer, and the encoder used by publish, for the
+    // current output stream and the given encoding.
+    private void setWriter(String encoding) throws UnsupportedEncodingException {
+        Charset cs;
         if (encoding == null) {
-            writer = new OutputStreamWriter(output);
+            cs = Charset.defaultCharset();
         } else {
             try {
-                writer = new OutputStreamWriter(output, encoding);
-            } catch (UnsupportedEncodingException ex) {
-                // This shouldn't happen.  The setEncoding method
-                // should have validated that the encoding is OK.
-                throw new Error("Unexpected exception " + ex);
+                cs = Charset.forName(encoding);
+            } catch (IllegalCharsetNameException | UnsupportedCharsetException ex) {
+                throw new UnsupportedEncodingException(encoding);
             }
         }
+        writer = new OutputStreamWriter(output, cs);
+        encoder = cs.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
     }
 
     /**
@@ -177,11 +212,7 @@ public class StreamHandler extends Handler {
         }
         // Replace the current writer with a writer for the new encoding.
         flush();
-        if (encoding == null) {
-            writer = new OutputStreamWriter(output);
-        } else {
-            writer = new OutputStreamWriter(output, encoding);
-        }
+        setWriter(encoding);
     }
 
     /**
@@ -191,8 +222,9 @@ public class StreamHandler extends Handler {
      * and if the given <tt>LogRecord</tt> has at least the required log level.
      * If not it silently returns.  If so, it calls any associated
      * <tt>Filter</tt> to check if the record should be published.  If so,
-     * it calls its <tt>Formatter</tt> to format the record and then writes
-     * the result to the current output stream.
+     * it calls its <tt>Formatter</tt> to format the record into a buffer
+     * (see {@link Formatter#format(LogRecord, StringBuilder)}) and then
+     * writes the result to the current output stream.
      * <p>
      * If this is the first <tt>LogRecord</tt> to be written to a given
      * <tt>OutputStream</tt>, the <tt>Formatter</tt>'s "head" string is
@@ -206,9 +238,10 @@ public class StreamHandler extends Handler {
         if (!isLoggable(record)) {
             return;
         }
-        String msg;
+        StringBuilder sb = formatted;
+        sb.setLength(0);
         try {
-            msg = getFormatter().format(record);
+            getFormatter().format(record, sb);
         } catch (Exception ex) {
             // We don't want to throw an exception here, but we
             // report the exception to any registered ErrorManager.
@@ -219,16 +252,77 @@ public class StreamHandler extends Handler {
         try {
             if (!doneHeader) {
                 writer.write(getFormatter().getHead(this));
+                writer.flush();
                 doneHeader = true;
             }
-            writer.write(msg);
+            write(sb);
         } catch (Exception ex) {
             // We don't want to throw an exception here, but we
             // report the exception to any registered ErrorManager.
             reportError(null, ex, ErrorManager.WRITE_FAILURE);
         }
+        if (sb.length() > MAX_RETAINED_BUFFER) {
+            // Don't hold on to the space needed by an unusually large record.
+            formatted = new StringBuilder(256);
+        }
+    }
+
+    // Encodes the contents of the given buffer into the byte buffer,
+    // writing it out whenever it fills up.
+    private void write(StringBuilder sb) throws IOException {
+        final char[] buf = chars;
+        final CharBuffer in = charBuffer;
+        final ByteBuffer out = bytes;
+        final CharsetEncoder enc = encoder;
+        enc.reset();
+        int len = sb.length();
+        int off = 0;
+        int carried = 0;    // chars left over from the previous chunk
+        for (;;) {
+            int n = Math.min(buf.length - carried, len - off);
+            sb.getChars(off, off + n, buf, carried);
+            off += n;
+            in.limit(carried + n);
+            in.position(0);
+            boolean endOfInput = (off == len);
+            while (enc.encode(in, out, endOfInput).isOverflow()) {
+                drainBytes();
+            }
+            if (endOfInput) {
+                break;
+            }
+            // Keep an unpaired high surrogate for the next chunk.
+            carried = in.remaining();
+            System.arraycopy(buf, in.position(), buf, 0, carried);
+        }
+        while (enc.flush(out).isOverflow()) {
+            drainBytes();
+        }
     }
 
+    // Writes out any bytes encoded by publish.
+    private void drainBytes() throws IOException {
+        final ByteBuffer out = bytes;
+        if (out.position() > 0) {
+            output.write(out.array(), 0, out.position());
+            out.clear();
+        }
+    }
+
+    // The JDK handlers write records out before publish returns. Other
+    // subclasses may override publish, and custom filters and formatters
+    // may do anything with the record.
+    @Override
+    boolean mayRetainRecords() {
+        Class<?> c = getClass();
+        if ((c != StreamHandler.class && c != ConsoleHandler.class &&
+             c != FileHandler.class && c != SocketHandler.class) ||
+                getFilter() != null) {
+            return true;
+        }
+        Class<?> fc = getFormatter().getClass();
+        return fc != SimpleFormatter.class && fc != XMLFormatter.class;
+    }
 
     /**
      * Check if this <tt>Handler</tt> would actually log a given <tt>LogRecord</tt>.
@@ -256,6 +350,7 @@ public class StreamHandler extends Handler {
     public synchronized void flush() {
         if (writer != null) {
             try {
+                drainBytes();
                 writer.flush();
             } catch (Exception ex) {
                 // We don't want to throw an exception here, but we
@@ -273,6 +368,7 @@ public class StreamHandler extends Handler {
                     writer.write(getFormatter().getHead(this));
                     doneHeader = true;
                 }
+                drainBytes();
                 writer.write(getFormatter().getTail(this));
                 writer.flush();
                 writer.close();
@@ -91,6 +91,14 @@ import java.util.Objects;
  * matcher discards its explicit state information and sets the append position
  * to zero.
  *
+ * <p> A matcher holds no state beyond its input and the positions of the
+ * last match, so resetting it with a new input sequence is cheaper than
+ * creating a new matcher.  Matching with a matcher that is reset for each
+ * input, and reading the captured subsequences with {@link #start(int)
+ * start}, {@link #end(int) end}, {@link #getGroupChars getGroupChars} or
+ * {@link #appendGroup appendGroup} rather than in string form, allocates
+ * no objects per match.
+ *
  * <p> Instances of this class are not safe for use by multiple concurrent
  * threads. </p>
  *
@@ -167,6 +175,12 @@ public final class Matcher implements MatchResult {
      */
     int[] locals;
 
+    /**
+     * The thread lists used when the pattern is matched by a
+     * Pattern.LinearProgram, allocated on first use.
+     */
+    Pattern.LinearProgram.State linearState;
+
     /**
      * Boolean indicating whether or not more input could change
      * the results of the last match.
@@ -275,10 +289,12 @@ public final class Matcher implements MatchResult {
             throw new IllegalArgumentException("Pattern cannot be null");
         parentPattern = newPattern;
 
-        // Reallocate state storage
+        // Reallocate state storage unless it is large enough
         int parentGroupCount = Math.max(newPattern.capturingGroupCount, 10);
-        groups = new int[parentGroupCount * 2];
-        locals = new int[newPattern.localCount];
+        if (groups.length < parentGroupCount * 2)
+            groups = new int[parentGroupCount * 2];
+        if (locals.length < newPattern.localCount)
+            locals = new int[newPattern.localCount];
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         for (int i = 0; i < locals.length; i++)
@@ -575,6 +591,94 @@ public final class Matcher implements MatchResult {
         return getSubSequence(groups[group * 2], groups[group * 2 + 1]).toString();
     }
 
+    /**
+     * Copies the input subsequence captured by the given group during the
+     * previous match operation into a character array.
+     *
+     * <p> For a matcher <i>m</i> and input sequence <i>s</i> that is a
+     * string, the invocation <i>m.</i><tt>getGroupChars(</tt><i>g</i><tt>,</tt>
+     * <i>dst</i><tt>,</tt> <i>dstBegin</i><tt>)</tt> copies the same
+     * characters as <i>s.</i><tt>getChars(</tt><i>m.</i><tt>start(</tt><i>g</i><tt>),</tt>
+     * <i>m.</i><tt>end(</tt><i>g</i><tt>),</tt> <i>dst</i><tt>,</tt>
+     * <i>dstBegin</i><tt>)</tt>, without creating a string as {@link
+     * #group(int) group} does.  </p>
+     *
+     * @param  group
+     *         The index of a capturing group in this matcher's pattern
+     *
+     * @param  dst
+     *         The destination array
+     *
+     * @param  dstBegin
+     *         The start offset in the destination array
+     *
+     * @return  The number of characters copied, or <tt>-1</tt> if the
+     *          group failed to match part of the input
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If there is no capturing group in the pattern
+     *          with the given index, or if the characters do not fit
+     *          in the destination array from <tt>dstBegin</tt>
+     * @since 1.8
+     */
+    public int getGroupChars(int group, char[] dst, int dstBegin) {
+        int start = start(group);
+        int end = groups[group * 2 + 1];
+        if (start == -1 || end == -1)
+            return -1;
+        int len = end - start;
+        if (dstBegin < 0 || dstBegin > dst.length - len)
+            throw new IndexOutOfBoundsException("dstBegin " + dstBegin);
+        if (text instanceof String) {
+            ((String)text).getChars(start, end, dst, dstBegin);
+        } else if (text instanceof StringBuilder) {
+            ((StringBuilder)text).getChars(start, end, dst, dstBegin);
+        } else if (text instanceof StringBuffer) {
+            ((StringBuffer)text).getChars(start, end, dst, dstBegin);
+        } else {
+            for (int i = start; i < end; i++)
+                dst[dstBegin++] = text.charAt(i);
+        }
+        return len;
+    }
+
+    /**
+     * Appends the input subsequence captured by the given group during the
+     * previous match operation to a string builder.
+     *
+     * <p> Nothing is appended if the group failed to match part of the
+     * input.  Unlike <tt>sb.append(</tt><i>m.</i><tt>group(</tt><i>g</i><tt>))</tt>,
+     * this method does not create an intermediate string.  </p>
+     *
+     * @param  sb
+     *         The target string builder
+     *
+     * @param  group
+     *         The index of a capturing group in this matcher's pattern
+     *
+     * @return  The target string builder
+     *
+     * @throws  IllegalStateException
+     *          If no match has yet been attempted,
+     *          or if the previous match operation failed
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If there is no capturing group in the pattern
+     *          with the given index
+     * @since 1.8
+     */
+    public StringBuilder appendGroup(StringBuilder sb, int group) {
+        int start = start(group);
+        int end = groups[group * 2 + 1];
+        if (start != -1 && end != -1)
+            sb.append(text, start, end);
+        return sb;
+    }
+
     /**
      * Returns the number of capturing groups in this matcher's pattern.
      *
@@ -1245,7 +1349,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = NOANCHOR;
-        boolean result = parentPattern.root.match(this, from, text);
+        boolean result = (parentPattern.linearProgram != null)
+            ? parentPattern.linearProgram.match(this, from, true)
+            : parentPattern.root.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
@@ -1267,7 +1373,9 @@ public final class Matcher implements MatchResult {
         for (int i = 0; i < groups.length; i++)
             groups[i] = -1;
         acceptMode = anchor;
-        boolean result = parentPattern.matchRoot.match(this, from, text);
+        boolean result = (parentPattern.linearProgram != null)
+            ? parentPattern.linearProgram.match(this, from, false)
+            : parentPattern.matchRoot.match(this, from, text);
         if (!result)
             this.first = -1;
         this.oldLast = this.last;
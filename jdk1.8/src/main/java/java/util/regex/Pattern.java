@@ -917,6 +917,33 @@ public final class Pattern
      */
     public static final int UNICODE_CHARACTER_CLASS = 0x100;
 
+    /**
+     * Enables linear-time matching.
+     *
+     * <p> When this flag is specified the alternatives of the pattern are
+     * followed in parallel rather than by backtracking, so that the time
+     * taken by a match operation grows linearly with the length of the
+     * input however the expression is written.  The matches found are
+     * the same as without the flag.  A capturing group that is repeated
+     * always reports its value from the last iteration that is part of
+     * the match, where the backtracking matcher may in some cases report
+     * a value left over from an iteration it abandoned.
+     *
+     * <p> Back references, look-ahead and look-behind, possessive
+     * quantifiers and independent groups cannot be matched in this
+     * mode, and a pattern containing any of them is rejected with a
+     * {@link PatternSyntaxException}, as is a pattern whose bounded
+     * repetitions are too large to be expanded.
+     *
+     * <p> There is no embedded flag character for enabling linear-time
+     * matching.
+     *
+     * <p> Specifying this flag may impose a performance penalty on
+     * patterns that do not backtrack much.  </p>
+     * @since 1.8
+     */
+    public static final int LINEAR_TIME = 0x200;
+
     /* Pattern has only two serialized components: The pattern string
      * and the flags, which are all that is needed to recompile the pattern
      * when it is deserialized.
@@ -963,6 +990,12 @@ public final class Pattern
      */
     transient Node matchRoot;
 
+    /**
+     * The program that replaces the object tree for matching when the
+     * pattern is compiled with the LINEAR_TIME flag, otherwise null.
+     */
+    transient LinearProgram linearProgram;
+
     /**
      * Temporary storage used by parsing pattern slice.
      */
@@ -1039,8 +1072,8 @@ public final class Pattern
      *         Match flags, a bit mask that may include
      *         {@link #CASE_INSENSITIVE}, {@link #MULTILINE}, {@link #DOTALL},
      *         {@link #UNICODE_CASE}, {@link #CANON_EQ}, {@link #UNIX_LINES},
-     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS}
-     *         and {@link #COMMENTS}
+     *         {@link #LITERAL}, {@link #UNICODE_CHARACTER_CLASS},
+     *         {@link #LINEAR_TIME} and {@link #COMMENTS}
      *
      * @return the given regular expression compiled into a pattern with the given flags
      * @throws  IllegalArgumentException
@@ -1708,14 +1741,17 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         if (matchRoot instanceof Slice) {
             root = BnM.optimize(matchRoot);
             if (root == matchRoot) {
-                root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
+                root = newStart(matchRoot);
             }
         } else if (matchRoot instanceof Begin || matchRoot instanceof First) {
             root = matchRoot;
         } else {
-            root = hasSupplementary ? new StartS(matchRoot) : new Start(matchRoot);
+            root = newStart(matchRoot);
         }
 
+        if (has(LINEAR_TIME))
+            linearProgram = new LinearProgram(this);
+
         // Release temporary storage
         temp = null;
         buffer = null;
@@ -1724,12 +1760,90 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         compiled = true;
     }
 
+    /**
+     * Creates the node trying the match at each position of the input,
+     * looking for a slice of literal characters every match must consume
+     * to skip the positions no match can start at.
+     */
+    private Start newStart(Node node) {
+        if (hasSupplementary)
+            return new StartS(node);
+        Slice required = null;
+        // Follow the nodes every match goes through, in sequence. The
+        // alternations and repetitions of groups are stepped over, and
+        // the walk stops at nodes that may not continue with their next
+        // node, such as lookarounds and references.
+        for (Node n = node; n != null; ) {
+            if (n instanceof Slice) {
+                Slice slice = (Slice)n;
+                if (required == null ||
+                    slice.buffer.length > required.buffer.length)
+                    required = slice;
+                n = n.next;
+            } else if (n instanceof Branch) {
+                n = ((Branch)n).conn.next;
+            } else if (n instanceof Prolog) {
+                n = ((Prolog)n).loop.next;
+            } else if (n instanceof SliceNode ||
+                       n instanceof CharProperty ||
+                       n instanceof Curly ||
+                       n instanceof GroupCurly ||
+                       n instanceof Ques ||
+                       n instanceof GroupHead ||
+                       n instanceof GroupTail ||
+                       n instanceof Caret ||
+                       n instanceof UnixCaret ||
+                       n instanceof Dollar ||
+                       n instanceof UnixDollar ||
+                       n instanceof Bound) {
+                n = n.next;
+            } else {
+                break;
+            }
+        }
+        return required == null ? new Start(node)
+                                : new StartL(node, required);
+    }
+
     Map<String, Integer> namedGroups() {
         if (namedGroups == null)
             namedGroups = new HashMap<>(2);
         return namedGroups;
     }
 
+    /**
+     * Returns the only string this pattern matches if it is a non-empty
+     * literal, one case sensitive character or slice of characters with
+     * no surrogate left unpaired, and null otherwise.
+     */
+    String literal() {
+        Node node = matchRoot;
+        if (node == null || node.next != lastAccept)
+            return null;
+        String s;
+        if (node instanceof Slice || node instanceof SliceS) {
+            int[] buf = ((SliceNode)node).buffer;
+            s = new String(buf, 0, buf.length);
+        } else if (node instanceof Single) {
+            s = String.valueOf((char)((Single)node).c);
+        } else if (node instanceof SingleS) {
+            s = new String(new int[] { ((SingleS)node).c }, 0, 1);
+        } else {
+            return null;
+        }
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (Character.isHighSurrogate(c)
+                && i + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return null;
+            }
+        }
+        return s;
+    }
+
     /**
      * Used to print out a subtree of the Pattern to help with debugging.
      */
@@ -3513,6 +3627,148 @@ loop:   for(int x=0, offset=0; x<nCodePoints; x++, offset+=len) {
         }
     }
 
+    /**
+     * StartL is used for BMP-only REs which contain a slice of literal
+     * characters that every match must consume. The slice is looked for
+     * first, and the match is tried only at the positions its occurrence
+     * may be reached from.
+     */
+    static final class StartL extends Start {
+        final String literal;
+        final char[] chars;
+        // Bounds of the distance between the start of a match and the
+        // slice, maxOffset is -1 if there is no bound
+        final int minOffset;
+        final int maxOffset;
+        StartL(Node node, Slice slice) {
+            super(node);
+            int[] buf = slice.buffer;
+            chars = new char[buf.length];
+            for (int j = 0; j < buf.length; j++)
+                chars[j] = (char)buf[j];
+            literal = new String(chars);
+            // Study the nodes up to the slice only
+            Node tail = slice.next;
+            slice.next = accept;
+            TreeInfo info = new TreeInfo();
+            node.study(info);
+            slice.next = tail;
+            // The study stops at group repetitions, leaving the minimum
+            // short of the slice. Its maximum is not used: the sums of
+            // unbounded repetitions may overflow to small values.
+            minOffset = Math.max(info.minLength - buf.length, 0);
+            long max = maxLength(node, slice);
+            maxOffset = max < minOffset ? -1 : (int)max;
+        }
+        /**
+         * Returns the maximum number of chars matched by the nodes from
+         * node up to end, the end of the sequence or a BranchConn, or -1
+         * if there is no bound or it does not fit in an int. A character
+         * class counts for two chars, as it may match a surrogate pair.
+         */
+        static long maxLength(Node node, Node end) {
+            long max = 0;
+            Node n = node;
+            while (n != end && n != null && n != accept &&
+                   !(n instanceof BranchConn)) {
+                if (n instanceof SliceNode) {
+                    max += ((SliceNode)n).buffer.length;
+                } else if (n instanceof CharProperty) {
+                    max += 2;
+                } else if (n instanceof Curly || n instanceof GroupCurly) {
+                    Node atom;
+                    int cmax;
+                    if (n instanceof Curly) {
+                        atom = ((Curly)n).atom;
+                        cmax = ((Curly)n).cmax;
+                    } else {
+                        atom = ((GroupCurly)n).atom;
+                        cmax = ((GroupCurly)n).cmax;
+                    }
+                    if (cmax == MAX_REPS)
+                        return -1;
+                    long m = maxLength(atom, null);
+                    if (m < 0)
+                        return -1;
+                    max += m * cmax;
+                } else if (n instanceof Ques) {
+                    long m = maxLength(((Ques)n).atom, null);
+                    if (m < 0)
+                        return -1;
+                    max += m;
+                } else if (n instanceof Branch) {
+                    Branch b = (Branch)n;
+                    long m = 0;
+                    for (int k = 0; k < b.size; k++) {
+                        if (b.atoms[k] == null)
+                            continue;
+                        long a = maxLength(b.atoms[k], null);
+                        if (a < 0)
+                            return -1;
+                        m = Math.max(m, a);
+                    }
+                    max += m;
+                    n = b.conn;
+                } else if (!(n instanceof GroupHead ||
+                             n instanceof GroupTail ||
+                             n instanceof Caret ||
+                             n instanceof UnixCaret ||
+                             n instanceof Dollar ||
+                             n instanceof UnixDollar ||
+                             n instanceof Bound)) {
+                    return -1;
+                }
+                if (max > Integer.MAX_VALUE)
+                    return -1;
+                n = n.next;
+            }
+            return max;
+        }
+        boolean match(Matcher matcher, int i, CharSequence seq) {
+            int guard = matcher.to - minLength;
+            while (i <= guard) {
+                int at = indexOf(seq, i + minOffset, matcher.to);
+                if (at < 0)
+                    break;
+                if (maxOffset >= 0 && i < at - maxOffset)
+                    i = at - maxOffset;
+                int last = Math.min(at - minOffset, guard);
+                for (; i <= last; i++) {
+                    if (next.match(matcher, i, seq)) {
+                        matcher.first = i;
+                        matcher.groups[0] = matcher.first;
+                        matcher.groups[1] = matcher.last;
+                        return true;
+                    }
+                }
+            }
+            matcher.hitEnd = true;
+            return false;
+        }
+        /**
+         * Returns the index of the first occurrence of the slice in seq
+         * between from and to, or -1.
+         */
+        private int indexOf(CharSequence seq, int from, int to) {
+            int max = to - chars.length;
+            if (from > max)
+                return -1;
+            if (seq instanceof String && to == seq.length())
+                return ((String)seq).indexOf(literal, from);
+            char first = chars[0];
+            for (int j = from; j <= max; j++) {
+                if (seq.charAt(j) != first)
+                    continue;
+                int k = 1;
+                while (k < chars.length && seq.charAt(j + k) == chars[k])
+                    k++;
+                if (k == chars.length)
+                    return j;
+            }
+            return -1;
+        }
+    }
+
     /**
      * Node to anchor at the beginning of input. This object implements the
      * match for a \A sequence, and the caret anchor will use this if not in
@@ -5537,6 +5793,808 @@ NEXT:       while (i <= last) {
         }
     }
 
+    /**
+     * A flat program equivalent to the node tree, executed by simulating
+     * all of its threads in lock step instead of by backtracking. It is
+     * used in place of the tree when the pattern is compiled with the
+     * {@link #LINEAR_TIME} flag.
+     * <p>
+     * The program is a Thompson construction of the tree: every node that
+     * consumes input becomes one instruction reusing the node's character
+     * test, alternations and quantifiers become forks and jumps, group
+     * boundaries become capture saves and anchors are evaluated by probe
+     * copies of their nodes. At each input position the live threads are
+     * held in priority order and each instruction holds at most one thread
+     * per state (see width), so the work per position is bounded by the
+     * size of the program. The order of the forks is that of the
+     * alternatives the backtracking matcher would try, which gives the same
+     * leftmost-first match and the same group captures.
+     * <p>
+     * The program of a {@link PatternSet} holds the translations of all
+     * of its patterns one after the other, each with its own entry point
+     * and its own MATCH instruction.
+     * <p>
+     * Every thread consumes the same number of chars from a given
+     * position: properties that test a code point consume a whole
+     * surrogate pair, and no BMP-only test accepts a surrogate. The
+     * only mixed case, the {@code \r\n} of a {@code \R}, is split into
+     * two instructions. This is what lets the priority order survive the
+     * step from one position to the next.
+     */
+    static final class LinearProgram {
+        // Instructions. x, y and aux hold the operands.
+        static final int MATCH    = 0;  // accept pattern x
+        static final int PROP     = 1;  // CharProperty aux on a code point
+        static final int BMP_PROP = 2;  // BmpCharProperty aux on a char
+        static final int CHAR     = 3;  // char x
+        static final int CHAR_I   = 4;  // char x, ASCII case folded
+        static final int CHAR_U   = 5;  // char x, Unicode case folded
+        static final int CP       = 6;  // code point x
+        static final int CP_I     = 7;  // code point x, ASCII case folded
+        static final int CP_U     = 8;  // code point x, Unicode case folded
+        static final int LINE_END = 9;  // first char of \R
+        static final int OPT_LF   = 10; // the \n following the \r of \R
+        static final int SPLIT    = 11; // continue at x, then at y
+        static final int JUMP     = 12; // continue at x
+        static final int SAVE     = 13; // capture slot x := position
+        static final int HEAD     = 14; // group head of local x
+        static final int NOP      = 15;
+        static final int ASSERT   = 16; // zero width node aux
+        static final int EMPTY    = 17; // to x if position is in slot y
+
+        /**
+         * Upper bound on the number of instructions, which is what the
+         * expansion of counted repetitions may produce.
+         */
+        static final int MAX_LENGTH = 1 << 16;
+
+        /**
+         * The continuation of the probe copies of zero width nodes.
+         */
+        private static final Node PASS = new Node() {
+            boolean match(Matcher matcher, int i, CharSequence seq) {
+                return true;
+            }
+        };
+
+        int[] op = new int[16];
+        int[] x = new int[16];
+        int[] y = new int[16];
+        Object[] aux = new Object[16];
+        int length;
+
+        /**
+         * The innermost Loop around each instruction, by the slot holding
+         * its iteration start, or -1.
+         */
+        int[] loop = new int[16];
+
+        /** The Loop around each Loop by slot, or -1. */
+        int[] outer = new int[16];
+
+        /** The pattern each instruction belongs to. */
+        int[] owner = new int[16];
+
+        /**
+         * Number of distinct states of an instruction, one more than the
+         * deepest nesting of Loops. Threads at the same instruction are
+         * told apart by how many of the Loops around it started their
+         * iteration at the current position, since only those can still
+         * end an iteration that matched the empty string.
+         */
+        int width = 1;
+
+        /** The Loop being translated and its nesting depth. */
+        private int currentLoop = -1;
+        private int depth;
+
+        /**
+         * Number of slots of a thread: two capture slots per group,
+         * including group 0, then the start of the current iteration of
+         * each Loop.
+         */
+        int slots;
+
+        /** Number of capture slots, for the pattern with most groups. */
+        final int groupSlots;
+
+        /** The entry point of each pattern. */
+        final int[] starts;
+
+        /** If the pattern can only match at the start of the region. */
+        final boolean[] anchored;
+
+        /** If a search should only start at code point boundaries. */
+        final boolean[] supplementary;
+
+        /** The minimum length of a match, as for Start. */
+        final int[] minLengths;
+
+        /** The pattern being translated; cleared once done. */
+        private Pattern source;
+
+        /** Group index by local index of the group tails seen. */
+        private int[] tailGroups;
+
+        /** Slot of the Loops seen by their begin index, or 0. */
+        private int[] loopSlots;
+
+        LinearProgram(Pattern p) {
+            this(new Pattern[] { p });
+        }
+
+        LinearProgram(Pattern[] patterns) {
+            int n = patterns.length;
+            starts = new int[n];
+            anchored = new boolean[n];
+            supplementary = new boolean[n];
+            minLengths = new int[n];
+            int groups = 1;
+            for (Pattern p : patterns)
+                groups = Math.max(groups, p.capturingGroupCount);
+            groupSlots = slots = groups * 2;
+
+            for (int k = 0; k < n; k++) {
+                Pattern p = source = patterns[k];
+                anchored[k] = p.matchRoot instanceof Begin;
+                supplementary[k] = p.hasSupplementary;
+                TreeInfo info = new TreeInfo();
+                p.matchRoot.study(info);
+                minLengths[k] = info.minLength;
+                tailGroups = new int[p.localCount];
+                loopSlots = new int[p.localCount];
+
+                int start = starts[k] = emit(SAVE, 0, 0, null);
+                chain(p.matchRoot, null);
+                for (int pc = start; pc < length; pc++) {
+                    owner[pc] = k;
+                    if (op[pc] == HEAD) {
+                        int group = tailGroups[x[pc]];
+                        op[pc] = group != 0 ? SAVE : NOP;
+                        x[pc] = group;
+                    } else if (op[pc] == MATCH) {
+                        x[pc] = k;
+                    }
+                }
+            }
+            source = null;
+            tailGroups = null;
+            loopSlots = null;
+        }
+
+        private int emit(int code, int a, int b, Object o) {
+            if (length == op.length) {
+                if (length >= MAX_LENGTH)
+                    throw source.error(
+                        "Pattern is too large for linear-time matching");
+                int n = length * 2;
+                op = Arrays.copyOf(op, n);
+                x = Arrays.copyOf(x, n);
+                y = Arrays.copyOf(y, n);
+                aux = Arrays.copyOf(aux, n);
+                loop = Arrays.copyOf(loop, n);
+                owner = Arrays.copyOf(owner, n);
+            }
+            loop[length] = currentLoop;
+            op[length] = code;
+            x[length] = a;
+            y[length] = b;
+            aux[length] = o;
+            return length++;
+        }
+
+        /**
+         * Translates the nodes from node up to, but excluding, end.
+         */
+        private void chain(Node node, Node end) {
+            for (; node != end; node = node.next) {
+                if (node instanceof LastNode || node == accept) {
+                    emit(MATCH, 0, 0, null);
+                    return;
+                } else if (node instanceof CharProperty) {
+                    emit(node instanceof BmpCharProperty ? BMP_PROP : PROP,
+                         0, 0, node);
+                } else if (node instanceof SliceNode) {
+                    int code;
+                    if (node instanceof Slice)
+                        code = CHAR;
+                    else if (node instanceof SliceI)
+                        code = CHAR_I;
+                    else if (node instanceof SliceU)
+                        code = CHAR_U;
+                    else if (node instanceof SliceUS)
+                        code = CP_U;
+                    else if (node instanceof SliceIS)
+                        code = CP_I;
+                    else
+                        code = CP;
+                    for (int c : ((SliceNode)node).buffer)
+                        emit(code, c, 0, null);
+                } else if (node instanceof Branch) {
+                    Branch branch = (Branch)node;
+                    int jumps = -1;
+                    for (int n = 0; n < branch.size; n++) {
+                        int split = -1;
+                        if (n < branch.size - 1)
+                            split = emit(SPLIT, length + 1, 0, null);
+                        if (branch.atoms[n] != null)
+                            chain(branch.atoms[n], branch.conn);
+                        if (n < branch.size - 1)
+                            jumps = emit(JUMP, jumps, 0, null);
+                        if (split >= 0)
+                            y[split] = length;
+                    }
+                    // The jumps are linked through their targets
+                    while (jumps >= 0) {
+                        int prev = x[jumps];
+                        x[jumps] = length;
+                        jumps = prev;
+                    }
+                    node = branch.conn;
+                } else if (node instanceof BranchConn) {
+                    // Nothing to do, the alternatives joined here
+                } else if (node instanceof Ques) {
+                    Ques ques = (Ques)node;
+                    repeat(ques.atom, accept, 0, -1, 0, 1, ques.type);
+                } else if (node instanceof Curly) {
+                    Curly curly = (Curly)node;
+                    repeat(curly.atom, accept, 0, -1,
+                           curly.cmin, curly.cmax, curly.type);
+                } else if (node instanceof GroupCurly) {
+                    GroupCurly gc = (GroupCurly)node;
+                    repeat(gc.atom, tailOf(gc.atom, gc.localIndex),
+                           gc.capture ? gc.groupIndex : 0, -1,
+                           gc.cmin, gc.cmax, gc.type);
+                } else if (node instanceof Prolog) {
+                    // Like the Loop, leave as soon as an iteration matches
+                    // the empty string, which needs the iteration start
+                    Loop loop = ((Prolog)node).loop;
+                    int slot = loopSlots[loop.beginIndex];
+                    if (slot == 0) {
+                        slot = loopSlots[loop.beginIndex] = slots++;
+                        if (slot >= outer.length)
+                            outer = Arrays.copyOf(outer,
+                                Math.max(slot + 1, outer.length << 1));
+                    }
+                    outer[slot] = currentLoop;
+                    currentLoop = slot;
+                    width = Math.max(width, ++depth + 1);
+                    repeat(loop.body, loop, 0, slot, loop.cmin, loop.cmax,
+                           loop instanceof LazyLoop ? LAZY : GREEDY);
+                    currentLoop = outer[slot];
+                    depth--;
+                    node = loop;
+                } else if (node instanceof GroupHead) {
+                    emit(HEAD, ((GroupHead)node).localIndex, 0, null);
+                } else if (node instanceof GroupTail) {
+                    GroupTail tail = (GroupTail)node;
+                    tailGroups[tail.localIndex] = tail.groupIndex;
+                    if (tail.groupIndex != 0)
+                        emit(SAVE, tail.groupIndex + 1, 0, null);
+                } else if (node instanceof LineEnding) {
+                    emit(LINE_END, 0, 0, null);
+                    emit(OPT_LF, 0, 0, null);
+                } else {
+                    Node probe = probe(node);
+                    if (probe == null)
+                        throw unsupported(node);
+                    emit(ASSERT, 0, 0, probe);
+                }
+            }
+        }
+
+        /**
+         * Translates a quantified atom. The body is the nodes from atom up
+         * to end, enclosed in saves of the capture slots from group on if
+         * group is not 0. If slot is not -1 the start of each iteration is
+         * kept there and an iteration matching the empty string exits.
+         */
+        private void repeat(Node atom, Node end, int group, int slot,
+                            int cmin, int cmax, int type)
+        {
+            if (type != GREEDY && type != LAZY)
+                throw source.error("Possessive quantifiers and independent" +
+                                   " groups are not supported in" +
+                                   " linear-time matching");
+            // The splits and jumps between iterations come before the
+            // start of an iteration is saved, so they belong to the Loop
+            // around this one: the slot still holds an earlier start
+            int around = slot >= 0 ? outer[slot] : currentLoop;
+            // The exits and the optional iterations are linked through x
+            // and y until their common target is known
+            int exits = -1;
+            for (int n = 0; n < cmin; n++)
+                exits = body(atom, end, group, slot, exits);
+            if (cmax == MAX_REPS) {
+                int split = emit(SPLIT, 0, 0, null);
+                loop[split] = around;
+                exits = body(atom, end, group, slot, exits);
+                int jump = emit(JUMP, split, 0, null);
+                loop[jump] = around;
+                fork(split, type);
+            } else {
+                int splits = -1;
+                for (int n = cmin; n < cmax; n++) {
+                    splits = emit(SPLIT, 0, splits, null);
+                    loop[splits] = around;
+                    exits = body(atom, end, group, slot, exits);
+                }
+                while (splits >= 0) {
+                    int prev = y[splits];
+                    fork(splits, type);
+                    splits = prev;
+                }
+            }
+            while (exits >= 0) {
+                int prev = x[exits];
+                x[exits] = length;
+                exits = prev;
+            }
+        }
+
+        private int body(Node atom, Node end, int group, int slot,
+                         int exits)
+        {
+            if (slot >= 0) {
+                int save = emit(SAVE, slot, 0, null);
+                loop[save] = outer[slot];
+            }
+            if (group != 0)
+                emit(SAVE, group, 0, null);
+            chain(atom, end);
+            if (group != 0)
+                emit(SAVE, group + 1, 0, null);
+            if (slot >= 0)
+                exits = emit(EMPTY, exits, slot, null);
+            return exits;
+        }
+
+        /**
+         * Points the split at pc to its body and to the current end of
+         * the program, in the order given by the quantifier type.
+         */
+        private void fork(int pc, int type) {
+            if (type == GREEDY) {
+                x[pc] = pc + 1;
+                y[pc] = length;
+            } else {
+                x[pc] = length;
+                y[pc] = pc + 1;
+            }
+        }
+
+        /**
+         * Returns the group tail that ends the atom of a GroupCurly.
+         */
+        private Node tailOf(Node node, int localIndex) {
+            while (!(node instanceof GroupTail) ||
+                   ((GroupTail)node).localIndex != localIndex) {
+                if (node instanceof Branch)
+                    node = ((Branch)node).conn;
+                else if (node instanceof Prolog)
+                    node = ((Prolog)node).loop;
+                node = node.next;
+                if (node == null || node == accept)
+                    throw unsupported(node);
+            }
+            return node;
+        }
+
+        /**
+         * Returns a copy of a zero width node that succeeds without going
+         * on to the rest of the pattern, or null if node is not one of
+         * the anchors supported.
+         */
+        private static Node probe(Node node) {
+            Node probe;
+            if (node instanceof Begin)
+                probe = new Begin();
+            else if (node instanceof End)
+                probe = new End();
+            else if (node instanceof Caret)
+                probe = new Caret();
+            else if (node instanceof UnixCaret)
+                probe = new UnixCaret();
+            else if (node instanceof LastMatch)
+                probe = new LastMatch();
+            else if (node instanceof Dollar)
+                probe = new Dollar(((Dollar)node).multiline);
+            else if (node instanceof UnixDollar)
+                probe = new UnixDollar(((UnixDollar)node).multiline);
+            else if (node instanceof Bound)
+                probe = new Bound(((Bound)node).type, ((Bound)node).useUWORD);
+            else
+                return null;
+            probe.next = PASS;
+            return probe;
+        }
+
+        private PatternSyntaxException unsupported(Node node) {
+            if (node instanceof BackRef || node instanceof CIBackRef)
+                return source.error("Back references are not supported in" +
+                                    " linear-time matching");
+            if (node instanceof Pos || node instanceof Neg ||
+                node instanceof Behind || node instanceof NotBehind)
+                return source.error("Look-around is not supported in" +
+                                    " linear-time matching");
+            return source.error("Construct not supported in linear-time" +
+                                " matching");
+        }
+
+        /**
+         * The thread lists of one matcher. There is a list for each of the
+         * positions i, i+1 and i+2, used as a ring, since no instruction
+         * consumes more than two chars.
+         */
+        static final class State {
+            final LinearProgram program;
+            final int[][] pcs = new int[3][];
+            final int[][] keys = new int[3][];
+            final int[][] sparse = new int[3][];
+            final int[][] caps = new int[3][];
+            final int[] sizes = new int[3];
+            final boolean[] matched = new boolean[3];
+            final int[] work;
+            final int[] none;
+            final int[] found;
+            final int[] stack;
+            final boolean[] done;
+            final int[] cut;
+
+            State(LinearProgram program) {
+                this.program = program;
+                int states = program.length * program.width;
+                int slots = program.slots;
+                for (int n = 0; n < 3; n++) {
+                    pcs[n] = new int[states];
+                    keys[n] = new int[states];
+                    sparse[n] = new int[states];
+                    caps[n] = new int[states * slots];
+                }
+                work = new int[slots];
+                none = new int[slots];
+                Arrays.fill(none, -1);
+                found = new int[slots];
+                // Each state is entered once per list and pushes at most
+                // two entries of two ints
+                stack = new int[4 * states + 4];
+                done = new boolean[program.starts.length];
+                cut = new int[program.starts.length];
+            }
+        }
+
+        /**
+         * Matches the program against the region of the matcher, from the
+         * given index. If search is true, a match may start anywhere after
+         * from, as with the Start node; otherwise it must start at from.
+         */
+        boolean match(Matcher matcher, int from, boolean search) {
+            State state = matcher.linearState;
+            if (state == null || state.program != this)
+                matcher.linearState = state = new State(this);
+            CharSequence seq = matcher.text;
+            int to = matcher.to;
+            boolean unanchored = search && !anchored[0];
+            int guard = from;
+            if (unanchored) {
+                guard = to - minLengths[0];
+                if (from > guard) {
+                    matcher.hitEnd = true;
+                    return false;
+                }
+            }
+
+            int[] sizes = state.sizes;
+            sizes[0] = sizes[1] = sizes[2] = 0;
+            state.matched[0] = state.matched[1] = state.matched[2] = false;
+            boolean matched = false;
+            int end = -1;
+            int seed = from;
+            for (int i = from, cur = 0; ; i++, cur = (cur == 2) ? 0 : cur + 1) {
+                if (!matched && i == seed && i <= guard) {
+                    // A new start has the lowest priority of all threads
+                    add(state, cur, 0, state.none, 0, i, matcher);
+                    seed++;
+                    if (supplementary[0] && i < seq.length() - 1
+                        && Character.isHighSurrogate(seq.charAt(i))
+                        && Character.isLowSurrogate(seq.charAt(i + 1)))
+                        seed++;
+                }
+                int size = sizes[cur];
+                if (size == 0) {
+                    if (sizes[0] + sizes[1] + sizes[2] == 0
+                        && (matched || i >= guard))
+                        break;
+                    continue;
+                }
+                int[] list = state.pcs[cur];
+                int[] rows = state.caps[cur];
+                for (int k = 0; k < size; k++) {
+                    int pc = list[k];
+                    if (op[pc] == MATCH) {
+                        if (matcher.acceptMode == Matcher.ENDANCHOR && i != to)
+                            continue;
+                        System.arraycopy(rows, k * slots, state.found, 0, slots);
+                        end = i;
+                        matched = true;
+                        // Threads after this one have lower priority
+                        break;
+                    }
+                    int len = consume(pc, i, matcher);
+                    if (len > 0)
+                        add(state, (cur + len) % 3, pc + 1, rows, k * slots,
+                            i + len, matcher);
+                }
+                sizes[cur] = 0;
+                state.matched[cur] = false;
+            }
+            if (!matched) {
+                if (unanchored)
+                    matcher.hitEnd = true;
+                return false;
+            }
+            int[] found = state.found;
+            int[] groups = matcher.groups;
+            matcher.first = found[0];
+            matcher.last = end;
+            groups[0] = found[0];
+            groups[1] = end;
+            System.arraycopy(found, 2, groups, 2, groupSlots - 2);
+            return true;
+        }
+
+        /**
+         * Runs the program of a PatternSet over the region of the matcher.
+         * For each pattern that finds a match the groups of the match are
+         * stored in found, from the pattern index times groupSlots, with
+         * the end of the match in place of the end of group 0. If exact
+         * is false the first match completed by a pattern ends its search,
+         * which is all it takes to know that it matches; otherwise the
+         * match stored is the one a search for the pattern alone finds.
+         * Returns the number of patterns that match.
+         */
+        int matchSet(Matcher matcher, State state, int[] found,
+                     boolean exact)
+        {
+            CharSequence seq = matcher.text;
+            int from = matcher.from;
+            int to = matcher.to;
+            int n = starts.length;
+            boolean[] done = state.done;
+            int[] cut = state.cut;
+            Arrays.fill(done, false);
+            Arrays.fill(cut, -1);
+            int[] sizes = state.sizes;
+            sizes[0] = sizes[1] = sizes[2] = 0;
+            state.matched[0] = state.matched[1] = state.matched[2] = false;
+            int remaining = n;
+            for (int i = from, cur = 0; ; i++, cur = (cur == 2) ? 0 : cur + 1) {
+                if (remaining > 0 && i <= to) {
+                    // As StartS, do not start in the middle of a pair
+                    boolean boundary = i == from || i == to
+                        || !Character.isHighSurrogate(seq.charAt(i - 1))
+                        || !Character.isLowSurrogate(seq.charAt(i));
+                    for (int k = 0; k < n; k++) {
+                        if (done[k]
+                            || (anchored[k] ? i != from
+                                : i > to - minLengths[k]
+                                  || supplementary[k] && !boundary))
+                            continue;
+                        add(state, cur, starts[k], state.none, 0, i, matcher);
+                    }
+                }
+                int size = sizes[cur];
+                if (size == 0) {
+                    if (sizes[0] + sizes[1] + sizes[2] == 0
+                        && (remaining == 0 || i >= to))
+                        break;
+                    continue;
+                }
+                int[] list = state.pcs[cur];
+                int[] rows = state.caps[cur];
+                for (int k = 0; k < size; k++) {
+                    int pc = list[k];
+                    int p = owner[pc];
+                    if (exact ? cut[p] == i : done[p])
+                        continue;
+                    if (op[pc] == MATCH) {
+                        int base = p * groupSlots;
+                        System.arraycopy(rows, k * slots, found, base,
+                                         groupSlots);
+                        found[base + 1] = i;
+                        if (!done[p]) {
+                            done[p] = true;
+                            remaining--;
+                        }
+                        // The threads of p after this one have lower
+                        // priority, those still ahead of it higher
+                        cut[p] = i;
+                        continue;
+                    }
+                    int len = consume(pc, i, matcher);
+                    if (len > 0)
+                        add(state, (cur + len) % 3, pc + 1, rows, k * slots,
+                            i + len, matcher);
+                }
+                sizes[cur] = 0;
+                state.matched[cur] = false;
+            }
+            return n - remaining;
+        }
+
+        /**
+         * Returns the number of chars consumed by the instruction at pc
+         * at position i, or 0 if it fails or does not consume input.
+         */
+        private int consume(int pc, int i, Matcher matcher) {
+            CharSequence seq = matcher.text;
+            int to = matcher.to;
+            switch (op[pc]) {
+            case PROP:
+            case CP:
+            case CP_I:
+            case CP_U:
+                if (i >= to) {
+                    matcher.hitEnd = true;
+                    return 0;
+                }
+                int c = Character.codePointAt(seq, i);
+                if (!test(pc, c))
+                    return 0;
+                int len = Character.charCount(c);
+                if (op[pc] != PROP && i + len > to) {
+                    matcher.hitEnd = true;
+                    return 0;
+                }
+                return len;
+            case BMP_PROP:
+            case CHAR:
+            case CHAR_I:
+            case CHAR_U:
+            case LINE_END:
+                if (i >= to) {
+                    matcher.hitEnd = true;
+                    return 0;
+                }
+                return test(pc, seq.charAt(i)) ? 1 : 0;
+            case OPT_LF:
+                return (i < to && seq.charAt(i) == '\n'
+                        && seq.charAt(i - 1) == '\r') ? 1 : 0;
+            default:
+                // Instructions that do not consume are only kept in the
+                // lists to be entered once per position
+                return 0;
+            }
+        }
+
+        private boolean test(int pc, int c) {
+            int lit = x[pc];
+            switch (op[pc]) {
+            case PROP:
+            case BMP_PROP:
+                return ((CharProperty)aux[pc]).isSatisfiedBy(c);
+            case CHAR:
+            case CP:
+                return c == lit;
+            case CHAR_I:
+            case CP_I:
+                return c == lit || ASCII.toLower(c) == lit;
+            case CHAR_U:
+            case CP_U:
+                return c == lit ||
+                    Character.toLowerCase(Character.toUpperCase(c)) == lit;
+            case LINE_END:
+                return c == 0x0A || c == 0x0B || c == 0x0C || c == 0x0D ||
+                    c == 0x85 || c == 0x2028 || c == 0x2029;
+            default:
+                return false;
+            }
+        }
+
+        /**
+         * Adds the thread at pc, with the captures in src from offset, to
+         * the list for position i, following the instructions that do not
+         * consume input in priority order.
+         */
+        private void add(State state, int li, int pc, int[] src, int offset,
+                         int i, Matcher matcher)
+        {
+            // Threads behind an accepting one are never run, and their
+            // anchors must not be evaluated either, as they would not
+            // have been by the backtracking matcher
+            if (state.matched[li])
+                return;
+            int[] work = state.work;
+            System.arraycopy(src, offset, work, 0, slots);
+            int[] list = state.pcs[li];
+            int[] keys = state.keys[li];
+            int[] sparse = state.sparse[li];
+            int[] rows = state.caps[li];
+            int size = state.sizes[li];
+            int[] stack = state.stack;
+            int top = 0;
+            stack[top++] = pc;
+            stack[top++] = 0;
+            while (top > 0) {
+                int value = stack[--top];
+                pc = stack[--top];
+                if (pc < 0) {
+                    // Restore a capture slot on the way back from a save
+                    work[~pc] = value;
+                    continue;
+                }
+                int k = 0;
+                for (int r = loop[pc]; r >= 0 && work[r] == i; r = outer[r])
+                    k++;
+                int key = pc * width + k;
+                int index = sparse[key];
+                if (index < size && keys[index] == key)
+                    continue;
+                sparse[key] = size;
+                keys[size] = key;
+                list[size] = pc;
+                int row = size++;
+                switch (op[pc]) {
+                case SPLIT:
+                    stack[top++] = y[pc];
+                    stack[top++] = 0;
+                    stack[top++] = x[pc];
+                    stack[top++] = 0;
+                    break;
+                case JUMP:
+                    stack[top++] = x[pc];
+                    stack[top++] = 0;
+                    break;
+                case EMPTY:
+                    stack[top++] = (work[y[pc]] == i) ? x[pc] : pc + 1;
+                    stack[top++] = 0;
+                    break;
+                case SAVE:
+                    stack[top++] = ~x[pc];
+                    stack[top++] = work[x[pc]];
+                    work[x[pc]] = i;
+                    stack[top++] = pc + 1;
+                    stack[top++] = 0;
+                    break;
+                case NOP:
+                    stack[top++] = pc + 1;
+                    stack[top++] = 0;
+                    break;
+                case ASSERT:
+                    if (((Node)aux[pc]).match(matcher, i, matcher.text)) {
+                        stack[top++] = pc + 1;
+                        stack[top++] = 0;
+                    }
+                    break;
+                case OPT_LF:
+                    CharSequence seq = matcher.text;
+                    if (seq.charAt(i - 1) != '\r' || i >= matcher.to
+                        || seq.charAt(i) != '\n') {
+                        stack[top++] = pc + 1;
+                        stack[top++] = 0;
+                        break;
+                    }
+                    System.arraycopy(work, 0, rows, row * slots, slots);
+                    break;
+                case MATCH:
+                    System.arraycopy(work, 0, rows, row * slots, slots);
+                    if (matcher.acceptMode != Matcher.ENDANCHOR
+                        || i == matcher.to) {
+                        // The other patterns of a set carry on
+                        if (starts.length == 1)
+                            state.matched[li] = true;
+                        top = 0;
+                    }
+                    break;
+                default:
+                    System.arraycopy(work, 0, rows, row * slots, slots);
+                    break;
+                }
+            }
+            state.sizes[li] = size;
+        }
+    }
+
 ///////////////////////////////////////////////////////////////////////////////
 ///////////////////////////////////////////////////////////////////////////////
 
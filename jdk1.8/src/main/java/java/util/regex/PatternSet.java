@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.regex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A compiled set of regular expressions, matched against an input
+ * sequence all at once.
+ *
+ * <p> The expressions of a set are numbered from zero in the order they
+ * are given to {@link #compile(Collection, int) compile}.  A set tells
+ * which of its expressions are found in an input sequence, and where, as
+ * calling {@link Matcher#find() find} on a matcher of each one in turn
+ * would, but it reads the input once whatever the number of expressions.
+ * A typical invocation sequence is thus
+ *
+ * <blockquote><pre>
+ * PatternSet set = PatternSet.compile("ERROR", "WARN(ING)?", "took (\\d+)ms");
+ * BitSet found = set.find(line);</pre></blockquote>
+ *
+ * <p> The expressions are compiled with the {@link Pattern#LINEAR_TIME}
+ * flag, so the time taken to match a set is linear in the length of the
+ * input and the expressions must not use the constructs that flag rules
+ * out.  When every expression of a set is a plain string of characters,
+ * the set is matched with the Aho-Corasick string matching algorithm
+ * instead, whose running time does not depend on the number of strings.
+ *
+ * <p> Instances of this class are immutable and are safe for use by
+ * multiple concurrent threads.
+ *
+ * @see Pattern
+ * @since 1.8
+ */
+public final class PatternSet {
+
+    /**
+     * The compiled expressions.
+     */
+    private final Pattern[] patterns;
+
+    /**
+     * The program running all the expressions, or null if they are
+     * matched by the literals automaton.
+     */
+    private final Pattern.LinearProgram program;
+
+    /**
+     * The automaton matching the expressions when they are all literal
+     * strings, or null.
+     */
+    private final Literals literals;
+
+    /**
+     * A thread list left over by the last match, so that a set used by one
+     * thread at a time does not allocate one per match.
+     */
+    private final AtomicReference<Pattern.LinearProgram.State> spare;
+
+    private PatternSet(Pattern[] patterns) {
+        this.patterns = patterns;
+        String[] strings = new String[patterns.length];
+        for (int k = 0; k < patterns.length; k++) {
+            if ((strings[k] = patterns[k].literal()) == null) {
+                strings = null;
+                break;
+            }
+        }
+        if (strings != null) {
+            literals = new Literals(strings);
+            program = null;
+            spare = null;
+        } else {
+            literals = null;
+            program = new Pattern.LinearProgram(patterns);
+            spare = new AtomicReference<>();
+        }
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of an expression is invalid, or it uses a
+     *          construct not supported by {@link Pattern#LINEAR_TIME}
+     */
+    public static PatternSet compile(String... regexes) {
+        return compile(Arrays.asList(regexes), 0);
+    }
+
+    /**
+     * Compiles the given regular expressions into a pattern set with the
+     * given flags.
+     *
+     * @param  regexes
+     *         The expressions to be compiled
+     *
+     * @param  flags
+     *         Match flags for all the expressions, as for {@link
+     *         Pattern#compile(String, int)}
+     *
+     * @return the given regular expressions compiled into a pattern set
+     *
+     * @throws  IllegalArgumentException
+     *          If bit values other than those corresponding to the defined
+     *          match flags are set in <tt>flags</tt>
+     *
+     * @throws  PatternSyntaxException
+     *          If the syntax of an expression is invalid, or it uses a
+     *          construct not supported by {@link Pattern#LINEAR_TIME}
+     */
+    public static PatternSet compile(Collection<String> regexes, int flags) {
+        Pattern[] patterns = new Pattern[regexes.size()];
+        int k = 0;
+        for (String regex : regexes)
+            patterns[k++] = Pattern.compile(regex, flags | Pattern.LINEAR_TIME);
+        return new PatternSet(patterns);
+    }
+
+    /**
+     * Returns the number of expressions in this set.
+     *
+     * @return  The number of expressions
+     */
+    public int size() {
+        return patterns.length;
+    }
+
+    /**
+     * Returns the compiled expression of the given index.
+     *
+     * @param  index
+     *         The index of the expression
+     *
+     * @return  The expression compiled as a pattern
+     *
+     * @throws  IndexOutOfBoundsException
+     *          If the index is negative or not less than {@link #size()}
+     */
+    public Pattern pattern(int index) {
+        return patterns[index];
+    }
+
+    /**
+     * Returns the indexes of the expressions of this set that are found
+     * in the input sequence.
+     *
+     * <p> An expression is found if a matcher of its pattern would find a
+     * match with {@link Matcher#find() find}.  As soon as an expression is
+     * found its search stops, and the search of the set stops when all of
+     * them are found.
+     *
+     * @param  input
+     *         The character sequence to be matched
+     *
+     * @return  The indexes of the expressions found
+     */
+    public BitSet find(CharSequence input) {
+        BitSet result = new BitSet(patterns.length);
+        if (patterns.length == 0)
+            return result;
+        if (literals != null) {
+            int[] found = literals.search(input);
+            for (int k = 0; k < found.length; k += 2) {
+                if (found[k] >= 0)
+                    result.set(k >> 1);
+            }
+            return result;
+        }
+        int slots = program.groupSlots;
+        int[] found = run(input, false);
+        for (int k = 0; k < patterns.length; k++) {
+            if (found[k * slots + 1] >= 0)
+                result.set(k);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first match in the input sequence of each expression of
+     * this set.
+     *
+     * <p> The match of an expression, with its groups, is the one a
+     * matcher of its pattern would find with {@link Matcher#find() find}.
+     * The results of the expressions that are not found are null.
+     *
+     * @param  input
+     *         The character sequence to be matched
+     *
+     * @return  The match of each expression, or null if it is not found
+     */
+    public MatchResult[] findFirst(CharSequence input) {
+        MatchResult[] result = new MatchResult[patterns.length];
+        if (patterns.length == 0)
+            return result;
+        String text = null;
+        if (literals != null) {
+            int[] found = literals.search(input);
+            for (int k = 0; k < found.length; k += 2) {
+                if (found[k] >= 0) {
+                    if (text == null)
+                        text = input.toString();
+                    result[k >> 1] = new Found(text,
+                        new int[] { found[k], found[k + 1] }, 0);
+                }
+            }
+            return result;
+        }
+        int slots = program.groupSlots;
+        int[] found = run(input, true);
+        for (int k = 0; k < patterns.length; k++) {
+            if (found[k * slots + 1] >= 0) {
+                if (text == null)
+                    text = input.toString();
+                int groupCount = patterns[k].capturingGroupCount - 1;
+                int[] groups = Arrays.copyOfRange(found, k * slots,
+                                                  k * slots + groupCount * 2 + 2);
+                result[k] = new Found(text, groups, groupCount);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Runs the program of the set over the input and returns the groups
+     * found for each pattern, see Pattern.LinearProgram.matchSet.
+     */
+    private int[] run(CharSequence input, boolean exact) {
+        int[] found = new int[patterns.length * program.groupSlots];
+        Arrays.fill(found, -1);
+        // The matcher only provides the region and the input to the
+        // program and to the anchors
+        Matcher matcher = new Matcher(patterns[0], input);
+        matcher.oldLast = 0;
+        Pattern.LinearProgram.State state = spare.getAndSet(null);
+        if (state == null)
+            state = new Pattern.LinearProgram.State(program);
+        program.matchSet(matcher, state, found, exact);
+        spare.set(state);
+        return found;
+    }
+
+    /**
+     * Returns the regular expressions of this set.
+     *
+     * @return  The source of this set
+     */
+    public String toString() {
+        ArrayList<String> list = new ArrayList<>(patterns.length);
+        for (Pattern p : patterns)
+            list.add(p.pattern());
+        return list.toString();
+    }
+
+    /**
+     * The match of one expression of a set.
+     */
+    private static final class Found implements MatchResult {
+        private final String text;
+        private final int[] groups;
+        private final int groupCount;
+
+        Found(String text, int[] groups, int groupCount) {
+            this.text = text;
+            this.groups = groups;
+            this.groupCount = groupCount;
+        }
+
+        public int start() {
+            return groups[0];
+        }
+
+        public int start(int group) {
+            checkGroup(group);
+            return groups[group * 2];
+        }
+
+        public int end() {
+            return groups[1];
+        }
+
+        public int end(int group) {
+            checkGroup(group);
+            return groups[group * 2 + 1];
+        }
+
+        public String group() {
+            return group(0);
+        }
+
+        public String group(int group) {
+            checkGroup(group);
+            if (groups[group * 2] == -1 || groups[group * 2 + 1] == -1)
+                return null;
+            return text.substring(groups[group * 2], groups[group * 2 + 1]);
+        }
+
+        public int groupCount() {
+            return groupCount;
+        }
+
+        private void checkGroup(int group) {
+            if (group < 0 || group > groupCount)
+                throw new IndexOutOfBoundsException("No group " + group);
+        }
+    }
+
+    /**
+     * An Aho-Corasick automaton matching a set of strings. The trie is
+     * laid out in arrays, the children of a node sorted by char, and the
+     * failure links turn it into a machine reading each input char once
+     * on average.
+     */
+    private static final class Literals {
+        /** Length of each string. */
+        final int[] lengths;
+
+        /** Children of node n, sorted, at index first[n] to first[n+1]. */
+        final int[] first;
+        final char[] labels;
+        final int[] targets;
+
+        /** Children of the root by ASCII char, or 0. */
+        final int[] rootAscii = new int[128];
+
+        /** Node of the longest proper suffix of a node that is in the trie. */
+        final int[] fail;
+
+        /** A string ending at a node, or -1. */
+        final int[] word;
+
+        /** The next string equal to a string, or -1. */
+        final int[] same;
+
+        /** Nearest node on the failure path with a string, or -1. */
+        final int[] output;
+
+        Literals(String[] strings) {
+            int n = strings.length;
+            lengths = new int[n];
+            same = new int[n];
+            Arrays.fill(same, -1);
+
+            // Build the trie with maps, then lay it out breadth first
+            ArrayList<TreeMap<Character,Integer>> children = new ArrayList<>();
+            ArrayList<Integer> words = new ArrayList<>();
+            children.add(new TreeMap<>());
+            words.add(-1);
+            for (int k = 0; k < n; k++) {
+                String s = strings[k];
+                lengths[k] = s.length();
+                int node = 0;
+                for (int i = 0; i < s.length(); i++) {
+                    Integer next = children.get(node).get(s.charAt(i));
+                    if (next == null) {
+                        next = children.size();
+                        children.get(node).put(s.charAt(i), next);
+                        children.add(new TreeMap<>());
+                        words.add(-1);
+                    }
+                    node = next;
+                }
+                int w = words.get(node);
+                if (w < 0) {
+                    words.set(node, k);
+                } else {
+                    while (same[w] >= 0)
+                        w = same[w];
+                    same[w] = k;
+                }
+            }
+
+            int nodes = children.size();
+            int[] order = new int[nodes];   // old node of new node
+            int[] index = new int[nodes];   // new node of old node
+            int count = 1;
+            for (int head = 0; head < count; head++) {
+                for (int child : children.get(order[head]).values()) {
+                    index[child] = count;
+                    order[count++] = child;
+                }
+            }
+            first = new int[nodes + 1];
+            labels = new char[nodes - 1];
+            targets = new int[nodes - 1];
+            word = new int[nodes];
+            int edge = 0;
+            for (int node = 0; node < nodes; node++) {
+                first[node] = edge;
+                word[node] = words.get(order[node]);
+                for (java.util.Map.Entry<Character,Integer> e
+                         : children.get(order[node]).entrySet()) {
+                    labels[edge] = e.getKey();
+                    targets[edge++] = index[e.getValue()];
+                }
+            }
+            first[nodes] = edge;
+            for (int e = first[0]; e < first[1]; e++) {
+                if (labels[e] < 128)
+                    rootAscii[labels[e]] = targets[e];
+            }
+
+            // Nodes are numbered breadth first, so the failure link of a
+            // node is known before those of its children
+            fail = new int[nodes];
+            output = new int[nodes];
+            output[0] = -1;
+            for (int node = 0; node < nodes; node++) {
+                for (int e = first[node]; e < first[node + 1]; e++) {
+                    int child = targets[e];
+                    int f = 0;
+                    if (node != 0) {
+                        f = fail[node];
+                        int t;
+                        while ((t = child(f, labels[e])) < 0 && f != 0)
+                            f = fail[f];
+                        f = Math.max(t, 0);
+                    }
+                    fail[child] = f;
+                    output[child] = word[f] >= 0 ? f : output[f];
+                }
+            }
+        }
+
+        /**
+         * Returns the child of node for c, or -1.
+         */
+        private int child(int node, char c) {
+            if (node == 0 && c < 128) {
+                int t = rootAscii[c];
+                return t != 0 ? t : -1;
+            }
+            int lo = first[node];
+            int hi = first[node + 1] - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                char m = labels[mid];
+                if (m < c)
+                    lo = mid + 1;
+                else if (m > c)
+                    hi = mid - 1;
+                else
+                    return targets[mid];
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the start and end of the first occurrence of each string
+         * in the input, or -1 and -1.
+         */
+        int[] search(CharSequence input) {
+            int n = lengths.length;
+            int[] found = new int[n * 2];
+            Arrays.fill(found, -1);
+            int remaining = n;
+            int node = 0;
+            for (int i = 0, len = input.length(); i < len && remaining > 0; i++) {
+                char c = input.charAt(i);
+                int t;
+                while ((t = child(node, c)) < 0 && node != 0)
+                    node = fail[node];
+                node = Math.max(t, 0);
+                // The first occurrence of a string is the one that ends
+                // first, all having the same length
+                for (int m = word[node] >= 0 ? node : output[node];
+                     m >= 0; m = output[m]) {
+                    for (int k = word[m]; k >= 0; k = same[k]) {
+                        if (found[k * 2] < 0) {
+                            found[k * 2] = i + 1 - lengths[k];
+                            found[k * 2 + 1] = i + 1;
+                            remaining--;
+                        }
+                    }
+                }
+            }
+            return found;
+        }
+    }
+}
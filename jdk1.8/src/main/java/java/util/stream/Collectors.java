@@ -46,6 +46,7 @@ import java.util.Set;
 import java.util.StringJoiner;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BinaryOperator;
@@ -451,6 +452,72 @@ public final class Collectors {
         return reducing(BinaryOperator.maxBy(comparator));
     }
 
+    /**
+     * Returns a {@code Collector} that produces a list of the {@code k}
+     * greatest elements according to a given {@code Comparator}, greatest
+     * first.  Of equal elements, those encountered first are kept, and
+     * placed first.  If there are no more than {@code k} elements, the
+     * result holds all of them.  There are no guarantees on the type,
+     * mutability, serializability, or thread-safety of the {@code List}
+     * returned.
+     *
+     * @implNote
+     * Only {@code k} elements are retained per partition of the input,
+     * rather than all of them as {@code sorted().limit(k)} may require, and
+     * the partial results of a parallel reduction are merged in time
+     * proportional to {@code k log k}.
+     *
+     * @param <T> the type of the input elements
+     * @param k the number of elements to retain
+     * @param comparator a {@code Comparator} for comparing elements
+     * @return a {@code Collector} that produces the {@code k} greatest
+     * elements, in descending order
+     * @throws IllegalArgumentException if {@code k} is negative
+     *
+     * @see #bottomK(int, Comparator)
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, List<T>>
+    topK(int k, Comparator<? super T> comparator) {
+        Objects.requireNonNull(comparator);
+        return bottomK(k, Collections.reverseOrder(comparator));
+    }
+
+    /**
+     * Returns a {@code Collector} that produces a list of the {@code k}
+     * least elements according to a given {@code Comparator}, least first.
+     * Of equal elements, those encountered first are kept, and placed
+     * first, so that the result equals that of {@code sorted(comparator)
+     * .limit(k)}.  There are no guarantees on the type, mutability,
+     * serializability, or thread-safety of the {@code List} returned.
+     *
+     * @implNote
+     * Only {@code k} elements are retained per partition of the input,
+     * and the partial results of a parallel reduction are merged in time
+     * proportional to {@code k log k}.
+     *
+     * @param <T> the type of the input elements
+     * @param k the number of elements to retain
+     * @param comparator a {@code Comparator} for comparing elements
+     * @return a {@code Collector} that produces the {@code k} least
+     * elements, in ascending order
+     * @throws IllegalArgumentException if {@code k} is negative
+     *
+     * @see #topK(int, Comparator)
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, List<T>>
+    bottomK(int k, Comparator<? super T> comparator) {
+        if (k < 0)
+            throw new IllegalArgumentException("k must be non-negative: " + k);
+        Objects.requireNonNull(comparator);
+        return new CollectorImpl<T, SortedOps.TopK<T>, List<T>>(
+                () -> new SortedOps.TopK<>(comparator, k),
+                SortedOps.TopK::accept,
+                (l, r) -> { l.combine(r); return l; },
+                SortedOps.TopK::toList, CH_NOID);
+    }
+
     /**
      * Returns a {@code Collector} that produces the sum of a integer-valued
      * function applied to the input elements.  If no elements are present,
@@ -1534,6 +1601,90 @@ public final class Collectors {
                 (l, r) -> { l.combine(r); return l; }, CH_ID);
     }
 
+    /**
+     * Returns a {@code Collector} that estimates the number of distinct
+     * input elements.  Elements are told apart by their {@linkplain
+     * Object#hashCode() hash codes}, so elements that are equal, or merely
+     * have equal hash codes, are counted once.  If no elements are present,
+     * the result is 0.
+     *
+     * @implNote
+     * The estimate is made by the HyperLogLog algorithm, with 2<sup>14</sup>
+     * registers of one byte each, and computed from the histogram of the
+     * register values, which avoids the bias of the classic estimate for
+     * counts of a few times the number of registers.  Its relative standard
+     * error is about 0.8%, and the registers of partial results are merged
+     * in constant time, however many elements there are.
+     *
+     * @param <T> the type of the input elements
+     * @return a {@code Collector} that estimates the number of distinct
+     * input elements
+     *
+     * @see #counting()
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, Long>
+    approximateCountingDistinct() {
+        return new CollectorImpl<T, DistinctCountSketch, Long>(
+                DistinctCountSketch::new,
+                (a, t) -> a.accept(Objects.hashCode(t)),
+                (l, r) -> { l.combine(r); return l; },
+                DistinctCountSketch::estimate, CH_NOID);
+    }
+
+    /**
+     * Returns a {@code Collector} which applies a {@code double}-producing
+     * mapping function to each input element, and estimates quantiles of
+     * the resulting values.  The result is an array holding, for each of the
+     * given probabilities {@code p} in turn, a value whose rank among the
+     * values is approximately {@code p} times their number; the rank of the
+     * value given for {@code p} is estimated as
+     * {@code ceil(p * count)} (counting from 1).  The minimum value is given
+     * for a probability of 0, and the maximum for a probability of 1.  If no
+     * elements are present, each value of the result is {@code NaN}.
+     *
+     * <p>For example, the median and 99th percentile of the latencies of a
+     * stream of requests may be estimated by:
+     * <pre>{@code
+     *     double[] q = requests.parallelStream()
+     *                          .collect(approximateQuantiles(Request::latency, 0.5, 0.99));
+     * }</pre>
+     *
+     * @implNote
+     * Values are retained in levels of a fixed capacity.  A full level is
+     * sorted, and every other value, starting at random from the first or
+     * second, is moved to the next level, where it stands for twice as many
+     * values.  This retains a number of values logarithmic in the number of
+     * elements, and typically estimates ranks to within 1% of the number of
+     * elements.  Partial results are merged level by level.
+     *
+     * @param <T> the type of the input elements
+     * @param mapper a mapping function to apply to each element
+     * @param probabilities the probabilities, each from 0 to 1 inclusive,
+     * of the quantiles to estimate
+     * @return a {@code Collector} that estimates quantiles of a derived
+     * property
+     * @throws IllegalArgumentException if a probability is less than 0,
+     * greater than 1, or {@code NaN}
+     *
+     * @see #summarizingDouble(ToDoubleFunction)
+     * @since 1.8
+     */
+    public static <T> Collector<T, ?, double[]>
+    approximateQuantiles(ToDoubleFunction<? super T> mapper, double... probabilities) {
+        Objects.requireNonNull(mapper);
+        double[] ps = probabilities.clone();
+        for (double p : ps) {
+            if (!(p >= 0 && p <= 1))
+                throw new IllegalArgumentException("Probability out of range: " + p);
+        }
+        return new CollectorImpl<T, QuantileSketch, double[]>(
+                QuantileSketch::new,
+                (a, t) -> a.accept(mapper.applyAsDouble(t)),
+                (l, r) -> { l.combine(r); return l; },
+                a -> a.quantiles(ps), CH_NOID);
+    }
+
     /**
      * Implementation class used by partitioningBy.
      */
@@ -1565,4 +1716,170 @@ public final class Collectors {
             };
         }
     }
+
+    /**
+     * Implementation class used by approximateCountingDistinct.  A
+     * HyperLogLog sketch of hash codes, each of which is mixed into 64 bits
+     * before its first bits choose a register and the number of leading
+     * zeros of the rest updates the register.
+     */
+    private static final class DistinctCountSketch {
+        /** The number of bits choosing a register */
+        private static final int P = 14;
+        private static final int M = 1 << P;
+        /** The number of bits ranked, so that registers range from 0 to Q + 1 */
+        private static final int Q = 64 - P;
+
+        private final byte[] registers = new byte[M];
+
+        void accept(int hash) {
+            long h = hash * 0x9e3779b97f4a7c15L;    // finalizer of MurmurHash3
+            h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+            h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            h ^= h >>> 33;
+            int i = (int) (h >>> (64 - P));
+            byte rank = (byte) (Long.numberOfLeadingZeros(h << P | 1L << (P - 1)) + 1);
+            if (rank > registers[i])
+                registers[i] = rank;
+        }
+
+        void combine(DistinctCountSketch other) {
+            for (int i = 0; i < M; i++) {
+                if (other.registers[i] > registers[i])
+                    registers[i] = other.registers[i];
+            }
+        }
+
+        /**
+         * Returns the improved raw estimate of Ertl, "New cardinality
+         * estimation algorithms for HyperLogLog sketches" (2017), which
+         * stays unbiased where the classic estimate switches to linear
+         * counting, without tables of empirical bias corrections.
+         */
+        Long estimate() {
+            int[] counts = new int[Q + 2];
+            for (byte r : registers)
+                counts[r]++;
+            double z = M * tau(1 - (double) counts[Q + 1] / M);
+            for (int k = Q; k >= 1; k--)
+                z = 0.5 * (z + counts[k]);
+            z += M * sigma((double) counts[0] / M);
+            return Math.round(M / (2 * Math.log(2)) * M / z);
+        }
+
+        private static double sigma(double x) {
+            if (x == 1)
+                return Double.POSITIVE_INFINITY;
+            double y = 1, z = x, prev;
+            do {
+                x *= x;
+                prev = z;
+                z += x * y;
+                y += y;
+            } while (z != prev);
+            return z;
+        }
+
+        private static double tau(double x) {
+            if (x == 0 || x == 1)
+                return 0;
+            double y = 1, z = 1 - x, prev;
+            do {
+                x = Math.sqrt(x);
+                prev = z;
+                y *= 0.5;
+                z -= (1 - x) * (1 - x) * y;
+            } while (z != prev);
+            return z / 3;
+        }
+    }
+
+    /**
+     * Implementation class used by approximateQuantiles.  Values are held
+     * in levels, each value in level {@code h} standing for 2<sup>h</sup>
+     * values accepted, so that the weights always sum to the count.
+     */
+    private static final class QuantileSketch {
+        /** The capacity of each level, which must be even */
+        private static final int CAPACITY = 512;
+
+        private double[][] levels = { new double[CAPACITY] };
+        private int[] sizes = new int[1];
+        private long count;
+        private double min = Double.POSITIVE_INFINITY;
+        private double max = Double.NEGATIVE_INFINITY;
+
+        void accept(double value) {
+            count++;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            add(0, value);
+        }
+
+        void combine(QuantileSketch other) {
+            count += other.count;
+            min = Math.min(min, other.min);
+            max = Math.max(max, other.max);
+            for (int h = 0; h < other.levels.length; h++) {
+                for (int i = 0; i < other.sizes[h]; i++)
+                    add(h, other.levels[h][i]);
+            }
+        }
+
+        double[] quantiles(double[] probabilities) {
+            double[] result = new double[probabilities.length];
+            if (count == 0) {
+                Arrays.fill(result, Double.NaN);
+                return result;
+            }
+            int n = 0;
+            for (int size : sizes)
+                n += size;
+            double[] values = new double[n];
+            long[] weights = new long[n];
+            for (int h = 0, j = 0; h < levels.length; h++) {
+                for (int i = 0; i < sizes[h]; i++, j++) {
+                    values[j] = levels[h][i];
+                    weights[j] = 1L << h;
+                }
+            }
+            int[] order = Arrays.sortedIndices(values);
+            long[] ranks = new long[n];  // rank of the last value stood for
+            long rank = 0;
+            for (int j = 0; j < n; j++)
+                ranks[j] = rank += weights[order[j]];
+            for (int q = 0; q < probabilities.length; q++) {
+                double p = probabilities[q];
+                if (p == 0)
+                    result[q] = min;
+                else if (p == 1)
+                    result[q] = max;
+                else {
+                    long target = Math.max((long) Math.ceil(p * count), 1);
+                    int j = Arrays.binarySearch(ranks, target);
+                    result[q] = values[order[j < 0 ? -j - 1 : j]];
+                }
+            }
+            return result;
+        }
+
+        private void add(int h, double value) {
+            if (h >= levels.length) {
+                int n = levels.length;
+                levels = Arrays.copyOf(levels, h + 1);
+                for (int i = n; i <= h; i++)
+                    levels[i] = new double[CAPACITY];
+                sizes = Arrays.copyOf(sizes, h + 1);
+            }
+            double[] level = levels[h];
+            level[sizes[h]++] = value;
+            if (sizes[h] == CAPACITY) {
+                // Keep every other value, from a random start, at twice the weight
+                Arrays.sort(level);
+                sizes[h] = 0;
+                for (int i = ThreadLocalRandom.current().nextInt(2); i < CAPACITY; i += 2)
+                    add(h + 1, level[i]);
+            }
+        }
+    }
 }
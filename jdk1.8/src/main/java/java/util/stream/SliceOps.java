@@ -116,8 +116,8 @@ final class SliceOps {
         if (skip < 0)
             throw new IllegalArgumentException("Skip must be non-negative: " + skip);
 
-        return new ReferencePipeline.StatefulOp<T, T>(upstream, StreamShape.REFERENCE,
-                                                      flags(limit)) {
+        Stream<T> stage = new ReferencePipeline.StatefulOp<T, T>(upstream, StreamShape.REFERENCE,
+                                                                 flags(limit)) {
             Spliterator<T> unorderedSkipLimitSpliterator(Spliterator<T> s,
                                                          long skip, long limit, long sizeIfKnown) {
                 if (skip <= sizeIfKnown) {
@@ -216,6 +216,10 @@ final class SliceOps {
                 };
             }
         };
+        // Only the first skip + limit elements of a sort need be found
+        if (limit >= 0)
+            SortedOps.limit(upstream, calcSliceFence(skip, limit));
+        return stage;
     }
 
     /**
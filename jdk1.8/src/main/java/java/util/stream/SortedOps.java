@@ -27,8 +27,13 @@ package java.util.stream;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntConsumer;
 import java.util.function.IntFunction;
 
 
@@ -93,6 +98,21 @@ final class SortedOps {
         return new OfDouble(upstream);
     }
 
+    /**
+     * Informs a stage, if it sorts a reference stream, that the stage
+     * following it consumes no more than the first {@code n} of its
+     * sorted elements, so that it need only find those.  This must be
+     * called once the following stage is linked, making it the only
+     * consumer of the sorted elements.
+     *
+     * @param upstream the stage preceding a limiting stage
+     * @param n the number of leading elements consumed, at least 0
+     */
+    static void limit(AbstractPipeline<?, ?, ?> upstream, long n) {
+        if (upstream instanceof OfRef && n < Nodes.MAX_ARRAY_SIZE)
+            ((OfRef<?>) upstream).limit = (int) n;
+    }
+
     /**
      * Specialized subtype for sorting reference streams
      */
@@ -103,6 +123,12 @@ final class SortedOps {
         private final boolean isNaturalSort;
         private final Comparator<? super T> comparator;
 
+        /**
+         * The number of leading sorted elements consumed by the next
+         * stage, or -1 if they all are
+         */
+        private int limit = -1;
+
         /**
          * Sort using natural order of {@literal <T>} which must be
          * {@code Comparable}.
@@ -137,6 +163,8 @@ final class SortedOps {
             // also naturally sorted then this is a no-op
             if (StreamOpFlag.SORTED.isKnown(flags) && isNaturalSort)
                 return sink;
+            else if (limit >= 0)
+                return new TopKRefSortingSink<>(sink, comparator, limit);
             else if (StreamOpFlag.SIZED.isKnown(flags))
                 return new SizedRefSortingSink<>(sink, comparator);
             else
@@ -152,11 +180,348 @@ final class SortedOps {
             if (StreamOpFlag.SORTED.isKnown(helper.getStreamAndOpFlags()) && isNaturalSort) {
                 return helper.evaluate(spliterator, false, generator);
             }
+            // If fewer elements are consumed than there may be, find just
+            // those; an unknown size of -1 compares as the greatest
+            else if (limit >= 0 &&
+                     Long.compareUnsigned(limit, helper.exactOutputSizeIfKnown(spliterator)) < 0) {
+                // Each task keeps the least elements of its part, and
+                // these are merged in encounter order
+                int k = limit;
+                Comparator<? super T> c = comparator;
+                TopK<T> top = ReduceOps.<T, TopK<T>>makeRef(
+                        () -> new TopK<>(c, k), TopK::accept, TopK::combine)
+                        .evaluateParallel(helper, spliterator);
+                return Nodes.node(top.toArray(generator));
+            }
             else {
-                // @@@ Weak two-pass parallel implementation; parallel collect, parallel sort
-                T[] flattenedData = helper.evaluate(spliterator, true, generator).asArray(generator);
-                Arrays.parallelSort(flattenedData, comparator);
-                return Nodes.node(flattenedData);
+                // The elements are left in the arrays collected by each
+                // task, and sample sorted from there
+                Node<T> node = helper.evaluate(spliterator, false, generator);
+                return SampleSort.sort(node, comparator, generator);
+            }
+        }
+    }
+
+    /**
+     * The least elements of a stream, ordered by a comparator and then
+     * by encounter order, so that of equal elements the earliest are
+     * kept.  Elements are held in encounter order until more than
+     * {@code k} are offered; the held elements then form a max-heap,
+     * whose root is replaced by each lesser element offered.
+     */
+    static final class TopK<T> {
+        private final Comparator<? super T> comparator;
+        private final int k;
+        private Object[] elements;
+        private long[] seqs;    // encounter order of elements
+        private int size;
+        private long count;     // number of elements offered
+        private boolean isHeap;
+        private boolean inOrder = true; // elements held in encounter order
+
+        TopK(Comparator<? super T> comparator, int k) {
+            this.comparator = comparator;
+            this.k = k;
+            int capacity = Math.min(k, 16);
+            elements = new Object[capacity];
+            seqs = new long[capacity];
+        }
+
+        void accept(T t) {
+            offer(t, count++);
+        }
+
+        /**
+         * Adds the elements of another instance, all of which were
+         * encountered after those of this one.
+         */
+        void combine(TopK<T> later) {
+            long base = count;
+            if (later.isHeap || !later.inOrder)
+                inOrder = false;
+            for (int i = 0; i < later.size; i++)
+                offer(later.elements[i], base + later.seqs[i]);
+            count = base + later.count;
+        }
+
+        /**
+         * Returns the elements held, in sorted order.  No more elements
+         * may be offered after this.
+         */
+        T[] toArray(IntFunction<T[]> generator) {
+            sort();
+            T[] a = generator.apply(size);
+            System.arraycopy(elements, 0, a, 0, size);
+            return a;
+        }
+
+        /**
+         * Returns a new list of the elements held, in sorted order.  No
+         * more elements may be offered after this.
+         */
+        @SuppressWarnings("unchecked")
+        List<T> toList() {
+            sort();
+            List<T> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++)
+                list.add((T) elements[i]);
+            return list;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sort() {
+            if (!isHeap && inOrder) {
+                // A stable sort keeps equal elements in encounter order
+                Arrays.sort((T[]) elements, 0, size, comparator);
+                return;
+            }
+            if (!isHeap)
+                heapify();
+            for (int n = size; --n > 0; ) {
+                Object e = elements[0];
+                long seq = seqs[0];
+                elements[0] = elements[n];
+                seqs[0] = seqs[n];
+                elements[n] = e;
+                seqs[n] = seq;
+                siftDown(0, n);
+            }
+            isHeap = false;
+        }
+
+        private void offer(Object e, long seq) {
+            if (size < k) {
+                if (size == elements.length) {
+                    int capacity = (int) Math.min((long) size << 1, k);
+                    elements = Arrays.copyOf(elements, capacity);
+                    seqs = Arrays.copyOf(seqs, capacity);
+                }
+                elements[size] = e;
+                seqs[size++] = seq;
+            }
+            else if (k > 0 && compare(e, seq, top(), seqs[0]) < 0) {
+                elements[0] = e;
+                seqs[0] = seq;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Returns the greatest element held, once {@code k} are held,
+         * making the elements a heap if they are not yet.
+         */
+        private Object top() {
+            if (!isHeap)
+                heapify();
+            return elements[0];
+        }
+
+        private void heapify() {
+            for (int i = (size >>> 1) - 1; i >= 0; i--)
+                siftDown(i, size);
+            isHeap = true;
+        }
+
+        private void siftDown(int i, int n) {
+            Object e = elements[i];
+            long seq = seqs[i];
+            for (int child; (child = (i << 1) + 1) < n; i = child) {
+                if (child + 1 < n &&
+                    compare(elements[child + 1], seqs[child + 1],
+                            elements[child], seqs[child]) > 0)
+                    child++;
+                if (compare(e, seq, elements[child], seqs[child]) >= 0)
+                    break;
+                elements[i] = elements[child];
+                seqs[i] = seqs[child];
+            }
+            elements[i] = e;
+            seqs[i] = seq;
+        }
+
+        @SuppressWarnings("unchecked")
+        private int compare(Object a, long seqA, Object b, long seqB) {
+            int c = comparator.compare((T) a, (T) b);
+            return c != 0 ? c : Long.compare(seqA, seqB);
+        }
+    }
+
+    /**
+     * Parallel sample sort of the elements of a node, for sorting
+     * reference streams.
+     *
+     * <p>The leaves of the node are taken as arrays and cut into blocks.
+     * Splitters picked from a random sample of the elements divide the
+     * elements into about four buckets per thread.  The blocks are
+     * classified and counted in parallel, each block is assigned its range
+     * within every bucket, and the blocks are then distributed in parallel.
+     * Each bucket receives its elements in encounter order, and is then
+     * sorted by a stable sort, so the whole sort is stable.
+     */
+    private static final class SampleSort {
+        /**
+         * The minimum number of elements per bucket
+         */
+        private static final int MIN_BUCKET_SIZE = 1 << 13;
+
+        /**
+         * The maximum number of buckets
+         */
+        private static final int MAX_BUCKETS = 1 << 12;
+
+        /**
+         * The number of sampled elements per bucket
+         */
+        private static final int OVERSAMPLING = 32;
+
+        private SampleSort() { }
+
+        @SuppressWarnings("unchecked")
+        static <T> Node<T> sort(Node<T> node, Comparator<? super T> comparator,
+                                IntFunction<T[]> generator) {
+            long size = node.count();
+            if (size >= Nodes.MAX_ARRAY_SIZE)
+                throw new IllegalArgumentException(Nodes.BAD_SIZE);
+            int n = (int) size;
+            int buckets = Math.min(Math.min(n / MIN_BUCKET_SIZE, MAX_BUCKETS),
+                                   ForkJoinPool.getCommonPoolParallelism() << 2);
+            if (buckets < 2) {
+                T[] a = Nodes.flatten(node, generator).asArray(generator);
+                Arrays.parallelSort(a, comparator);
+                return Nodes.node(a);
+            }
+
+            // Leaves as arrays, and blocks of up to gran elements of them
+            ArrayList<Node<T>> leaves = new ArrayList<>();
+            collectLeaves(node, leaves);
+            Object[][] arrays = new Object[leaves.size()][];
+            forEachIndex(arrays.length,
+                         i -> arrays[i] = leaves.get(i).asArray(generator));
+            int gran = (n - 1) / (buckets << 2) + 1;
+            int blocks = 0;
+            for (Object[] a : arrays)
+                blocks += (a.length + gran - 1) / gran;
+            Object[][] blockArrays = new Object[blocks][];
+            int[] blockFrom = new int[blocks];
+            int[] blockStart = new int[blocks];
+            int[] leafStart = new int[arrays.length];
+            for (int i = 0, b = 0, start = 0; i < arrays.length; i++) {
+                leafStart[i] = start;
+                for (int from = 0; from < arrays[i].length; from += gran, b++) {
+                    blockArrays[b] = arrays[i];
+                    blockFrom[b] = from;
+                    blockStart[b] = start + from;
+                }
+                start += arrays[i].length;
+            }
+
+            // Splitters from a sorted random sample
+            Object[] sample = new Object[buckets * OVERSAMPLING];
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < sample.length; i++) {
+                int r = random.nextInt(n);
+                int leaf = Arrays.binarySearch(leafStart, r);
+                if (leaf < 0)
+                    leaf = -leaf - 2;
+                while (arrays[leaf].length == 0) // skip empty leaves
+                    leaf++;
+                sample[i] = arrays[leaf][r - leafStart[leaf]];
+            }
+            Comparator<Object> c = (Comparator<Object>) comparator;
+            Arrays.sort(sample, c);
+            Object[] splitters = new Object[buckets - 1];
+            for (int i = 0; i < splitters.length; i++)
+                splitters[i] = sample[(i + 1) * OVERSAMPLING];
+
+            // Classify and count each block
+            char[] ids = new char[n];
+            int[][] counts = new int[blocks][buckets];
+            int g = gran;
+            forEachIndex(blocks, b -> {
+                Object[] a = blockArrays[b];
+                int[] count = counts[b];
+                for (int i = blockFrom[b], j = blockStart[b],
+                         end = Math.min(i + g, a.length); i < end; i++, j++) {
+                    Object e = a[i];
+                    int lo = 0, hi = splitters.length;
+                    while (lo < hi) {
+                        int mid = (lo + hi) >>> 1;
+                        if (c.compare(e, splitters[mid]) < 0)
+                            hi = mid;
+                        else
+                            lo = mid + 1;
+                    }
+                    ids[j] = (char) lo;
+                    count[lo]++;
+                }
+            });
+
+            // Assign offsets and distribute each block
+            int[] bucketStart = new int[buckets + 1];
+            for (int k = 0, sum = 0; k < buckets; k++) {
+                bucketStart[k] = sum;
+                for (int[] count : counts) {
+                    int m = count[k];
+                    count[k] = sum;
+                    sum += m;
+                }
+            }
+            bucketStart[buckets] = n;
+            T[] sorted = generator.apply(n);
+            forEachIndex(blocks, b -> {
+                Object[] a = blockArrays[b];
+                int[] offset = counts[b];
+                for (int i = blockFrom[b], j = blockStart[b],
+                         end = Math.min(i + g, a.length); i < end; i++, j++)
+                    sorted[offset[ids[j]]++] = (T) a[i];
+            });
+
+            // Sort each bucket
+            forEachIndex(buckets, k -> Arrays.sort(sorted, bucketStart[k],
+                                                   bucketStart[k + 1], comparator));
+            return Nodes.node(sorted);
+        }
+
+        private static <T> void collectLeaves(Node<T> node, ArrayList<Node<T>> leaves) {
+            int children = node.getChildCount();
+            if (children == 0) {
+                if (node.count() > 0)
+                    leaves.add(node);
+            }
+            else {
+                for (int i = 0; i < children; i++)
+                    collectLeaves(node.getChild(i), leaves);
+            }
+        }
+
+        private static void forEachIndex(int n, IntConsumer action) {
+            new ForEachIndexTask(action, 0, n).invoke();
+        }
+
+        /**
+         * Performs an action for each index in a range, in parallel.
+         */
+        @SuppressWarnings("serial")
+        private static final class ForEachIndexTask extends RecursiveAction {
+            private final IntConsumer action;
+            private final int lo, hi;
+
+            ForEachIndexTask(IntConsumer action, int lo, int hi) {
+                this.action = action;
+                this.lo = lo;
+                this.hi = hi;
+            }
+
+            @Override
+            protected void compute() {
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(new ForEachIndexTask(action, lo, mid),
+                              new ForEachIndexTask(action, mid, hi));
+                }
+                else if (hi > lo) {
+                    action.accept(lo);
+                }
             }
         }
     }
@@ -405,6 +770,67 @@ final class SortedOps {
         }
     }
 
+    /**
+     * {@link Sink} for implementing sort on reference streams of which
+     * only the first {@code k} sorted elements are consumed.  If the size
+     * is known to be at most {@code k} the elements are sorted as by
+     * {@link SizedRefSortingSink}.
+     */
+    private static final class TopKRefSortingSink<T> extends AbstractRefSortingSink<T> {
+        private final int k;
+        private TopK<T> top;
+        private T[] array;
+        private int offset;
+
+        TopKRefSortingSink(Sink<? super T> sink, Comparator<? super T> comparator, int k) {
+            super(sink, comparator);
+            this.k = k;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void begin(long size) {
+            if (size >= 0 && size <= k)
+                array = (T[]) new Object[(int) size];
+            else
+                top = new TopK<>(comparator, k);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void end() {
+            int n;
+            if (array != null) {
+                Arrays.sort(array, 0, offset, comparator);
+                n = offset;
+            }
+            else {
+                array = top.toArray(m -> (T[]) new Object[m]);
+                n = array.length;
+            }
+            downstream.begin(n);
+            if (!cancellationWasRequested) {
+                for (int i = 0; i < n; i++)
+                    downstream.accept(array[i]);
+            }
+            else {
+                for (int i = 0; i < n && !downstream.cancellationRequested(); i++)
+                    downstream.accept(array[i]);
+            }
+            downstream.end();
+            array = null;
+            top = null;
+        }
+
+        @Override
+        public void accept(T t) {
+            if (top == null)
+                array[offset++] = t;
+            else
+                top.accept(t);
+        }
+    }
+
     /**
      * Abstract {@link Sink} for implementing sort on int streams.
      */
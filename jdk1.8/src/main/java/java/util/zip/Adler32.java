@@ -113,9 +113,12 @@ class Adler32 implements Checksum {
         } else if (buffer.hasArray()) {
             adler = updateBytes(adler, buffer.array(), pos + buffer.arrayOffset(), rem);
         } else {
-            byte[] b = new byte[rem];
-            buffer.get(b);
-            adler = updateBytes(adler, b, 0, b.length);
+            byte[] b = new byte[Math.min(rem, 4096)];
+            while (buffer.hasRemaining()) {
+                int length = Math.min(buffer.remaining(), b.length);
+                buffer.get(b, 0, length);
+                adler = updateBytes(adler, b, 0, length);
+            }
         }
         buffer.position(limit);
     }
@@ -134,6 +137,37 @@ class Adler32 implements Checksum {
         return (long)adler & 0xffffffffL;
     }
 
+    /**
+     * Returns the Adler-32 checksum of the concatenation of two byte
+     * sequences, given the checksum of each and the length of the second.
+     * This allows the checksum of a large input to be computed from
+     * checksums of its parts, for example parts checksummed in parallel.
+     *
+     * @param adler1 the Adler-32 value of the first sequence
+     * @param adler2 the Adler-32 value of the second sequence
+     * @param len2 the length in bytes of the second sequence
+     * @return the Adler-32 value of the concatenated sequence
+     * @throws IllegalArgumentException if {@code len2} is negative
+     * @since 1.8
+     */
+    public static long combine(long adler1, long adler2, long len2) {
+        if (len2 < 0) {
+            throw new IllegalArgumentException("len2 < 0");
+        }
+        // as zlib's adler32_combine: the low sum adds, less the initial 1
+        // of the second sequence, and the high sum gains len2 times the
+        // first sequence's low sum
+        final long BASE = 65521;
+        long rem = len2 % BASE;
+        long sum1 = adler1 & 0xffff;
+        long sum2 = (rem * sum1) % BASE;
+        sum1 += (adler2 & 0xffff) + BASE - 1;
+        sum2 += ((adler1 >>> 16) & 0xffff) + ((adler2 >>> 16) & 0xffff) + BASE - rem;
+        sum1 %= BASE;
+        sum2 %= BASE;
+        return (sum2 << 16) | sum1;
+    }
+
     private native static int update(int adler, int b);
     private native static int updateBytes(int adler, byte[] b, int off,
                                           int len);
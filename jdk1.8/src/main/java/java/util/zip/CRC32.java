@@ -41,6 +41,12 @@ public
 class CRC32 implements Checksum {
     private int crc;
 
+    /*
+     * The reversed CRC-32 polynomial, and x^(2^n) modulo it for combine.
+     */
+    private static final int REVERSED_CRC32_POLY = 0xEDB88320;
+    private static final int[] X2N = x2nTable(REVERSED_CRC32_POLY);
+
     /**
      * Creates a new CRC32 object.
      */
@@ -110,9 +116,12 @@ class CRC32 implements Checksum {
         } else if (buffer.hasArray()) {
             crc = updateBytes(crc, buffer.array(), pos + buffer.arrayOffset(), rem);
         } else {
-            byte[] b = new byte[rem];
-            buffer.get(b);
-            crc = updateBytes(crc, b, 0, b.length);
+            byte[] b = new byte[Math.min(rem, 4096)];
+            while (buffer.hasRemaining()) {
+                int length = Math.min(buffer.remaining(), b.length);
+                buffer.get(b, 0, length);
+                crc = updateBytes(crc, b, 0, length);
+            }
         }
         buffer.position(limit);
     }
@@ -131,6 +140,73 @@ class CRC32 implements Checksum {
         return (long)crc & 0xffffffffL;
     }
 
+    /**
+     * Returns the CRC-32 of the concatenation of two byte sequences, given
+     * the CRC-32 of each and the length of the second. This allows the
+     * CRC-32 of a large input to be computed from checksums of its parts,
+     * for example parts checksummed in parallel.
+     *
+     * @param crc1 the CRC-32 value of the first sequence
+     * @param crc2 the CRC-32 value of the second sequence
+     * @param len2 the length in bytes of the second sequence
+     * @return the CRC-32 value of the concatenated sequence
+     * @throws IllegalArgumentException if {@code len2} is negative
+     * @since 1.8
+     */
+    public static long combine(long crc1, long crc2, long len2) {
+        return combine(crc1, crc2, len2, REVERSED_CRC32_POLY, X2N);
+    }
+
+    /*
+     * Combining uses the method of zlib's crc32_combine: appending len2
+     * zero bytes to the first sequence multiplies its (pre- and
+     * post-conditioned) CRC by x^(8*len2) modulo the polynomial, and the
+     * CRC of the concatenation is that product xor'd with crc2. The power
+     * is built from the table of x^(2^n), one multiplication per set bit
+     * of len2. Polynomials are held bit-reversed, so x^0 is bit 31.
+     */
+    static long combine(long crc1, long crc2, long len2, int poly, int[] x2n) {
+        if (len2 < 0) {
+            throw new IllegalArgumentException("len2 < 0");
+        }
+        int p = 1 << 31;                        // x^0
+        for (int k = 3; len2 != 0; len2 >>>= 1, k++) {
+            if ((len2 & 1) != 0)
+                p = multModP(x2n[k], p, poly);
+        }
+        return (multModP(p, (int)crc1, poly) ^ crc2) & 0xffffffffL;
+    }
+
+    /*
+     * Returns x^(2^n) modulo the given reversed polynomial for n in
+     * [0, 66), enough for any non-negative long byte count.
+     */
+    static int[] x2nTable(int poly) {
+        int[] t = new int[66];
+        int p = 1 << 30;                        // x^1
+        for (int n = 0; n < t.length; n++) {
+            t[n] = p;
+            p = multModP(p, p, poly);
+        }
+        return t;
+    }
+
+    /*
+     * Multiplies a and b modulo the given reversed polynomial.
+     */
+    private static int multModP(int a, int b, int poly) {
+        int p = 0;
+        for (int m = 1 << 31; m != 0; m >>>= 1) {
+            if ((a & m) != 0) {
+                p ^= b;
+                if ((a & (m - 1)) == 0)
+                    break;
+            }
+            b = (b & 1) != 0 ? (b >>> 1) ^ poly : b >>> 1;
+        }
+        return p;
+    }
+
     private native static int update(int crc, int b);
     private native static int updateBytes(int crc, byte[] b, int off, int len);
 
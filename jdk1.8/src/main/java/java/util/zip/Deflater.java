@@ -25,6 +25,9 @@
 
 package java.util.zip;
 
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
 /**
  * This class provides support for general purpose compression using the
  * popular ZLIB compression library. The ZLIB compression library was
@@ -74,7 +77,7 @@ public
 class Deflater {
 
     private final ZStreamRef zsRef;
-    private byte[] buf = new byte[0];
+    private byte[] buf = defaultBuf;
     private int off, len;
     private int level, strategy;
     private boolean setParams;
@@ -82,6 +85,19 @@ class Deflater {
     private long bytesRead;
     private long bytesWritten;
 
+    /*
+     * Input supplied with setInput(ByteBuffer), or null if the input is
+     * the array region buf/off/len. Heap buffers are handed to zlib in
+     * place; the contents of direct buffers are staged through inCopy,
+     * at most COPY_SIZE bytes at a time, and output destined for a direct
+     * buffer through outCopy.
+     */
+    private ByteBuffer input;
+    private byte[] inCopy, outCopy;
+
+    private static final byte[] defaultBuf = new byte[0];
+    private static final int COPY_SIZE = 8192;
+
     /**
      * Compression method for the deflate algorithm (the only one currently
      * supported).
@@ -204,6 +220,7 @@ class Deflater {
             throw new ArrayIndexOutOfBoundsException();
         }
         synchronized (zsRef) {
+            this.input = null;
             this.buf = b;
             this.off = off;
             this.len = len;
@@ -220,6 +237,36 @@ class Deflater {
         setInput(b, 0, b.length);
     }
 
+    /**
+     * Sets input data for compression. This should be called whenever
+     * needsInput() returns true indicating that more input data is required.
+     * <p>
+     * The given buffer's position will be advanced as deflate
+     * operations are performed, up to the buffer's limit. The input
+     * buffer may be modified (refilled) between deflate operations;
+     * doing so is equivalent to creating a new buffer and setting it
+     * with this method.
+     * <p>
+     * Modifying the input buffer's contents, position, or limit
+     * concurrently with a deflate operation will result in undefined
+     * behavior, which may include incorrect operation results or operation
+     * failure.
+     *
+     * @param input the input data bytes
+     * @see Deflater#needsInput
+     * @since 1.8
+     */
+    public void setInput(ByteBuffer input) {
+        if (input == null) {
+            throw new NullPointerException();
+        }
+        synchronized (zsRef) {
+            this.input = input;
+            this.buf = defaultBuf;
+            this.off = this.len = 0;
+        }
+    }
+
     /**
      * Sets preset dictionary for compression. A preset dictionary is used
      * when the history buffer can be predetermined. When the data is later
@@ -318,7 +365,8 @@ class Deflater {
      * should be called in order to provide more input
      */
     public boolean needsInput() {
-        return len <= 0;
+        ByteBuffer input = this.input;
+        return input == null ? len <= 0 : !input.hasRemaining();
     }
 
     /**
@@ -438,16 +486,144 @@ class Deflater {
             ensureOpen();
             if (flush == NO_FLUSH || flush == SYNC_FLUSH ||
                 flush == FULL_FLUSH) {
-                int thisLen = this.len;
-                int n = deflateBytes(zsRef.address(), b, off, len, flush);
-                bytesWritten += n;
-                bytesRead += (thisLen - this.len);
-                return n;
+                return deflate0(b, off, len, flush);
             }
             throw new IllegalArgumentException();
         }
     }
 
+    /**
+     * Compresses the input data and fills specified buffer with compressed
+     * data. Returns actual number of bytes of compressed data. A return value
+     * of 0 indicates that {@link #needsInput() needsInput} should be called
+     * in order to determine if more input data is required.
+     *
+     * <p>This method uses {@link #NO_FLUSH} as its compression flush mode.
+     * An invocation of this method of the form {@code deflater.deflate(output)}
+     * yields the same result as the invocation of
+     * {@code deflater.deflate(output, Deflater.NO_FLUSH)}.
+     *
+     * @param output the buffer for the compressed data
+     * @return the actual number of bytes of compressed data written to the
+     *         output buffer
+     * @throws ReadOnlyBufferException if the given output buffer is read-only
+     * @since 1.8
+     */
+    public int deflate(ByteBuffer output) {
+        return deflate(output, NO_FLUSH);
+    }
+
+    /**
+     * Compresses the input data and fills the specified buffer with compressed
+     * data. Returns actual number of bytes of data compressed.
+     *
+     * <p>The compressed bytes are written starting at the buffer's
+     * position, which is advanced by the number of bytes written.
+     * Array-backed buffers are written in place; other buffers receive
+     * the output by way of an internal array. Flush modes are as for
+     * {@link #deflate(byte[], int, int, int)}; in the case of
+     * {@link #FULL_FLUSH} or {@link #SYNC_FLUSH}, if the return value is
+     * the space that was remaining in {@code output}, this method should be
+     * invoked again with the same {@code flush} parameter and more output
+     * space.
+     *
+     * @param output the buffer for the compressed data
+     * @param flush the compression flush mode
+     * @return the actual number of bytes of compressed data written to
+     *         the output buffer
+     *
+     * @throws IllegalArgumentException if the flush mode is invalid
+     * @throws ReadOnlyBufferException if the given output buffer is read-only
+     * @since 1.8
+     */
+    public int deflate(ByteBuffer output, int flush) {
+        if (output.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        if (flush != NO_FLUSH && flush != SYNC_FLUSH && flush != FULL_FLUSH) {
+            throw new IllegalArgumentException();
+        }
+        synchronized (zsRef) {
+            ensureOpen();
+            int pos = output.position();
+            int rem = output.limit() - pos;
+            if (output.hasArray()) {
+                int n = deflate0(output.array(), output.arrayOffset() + pos,
+                                 rem, flush);
+                output.position(pos + n);
+                return n;
+            }
+            if (outCopy == null)
+                outCopy = new byte[COPY_SIZE];
+            int total = 0;
+            int n;
+            do {
+                int chunk = Math.min(rem - total, COPY_SIZE);
+                n = deflate0(outCopy, 0, chunk, flush);
+                output.put(outCopy, 0, n);
+                total += n;
+            } while (n == COPY_SIZE && total < rem && !finished);
+            return total;
+        }
+    }
+
+    private int deflate0(byte[] b, int off, int len, int flush) {
+        assert Thread.holdsLock(zsRef);
+        ByteBuffer input = this.input;
+        if (input == null) {
+            int thisLen = this.len;
+            int n = deflateBytes(zsRef.address(), b, off, len, flush);
+            bytesWritten += n;
+            bytesRead += (thisLen - this.len);
+            return n;
+        }
+        // Present the buffer's remaining bytes to zlib as buf/off/len, one
+        // staged chunk at a time if it is not array backed. zlib must not
+        // see finish or a flush until it has the last of the input, so
+        // earlier chunks are compressed with NO_FLUSH, and the loop keeps
+        // going while output space remains so that a single call consumes
+        // as much of the input as the array form would.
+        boolean finish = this.finish;
+        int total = 0;
+        try {
+            boolean more;
+            do {
+                int pos = input.position();
+                int rem = input.limit() - pos;
+                if (input.hasArray()) {
+                    this.buf = input.array();
+                    this.off = input.arrayOffset() + pos;
+                    this.len = rem;
+                } else {
+                    if (inCopy == null)
+                        inCopy = new byte[COPY_SIZE];
+                    int n = Math.min(rem, COPY_SIZE);
+                    input.get(inCopy, 0, n);
+                    input.position(pos);
+                    this.buf = inCopy;
+                    this.off = 0;
+                    this.len = n;
+                }
+                int thisLen = this.len;
+                boolean last = thisLen == rem;
+                this.finish = finish && last;
+                int n = deflateBytes(zsRef.address(), b, off + total,
+                                     len - total, last ? flush : NO_FLUSH);
+                int read = thisLen - this.len;
+                input.position(pos + read);
+                bytesWritten += n;
+                bytesRead += read;
+                total += n;
+                more = !last && this.len == 0 && total < len;
+            } while (more);
+        } finally {
+            this.finish = finish;
+            this.buf = defaultBuf;
+            this.off = this.len = 0;
+        }
+        return total;
+    }
+
     /**
      * Returns the ADLER-32 value of the uncompressed data.
      * @return the ADLER-32 value of the uncompressed data
@@ -519,6 +695,8 @@ class Deflater {
         synchronized (zsRef) {
             ensureOpen();
             reset(zsRef.address());
+            input = null;
+            buf = defaultBuf;
             finish = false;
             finished = false;
             off = len = 0;
@@ -539,6 +717,7 @@ class Deflater {
             zsRef.clear();
             if (addr != 0) {
                 end(addr);
+                input = null;
                 buf = null;
             }
         }
@@ -25,6 +25,9 @@
 
 package java.util.zip;
 
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
+
 /**
  * This class provides support for general purpose decompression using the
  * popular ZLIB compression library. The ZLIB compression library was
@@ -81,7 +84,18 @@ class Inflater {
     private long bytesRead;
     private long bytesWritten;
 
+    /*
+     * Input supplied with setInput(ByteBuffer), or null if the input is
+     * the array region buf/off/len. Heap buffers are handed to zlib in
+     * place; the contents of direct buffers are staged through inCopy,
+     * at most COPY_SIZE bytes at a time, and output destined for a direct
+     * buffer through outCopy.
+     */
+    private ByteBuffer input;
+    private byte[] inCopy, outCopy;
+
     private static final byte[] defaultBuf = new byte[0];
+    private static final int COPY_SIZE = 8192;
 
     static {
         /* Zip library is loaded from System.initializeSystemClass */
@@ -127,6 +141,7 @@ class Inflater {
             throw new ArrayIndexOutOfBoundsException();
         }
         synchronized (zsRef) {
+            this.input = null;
             this.buf = b;
             this.off = off;
             this.len = len;
@@ -144,6 +159,37 @@ class Inflater {
         setInput(b, 0, b.length);
     }
 
+    /**
+     * Sets input data for decompression. Should be called whenever
+     * needsInput() returns true indicating that more input data is
+     * required.
+     * <p>
+     * The given buffer's position will be advanced as inflate
+     * operations are performed, up to the buffer's limit. The input
+     * buffer may be modified (refilled) between inflate operations;
+     * doing so is equivalent to creating a new buffer and setting it
+     * with this method.
+     * <p>
+     * Modifying the input buffer's contents, position, or limit
+     * concurrently with an inflate operation will result in undefined
+     * behavior, which may include incorrect operation results or operation
+     * failure.
+     *
+     * @param input the input data bytes
+     * @see Inflater#needsInput
+     * @since 1.8
+     */
+    public void setInput(ByteBuffer input) {
+        if (input == null) {
+            throw new NullPointerException();
+        }
+        synchronized (zsRef) {
+            this.input = input;
+            this.buf = defaultBuf;
+            this.off = this.len = 0;
+        }
+    }
+
     /**
      * Sets the preset dictionary to the given array of bytes. Should be
      * called when inflate() returns 0 and needsDictionary() returns true
@@ -190,7 +236,8 @@ class Inflater {
      */
     public int getRemaining() {
         synchronized (zsRef) {
-            return len;
+            ByteBuffer input = this.input;
+            return input == null ? len : input.remaining();
         }
     }
 
@@ -202,7 +249,8 @@ class Inflater {
      */
     public boolean needsInput() {
         synchronized (zsRef) {
-            return len <= 0;
+            ByteBuffer input = this.input;
+            return input == null ? len <= 0 : !input.hasRemaining();
         }
     }
 
@@ -255,12 +303,61 @@ class Inflater {
         }
         synchronized (zsRef) {
             ensureOpen();
+            return inflate0(b, off, len);
+        }
+    }
+
+    private int inflate0(byte[] b, int off, int len)
+        throws DataFormatException
+    {
+        assert Thread.holdsLock(zsRef);
+        ByteBuffer input = this.input;
+        if (input == null) {
             int thisLen = this.len;
             int n = inflateBytes(zsRef.address(), b, off, len);
             bytesWritten += n;
             bytesRead += (thisLen - this.len);
             return n;
         }
+        // Present the buffer's remaining bytes to zlib as buf/off/len, one
+        // staged chunk at a time if it is not array backed, and keep going
+        // while output space remains so that a single call sees as much of
+        // the input as the array form would.
+        int total = 0;
+        try {
+            boolean more;
+            do {
+                int pos = input.position();
+                int rem = input.limit() - pos;
+                if (input.hasArray()) {
+                    this.buf = input.array();
+                    this.off = input.arrayOffset() + pos;
+                    this.len = rem;
+                } else {
+                    if (inCopy == null)
+                        inCopy = new byte[COPY_SIZE];
+                    int n = Math.min(rem, COPY_SIZE);
+                    input.get(inCopy, 0, n);
+                    input.position(pos);
+                    this.buf = inCopy;
+                    this.off = 0;
+                    this.len = n;
+                }
+                int thisLen = this.len;
+                int n = inflateBytes(zsRef.address(), b, off + total, len - total);
+                int read = thisLen - this.len;
+                input.position(pos + read);
+                bytesWritten += n;
+                bytesRead += read;
+                total += n;
+                more = thisLen < rem && this.len == 0 && total < len
+                    && !finished && !needDict;
+            } while (more);
+        } finally {
+            this.buf = defaultBuf;
+            this.off = this.len = 0;
+        }
+        return total;
     }
 
     /**
@@ -280,6 +377,54 @@ class Inflater {
         return inflate(b, 0, b.length);
     }
 
+    /**
+     * Uncompresses bytes into specified buffer. Returns actual number
+     * of bytes uncompressed. A return value of 0 indicates that
+     * needsInput() or needsDictionary() should be called in order to
+     * determine if more input data or a preset dictionary is required.
+     * In the latter case, getAdler() can be used to get the Adler-32
+     * value of the dictionary required.
+     * <p>
+     * The uncompressed bytes are written starting at the buffer's
+     * position, which is advanced by the number of bytes written.
+     * Array-backed buffers are written in place; other buffers receive
+     * the output by way of an internal array.
+     *
+     * @param output the buffer for the uncompressed data
+     * @return the actual number of uncompressed bytes
+     * @exception DataFormatException if the compressed data format is invalid
+     * @exception ReadOnlyBufferException if the given output buffer is read-only
+     * @see Inflater#needsInput
+     * @see Inflater#needsDictionary
+     * @since 1.8
+     */
+    public int inflate(ByteBuffer output) throws DataFormatException {
+        if (output.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        synchronized (zsRef) {
+            ensureOpen();
+            int pos = output.position();
+            int rem = output.limit() - pos;
+            if (output.hasArray()) {
+                int n = inflate0(output.array(), output.arrayOffset() + pos, rem);
+                output.position(pos + n);
+                return n;
+            }
+            if (outCopy == null)
+                outCopy = new byte[COPY_SIZE];
+            int total = 0;
+            int n;
+            do {
+                int chunk = Math.min(rem - total, COPY_SIZE);
+                n = inflate0(outCopy, 0, chunk);
+                output.put(outCopy, 0, n);
+                total += n;
+            } while (n == COPY_SIZE && total < rem && !finished && !needDict);
+            return total;
+        }
+    }
+
     /**
      * Returns the ADLER-32 value of the uncompressed data.
      * @return the ADLER-32 value of the uncompressed data
@@ -350,6 +495,7 @@ class Inflater {
         synchronized (zsRef) {
             ensureOpen();
             reset(zsRef.address());
+            input = null;
             buf = defaultBuf;
             finished = false;
             needDict = false;
@@ -371,6 +517,7 @@ class Inflater {
             zsRef.clear();
             if (addr != 0) {
                 end(addr);
+                input = null;
                 buf = null;
             }
         }
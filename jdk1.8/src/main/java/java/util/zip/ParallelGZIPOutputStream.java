@@ -0,0 +1,419 @@
+/*
+ * Copyright (c) 2026, Oracle and/or its affiliates. All rights reserved.
+ * ORACLE PROPRIETARY/CONFIDENTIAL. Use is subject to license terms.
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ *
+ */
+
+package java.util.zip;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements a stream filter for writing compressed data in
+ * the GZIP file format, compressing on several threads.
+ *
+ * <p> The data written is split into blocks of a fixed size, which are
+ * compressed concurrently by the tasks of a {@link ForkJoinPool}.  Each
+ * block is compressed with the last 32K bytes of the block before it as
+ * preset dictionary, so that matches can reach back across blocks as in
+ * a stream compressed on a single thread.  The compressed blocks are
+ * written in order as a single GZIP member, which {@link
+ * GZIPInputStream} and other GZIP readers decompress as usual.  The
+ * output is a few bytes larger per block than that of {@link
+ * GZIPOutputStream}, for the byte alignment at the end of each block.
+ *
+ * <p> At most a few blocks per thread of the pool are held in memory,
+ * waiting to be compressed or written.  Writing to the stream blocks when
+ * that limit is reached until the oldest block is written.
+ *
+ * @see GZIPOutputStream
+ * @since 1.8
+ */
+public
+class ParallelGZIPOutputStream extends FilterOutputStream {
+    /*
+     * GZIP header magic number.
+     */
+    private final static int GZIP_MAGIC = 0x8b1f;
+
+    /*
+     * Trailer size in bytes.
+     */
+    private final static int TRAILER_SIZE = 8;
+
+    /*
+     * Size of the deflate window, and so of the preset dictionaries.
+     */
+    private final static int DICTIONARY_SIZE = 32 * 1024;
+
+    /*
+     * Default size of the blocks.
+     */
+    private final static int DEFAULT_BLOCK_SIZE = 128 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int level;
+    private final int blockSize;
+    private final int maxPending;
+
+    /*
+     * CRC-32 and number of bytes of uncompressed data.
+     */
+    private final CRC32 crc = new CRC32();
+    private int totalIn;
+
+    /*
+     * The block being filled, and the block before it.
+     */
+    private byte[] buf;
+    private int count;
+    private Block previous;
+
+    /*
+     * Blocks submitted and not yet written, oldest first.
+     */
+    private final ArrayDeque<Block> pending = new ArrayDeque<>();
+
+    /*
+     * Deflaters not in use by a block.
+     */
+    private final ConcurrentLinkedQueue<Deflater> deflaters =
+        new ConcurrentLinkedQueue<>();
+
+    // Read by the pool threads releasing deflaters
+    private volatile boolean finished;
+    private boolean closed;
+
+    /**
+     * Creates a new output stream with the default block size and
+     * compression level, compressing on the common pool.
+     *
+     * @param out the output stream
+     * @exception IOException If an I/O error has occurred.
+     */
+    public ParallelGZIPOutputStream(OutputStream out) throws IOException {
+        this(out, DEFAULT_BLOCK_SIZE, Deflater.DEFAULT_COMPRESSION,
+             ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new output stream with the specified block size and
+     * compression level, compressing on the specified pool.
+     *
+     * @param out the output stream
+     * @param blockSize the number of uncompressed bytes in each block
+     * @param level the compression level (0-9), or
+     *        {@link Deflater#DEFAULT_COMPRESSION}
+     * @param pool the pool running the compression of the blocks
+     * @exception IOException If an I/O error has occurred.
+     * @exception IllegalArgumentException if {@code blockSize <= 0}, or
+     *            the level is not valid
+     */
+    public ParallelGZIPOutputStream(OutputStream out, int blockSize,
+                                    int level, ForkJoinPool pool)
+        throws IOException
+    {
+        super(out);
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize <= 0");
+        }
+        if ((level < 0 || level > 9) && level != Deflater.DEFAULT_COMPRESSION) {
+            throw new IllegalArgumentException("invalid compression level");
+        }
+        if (out == null || pool == null) {
+            throw new NullPointerException();
+        }
+        this.blockSize = blockSize;
+        this.level = level;
+        this.pool = pool;
+        this.maxPending = 2 * pool.getParallelism() + 1;
+        this.buf = new byte[blockSize];
+        writeHeader();
+    }
+
+    /**
+     * Writes a byte to the compressed output stream.
+     *
+     * @param b the byte to be written
+     * @exception IOException if an I/O error has occurred
+     */
+    public void write(int b) throws IOException {
+        byte[] buf = new byte[1];
+        buf[0] = (byte)(b & 0xff);
+        write(buf, 0, 1);
+    }
+
+    /**
+     * Writes an array of bytes to the compressed output stream. This
+     * method will block until the bytes are copied to a block, which may
+     * wait for the oldest block to be written.
+     *
+     * @param b the data to be written
+     * @param off the start offset of the data
+     * @param len the length of the data
+     * @exception IOException if an I/O error has occurred
+     */
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (finished) {
+            throw new IOException("write beyond end of stream");
+        }
+        if ((off | len | (off + len) | (b.length - (off + len))) < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        crc.update(b, off, len);
+        totalIn += len;
+        while (len > 0) {
+            int n = Math.min(len, blockSize - count);
+            System.arraycopy(b, off, buf, count, n);
+            count += n;
+            off += n;
+            len -= n;
+            if (count == blockSize) {
+                submit(false);
+            }
+        }
+    }
+
+    /**
+     * Flushes the compressed output stream.
+     *
+     * <p> The data written so far is compressed, ending the current block
+     * early, and all of it is written to the underlying stream before the
+     * stream is flushed, as with a {@link GZIPOutputStream} created with
+     * {@code syncFlush} set.
+     *
+     * @exception IOException if an I/O error has occurred
+     */
+    public void flush() throws IOException {
+        if (!finished) {
+            if (count > 0) {
+                submit(false);
+            }
+            while (!pending.isEmpty()) {
+                writeBlock();
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Finishes writing compressed data to the output stream without closing
+     * the underlying stream. Use this method when applying multiple filters
+     * in succession to the same output stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            try {
+                // The last block holds the final deflate block, even if empty
+                submit(true);
+                while (!pending.isEmpty()) {
+                    writeBlock();
+                }
+            } finally {
+                finished = true;
+                buf = null;
+                previous = null;
+                Deflater def;
+                while ((def = deflaters.poll()) != null) {
+                    def.end();
+                }
+            }
+            byte[] trailer = new byte[TRAILER_SIZE];
+            writeInt((int)crc.getValue(), trailer, 0); // CRC-32 of uncompr. data
+            writeInt(totalIn, trailer, 4);             // Number of uncompr. bytes
+            out.write(trailer);
+        }
+    }
+
+    /**
+     * Writes remaining compressed data to the output stream and closes the
+     * underlying stream.
+     * @exception IOException if an I/O error has occurred
+     */
+    public void close() throws IOException {
+        if (!closed) {
+            try {
+                finish();
+            } finally {
+                closed = true;
+                out.close();
+            }
+        }
+    }
+
+    /*
+     * Submits the block being filled and starts a new one.
+     */
+    private void submit(boolean last) throws IOException {
+        if (pending.size() >= maxPending) {
+            writeBlock();
+        }
+        Block block = new Block(buf, count, previous, last);
+        pending.add(block);
+        pool.execute(block);
+        previous = block;
+        if (!last) {
+            buf = new byte[blockSize];
+            count = 0;
+        }
+    }
+
+    /*
+     * Waits for the oldest block to be compressed and writes it.
+     */
+    private void writeBlock() throws IOException {
+        Block block = pending.poll();
+        try {
+            block.join();
+        } catch (RuntimeException | Error e) {
+            // Let the other blocks complete before reporting the failure
+            for (Block b : pending) {
+                b.quietlyJoin();
+            }
+            pending.clear();
+            throw new IOException("Block compression failed", e);
+        }
+        out.write(block.out, 0, block.outLen);
+        block.out = null;
+    }
+
+    private Deflater getDeflater() {
+        Deflater def = deflaters.poll();
+        return def != null ? def : new Deflater(level, true);
+    }
+
+    /*
+     * Returns a deflater for reuse, or ends it once the stream is finished.
+     * A deflater added as finish() empties the queue is taken back here.
+     */
+    private void releaseDeflater(Deflater def) {
+        if (finished) {
+            def.end();
+            return;
+        }
+        def.reset();
+        deflaters.add(def);
+        if (finished && deflaters.remove(def)) {
+            def.end();
+        }
+    }
+
+    /*
+     * A block of uncompressed data and its compressed form, compressed
+     * as a raw deflate stream. All the blocks but the last end with a
+     * sync flush, which leaves the stream byte aligned so that the next
+     * block can follow it.
+     */
+    private final class Block extends RecursiveAction {
+        private static final long serialVersionUID = -2458461577893012463L;
+
+        private final byte[] in;
+        private final int inLen;
+        // The block before this one, for the dictionary; no longer
+        // needed once compressed
+        private Block previous;
+        private final boolean last;
+
+        byte[] out;
+        int outLen;
+
+        Block(byte[] in, int inLen, Block previous, boolean last) {
+            this.in = in;
+            this.inLen = inLen;
+            this.previous = previous;
+            this.last = last;
+        }
+
+        protected void compute() {
+            Deflater def = getDeflater();
+            try {
+                if (previous != null) {
+                    int len = Math.min(previous.inLen, DICTIONARY_SIZE);
+                    def.setDictionary(previous.in, previous.inLen - len, len);
+                }
+                previous = null;
+                def.setInput(in, 0, inLen);
+                // Incompressible data grows by 5 bytes per 16K stored block
+                byte[] b = new byte[inLen + (inLen >> 12) + 64];
+                int n = 0;
+                if (last) {
+                    def.finish();
+                    while (!def.finished()) {
+                        if (n == b.length)
+                            b = Arrays.copyOf(b, b.length * 2);
+                        n += def.deflate(b, n, b.length - n);
+                    }
+                } else {
+                    int len;
+                    do {
+                        if (n == b.length)
+                            b = Arrays.copyOf(b, b.length * 2);
+                        len = def.deflate(b, n, b.length - n,
+                                          Deflater.SYNC_FLUSH);
+                        n += len;
+                    } while (n == b.length);
+                }
+                out = b;
+                outLen = n;
+            } finally {
+                releaseDeflater(def);
+            }
+        }
+    }
+
+    /*
+     * Writes GZIP member header.
+     */
+    private void writeHeader() throws IOException {
+        out.write(new byte[] {
+                      (byte) GZIP_MAGIC,        // Magic number (short)
+                      (byte)(GZIP_MAGIC >> 8),  // Magic number (short)
+                      Deflater.DEFLATED,        // Compression method (CM)
+                      0,                        // Flags (FLG)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Modification time MTIME (int)
+                      0,                        // Extra flags (XFLG)
+                      0                         // Operating system (OS)
+                  });
+    }
+
+    /*
+     * Writes integer in Intel byte order to a byte array, starting at a
+     * given offset.
+     */
+    private void writeInt(int i, byte[] buf, int offset) {
+        buf[offset] = (byte)i;
+        buf[offset + 1] = (byte)(i >> 8);
+        buf[offset + 2] = (byte)(i >> 16);
+        buf[offset + 3] = (byte)(i >> 24);
+    }
+}
@@ -43,7 +43,11 @@ import sun.nio.cs.ArrayEncoder;
 
 final class ZipCoder {
 
+    @SuppressWarnings("deprecation") // Use of String(byte[],int,int,int)
     String toString(byte[] ba, int length) {
+        // Most names are ASCII, which is decoded as is in UTF-8
+        if (isUTF8 && isASCII(ba, length))
+            return new String(ba, 0, 0, length);
         CharsetDecoder cd = decoder().reset();
         int len = (int)(length * cd.maxCharsPerByte());
         char[] ca = new char[len];
@@ -73,7 +77,13 @@ final class ZipCoder {
         return toString(ba, ba.length);
     }
 
+    @SuppressWarnings("deprecation") // Use of String.getBytes(int,int,byte[],int)
     byte[] getBytes(String s) {
+        if (isUTF8 && isASCII(s)) {
+            byte[] ba = new byte[s.length()];
+            s.getBytes(0, ba.length, ba, 0);
+            return ba;
+        }
         CharsetEncoder ce = encoder().reset();
         char[] ca = s.toCharArray();
         int len = (int)(ca.length * ce.maxBytesPerChar());
@@ -124,6 +134,22 @@ final class ZipCoder {
         return isUTF8;
     }
 
+    private static boolean isASCII(byte[] ba, int length) {
+        for (int i = 0; i < length; i++) {
+            if (ba[i] < 0)
+                return false;
+        }
+        return true;
+    }
+
+    private static boolean isASCII(String s) {
+        for (int i = 0, len = s.length(); i < len; i++) {
+            if (s.charAt(i) >= 0x80)
+                return false;
+        }
+        return true;
+    }
+
     private Charset cs;
     private CharsetDecoder dec;
     private CharsetEncoder enc;
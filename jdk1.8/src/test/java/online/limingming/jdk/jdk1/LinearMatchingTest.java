@@ -0,0 +1,77 @@
+package online.limingming.jdk.jdk1;
+
+import java.util.BitSet;
+import java.util.regex.MatchResult;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSet;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests of the linear-time matching of {@code Pattern.LINEAR_TIME} and
+ * {@code PatternSet}.  Both exist only in this tree, so these tests must be
+ * run with its {@code java.util.regex} classes patched into
+ * {@code java.base}, e.g. {@code --patch-module java.base=<classes>}.
+ */
+public class LinearMatchingTest
+    extends TestCase
+{
+    private static String findAll(Pattern p, String input)
+    {
+        StringBuilder sb = new StringBuilder();
+        Matcher m = p.matcher(input);
+        while (m.find())
+            sb.append('[').append(m.start()).append(',').append(m.end())
+              .append(']');
+        return sb.toString();
+    }
+
+    public void testEmptyIterationInsideNestedLoop()
+    {
+        String[][] cases = {
+            { "(([a]|.*?)(b?b){0,})*", "ac" },
+            { "[a]??(.??([a]+)*|[a]{0,}b?b?){0,}", "acc" },
+            { "b?[a]+(b{0,}(a{0,}(c*?[ab]+?b?b+?)+?){0,}|a){0,}", "abba" },
+            { "((.??(c?b?b+|[ab]+c+?b?b+?)*|.??)*a*[a]?|[a]?b){1,2}", "bca" },
+        };
+        for (String[] c : cases) {
+            assertEquals(c[0], findAll(Pattern.compile(c[0]), c[1]),
+                         findAll(Pattern.compile(c[0], Pattern.LINEAR_TIME),
+                                 c[1]));
+        }
+        assertEquals("[0,1][1,1][2,2]",
+                     findAll(Pattern.compile("(([a]|.*?)(b?b){0,})*",
+                                             Pattern.LINEAR_TIME), "ac"));
+    }
+
+    public void testManyGroupsAroundLoop()
+    {
+        String regex = "(a)(a)(a)(a)(a)(a)(a)(b*)*";
+        Matcher m = Pattern.compile(regex, Pattern.LINEAR_TIME)
+            .matcher("aaaaaaabb");
+        assertTrue(m.matches());
+        assertEquals(8, m.groupCount());
+        assertEquals("", m.group(8));
+
+        regex = "(a)(b)(c)(d)(e)(f)(g)(h)(x(y)*)+z";
+        m = Pattern.compile(regex, Pattern.LINEAR_TIME)
+            .matcher("abcdefghxyyxz");
+        assertTrue(m.matches());
+        assertEquals("x", m.group(9));
+    }
+
+    public void testPatternSetManyGroupsAroundLoop()
+    {
+        PatternSet set = PatternSet.compile("(a)(a)(a)(a)(a)(a)(a)(b*)*c",
+                                            "(x)(y)+z");
+        BitSet found = set.find("--aaaaaaabbc--xyyz");
+        assertTrue(found.get(0));
+        assertTrue(found.get(1));
+        MatchResult[] first = set.findFirst("--aaaaaaabbc--xyyz");
+        assertEquals(2, first[0].start());
+        assertEquals(12, first[0].end());
+        assertEquals(14, first[1].start());
+        assertEquals("y", first[1].group(2));
+    }
+}
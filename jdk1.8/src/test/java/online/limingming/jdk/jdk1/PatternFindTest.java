@@ -0,0 +1,60 @@
+package online.limingming.jdk.jdk1;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import junit.framework.TestCase;
+
+/**
+ * Regression cases for unanchored searches of patterns requiring a
+ * literal, where the distance from the start of a match to the literal
+ * is unbounded.  The search for the literal is done by this tree's
+ * {@code java.util.regex}, so these tests must be run with its classes
+ * patched into {@code java.base}, e.g.
+ * {@code --patch-module java.base=<classes>}.
+ */
+public class PatternFindTest
+    extends TestCase
+{
+    protected void setUp()
+        throws Exception
+    {
+        try {
+            Class.forName("java.util.regex.Pattern$StartL");
+        } catch (ClassNotFoundException e) {
+            fail("java.util.regex is not this tree's; run with its classes "
+                 + "patched into java.base");
+        }
+    }
+
+    private static void assertFind(String regex, String input,
+                                   int start, int end)
+    {
+        Matcher m = Pattern.compile(regex).matcher(input);
+        assertTrue(regex, m.find());
+        assertEquals(regex, start, m.start());
+        assertEquals(regex, end, m.end());
+        // The generic CharSequence path looks for the literal itself
+        m = Pattern.compile(regex).matcher(new StringBuilder(input));
+        assertTrue(regex, m.find());
+        assertEquals(regex, start, m.start());
+        assertEquals(regex, end, m.end());
+    }
+
+    public void testUnboundedPrefix()
+    {
+        assertFind("(?:c*ab*[^a]{1,2})ca", "abcac", 0, 4);
+        assertFind("(?:b*?b?.+)??aba", "abcabaaaa", 0, 6);
+        assertFind("([^a]*.)??[ab]ab", "b   caab cc", 0, 8);
+        assertFind("(b*\\w?a+?).??(ab)", " ccacab ", 2, 7);
+        assertFind("(?:(?: *?[ab])??.?ab)", "baaba", 0, 4);
+        assertFind("(?:[ab]*?c?)?ca\\w+?", "abaacaaca", 0, 7);
+    }
+
+    public void testBoundedPrefix()
+    {
+        assertFind("[ab]{1,3}c?ca", "xxabbcca", 2, 8);
+        assertFind("(?:x|yy)?abc", "yyyabc", 1, 6);
+        assertFind("\\w{2}abc", "abcdabc", 2, 7);
+    }
+}
@@ -0,0 +1,104 @@
+package online.limingming.jdk.jdk1;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests of the sample sort of parallel {@code sorted()} and of
+ * {@code sorted()} followed by {@code skip} and {@code limit}.  These
+ * behaviours are those of this tree's {@code java.util.stream}, so the
+ * tests must be run with its classes ahead of the JDK's, e.g. with
+ * {@code -Xbootclasspath/p:<classes>}.
+ */
+public class SortedStreamTest
+    extends TestCase
+{
+    // Elements of 97 equal keys, numbered in encounter order
+    private static List<int[]> elements(int n)
+    {
+        List<int[]> list = new ArrayList<>(n);
+        for (int i = 0; i < n; i++)
+            list.add(new int[] { (i * 31) % 97, i });
+        return list;
+    }
+
+    private static final Comparator<int[]> BY_KEY =
+        Comparator.comparingInt(e -> e[0]);
+
+    private static void assertStablySorted(List<int[]> sorted, int n)
+    {
+        assertEquals(n, sorted.size());
+        for (int i = 1; i < sorted.size(); i++) {
+            int[] a = sorted.get(i - 1), b = sorted.get(i);
+            assertTrue("at " + i,
+                       a[0] < b[0] || (a[0] == b[0] && a[1] < b[1]));
+        }
+    }
+
+    public void testSampleSortIsStable()
+    {
+        int n = 1 << 18;
+        List<int[]> list = elements(n);
+        assertStablySorted(list.parallelStream().sorted(BY_KEY)
+                           .collect(Collectors.toList()), n);
+        // Leaves of uneven sizes
+        assertStablySorted(list.parallelStream().filter(e -> e[1] % 3 != 0)
+                           .sorted(BY_KEY).collect(Collectors.toList()),
+                           n - (n + 2) / 3);
+    }
+
+    public void testSkipLimit()
+    {
+        List<int[]> list = elements(5000);
+        List<int[]> all = list.stream().sorted(BY_KEY)
+            .collect(Collectors.toList());
+        int[][] slices = { { 0, 10 }, { 40, 100 }, { 4990, 100 },
+                           { 0, 5000 }, { 0, 6000 }, { 100, 0 } };
+        for (int[] slice : slices) {
+            int skip = slice[0], limit = slice[1];
+            List<int[]> expected = all.subList(Math.min(skip, all.size()),
+                                               Math.min(skip + limit,
+                                                        all.size()));
+            for (boolean parallel : new boolean[] { false, true }) {
+                String what = skip + "/" + limit + "/" + parallel;
+                assertSlice(what, expected, skip, limit,
+                            parallel ? list.parallelStream() : list.stream());
+                // Of unknown size
+                assertSlice(what, expected, skip, limit,
+                            (parallel ? list.parallelStream() : list.stream())
+                            .filter(e -> true));
+            }
+        }
+    }
+
+    private static void assertSlice(String what, List<int[]> expected,
+                                    int skip, int limit, Stream<int[]> s)
+    {
+        List<int[]> actual = s.sorted(BY_KEY).skip(skip).limit(limit)
+            .collect(Collectors.toList());
+        assertEquals(what, expected.size(), actual.size());
+        for (int i = 0; i < actual.size(); i++)
+            assertSame(what, expected.get(i), actual.get(i));
+    }
+
+    public void testLimitOfFewerElements()
+    {
+        // A limit above the size sorts the elements as they are
+        List<Integer> sorted = IntStream.range(0, 100).map(i -> 99 - i)
+            .boxed().sorted().limit(1000).collect(Collectors.toList());
+        assertEquals(100, sorted.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, sorted.get(i).intValue());
+        sorted = IntStream.range(0, 100).map(i -> 99 - i).filter(i -> true)
+            .boxed().sorted().limit(100).collect(Collectors.toList());
+        assertEquals(100, sorted.size());
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, sorted.get(i).intValue());
+    }
+}